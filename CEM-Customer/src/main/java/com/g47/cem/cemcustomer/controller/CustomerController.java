@@ -1,11 +1,13 @@
 package com.g47.cem.cemcustomer.controller;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
@@ -24,14 +26,19 @@ import org.springframework.web.bind.annotation.RestController;
 import com.g47.cem.cemcustomer.dto.request.CreateCustomerRequest;
 import com.g47.cem.cemcustomer.dto.request.UpdateCustomerRequest;
 import com.g47.cem.cemcustomer.dto.response.ApiResponse;
+import com.g47.cem.cemcustomer.dto.response.CustomerImportResponse;
 import com.g47.cem.cemcustomer.dto.response.CustomerResponse;
+import com.g47.cem.cemcustomer.dto.response.TagFacetResponse;
+import com.g47.cem.cemcustomer.exception.BusinessException;
 import com.g47.cem.cemcustomer.service.CustomerService;
+import com.g47.cem.cemcustomer.service.CustomerService.BulkFormat;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -75,6 +82,57 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Import customers in bulk
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import customers", description = "Create customers in bulk from a CSV file with a header row "
+            + "or from NDJSON, one customer per line, using the create request's field names. "
+            + "Rows that fail are reported without stopping the import.")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("hasAuthority('STAFF')")
+    public ResponseEntity<ApiResponse<CustomerImportResponse>> importCustomers(
+            Authentication authentication,
+            HttpServletRequest httpRequest) throws IOException {
+        
+        BulkFormat format = BulkFormat.from(httpRequest.getContentType());
+        log.info("Importing customers as {} by user: {}", format, authentication.getName());
+        
+        CustomerImportResponse result = customerService.importCustomers(
+                httpRequest.getInputStream(), format, authentication.getName());
+        
+        ApiResponse<CustomerImportResponse> response = ApiResponse.success(
+                result,
+                "Imported " + result.getImportedRows() + " of " + result.getTotalRows() + " customers"
+        );
+        response.setPath(httpRequest.getRequestURI());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Export customers in bulk
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export customers", description = "Stream all customers as CSV or NDJSON in ID order, "
+            + "in the format the import accepts")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'MANAGER')")
+    public void exportCustomers(
+            @Parameter(description = "Output format (csv/ndjson)")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Include hidden customers")
+            @RequestParam(defaultValue = "false") boolean includeHidden,
+            HttpServletResponse httpResponse) throws IOException {
+        
+        BulkFormat bulkFormat = BulkFormat.from(format);
+        httpResponse.setContentType(bulkFormat.getMediaType() + ";charset=UTF-8");
+        httpResponse.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"customers." + bulkFormat.name().toLowerCase() + "\"");
+        
+        customerService.exportCustomers(httpResponse.getOutputStream(), bulkFormat, includeHidden);
+    }
+    
     /**
      * Update customer
      */
@@ -165,7 +223,7 @@ public class CustomerController {
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort by field")
+            @Parameter(description = "Sort by field, or 'relevance' to rank a name search by closeness of match")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)")
             @RequestParam(defaultValue = "desc") String sortDir,
@@ -182,6 +240,10 @@ public class CustomerController {
         log.debug("Fetching customers - page: {}, size: {}, sortBy: {}, sortDir: {}", 
                 page, size, sortBy, sortDir);
         
+        // Relevance only ranks name searches
+        if ("relevance".equals(sortBy) && (name == null || name.isBlank())) {
+            sortBy = "createdAt";
+        }
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -310,6 +372,72 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get customers by several tags, paged
+     */
+    @GetMapping("/tags")
+    @Operation(summary = "Get customers by tags", description = "Retrieve customers carrying all, or any, of the given tags")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'MANAGER', 'SUPPORT_TEAM')")
+    public ResponseEntity<ApiResponse<Page<CustomerResponse>>> getCustomersByTags(
+            @Parameter(description = "Tags to filter by")
+            @RequestParam List<String> tags,
+            @Parameter(description = "Match all tags (all) or at least one (any)")
+            @RequestParam(defaultValue = "all") String match,
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort by field")
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)")
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Filter by hidden status")
+            @RequestParam(required = false) Boolean isHidden,
+            HttpServletRequest httpRequest) {
+        
+        log.debug("Fetching customers with {} of tags: {}", match, tags);
+        
+        if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+            throw new BusinessException("match must be 'all' or 'any'", HttpStatus.BAD_REQUEST);
+        }
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        
+        Page<CustomerResponse> customers = customerService.getCustomersByTags(
+                tags, "all".equalsIgnoreCase(match), isHidden, pageable);
+        
+        ApiResponse<Page<CustomerResponse>> response = ApiResponse.success(customers);
+        response.setPath(httpRequest.getRequestURI());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Count customers per tag
+     */
+    @GetMapping("/tags/facets")
+    @Operation(summary = "Get tag facets", description = "Count customers per tag, most used first, optionally within customers carrying the given tags")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'MANAGER', 'SUPPORT_TEAM')")
+    public ResponseEntity<ApiResponse<List<TagFacetResponse>>> getTagFacets(
+            @Parameter(description = "Only count customers carrying all of these tags")
+            @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Filter by hidden status")
+            @RequestParam(required = false) Boolean isHidden,
+            @Parameter(description = "Maximum number of tags")
+            @RequestParam(defaultValue = "50") int limit,
+            HttpServletRequest httpRequest) {
+        
+        List<TagFacetResponse> facets = customerService.getTagFacets(tags, isHidden, Math.max(1, Math.min(limit, 500)));
+        
+        ApiResponse<List<TagFacetResponse>> response = ApiResponse.success(facets);
+        response.setPath(httpRequest.getRequestURI());
+        
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get customers by tag
      */
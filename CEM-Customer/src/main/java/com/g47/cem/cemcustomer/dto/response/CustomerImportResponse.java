@@ -0,0 +1,35 @@
+package com.g47.cem.cemcustomer.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a bulk customer import: counts, and the rows that were not imported
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportResponse {
+
+    private String format;
+    private Long totalRows;
+    private Long importedRows;
+    private Long failedRows;
+    private List<RowError> errors; // At most the first app.customer-import.max-reported-errors
+    private Boolean errorsTruncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Long rowNumber; // Record number in the file; the CSV header is row 1
+        private String email;
+        private String message;
+    }
+}
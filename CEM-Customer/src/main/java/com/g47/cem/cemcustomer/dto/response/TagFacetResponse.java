@@ -0,0 +1,19 @@
+package com.g47.cem.cemcustomer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one tag facet: a tag and how many customers carry it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagFacetResponse {
+    
+    private String tag;
+    private Long customerCount;
+}
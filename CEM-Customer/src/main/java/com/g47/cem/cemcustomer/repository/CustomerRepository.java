@@ -1,16 +1,23 @@
 package com.g47.cem.cemcustomer.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.g47.cem.cemcustomer.entity.Customer;
+import com.g47.cem.cemcustomer.repository.projection.TagCountView;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Customer entity
@@ -22,6 +29,20 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     boolean existsByEmail(String email);
     
+    /**
+     * Which of these emails are already taken, checked in one query for a whole import chunk
+     */
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    /**
+     * All customers in ID order, fetched from a server-side cursor in batches; must be consumed
+     * inside a transaction and closed
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Customer c WHERE (:includeHidden = true OR c.isHidden = false) ORDER BY c.id")
+    Stream<Customer> streamForExport(@Param("includeHidden") boolean includeHidden);
+    
     Page<Customer> findByIsHidden(Boolean isHidden, Pageable pageable);
     
     @Query("SELECT c FROM Customer c WHERE c.isHidden = false")
@@ -30,27 +51,73 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("SELECT c FROM Customer c WHERE c.isHidden = true")
     Page<Customer> findAllHidden(Pageable pageable);
     
-    @Query(value = "SELECT * FROM customers c WHERE " +
-           "(:name IS NULL OR LOWER(c.name::text) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-           "(:email IS NULL OR LOWER(c.email::text) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
-           "(:phone IS NULL OR c.phone::text LIKE CONCAT('%', :phone, '%')) AND " +
-           "(:isHidden IS NULL OR c.is_hidden = :isHidden)",
-           countQuery = "SELECT COUNT(*) FROM customers c WHERE " +
-           "(:name IS NULL OR LOWER(c.name::text) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-           "(:email IS NULL OR LOWER(c.email::text) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
-           "(:phone IS NULL OR c.phone::text LIKE CONCAT('%', :phone, '%')) AND " +
-           "(:isHidden IS NULL OR c.is_hidden = :isHidden)",
+    // Patterns are '%term%' with LIKE wildcards escaped, matched against the same expressions as the
+    // pg_trgm GIN indexes from db/schema/customer-indexes.sql so a leading wildcard can still use an index
+    String FILTERS = "(:namePattern IS NULL OR lower(c.name) LIKE :namePattern) AND " +
+           "(:emailPattern IS NULL OR lower(c.email) LIKE :emailPattern) AND " +
+           "(:phonePattern IS NULL OR c.phone LIKE :phonePattern) AND " +
+           "(:isHidden IS NULL OR c.is_hidden = :isHidden)";
+    
+    @Query(value = "SELECT * FROM customers c WHERE " + FILTERS,
+           countQuery = "SELECT COUNT(*) FROM customers c WHERE " + FILTERS,
            nativeQuery = true)
     Page<Customer> findCustomersWithFilters(
+            @Param("namePattern") String namePattern,
+            @Param("emailPattern") String emailPattern,
+            @Param("phonePattern") String phonePattern,
+            @Param("isHidden") Boolean isHidden,
+            Pageable pageable);
+    
+    /**
+     * Same filters, closest name matches first by trigram similarity
+     */
+    @Query(value = "SELECT * FROM customers c WHERE " + FILTERS +
+           " ORDER BY similarity(:name, lower(c.name)) DESC, c.id",
+           countQuery = "SELECT COUNT(*) FROM customers c WHERE " + FILTERS,
+           nativeQuery = true)
+    Page<Customer> findCustomersWithFiltersByRelevance(
             @Param("name") String name,
-            @Param("email") String email,
-            @Param("phone") String phone,
+            @Param("namePattern") String namePattern,
+            @Param("emailPattern") String emailPattern,
+            @Param("phonePattern") String phonePattern,
             @Param("isHidden") Boolean isHidden,
             Pageable pageable);
     
-    @Query(value = "SELECT * FROM customers c WHERE " +
-           "jsonb_array_length(c.tags) > 0 AND " +
-           "c.tags::text ILIKE CONCAT('%\"', :tag, '\"%')", 
+    // Tag filters use jsonb containment, served by the jsonb_path_ops GIN index on customers.tags
+    // (db/schema/customer-indexes.sql). The tags parameter is a JSON array of tag strings,
+    // e.g. ["vip","hanoi"].
+    String HAS_ALL_TAGS = "c.tags @> CAST(:tagsJson AS jsonb)";
+    String HAS_ANY_TAG = "c.tags @> ANY (ARRAY(SELECT jsonb_build_array(t.tag) " +
+           "FROM jsonb_array_elements_text(CAST(:tagsJson AS jsonb)) AS t(tag)))";
+    String HIDDEN_FILTER = "(:isHidden IS NULL OR c.is_hidden = :isHidden)";
+    
+    @Query(value = "SELECT * FROM customers c WHERE c.tags @> jsonb_build_array(CAST(:tag AS text))",
            nativeQuery = true)
     List<Customer> findByTag(@Param("tag") String tag);
+    
+    @Query(value = "SELECT * FROM customers c WHERE " + HAS_ALL_TAGS + " AND " + HIDDEN_FILTER,
+           countQuery = "SELECT COUNT(*) FROM customers c WHERE " + HAS_ALL_TAGS + " AND " + HIDDEN_FILTER,
+           nativeQuery = true)
+    Page<Customer> findByAllTags(@Param("tagsJson") String tagsJson,
+                                 @Param("isHidden") Boolean isHidden,
+                                 Pageable pageable);
+    
+    @Query(value = "SELECT * FROM customers c WHERE " + HAS_ANY_TAG + " AND " + HIDDEN_FILTER,
+           countQuery = "SELECT COUNT(*) FROM customers c WHERE " + HAS_ANY_TAG + " AND " + HIDDEN_FILTER,
+           nativeQuery = true)
+    Page<Customer> findByAnyTag(@Param("tagsJson") String tagsJson,
+                                @Param("isHidden") Boolean isHidden,
+                                Pageable pageable);
+    
+    /**
+     * Most used tags among customers carrying all the given tags; '[]' counts over every customer
+     */
+    @Query(value = "SELECT t.tag AS \"tag\", COUNT(*) AS \"customerCount\" " +
+           "FROM customers c CROSS JOIN LATERAL jsonb_array_elements_text(c.tags) AS t(tag) " +
+           "WHERE jsonb_typeof(c.tags) = 'array' AND " + HAS_ALL_TAGS + " AND " + HIDDEN_FILTER +
+           " GROUP BY t.tag ORDER BY COUNT(*) DESC, t.tag LIMIT :limit",
+           nativeQuery = true)
+    List<TagCountView> countTags(@Param("tagsJson") String tagsJson,
+                                 @Param("isHidden") Boolean isHidden,
+                                 @Param("limit") int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.g47.cem.cemcustomer.repository.projection;
+
+/**
+ * Number of customers carrying one tag
+ */
+public interface TagCountView {
+
+    String getTag();
+
+    Long getCustomerCount();
+}
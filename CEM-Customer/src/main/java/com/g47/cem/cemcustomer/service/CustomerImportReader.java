@@ -0,0 +1,128 @@
+package com.g47.cem.cemcustomer.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.g47.cem.cemcustomer.dto.request.CreateCustomerRequest;
+import com.g47.cem.cemcustomer.exception.BusinessException;
+import com.g47.cem.cemcustomer.service.CustomerService.BulkFormat;
+import com.g47.cem.cemcustomer.util.CsvFormat;
+
+/**
+ * Reads customers to import one row at a time, from CSV with a header row or from NDJSON
+ * (one JSON object per line). Columns and keys use the {@link CreateCustomerRequest} field
+ * names; in CSV, blank fields are absent and tags are separated by semicolons. Other columns,
+ * such as the id, createdBy and createdAt of an export, are ignored. A row that cannot be
+ * parsed comes back with an error instead of a request, so one bad row does not stop the import.
+ */
+final class CustomerImportReader {
+
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("\\s*;\\s*");
+
+    /**
+     * One row of input: its number in the file and either a request or why it could not be read
+     */
+    record Row(long rowNumber, CreateCustomerRequest request, String error) {
+    }
+
+    private final BufferedReader in;
+    private final BulkFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long rowNumber;
+
+    CustomerImportReader(BufferedReader in, BulkFormat format, ObjectMapper objectMapper) {
+        this.in = in;
+        this.format = format;
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Number of the last row read
+     */
+    long rowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * The next non-blank row, or null at the end of input
+     */
+    Row next() throws IOException {
+        return format == BulkFormat.CSV ? nextCsvRow() : nextJsonRow();
+    }
+
+    private Row nextCsvRow() throws IOException {
+        if (header == null) {
+            header = CsvFormat.readRecord(in);
+            rowNumber++;
+            if (header == null) {
+                return null;
+            }
+            // Spreadsheet exports often start with a byte order mark
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+            header = header.stream().map(String::trim).toList();
+            if (!header.contains("email")) {
+                throw new BusinessException("CSV header must include an email column");
+            }
+        }
+        List<String> record;
+        do {
+            record = CsvFormat.readRecord(in);
+            rowNumber++;
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+
+        Map<String, Object> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < record.size(); i++) {
+            String value = record.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            fields.put(header.get(i), "tags".equals(header.get(i)) ? List.of(TAG_SEPARATOR.split(value)) : value);
+        }
+        try {
+            return new Row(rowNumber, objectMapper.convertValue(fields, CreateCustomerRequest.class), null);
+        } catch (IllegalArgumentException e) {
+            return new Row(rowNumber, null, describe(e.getCause()));
+        }
+    }
+
+    private Row nextJsonRow() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            rowNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return new Row(rowNumber, objectMapper.readValue(line, CreateCustomerRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(rowNumber, null, describe(e));
+        }
+    }
+
+    private static String describe(Throwable error) {
+        if (error instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            String field = mapping.getPath().get(mapping.getPath().size() - 1).getFieldName();
+            if (field != null) {
+                return "Invalid value for " + field;
+            }
+        }
+        return "Row could not be parsed";
+    }
+}
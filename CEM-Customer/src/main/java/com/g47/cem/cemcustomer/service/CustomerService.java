@@ -1,25 +1,57 @@
 package com.g47.cem.cemcustomer.service;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.g47.cem.cemcustomer.dto.request.CreateCustomerRequest;
 import com.g47.cem.cemcustomer.dto.request.UpdateCustomerRequest;
+import com.g47.cem.cemcustomer.dto.response.CustomerImportResponse;
 import com.g47.cem.cemcustomer.dto.response.CustomerResponse;
+import com.g47.cem.cemcustomer.dto.response.TagFacetResponse;
 import com.g47.cem.cemcustomer.entity.Customer;
 import com.g47.cem.cemcustomer.exception.BusinessException;
 import com.g47.cem.cemcustomer.exception.ResourceNotFoundException;
 import com.g47.cem.cemcustomer.repository.CustomerRepository;
+import com.g47.cem.cemcustomer.util.CsvFormat;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,6 +66,64 @@ public class CustomerService {
     
     private final CustomerRepository customerRepository;
     private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    
+    @Value("${app.customer-import.chunk-size:500}")
+    private int importChunkSize;
+    
+    @Value("${app.customer-import.max-reported-errors:1000}")
+    private int maxReportedImportErrors;
+    
+    /** Sort property that orders a name search by closeness of match */
+    static final String RELEVANCE_SORT = "relevance";
+    
+    /** Columns of a bulk export, in order; an import reads the same names and ignores id, createdBy and createdAt */
+    static final List<String> EXPORT_COLUMNS = List.of("id", "name", "email", "phone", "address", "companyName",
+            "companyTaxCode", "companyAddress", "legalRepresentative", "title", "identityNumber",
+            "identityIssueDate", "identityIssuePlace", "fax", "tags", "isHidden", "createdBy", "createdAt");
+    
+    // Skips, rather than fails on, an email inserted concurrently since the existing-email check
+    private static final String IMPORT_INSERT = "INSERT INTO customers (name, email, phone, address, company_name, " +
+            "company_tax_code, company_address, legal_representative, title, identity_number, identity_issue_date, " +
+            "identity_issue_place, fax, tags, is_hidden, created_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?, ?) " +
+            "ON CONFLICT (email) DO NOTHING";
+    
+    /**
+     * Format of a bulk import or export
+     */
+    public enum BulkFormat {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+        
+        private final String mediaType;
+        
+        BulkFormat(String mediaType) {
+            this.mediaType = mediaType;
+        }
+        
+        public String getMediaType() {
+            return mediaType;
+        }
+        
+        /**
+         * Format named by a request parameter or content type, e.g. "csv" or "application/x-ndjson"
+         */
+        public static BulkFormat from(String value) {
+            String lower = value != null ? value.toLowerCase(Locale.ROOT) : "";
+            if (lower.contains("csv")) {
+                return CSV;
+            }
+            if (lower.contains("ndjson") || lower.contains("jsonl")) {
+                return NDJSON;
+            }
+            throw new BusinessException("Format must be csv or ndjson", HttpStatus.BAD_REQUEST);
+        }
+    }
     
     /**
      * Create a new customer
@@ -76,6 +166,182 @@ public class CustomerService {
         return mapToCustomerResponse(savedCustomer);
     }
     
+    /**
+     * Import customers from CSV or NDJSON without holding the input in memory. Rows are read in
+     * chunks; each chunk is validated, checked against existing emails in one query and inserted
+     * as one JDBC batch in its own transaction. Rows that fail are reported rather than failing
+     * the import, and chunks already inserted stay inserted if the input breaks off.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerImportResponse importCustomers(InputStream input, BulkFormat format, String createdBy) {
+        log.info("Importing customers from {} by user: {}", format, createdBy);
+        
+        ImportReport report = new ImportReport(maxReportedImportErrors);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CustomerImportReader reader = new CustomerImportReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), format, objectMapper);
+        List<CustomerImportReader.Row> chunk = new ArrayList<>();
+        try {
+            CustomerImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() >= importChunkSize) {
+                    importChunk(chunk, createdBy, transaction, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Customer import input broke off: {}", e.getMessage());
+            report.total++;
+            report.fail(reader.rowNumber(), null, "Could not read input: " + e.getMessage());
+        }
+        importChunk(chunk, createdBy, transaction, report);
+        
+        log.info("Imported {} of {} customers ({} failed)", report.imported, report.total, report.failed);
+        return CustomerImportResponse.builder()
+                .format(format.name())
+                .totalRows(report.total)
+                .importedRows(report.imported)
+                .failedRows(report.failed)
+                .errors(report.errors)
+                .errorsTruncated(report.failed > report.errors.size())
+                .build();
+    }
+    
+    private void importChunk(List<CustomerImportReader.Row> chunk, String createdBy, TransactionTemplate transaction,
+                             ImportReport report) {
+        // Rows that parsed and validated, by email; a repeated email within the chunk fails
+        Map<String, CustomerImportReader.Row> valid = new LinkedHashMap<>();
+        for (CustomerImportReader.Row row : chunk) {
+            report.total++;
+            if (row.error() != null) {
+                report.fail(row.rowNumber(), null, row.error());
+                continue;
+            }
+            CreateCustomerRequest request = row.request();
+            String violations = validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            if (!violations.isEmpty()) {
+                report.fail(row.rowNumber(), request.getEmail(), violations);
+            } else if (valid.putIfAbsent(request.getEmail(), row) != null) {
+                report.fail(row.rowNumber(), request.getEmail(), "Email appears more than once in the import");
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        
+        for (String taken : customerRepository.findExistingEmails(valid.keySet())) {
+            CustomerImportReader.Row row = valid.remove(taken);
+            report.fail(row.rowNumber(), taken, "Customer with email " + taken + " already exists");
+        }
+        List<CustomerImportReader.Row> rows = new ArrayList<>(valid.values());
+        if (rows.isEmpty()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = rows.stream()
+                .map(row -> importParameters(row.request(), createdBy, now))
+                .toList();
+        try {
+            int[] counts = transaction.execute(status -> jdbcTemplate.batchUpdate(IMPORT_INSERT, batch));
+            for (int i = 0; i < rows.size(); i++) {
+                recordInsert(rows.get(i), counts[i], report);
+            }
+        } catch (DataAccessException e) {
+            // One bad row rolls back the whole batch; insert the chunk row by row to find it
+            log.warn("Batch insert of {} customers failed, retrying row by row: {}", rows.size(), e.getMessage());
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] parameters = batch.get(i);
+                try {
+                    Integer count = transaction.execute(status -> jdbcTemplate.update(IMPORT_INSERT, parameters));
+                    recordInsert(rows.get(i), count != null ? count : 0, report);
+                } catch (DataAccessException rowError) {
+                    report.fail(rows.get(i).rowNumber(), rows.get(i).request().getEmail(),
+                            "Could not be inserted: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+    
+    private static void recordInsert(CustomerImportReader.Row row, int count, ImportReport report) {
+        if (count == 0) {
+            report.fail(row.rowNumber(), row.request().getEmail(),
+                    "Customer with email " + row.request().getEmail() + " already exists");
+        } else {
+            report.imported++;
+        }
+    }
+    
+    private Object[] importParameters(CreateCustomerRequest request, String createdBy, LocalDateTime now) {
+        return new Object[] {
+                request.getName(), request.getEmail(), request.getPhone(), request.getAddress(),
+                request.getCompanyName(), request.getCompanyTaxCode(), request.getCompanyAddress(),
+                request.getLegalRepresentative(), request.getTitle(), request.getIdentityNumber(),
+                request.getIdentityIssueDate(), request.getIdentityIssuePlace(), request.getFax(),
+                Objects.requireNonNullElse(toTagsJson(request.getTags()), "[]"),
+                request.getIsHidden() != null ? request.getIsHidden() : false,
+                createdBy, now, now
+        };
+    }
+    
+    /**
+     * Write customers as CSV or NDJSON while they are read from a database cursor, detaching each
+     * one once written, so memory stays flat however many customers there are
+     *
+     * @return number of customers written
+     */
+    @Transactional(readOnly = true)
+    public long exportCustomers(OutputStream output, BulkFormat format, boolean includeHidden) throws IOException {
+        log.info("Exporting customers as {} (includeHidden: {})", format, includeHidden);
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == BulkFormat.CSV) {
+            CsvFormat.writeRecord(writer, EXPORT_COLUMNS);
+        }
+        long count = 0;
+        try (Stream<Customer> customers = customerRepository.streamForExport(includeHidden)) {
+            Iterator<Customer> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                Customer customer = iterator.next();
+                List<Object> values = exportValues(customer, format);
+                if (format == BulkFormat.CSV) {
+                    CsvFormat.writeRecord(writer, values);
+                } else {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 0; i < EXPORT_COLUMNS.size(); i++) {
+                        row.put(EXPORT_COLUMNS.get(i), values.get(i));
+                    }
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                entityManager.detach(customer);
+                count++;
+            }
+        }
+        writer.flush();
+        
+        log.info("Exported {} customers", count);
+        return count;
+    }
+    
+    /**
+     * A customer's values in {@link #EXPORT_COLUMNS} order; CSV joins tags with semicolons as the import expects
+     */
+    private static List<Object> exportValues(Customer customer, BulkFormat format) {
+        List<String> tags = customer.getTags() != null ? customer.getTags() : List.of();
+        return Arrays.asList(
+                customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone(), customer.getAddress(),
+                customer.getCompanyName(), customer.getCompanyTaxCode(), customer.getCompanyAddress(),
+                customer.getLegalRepresentative(), customer.getTitle(), customer.getIdentityNumber(),
+                customer.getIdentityIssueDate(), customer.getIdentityIssuePlace(), customer.getFax(),
+                format == BulkFormat.CSV ? String.join(";", tags) : tags, customer.getIsHidden(),
+                customer.getCreatedBy(), customer.getCreatedAt());
+    }
+    
     /**
      * Get customer by ID
      */
@@ -149,14 +415,48 @@ public class CustomerService {
         log.debug("Searching customers with filters - name: {}, email: {}, phone: {}, isHidden: {}", 
                 name, email, phone, isHidden);
         
-        // Map Java field names to database column names for native query
-        Pageable mappedPageable = mapFieldNamesToColumnNames(pageable);
+        String namePattern = containsPattern(name);
+        String emailPattern = containsPattern(email);
+        String phonePattern = containsPattern(phone);
         
-        Page<Customer> customers = customerRepository.findCustomersWithFilters(
-                name, email, phone, isHidden, mappedPageable);
+        Page<Customer> customers;
+        if (namePattern != null && pageable.getSort().getOrderFor(RELEVANCE_SORT) != null) {
+            customers = customerRepository.findCustomersWithFiltersByRelevance(name.trim().toLowerCase(),
+                    namePattern, emailPattern, phonePattern, isHidden,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        } else {
+            // Map Java field names to database column names for native query
+            Pageable mappedPageable = mapFieldNamesToColumnNames(withoutRelevance(pageable));
+            customers = customerRepository.findCustomersWithFilters(
+                    namePattern, emailPattern, phonePattern, isHidden, mappedPageable);
+        }
         return customers.map(this::mapToCustomerResponse);
     }
     
+    /**
+     * Lower-cased '%term%' LIKE pattern with wildcards in the term escaped, or null when blank
+     */
+    private String containsPattern(String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        String escaped = term.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+    
+    /**
+     * Drops a relevance order, which only applies to name searches
+     */
+    private Pageable withoutRelevance(Pageable pageable) {
+        if (pageable.getSort().getOrderFor(RELEVANCE_SORT) == null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+    
     /**
      * Maps Java field names to database column names for native queries
      */
@@ -245,6 +545,61 @@ public class CustomerService {
                 .toList();
     }
     
+    /**
+     * Get customers carrying all (or, with matchAll false, any) of the given tags
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerResponse> getCustomersByTags(List<String> tags, boolean matchAll, Boolean isHidden,
+                                                     Pageable pageable) {
+        log.debug("Fetching customers with {} of tags: {}", matchAll ? "all" : "any", tags);
+        
+        String tagsJson = toTagsJson(tags);
+        if (tagsJson == null) {
+            throw new BusinessException("At least one tag is required", HttpStatus.BAD_REQUEST);
+        }
+        Pageable mappedPageable = mapFieldNamesToColumnNames(pageable);
+        Page<Customer> customers = matchAll
+                ? customerRepository.findByAllTags(tagsJson, isHidden, mappedPageable)
+                : customerRepository.findByAnyTag(tagsJson, isHidden, mappedPageable);
+        return customers.map(this::mapToCustomerResponse);
+    }
+    
+    /**
+     * Count customers per tag, optionally only among customers carrying all the given tags
+     */
+    @Transactional(readOnly = true)
+    public List<TagFacetResponse> getTagFacets(List<String> tags, Boolean isHidden, int limit) {
+        String tagsJson = toTagsJson(tags);
+        return customerRepository.countTags(tagsJson != null ? tagsJson : "[]", isHidden, limit).stream()
+                .map(facet -> TagFacetResponse.builder()
+                        .tag(facet.getTag())
+                        .customerCount(facet.getCustomerCount())
+                        .build())
+                .toList();
+    }
+    
+    /**
+     * JSON array of the non-blank tags, trimmed, or null when there are none
+     */
+    private String toTagsJson(List<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        List<String> cleaned = tags.stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(cleaned);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize tags", e);
+        }
+    }
+    
     /**
      * Update customer
      */
@@ -315,4 +670,30 @@ public class CustomerService {
     private CustomerResponse mapToCustomerResponse(Customer customer) {
         return modelMapper.map(customer, CustomerResponse.class);
     }
+    
+    /**
+     * Running counts of an import, keeping the first errors only
+     */
+    private static final class ImportReport {
+        private final int maxErrors;
+        private final List<CustomerImportResponse.RowError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+        
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+        
+        private void fail(long rowNumber, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(CustomerImportResponse.RowError.builder()
+                        .rowNumber(rowNumber)
+                        .email(email)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
 }
\ No newline at end of file
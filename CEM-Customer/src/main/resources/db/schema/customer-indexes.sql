@@ -0,0 +1,18 @@
+-- Customer indexes that Hibernate cannot declare. This service runs with Flyway disabled and its
+-- tables are created by Hibernate, so this script runs at every startup right after the schema
+-- update (spring.sql.init with deferred initialization). Every statement is idempotent, and a
+-- failure stops the service from starting instead of leaving the index missing.
+
+-- Keyword search matches lower(column) LIKE '%keyword%'. A leading wildcard cannot use a btree
+-- (the varchar_pattern_ops indexes from V003 only serve prefixes), but a pg_trgm GIN index on the
+-- same expression can. Queries must use exactly these expressions for the indexes to apply.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_customers_name_trgm ON customers USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_email_trgm ON customers USING GIN (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_customers_phone_trgm ON customers USING GIN (phone gin_trgm_ops);
+
+-- Tag filters query tags with the jsonb containment operator (tags @> '["vip"]'). A
+-- jsonb_path_ops GIN index serves exactly that operator and is smaller and faster than the
+-- default jsonb_ops index from V001.
+CREATE INDEX IF NOT EXISTS idx_customers_tags_path ON customers USING GIN (tags jsonb_path_ops);
@@ -0,0 +1,141 @@
+package com.g47.cem.cemcustomer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.g47.cem.cemcustomer.dto.request.CreateCustomerRequest;
+import com.g47.cem.cemcustomer.exception.BusinessException;
+import com.g47.cem.cemcustomer.service.CustomerService.BulkFormat;
+
+class CustomerImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void testNext_Csv_ShouldMapColumnsByHeader() throws IOException {
+        // Arrange
+        CustomerImportReader reader = reader(BulkFormat.CSV,
+                "email,name,tags,identityIssueDate,isHidden\r\n"
+                        + "a@example.com,\"Tran, Thi B\",vip ; hanoi,2020-05-01,true\r\n");
+
+        // Act
+        CustomerImportReader.Row row = reader.next();
+
+        // Assert
+        assertNull(row.error());
+        assertEquals(2, row.rowNumber());
+        CreateCustomerRequest request = row.request();
+        assertEquals("a@example.com", request.getEmail());
+        assertEquals("Tran, Thi B", request.getName());
+        assertEquals(List.of("vip", "hanoi"), request.getTags());
+        assertEquals(LocalDate.of(2020, 5, 1), request.getIdentityIssueDate());
+        assertTrue(request.getIsHidden());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testNext_Csv_ShouldStripByteOrderMark() throws IOException {
+        // Arrange
+        CustomerImportReader reader = reader(BulkFormat.CSV, "\ufeffemail,name\na@example.com,A\n");
+
+        // Act
+        CustomerImportReader.Row row = reader.next();
+
+        // Assert
+        assertEquals("a@example.com", row.request().getEmail());
+    }
+
+    @Test
+    void testNext_Csv_ShouldIgnoreExportOnlyColumns() throws IOException {
+        // Arrange
+        CustomerImportReader reader = reader(BulkFormat.CSV,
+                "id,email,createdBy,createdAt\n12,a@example.com,admin@example.com,2024-01-02T03:04:05\n");
+
+        // Act
+        CustomerImportReader.Row row = reader.next();
+
+        // Assert
+        assertNull(row.error());
+        assertEquals("a@example.com", row.request().getEmail());
+    }
+
+    @Test
+    void testNext_Csv_ShouldKeepLineBreaksAndSkipBlankLines() throws IOException {
+        // Arrange
+        CustomerImportReader reader = reader(BulkFormat.CSV,
+                "email,address\r\n\r\na@example.com,\"Floor 2\r\n12 Le Loi\"\r\n\r\nb@example.com,\r\n");
+
+        // Act
+        CustomerImportReader.Row first = reader.next();
+        CustomerImportReader.Row second = reader.next();
+
+        // Assert
+        assertEquals("Floor 2\r\n12 Le Loi", first.request().getAddress());
+        assertEquals(3, first.rowNumber());
+        assertEquals("b@example.com", second.request().getEmail());
+        assertNull(second.request().getAddress());
+        assertEquals(5, second.rowNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testNext_Csv_WithBadValue_ShouldReturnRowError() throws IOException {
+        // Arrange
+        CustomerImportReader reader = reader(BulkFormat.CSV,
+                "email,identityIssueDate\na@example.com,01/05/2020\nb@example.com,2020-05-01\n");
+
+        // Act
+        CustomerImportReader.Row bad = reader.next();
+        CustomerImportReader.Row good = reader.next();
+
+        // Assert
+        assertNull(bad.request());
+        assertEquals("Invalid value for identityIssueDate", bad.error());
+        assertEquals("b@example.com", good.request().getEmail());
+    }
+
+    @Test
+    void testNext_Csv_WithoutEmailColumn_ShouldThrow() {
+        // Arrange
+        CustomerImportReader reader = reader(BulkFormat.CSV, "name,phone\nA,0901234567\n");
+
+        // Act & Assert
+        assertThrows(BusinessException.class, reader::next);
+    }
+
+    @Test
+    void testNext_Ndjson_ShouldReadOneObjectPerLineAndIgnoreExportOnlyKeys() throws IOException {
+        // Arrange
+        CustomerImportReader reader = reader(BulkFormat.NDJSON,
+                "{\"id\":3,\"email\":\"a@example.com\",\"tags\":[\"vip\"],\"createdAt\":\"2024-01-02T03:04:05\"}\n"
+                        + "\n"
+                        + "{\"email\":\"b@example.com\",\"identityIssueDate\":\"not a date\"}\n");
+
+        // Act
+        CustomerImportReader.Row first = reader.next();
+        CustomerImportReader.Row second = reader.next();
+
+        // Assert
+        assertEquals("a@example.com", first.request().getEmail());
+        assertEquals(List.of("vip"), first.request().getTags());
+        assertEquals("Invalid value for identityIssueDate", second.error());
+        assertEquals(3, second.rowNumber());
+        assertNull(reader.next());
+    }
+
+    private CustomerImportReader reader(BulkFormat format, String input) {
+        return new CustomerImportReader(new BufferedReader(new StringReader(input)), format, objectMapper);
+    }
+}
@@ -0,0 +1,274 @@
+package com.g47.cem.cemcustomer.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.g47.cem.cemcustomer.dto.response.CustomerImportResponse;
+import com.g47.cem.cemcustomer.entity.Customer;
+import com.g47.cem.cemcustomer.repository.CustomerRepository;
+import com.g47.cem.cemcustomer.service.CustomerService.BulkFormat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerServiceImportTest {
+
+    private static final String HEADER = "email,name,phone,companyName,companyTaxCode,companyAddress,"
+            + "legalRepresentative,title,identityNumber,identityIssueDate,identityIssuePlace\n";
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CustomerService customerService;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        customerService = new CustomerService(customerRepository, new ModelMapper(), objectMapper, jdbcTemplate,
+                transactionManager, entityManager, validatorFactory.getValidator());
+        ReflectionTestUtils.setField(customerService, "importChunkSize", 500);
+        ReflectionTestUtils.setField(customerService, "maxReportedImportErrors", 1000);
+    }
+
+    @Test
+    void testImportCustomers_ShouldInsertValidRowsInOneBatch() {
+        // Arrange
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1, 1});
+
+        // Act
+        CustomerImportResponse response = importCsv(row("a@example.com") + row("b@example.com"));
+
+        // Assert
+        assertCounts(response, 2, 2, 0);
+        List<Object[]> batch = captureBatch();
+        assertEquals(2, batch.size());
+        assertEquals("a@example.com", batch.get(0)[1]);
+        assertEquals("admin@example.com", batch.get(0)[15]);
+        assertEquals("[]", batch.get(0)[13]);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void testImportCustomers_ShouldRejectEmailRepeatedWithinChunk() {
+        // Arrange
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1});
+
+        // Act
+        CustomerImportResponse response = importCsv(row("a@example.com") + row("a@example.com"));
+
+        // Assert
+        assertCounts(response, 2, 1, 1);
+        CustomerImportResponse.RowError error = response.getErrors().get(0);
+        assertEquals(3L, error.getRowNumber());
+        assertEquals("Email appears more than once in the import", error.getMessage());
+        assertEquals(1, captureBatch().size());
+    }
+
+    @Test
+    void testImportCustomers_ShouldSkipEmailsThatAlreadyExist() {
+        // Arrange
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of("a@example.com"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1, 0});
+
+        // Act
+        CustomerImportResponse response = importCsv(
+                row("a@example.com") + row("b@example.com") + row("c@example.com"));
+
+        // Assert
+        assertCounts(response, 3, 1, 2);
+        assertEquals(List.of("a@example.com", "c@example.com"),
+                response.getErrors().stream().map(CustomerImportResponse.RowError::getEmail).toList());
+        // c@example.com was inserted concurrently, after the existing-email check
+        assertTrue(response.getErrors().stream().allMatch(error -> error.getMessage().endsWith("already exists")));
+        List<Object[]> batch = captureBatch();
+        assertEquals(List.of("b@example.com", "c@example.com"), batch.stream().map(params -> params[1]).toList());
+    }
+
+    @Test
+    void testImportCustomers_WhenBatchFails_ShouldRetryRowByRow() {
+        // Arrange
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("value too long for type character varying(20)"))
+                .thenReturn(0);
+
+        // Act
+        CustomerImportResponse response = importCsv(
+                row("a@example.com") + row("b@example.com") + row("c@example.com"));
+
+        // Assert
+        assertCounts(response, 3, 1, 2);
+        assertEquals("b@example.com", response.getErrors().get(0).getEmail());
+        assertEquals("Could not be inserted: value too long for type character varying(20)",
+                response.getErrors().get(0).getMessage());
+        assertEquals("c@example.com", response.getErrors().get(1).getEmail());
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void testImportCustomers_ShouldCapReportedErrors() {
+        // Arrange
+        ReflectionTestUtils.setField(customerService, "maxReportedImportErrors", 2);
+
+        // Act
+        CustomerImportResponse response = importCsv("x@example.com,,,,,,,,,,\n".repeat(4)
+                + "not-an-email,A,0901234567,C,T,Addr,L,Mr,123,2020-01-01,HN\n");
+
+        // Assert
+        assertCounts(response, 5, 0, 5);
+        assertEquals(2, response.getErrors().size());
+        assertTrue(response.getErrorsTruncated());
+        assertEquals(List.of(2L, 3L),
+                response.getErrors().stream().map(CustomerImportResponse.RowError::getRowNumber).toList());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testImportCustomers_ShouldSplitInputIntoChunks() {
+        // Arrange
+        ReflectionTestUtils.setField(customerService, "importChunkSize", 2);
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1, 1}, new int[] {1});
+
+        // Act
+        CustomerImportResponse response = importCsv(
+                row("a@example.com") + row("b@example.com") + row("c@example.com"));
+
+        // Assert
+        assertCounts(response, 3, 3, 0);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(customerRepository, times(2)).findExistingEmails(anyCollection());
+    }
+
+    @Test
+    void testExportThenImport_Csv_ShouldRoundTrip() throws IOException {
+        assertRoundTrip(BulkFormat.CSV);
+    }
+
+    @Test
+    void testExportThenImport_Ndjson_ShouldRoundTrip() throws IOException {
+        assertRoundTrip(BulkFormat.NDJSON);
+    }
+
+    private void assertRoundTrip(BulkFormat format) throws IOException {
+        // Arrange
+        Customer customer = Customer.builder()
+                .id(12L)
+                .name("Nguyen Van A")
+                .email("a@example.com")
+                .phone("+84901234567")
+                .address("Floor 2,\r\n12 \"Le Loi\"")
+                .companyName("Cong ty A")
+                .companyTaxCode("0101234567")
+                .companyAddress("12 Le Loi, Ha Noi")
+                .legalRepresentative("Tran B")
+                .title("Director")
+                .identityNumber("012345678")
+                .identityIssueDate(LocalDate.of(2015, 3, 9))
+                .identityIssuePlace("Ha Noi")
+                .fax("0241234567")
+                .tags(List.of("vip", "hanoi"))
+                .isHidden(true)
+                .createdBy("someone@example.com")
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+                .build();
+        when(customerRepository.streamForExport(true)).thenReturn(Stream.of(customer));
+        when(customerRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1});
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        customerService.exportCustomers(exported, format, true);
+
+        // Act
+        CustomerImportResponse response = customerService.importCustomers(
+                new ByteArrayInputStream(exported.toByteArray()), format, "admin@example.com");
+
+        // Assert
+        assertCounts(response, 1, 1, 0);
+        Object[] params = captureBatch().get(0);
+        assertEquals(Arrays.asList("Nguyen Van A", "a@example.com", "+84901234567", "Floor 2,\r\n12 \"Le Loi\"",
+                "Cong ty A", "0101234567", "12 Le Loi, Ha Noi", "Tran B", "Director", "012345678",
+                LocalDate.of(2015, 3, 9), "Ha Noi", "0241234567", "[\"vip\",\"hanoi\"]", true, "admin@example.com"),
+                Arrays.asList(params).subList(0, 16));
+    }
+
+    private CustomerImportResponse importCsv(String rows) {
+        byte[] input = (HEADER + rows).getBytes(StandardCharsets.UTF_8);
+        return customerService.importCustomers(new ByteArrayInputStream(input), BulkFormat.CSV, "admin@example.com");
+    }
+
+    private static String row(String email) {
+        return email + ",Customer,0901234567,Company,0101234567,\"1 Street, City\",Rep,Director,012345678,"
+                + "2020-01-01,Ha Noi\n";
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatch() {
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        return batch.getValue();
+    }
+
+    private static void assertCounts(CustomerImportResponse response, long total, long imported, long failed) {
+        assertEquals(total, response.getTotalRows());
+        assertEquals(imported, response.getImportedRows());
+        assertEquals(failed, response.getFailedRows());
+    }
+}
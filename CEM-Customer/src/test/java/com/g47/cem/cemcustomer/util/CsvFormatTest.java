@@ -0,0 +1,106 @@
+package com.g47.cem.cemcustomer.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvFormatTest {
+
+    @Test
+    void testReadRecord_ShouldKeepCommasInsideQuotes() throws IOException {
+        // Arrange
+        BufferedReader in = reader("name,\"12 Le Loi, District 1\",x\n");
+
+        // Act
+        List<String> record = CsvFormat.readRecord(in);
+
+        // Assert
+        assertEquals(List.of("name", "12 Le Loi, District 1", "x"), record);
+        assertNull(CsvFormat.readRecord(in));
+    }
+
+    @Test
+    void testReadRecord_ShouldUnescapeDoubledQuotes() throws IOException {
+        // Act
+        List<String> record = CsvFormat.readRecord(reader("\"Cong ty \"\"ABC\"\"\",b\r\n"));
+
+        // Assert
+        assertEquals(List.of("Cong ty \"ABC\"", "b"), record);
+    }
+
+    @Test
+    void testReadRecord_ShouldKeepLineBreaksInsideQuotes() throws IOException {
+        // Arrange
+        BufferedReader in = reader("a,\"line one\r\nline two\",c\r\nnext,row\r\n");
+
+        // Act
+        List<String> first = CsvFormat.readRecord(in);
+        List<String> second = CsvFormat.readRecord(in);
+
+        // Assert
+        assertEquals(List.of("a", "line one\r\nline two", "c"), first);
+        assertEquals(List.of("next", "row"), second);
+        assertNull(CsvFormat.readRecord(in));
+    }
+
+    @Test
+    void testReadRecord_ShouldEndRecordsOnLfCrLfAndEndOfInput() throws IOException {
+        // Arrange
+        BufferedReader in = reader("a,b\nc,d\r\ne,");
+
+        // Act & Assert
+        assertEquals(List.of("a", "b"), CsvFormat.readRecord(in));
+        assertEquals(List.of("c", "d"), CsvFormat.readRecord(in));
+        assertEquals(List.of("e", ""), CsvFormat.readRecord(in));
+        assertNull(CsvFormat.readRecord(in));
+    }
+
+    @Test
+    void testReadRecord_ShouldBeLenientAboutStrayQuotes() throws IOException {
+        // Arrange
+        BufferedReader in = reader("5\" pipe,\"open");
+
+        // Act
+        List<String> record = CsvFormat.readRecord(in);
+
+        // Assert
+        assertEquals(List.of("5\" pipe", "open"), record);
+    }
+
+    @Test
+    void testWriteRecord_ShouldQuoteOnlyFieldsThatNeedIt() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        CsvFormat.writeRecord(out, Arrays.asList("plain", "a,b", "say \"hi\"", "two\nlines", null, 7));
+
+        // Assert
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",,7\r\n", out.toString());
+    }
+
+    @Test
+    void testWriteThenRead_ShouldRoundTrip() throws IOException {
+        // Arrange
+        List<String> values = List.of("Nguy\u1ec5n V\u0103n A", "a,b", "\"quoted\"", "x\r\ny", "");
+        StringWriter out = new StringWriter();
+        CsvFormat.writeRecord(out, values);
+
+        // Act
+        List<String> record = CsvFormat.readRecord(reader(out.toString()));
+
+        // Assert
+        assertEquals(values, record);
+    }
+
+    private static BufferedReader reader(String text) {
+        return new BufferedReader(new StringReader(text));
+    }
+}
@@ -43,6 +43,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.emailVerified = :verified, u.emailVerificationToken = NULL WHERE u.id = :userId")
     void updateEmailVerificationStatus(@Param("userId") Long userId, @Param("verified") Boolean verified);
 
+    /**
+     * ID of the customer record with this email; customers live in the same database
+     */
+    @Query(value = "SELECT c.id FROM customers c WHERE c.email = :email ORDER BY c.id LIMIT 1", nativeQuery = true)
+    Optional<Long> findCustomerIdByEmail(@Param("email") String email);
+
     // NEW CODE: add dynamic filter query for user search
     @Query("SELECT u FROM User u WHERE " +
            "(:search IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
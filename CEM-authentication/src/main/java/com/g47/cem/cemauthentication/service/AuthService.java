@@ -41,6 +41,7 @@ public class AuthService {
     private final ModelMapper modelMapper;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final CustomerIdLookup customerIdLookup;
 
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt for email: {}", request.getEmail());
@@ -62,7 +63,7 @@ public class AuthService {
             }
 
             // Generate tokens
-            String accessToken = jwtUtil.generateToken(user);
+            String accessToken = jwtUtil.generateToken(user, customerIdFor(user));
             String refreshToken = jwtUtil.generateRefreshToken(user);
 
             // Update last login time and reset login attempts
@@ -92,7 +93,7 @@ public class AuthService {
                     .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
             if (jwtUtil.validateToken(refreshToken, user)) {
-                String newAccessToken = jwtUtil.generateToken(user);
+                String newAccessToken = jwtUtil.generateToken(user, customerIdFor(user));
                 String newRefreshToken = jwtUtil.generateRefreshToken(user);
 
                 UserResponse userResponse = mapToUserResponse(user);
@@ -264,6 +265,22 @@ public class AuthService {
         return userResponse;
     }
 
+    /**
+     * Customer ID for the token claim, or null for staff; a failed lookup only drops the claim,
+     * and services then fall back to looking the customer up by email
+     */
+    private Long customerIdFor(User user) {
+        if (user.getRole() == null || !"CUSTOMER".equals(user.getRole().getName())) {
+            return null;
+        }
+        try {
+            return customerIdLookup.findCustomerId(user.getEmail()).orElse(null);
+        } catch (Exception e) {
+            log.warn("Could not look up customer ID for {}: {}", user.getEmail(), e.getMessage());
+            return null;
+        }
+    }
+
     private void handleFailedLogin(String email) {
         userRepository.findByEmail(email).ifPresent(user -> {
             int attempts = user.getLoginAttempts() + 1;
@@ -0,0 +1,27 @@
+package com.g47.cem.cemauthentication.service;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemauthentication.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Finds the customer record behind a customer user's email, for the {@code customerId} token claim.
+ * Runs in its own transaction, so a failed lookup cannot abort the login that asked for it.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerIdLookup {
+
+    private final UserRepository userRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<Long> findCustomerId(String email) {
+        return userRepository.findCustomerIdByEmail(email);
+    }
+}
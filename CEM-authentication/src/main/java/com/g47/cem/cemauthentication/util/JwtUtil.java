@@ -39,6 +39,13 @@ public class JwtUtil {
     }
 
     public String generateToken(UserDetails userDetails) {
+        return generateToken(userDetails, null);
+    }
+
+    /**
+     * Access token that also carries the customer ID, so customer-facing services need not look it up by email
+     */
+    public String generateToken(UserDetails userDetails, Long customerId) {
         Map<String, Object> claims = new HashMap<>();
         // Extract all authorities as roles list
         List<String> roles = userDetails.getAuthorities().stream()
@@ -50,6 +57,9 @@ public class JwtUtil {
         if (userDetails instanceof com.g47.cem.cemauthentication.entity.User user) {
             claims.put("userId", user.getId());
         }
+        if (customerId != null) {
+            claims.put("customerId", customerId);
+        }
 
         return createToken(claims, userDetails.getUsername(), jwtExpiration);
     }
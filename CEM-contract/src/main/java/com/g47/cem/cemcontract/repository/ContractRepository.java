@@ -16,6 +16,7 @@ import org.springframework.stereotype.Repository;
 
 import com.g47.cem.cemcontract.entity.Contract;
 import com.g47.cem.cemcontract.enums.ContractStatus;
+import com.g47.cem.cemcontract.repository.projection.ContractListView;
 
 /**
  * Repository interface for Contract entity
@@ -203,4 +204,60 @@ public interface ContractRepository extends JpaRepository<Contract, Long>, JpaSp
      * Find contracts by customer ID and status list, excluding hidden contracts
      */
     Page<Contract> findByCustomerIdAndStatusInAndIsHiddenFalse(Long customerId, List<ContractStatus> statuses, Pageable pageable);
-} 
\ No newline at end of file
+
+    /**
+     * List rows of all contracts
+     */
+    Page<ContractListView> findListViewsBy(Pageable pageable);
+
+    /**
+     * List rows of visible contracts with one of the given statuses
+     */
+    Page<ContractListView> findListViewsByStatusInAndIsHiddenFalse(List<ContractStatus> statuses, Pageable pageable);
+
+    /**
+     * List rows of visible contracts with the given status
+     */
+    Page<ContractListView> findListViewsByStatusAndIsHiddenFalse(ContractStatus status, Pageable pageable);
+
+    /**
+     * List rows of hidden contracts
+     */
+    Page<ContractListView> findListViewsByIsHiddenTrue(Pageable pageable);
+
+    /**
+     * List rows of a customer's contracts, hidden ones included
+     */
+    Page<ContractListView> findListViewsByCustomerId(Long customerId, Pageable pageable);
+
+    /**
+     * List rows of contracts whose title or contract number contains the search term
+     */
+    Page<ContractListView> findListViewsByTitleContainingIgnoreCaseOrContractNumberContainingIgnoreCase(
+            String title, String contractNumber, Pageable pageable);
+
+    /**
+     * List rows of a customer's visible contracts
+     */
+    Page<ContractListView> findListViewsByCustomerIdAndIsHiddenFalse(Long customerId, Pageable pageable);
+
+    /**
+     * List rows of a customer's visible contracts with one of the given statuses
+     */
+    Page<ContractListView> findListViewsByCustomerIdAndStatusInAndIsHiddenFalse(
+            Long customerId, List<ContractStatus> statuses, Pageable pageable);
+
+    /**
+     * List rows of a customer's visible contracts whose title or contract number contains the search term
+     */
+    @Query("SELECT c.id AS id, c.contractNumber AS contractNumber, c.customerId AS customerId, c.staffId AS staffId, " +
+           "c.title AS title, c.status AS status, c.filePath AS filePath, c.totalValue AS totalValue, " +
+           "c.startDate AS startDate, c.endDate AS endDate, c.createdAt AS createdAt, c.isHidden AS isHidden " +
+           "FROM Contract c WHERE c.customerId = :customerId AND c.isHidden = false AND " +
+           "(LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(c.contractNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<ContractListView> searchCustomerListViews(
+            @Param("customerId") Long customerId,
+            @Param("searchTerm") String searchTerm,
+            Pageable pageable);
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.g47.cem.cemcontract.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemcontract.enums.ContractStatus;
+
+/**
+ * Columns shown in contract lists; line items, delivery schedules and the contract terms are
+ * left to the detail view
+ */
+public interface ContractListView {
+
+    Long getId();
+
+    String getContractNumber();
+
+    Long getCustomerId();
+
+    Long getStaffId();
+
+    String getTitle();
+
+    ContractStatus getStatus();
+
+    String getFilePath();
+
+    BigDecimal getTotalValue();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    LocalDateTime getCreatedAt();
+
+    Boolean getIsHidden();
+}
@@ -67,6 +67,7 @@ import com.g47.cem.cemcontract.repository.ContractDetailRepository;
 import com.g47.cem.cemcontract.repository.ContractHistoryRepository;
 import com.g47.cem.cemcontract.repository.ContractRepository;
 import com.g47.cem.cemcontract.repository.ContractSignatureRepository;
+import com.g47.cem.cemcontract.repository.projection.ContractListView;
 import com.g47.cem.cemcontract.util.MoneyToWords;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -86,6 +87,7 @@ public class ContractService {
     private final ContractHistoryRepository contractHistoryRepository;
     private final ContractSignatureRepository contractSignatureRepository;
     private final ExternalService externalService;
+    private final CustomerIdResolver customerIdResolver;
     private final EmailService emailService;
     private final ContractNumberGenerator contractNumberGenerator;
     private final FileStorageService fileStorageService; // Injected via @RequiredArgsConstructor
@@ -1252,20 +1254,19 @@ public class ContractService {
                 ContractStatus.PENDING_SELLER_SIGNATURE,
                 ContractStatus.PENDING_CUSTOMER_SIGNATURE
         );
-        Page<Contract> contractPage = contractRepository.findByStatusInAndIsHiddenFalse(unsignedStatuses, pageable);
-        return contractPage.map(this::mapToDto);
+        return contractRepository.findListViewsByStatusInAndIsHiddenFalse(unsignedStatuses, pageable)
+                .map(this::mapToListDto);
     }
 
     @Transactional(readOnly = true)
     public Page<ContractResponseDto> getHiddenContracts(Pageable pageable) {
-        Page<Contract> contractPage = contractRepository.findByIsHiddenTrue(pageable);
-        return contractPage.map(this::mapToDto);
+        return contractRepository.findListViewsByIsHiddenTrue(pageable).map(this::mapToListDto);
     }
 
     @Transactional(readOnly = true)
     public Page<ContractResponseDto> getSignedContracts(Pageable pageable) {
-        Page<Contract> contractPage = contractRepository.findByStatusAndIsHiddenFalse(ContractStatus.ACTIVE, pageable);
-        return contractPage.map(this::mapToDto);
+        return contractRepository.findListViewsByStatusAndIsHiddenFalse(ContractStatus.ACTIVE, pageable)
+                .map(this::mapToListDto);
     }
 
     public List<ContractResponseDto> getAllContracts() {
@@ -1286,14 +1287,13 @@ public class ContractService {
                     .map(this::mapToDto)
                     .collect(Collectors.toList());
         } else {
-            // For CUSTOMER, map user email to customerId
+            // For CUSTOMER, take customerId from the token claim or the cached lookup by email
             String email = authentication.getName();
-            CustomerDto customer = externalService.getCustomerByEmail(email);
-            if (customer == null || customer.getId() == null) {
+            Long customerId = customerIdResolver.resolve(authentication);
+            if (customerId == null) {
                 log.warn("No customer found for email: {}", email);
                 return List.of();
             }
-            Long customerId = customer.getId();
             log.debug("Looking for contracts for customerId: {} (email: {})", customerId, email);
             List<Contract> customerContracts = contractRepository.findByCustomerId(customerId);
             log.info("Found {} contracts for customerId: {} (email: {})", customerContracts.size(), customerId, email);
@@ -1325,51 +1325,50 @@ public class ContractService {
         if (isManagerOrStaff) {
             // For staff/managers, apply filters
             if (customerId != null) {
-                return contractRepository.findByCustomerId(customerId, pageable)
-                        .map(this::mapToDto);
+                return contractRepository.findListViewsByCustomerId(customerId, pageable)
+                        .map(this::mapToListDto);
             } else if (search != null && !search.trim().isEmpty()) {
-                return contractRepository.findByTitleContainingIgnoreCaseOrContractNumberContainingIgnoreCase(
+                return contractRepository.findListViewsByTitleContainingIgnoreCaseOrContractNumberContainingIgnoreCase(
                         search.trim(), search.trim(), pageable)
-                        .map(this::mapToDto);
+                        .map(this::mapToListDto);
             } else if (status != null && !status.trim().isEmpty()) {
                 if ("HIDDEN".equals(status)) {
-                    return contractRepository.findByIsHiddenTrue(pageable)
-                            .map(this::mapToDto);
+                    return contractRepository.findListViewsByIsHiddenTrue(pageable)
+                            .map(this::mapToListDto);
                 } else {
                     List<ContractStatus> statusList = Arrays.stream(status.split(","))
                             .map(s -> ContractStatus.valueOf(s.trim()))
                             .collect(Collectors.toList());
-                    return contractRepository.findByStatusInAndIsHiddenFalse(statusList, pageable)
-                            .map(this::mapToDto);
+                    return contractRepository.findListViewsByStatusInAndIsHiddenFalse(statusList, pageable)
+                            .map(this::mapToListDto);
                 }
             } else {
-                return contractRepository.findAll(pageable)
-                        .map(this::mapToDto);
+                return contractRepository.findListViewsBy(pageable)
+                        .map(this::mapToListDto);
             }
         } else {
-            // For CUSTOMER, map user email to customerId and apply filters
+            // For CUSTOMER, take customerId from the token claim or the cached lookup by email, and apply filters
             String email = authentication.getName();
-            CustomerDto customer = externalService.getCustomerByEmail(email);
-            if (customer == null || customer.getId() == null) {
+            Long userCustomerId = customerIdResolver.resolve(authentication);
+            if (userCustomerId == null) {
                 log.warn("No customer found for email: {}", email);
                 return Page.empty(pageable);
             }
-            Long userCustomerId = customer.getId();
             
             // Apply filters for customer
             if (search != null && !search.trim().isEmpty()) {
-                return contractRepository.findByCustomerIdAndTitleContainingIgnoreCaseOrContractNumberContainingIgnoreCaseAndIsHiddenFalse(
+                return contractRepository.searchCustomerListViews(
                         userCustomerId, search.trim(), pageable)
-                        .map(this::mapToDto);
+                        .map(this::mapToListDto);
             } else if (status != null && !status.trim().isEmpty()) {
                 List<ContractStatus> statusList = Arrays.stream(status.split(","))
                         .map(s -> ContractStatus.valueOf(s.trim()))
                         .collect(Collectors.toList());
-                return contractRepository.findByCustomerIdAndStatusInAndIsHiddenFalse(userCustomerId, statusList, pageable)
-                        .map(this::mapToDto);
+                return contractRepository.findListViewsByCustomerIdAndStatusInAndIsHiddenFalse(userCustomerId, statusList, pageable)
+                        .map(this::mapToListDto);
             } else {
-                return contractRepository.findByCustomerIdAndIsHiddenFalse(userCustomerId, pageable)
-                        .map(this::mapToDto);
+                return contractRepository.findListViewsByCustomerIdAndIsHiddenFalse(userCustomerId, pageable)
+                        .map(this::mapToListDto);
             }
         }
     }
@@ -1389,17 +1388,7 @@ public class ContractService {
     private ContractResponseDto mapToDto(Contract contract) {
         ContractResponseDto dto = new ContractResponseDto();
         BeanUtils.copyProperties(contract, dto);
-        
-        // Set customer name
-        try {
-            CustomerDto customer = externalService.getCustomerInfo(contract.getCustomerId(), null);
-            if (customer != null) {
-                dto.setCustomerName(customer.getCompanyName() != null ? customer.getCompanyName() : customer.getContactName());
-            }
-        } catch (Exception e) {
-            log.warn("Could not fetch customer name for customerId: {}", contract.getCustomerId(), e);
-            dto.setCustomerName("Unknown Customer");
-        }
+        setCustomerName(dto, contract.getCustomerId());
         
         if (contract.getContractDetails() != null) {
             dto.setContractDetails(contract.getContractDetails().stream()
@@ -1419,6 +1408,40 @@ public class ContractService {
         return dto;
     }
 
+    /**
+     * Map a list row; line items and delivery schedules stay empty, the detail view carries them
+     */
+    private ContractResponseDto mapToListDto(ContractListView view) {
+        ContractResponseDto dto = new ContractResponseDto();
+        dto.setId(view.getId());
+        dto.setContractNumber(view.getContractNumber());
+        dto.setCustomerId(view.getCustomerId());
+        dto.setStaffId(view.getStaffId());
+        dto.setTitle(view.getTitle());
+        dto.setStatus(view.getStatus());
+        dto.setFilePath(view.getFilePath());
+        dto.setTotalValue(view.getTotalValue());
+        dto.setStartDate(view.getStartDate());
+        dto.setEndDate(view.getEndDate());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setIsHidden(view.getIsHidden());
+        dto.setContractDetails(Collections.emptyList());
+        setCustomerName(dto, view.getCustomerId());
+        return dto;
+    }
+
+    private void setCustomerName(ContractResponseDto dto, Long customerId) {
+        try {
+            CustomerDto customer = externalService.getCustomerInfo(customerId, null);
+            if (customer != null) {
+                dto.setCustomerName(customer.getCompanyName() != null ? customer.getCompanyName() : customer.getContactName());
+            }
+        } catch (Exception e) {
+            log.warn("Could not fetch customer name for customerId: {}", customerId, e);
+            dto.setCustomerName("Unknown Customer");
+        }
+    }
+
     private ContractResponseDto.ContractDetailDto mapDetailToDto(ContractDetail detail) {
         ContractResponseDto.ContractDetailDto dto = new ContractResponseDto.ContractDetailDto();
         BeanUtils.copyProperties(detail, dto);
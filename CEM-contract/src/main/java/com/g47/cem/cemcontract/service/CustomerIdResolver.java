@@ -0,0 +1,111 @@
+package com.g47.cem.cemcontract.service;
+
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps the logged-in user's email to their customer ID.
+ * <p>
+ * Tokens issued by the auth service carry a {@code customerId} claim, which the JWT filter
+ * exposes as a request attribute; when present it is used as is. Otherwise the customer
+ * service is asked and the answer kept in a bounded LRU map: found IDs for a short TTL, and
+ * emails without a customer for a shorter one, so repeated misses do not hit the service
+ * either. Lookups that fail are not cached.
+ */
+@Service
+@Slf4j
+public class CustomerIdResolver {
+
+    static final String CUSTOMER_ID_ATTRIBUTE = "customerId";
+
+    private final ExternalService externalService;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final int maxEntries;
+
+    private final Map<String, CachedId> cache;
+
+    public CustomerIdResolver(ExternalService externalService,
+            @Value("${app.customer-lookup.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.customer-lookup.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            @Value("${app.customer-lookup.max-entries:10000}") int maxEntries) {
+        this.externalService = externalService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedId> eldest) {
+                return size() > CustomerIdResolver.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Customer ID of the authenticated user, or null when they are not a customer
+     */
+    public Long resolve(Principal principal) {
+        Long claimed = claimedCustomerId();
+        if (claimed != null) {
+            return claimed;
+        }
+        return resolve(principal.getName());
+    }
+
+    /**
+     * Customer ID for an email, or null when no customer has it or the lookup failed
+     */
+    public Long resolve(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        CachedId cached;
+        synchronized (this) {
+            cached = cache.get(email);
+        }
+        if (cached != null && cached.expiresAt > now) {
+            return cached.customerId;
+        }
+
+        Optional<Long> fetched;
+        try {
+            fetched = externalService.findCustomerIdByEmail(email);
+        } catch (Exception e) {
+            log.error("Failed to resolve customer ID for email {}: {}", email, e.getMessage());
+            return null;
+        }
+        Long customerId = fetched.orElse(null);
+        long ttl = customerId != null ? ttlMillis : negativeTtlMillis;
+        if (ttl > 0) {
+            synchronized (this) {
+                cache.put(email, new CachedId(customerId, now + ttl));
+            }
+        }
+        if (customerId == null) {
+            log.debug("No customer found for email: {}", email);
+        }
+        return customerId;
+    }
+
+    private static Long claimedCustomerId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object value = attributes.getAttribute(CUSTOMER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return value instanceof Long customerId ? customerId : null;
+    }
+
+    private record CachedId(Long customerId, long expiresAt) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.g47.cem.cemcontract.service;
 
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -263,6 +265,29 @@ public class ExternalService {
         }
     }
 
+    /**
+     * Look up only the customer ID for an email. Empty when the customer service answers that no
+     * such customer exists; throws when it cannot be reached or fails, so callers can tell a
+     * definite miss from a transient error.
+     */
+    public Optional<Long> findCustomerIdByEmail(String email) {
+        String url = customerServiceUrl + "/email/" + email;
+        // A 404 carries an ApiResponse without data, which reads as "no such customer"
+        ApiResponseWrapper response = webClient.get().uri(url)
+            .header("Authorization", "Bearer " + extractAuthTokenOrServiceToken())
+            .retrieve()
+            .onStatus(status -> status.value() == 404, clientResponse -> Mono.empty())
+            .onStatus(status -> status.isError() && status.value() != 404, clientResponse ->
+                clientResponse.bodyToMono(String.class).map(body ->
+                    new RuntimeException(clientResponse.statusCode() + " - " + body)))
+            .bodyToMono(ApiResponseWrapper.class)
+            .block();
+        if (response == null || response.getData() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(response.getData().getId());
+    }
+
     /**
      * Get user information by email from the authentication service
      */
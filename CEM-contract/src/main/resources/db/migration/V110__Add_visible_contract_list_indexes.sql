@@ -0,0 +1,10 @@
+-- Partial indexes for the contract lists, which only ever show visible contracts.
+-- Hidden contracts are left out of the index, and created_at DESC matches the newest-first default sort.
+
+-- Staff lists by status (findByStatusInAndIsHiddenFalse)
+CREATE INDEX IF NOT EXISTS idx_contracts_status_visible
+    ON contracts(status, created_at DESC) WHERE is_hidden = false;
+
+-- Customer's own contracts (findByCustomerIdAndIsHiddenFalse)
+CREATE INDEX IF NOT EXISTS idx_contracts_customer_visible
+    ON contracts(customer_id, created_at DESC) WHERE is_hidden = false;
@@ -0,0 +1,59 @@
+package com.g47.cem.cemcontract.repository;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.g47.cem.cemcontract.enums.ContractStatus;
+import com.g47.cem.testsupport.QueryPlanRecorder;
+
+/**
+ * Runs the hot repository queries and fails when any SQL that Hibernate sends for them needs a
+ * sequential scan (see {@link QueryPlanRecorder}). Table size does not matter and an empty
+ * database works.
+ * <p>
+ * Needs a PostgreSQL database with the migrations applied, e.g. one the services have been
+ * started against once; nothing is written to it. Set CEM_EXPLAIN_DB_URL (and
+ * CEM_EXPLAIN_DB_USERNAME, CEM_EXPLAIN_DB_PASSWORD) to run it; otherwise it is skipped.
+ */
+@EnabledIfEnvironmentVariable(named = "CEM_EXPLAIN_DB_URL", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${CEM_EXPLAIN_DB_URL}",
+        "spring.datasource.username=${CEM_EXPLAIN_DB_USERNAME:}",
+        "spring.datasource.password=${CEM_EXPLAIN_DB_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanRecorder.class)
+class QueryPlanTest {
+
+    private static final Pageable NEWEST_FIRST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private QueryPlanRecorder queryPlans;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Test
+    void testFindListViewsByStatusInAndIsHiddenFalse_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> contractRepository.findListViewsByStatusInAndIsHiddenFalse(
+                List.of(ContractStatus.PENDING_SELLER_SIGNATURE, ContractStatus.PENDING_CUSTOMER_SIGNATURE),
+                NEWEST_FIRST));
+    }
+
+    @Test
+    void testFindListViewsByCustomerIdAndIsHiddenFalse_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> contractRepository.findListViewsByCustomerIdAndIsHiddenFalse(
+                1L, NEWEST_FIRST));
+    }
+}
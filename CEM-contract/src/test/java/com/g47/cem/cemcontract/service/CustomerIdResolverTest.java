@@ -0,0 +1,176 @@
+package com.g47.cem.cemcontract.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerIdResolverTest {
+
+    private static final String EMAIL = "customer@example.com";
+
+    @Mock
+    private ExternalService externalService;
+
+    private CustomerIdResolver customerIdResolver;
+
+    @BeforeEach
+    void setUp() {
+        customerIdResolver = new CustomerIdResolver(externalService, 300, 30, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testResolve_ShouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        when(externalService.findCustomerIdByEmail(EMAIL)).thenReturn(Optional.of(7L));
+
+        // Act
+        Long first = customerIdResolver.resolve(EMAIL);
+        Long second = customerIdResolver.resolve(EMAIL);
+
+        // Assert
+        assertEquals(7L, first);
+        assertEquals(7L, second);
+        verify(externalService, times(1)).findCustomerIdByEmail(EMAIL);
+    }
+
+    @Test
+    void testResolve_ShouldCacheEmailsWithoutCustomer() {
+        // Arrange
+        when(externalService.findCustomerIdByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // Act
+        customerIdResolver.resolve(EMAIL);
+        Long second = customerIdResolver.resolve(EMAIL);
+
+        // Assert
+        assertNull(second);
+        verify(externalService, times(1)).findCustomerIdByEmail(EMAIL);
+    }
+
+    @Test
+    void testResolve_ShouldNotCacheFailedLookups() {
+        // Arrange
+        when(externalService.findCustomerIdByEmail(EMAIL))
+                .thenThrow(new RuntimeException("503 SERVICE_UNAVAILABLE - unavailable"))
+                .thenReturn(Optional.of(7L));
+
+        // Act
+        Long first = customerIdResolver.resolve(EMAIL);
+        Long second = customerIdResolver.resolve(EMAIL);
+
+        // Assert
+        assertNull(first);
+        assertEquals(7L, second);
+        verify(externalService, times(2)).findCustomerIdByEmail(EMAIL);
+    }
+
+    @Test
+    void testResolve_ShouldPreferTokenClaimOverLookup() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(CustomerIdResolver.CUSTOMER_ID_ATTRIBUTE, 42L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        Long customerId = customerIdResolver.resolve(new UsernamePasswordAuthenticationToken(EMAIL, null));
+
+        // Assert
+        assertEquals(42L, customerId);
+        verify(externalService, never()).findCustomerIdByEmail(anyString());
+    }
+
+    @Test
+    void testResolve_WhenCustomerServiceReturnsNotFound_ShouldCacheMiss() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CustomerIdResolver resolver = resolverAgainst(HttpStatus.NOT_FOUND,
+                "{\"success\":false,\"message\":\"Customer not found\",\"status\":404}", calls);
+
+        // Act
+        Long first = resolver.resolve(EMAIL);
+        Long second = resolver.resolve(EMAIL);
+
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testResolve_WhenCustomerServiceFails_ShouldReturnNullWithoutCaching() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CustomerIdResolver resolver = resolverAgainst(HttpStatus.SERVICE_UNAVAILABLE,
+                "{\"success\":false,\"message\":\"unavailable\"}", calls);
+
+        // Act
+        Long first = resolver.resolve(EMAIL);
+        Long second = resolver.resolve(EMAIL);
+
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testResolve_WhenCustomerServiceFindsCustomer_ShouldReturnItsId() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CustomerIdResolver resolver = resolverAgainst(HttpStatus.OK,
+                "{\"success\":true,\"data\":{\"id\":7,\"email\":\"" + EMAIL + "\"}}", calls);
+
+        // Act
+        Long customerId = resolver.resolve(EMAIL);
+
+        // Assert
+        assertEquals(7L, customerId);
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Resolver backed by a real ExternalService whose customer service always answers with the given response
+     */
+    private static CustomerIdResolver resolverAgainst(HttpStatus status, String body, AtomicInteger calls) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+        ExternalService service = new ExternalService(webClient);
+        ReflectionTestUtils.setField(service, "customerServiceUrl", "http://customer-service/api/customers");
+        return new CustomerIdResolver(service, 300, 30, 100);
+    }
+}
@@ -48,6 +48,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             new UsernamePasswordAuthenticationToken(username, jwt, authorities);
                     
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute("customerId", jwtUtil.extractCustomerId(jwt));
                     log.debug("Successfully authenticated user: {} with authorities: {}", username, authorities);
                 }
             }
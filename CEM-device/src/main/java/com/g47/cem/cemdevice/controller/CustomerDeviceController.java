@@ -20,7 +20,7 @@ import com.g47.cem.cemdevice.dto.response.CustomerDeviceResponse;
 import com.g47.cem.cemdevice.enums.CustomerDeviceStatus;
 import com.g47.cem.cemdevice.service.CustomerDeviceService;
 import com.g47.cem.cemdevice.service.CustomerDeviceService.CustomerDeviceStatistics;
-import com.g47.cem.cemdevice.service.ExternalCustomerService;
+import com.g47.cem.cemdevice.service.CustomerIdResolver;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,7 +41,7 @@ public class CustomerDeviceController {
     
     private final CustomerDeviceService customerDeviceService;
     
-    private final ExternalCustomerService externalCustomerService;
+    private final CustomerIdResolver customerIdResolver;
     
     /**
      * Staff: List devices of a specific customer by ID
@@ -75,7 +75,7 @@ public class CustomerDeviceController {
                 principal.getName(), keyword, status, warrantyExpired);
         
         // Extract customer ID from user email
-        Long customerId = extractCustomerIdFromUserEmail(principal.getName());
+        Long customerId = extractCustomerId(principal);
         
         Page<CustomerDeviceResponse> devices = customerDeviceService.getCustomerPurchasedDevices(
                 customerId, keyword, status, warrantyExpired, contractId, pageable);
@@ -96,7 +96,7 @@ public class CustomerDeviceController {
         
         log.debug("Customer {} fetching device with ID: {}", principal.getName(), deviceId);
         
-        Long customerId = extractCustomerIdFromUserEmail(principal.getName());
+        Long customerId = extractCustomerId(principal);
         
         CustomerDeviceResponse device = customerDeviceService.getCustomerDeviceById(customerId, deviceId);
         
@@ -115,7 +115,7 @@ public class CustomerDeviceController {
         
         log.debug("Customer {} fetching device statistics", principal.getName());
         
-        Long customerId = extractCustomerIdFromUserEmail(principal.getName());
+        Long customerId = extractCustomerId(principal);
         
         CustomerDeviceStatistics statistics = customerDeviceService.getCustomerDeviceStatistics(customerId);
         
@@ -134,7 +134,7 @@ public class CustomerDeviceController {
         
         log.debug("Customer {} fetching devices with expiring warranty", principal.getName());
         
-        Long customerId = extractCustomerIdFromUserEmail(principal.getName());
+        Long customerId = extractCustomerId(principal);
         
         List<CustomerDeviceResponse> devices = customerDeviceService.getDevicesWithExpiringWarranty(customerId);
         
@@ -142,22 +142,14 @@ public class CustomerDeviceController {
     }
     
     /**
-     * Extract customer ID from user email by calling customer service
+     * Extract customer ID from the token claim, or from the user email via the cached customer lookup
      */
-    private Long extractCustomerIdFromUserEmail(String userEmail) {
-        try {
-            // Call customer service to get customer info by email
-            var customerInfo = externalCustomerService.getCustomerByEmail(userEmail);
-            if (customerInfo != null && customerInfo.getId() != null) {
-                log.debug("Found customer ID {} for user email {}", customerInfo.getId(), userEmail);
-                return customerInfo.getId();
-            } else {
-                log.error("Could not find customer info for user email: {}", userEmail);
-                throw new RuntimeException("Customer not found for user email: " + userEmail);
-            }
-        } catch (Exception e) {
-            log.error("Error extracting customer ID from user email {}: {}", userEmail, e.getMessage());
-            throw new RuntimeException("Failed to get customer info for user email: " + userEmail);
+    private Long extractCustomerId(Principal principal) {
+        Long customerId = customerIdResolver.resolve(principal);
+        if (customerId == null) {
+            log.error("Could not find customer info for user email: {}", principal.getName());
+            throw new RuntimeException("Failed to get customer info for user email: " + principal.getName());
         }
+        return customerId;
     }
 } 
\ No newline at end of file
@@ -21,7 +21,7 @@ import com.g47.cem.cemdevice.dto.response.ApiResponse;
 import com.g47.cem.cemdevice.dto.response.CustomerFeedbackResponse;
 import com.g47.cem.cemdevice.entity.CustomerFeedback;
 import com.g47.cem.cemdevice.service.CustomerFeedbackService;
-import com.g47.cem.cemdevice.service.ExternalCustomerService;
+import com.g47.cem.cemdevice.service.CustomerIdResolver;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,7 +31,7 @@ import lombok.RequiredArgsConstructor;
 public class CustomerFeedbackController {
 
     private final CustomerFeedbackService customerFeedbackService;
-    private final ExternalCustomerService externalCustomerService;
+    private final CustomerIdResolver customerIdResolver;
 
     @PostMapping
     @PreAuthorize("hasAuthority('CUSTOMER')")
@@ -119,12 +119,11 @@ public class CustomerFeedbackController {
     }
 
     private Long extractCustomerId(Authentication authentication) {
-        String userEmail = authentication.getName();
-        var customerInfo = externalCustomerService.getCustomerByEmail(userEmail);
-        if (customerInfo == null || customerInfo.getId() == null) {
+        Long customerId = customerIdResolver.resolve(authentication);
+        if (customerId == null) {
             throw new IllegalStateException("Customer not found for current user");
         }
-        return customerInfo.getId();
+        return customerId;
     }
 }
 
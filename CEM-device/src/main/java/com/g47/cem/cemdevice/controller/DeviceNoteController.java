@@ -25,7 +25,7 @@ import com.g47.cem.cemdevice.dto.request.UpdateDeviceNoteRequest;
 import com.g47.cem.cemdevice.dto.response.ApiResponse;
 import com.g47.cem.cemdevice.dto.response.DeviceNoteResponse;
 import com.g47.cem.cemdevice.service.DeviceNoteService;
-import com.g47.cem.cemdevice.service.ExternalCustomerService;
+import com.g47.cem.cemdevice.service.CustomerIdResolver;
 import com.g47.cem.cemdevice.service.ContractDeviceLinkService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,7 +46,7 @@ import lombok.extern.slf4j.Slf4j;
 public class DeviceNoteController {
     
     private final DeviceNoteService deviceNoteService;
-    private final ExternalCustomerService externalCustomerService;
+    private final CustomerIdResolver customerIdResolver;
     private final ContractDeviceLinkService contractDeviceLinkService;
     
     /**
@@ -92,17 +92,14 @@ public class DeviceNoteController {
         
         if (!isStaff) {
             // For customers, verify they own the device
-            String userEmail = authentication.getName();
-            var customerInfo = externalCustomerService.getCustomerByEmail(userEmail);
+            Long customerId = customerIdResolver.resolve(authentication);
             
-            if (customerInfo == null || customerInfo.getId() == null) {
-                log.error("Could not find customer info for user email: {}", userEmail);
+            if (customerId == null) {
+                log.error("Could not find customer info for user email: {}", authentication.getName());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(ApiResponse.error("Access denied: Customer information not found", HttpStatus.FORBIDDEN.value()));
             }
             
-            Long customerId = customerInfo.getId();
-            
             // Check if the device belongs to the customer
             if (!contractDeviceLinkService.isDeviceLinkedToCustomer(customerId, deviceId)) {
                 log.warn("Customer {} attempted to access notes for device {} which they don't own", customerId, deviceId);
@@ -144,17 +141,14 @@ public class DeviceNoteController {
         
         if (!isStaff) {
             // For customers, verify they own the device
-            String userEmail = authentication.getName();
-            var customerInfo = externalCustomerService.getCustomerByEmail(userEmail);
+            Long customerId = customerIdResolver.resolve(authentication);
             
-            if (customerInfo == null || customerInfo.getId() == null) {
-                log.error("Could not find customer info for user email: {}", userEmail);
+            if (customerId == null) {
+                log.error("Could not find customer info for user email: {}", authentication.getName());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(ApiResponse.error("Access denied: Customer information not found", HttpStatus.FORBIDDEN.value()));
             }
             
-            Long customerId = customerInfo.getId();
-            
             // Check if the device belongs to the customer
             if (!contractDeviceLinkService.isDeviceLinkedToCustomer(customerId, deviceId)) {
                 log.warn("Customer {} attempted to access notes for device {} which they don't own", customerId, deviceId);
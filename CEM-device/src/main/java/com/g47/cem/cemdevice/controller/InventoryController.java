@@ -1,11 +1,13 @@
 package com.g47.cem.cemdevice.controller;
 
 import java.security.Principal;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,19 +17,28 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.g47.cem.cemdevice.dto.request.ExportRequest;
 import com.g47.cem.cemdevice.dto.request.ImportRequest;
+import com.g47.cem.cemdevice.dto.request.StockTransferRequest;
 import com.g47.cem.cemdevice.dto.response.ApiResponse;
 import com.g47.cem.cemdevice.dto.response.DeviceInventoryResponse;
+import com.g47.cem.cemdevice.dto.response.DeviceLocationStockResponse;
 import com.g47.cem.cemdevice.dto.response.InventoryTransactionResponse;
+import com.g47.cem.cemdevice.dto.response.StockAlertResponse;
+import com.g47.cem.cemdevice.dto.response.WarehouseSummaryResponse;
+import com.g47.cem.cemdevice.enums.DeviceStatus;
 import com.g47.cem.cemdevice.enums.InventoryItemType;
 import com.g47.cem.cemdevice.enums.InventoryTransactionType;
+import com.g47.cem.cemdevice.enums.StockAlertType;
+import com.g47.cem.cemdevice.integration.SparePartCatalog;
 import com.g47.cem.cemdevice.integration.SparePartIntegrationService;
 import com.g47.cem.cemdevice.integration.SparePartIntegrationService.SparePartDto;
 import com.g47.cem.cemdevice.integration.SparePartIntegrationService.SupplierDeviceTypeDto;
 import com.g47.cem.cemdevice.integration.SparePartIntegrationService.SupplierDto;
 import com.g47.cem.cemdevice.service.InventoryService;
+import com.g47.cem.cemdevice.service.StockAlertStream;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -48,6 +59,8 @@ public class InventoryController {
     
     private final InventoryService inventoryService;
     private final SparePartIntegrationService sparePartIntegrationService;
+    private final SparePartCatalog sparePartCatalog;
+    private final StockAlertStream stockAlertStream;
     
     /**
      * Import inventory items
@@ -90,14 +103,24 @@ public class InventoryController {
      */
     @GetMapping("/devices")
     @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER')")
-    @Operation(summary = "Get device inventory overview", description = "Get overview of all device inventory (Staff, Support Team, TechLead, Manager access required)")
-    public ResponseEntity<ApiResponse<DeviceInventoryResponse[]>> getDeviceInventoryOverview() {
+    @Operation(summary = "Get device inventory overview", description = "Get overview of device inventory, including devices without inventory records. Returns the full list as an array unless page or size is given, then a page (Staff, Support Team, TechLead, Manager access required)")
+    public ResponseEntity<ApiResponse<Object>> getDeviceInventoryOverview(
+            @Parameter(description = "Search keyword (name, model, serial number)") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Device status filter") @RequestParam(required = false) DeviceStatus status,
+            @Parameter(description = "Only devices in stock (true) or out of stock (false)") @RequestParam(required = false) Boolean inStock,
+            @Parameter(description = "Only devices at or below their minimum stock level") @RequestParam(required = false) Boolean lowStock,
+            @Parameter(description = "Page number (0-based); omit with size for the full list") @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default 20 when paging)") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "deviceName") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
         log.debug("Fetching device inventory overview");
         
-        var inventory = inventoryService.getDeviceInventoryOverview();
-        DeviceInventoryResponse[] response = inventory.toArray(new DeviceInventoryResponse[0]);
-        
-        return ResponseEntity.ok(ApiResponse.success(response, "Device inventory retrieved successfully"));
+        var inventory = inventoryService.getDeviceInventoryOverview(keyword, status, inStock, lowStock, page, size, sortBy, sortDir);
+        if (page == null && size == null) {
+            DeviceInventoryResponse[] response = inventory.getContent().toArray(new DeviceInventoryResponse[0]);
+            return ResponseEntity.ok(ApiResponse.success(response, "Device inventory retrieved successfully"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(inventory, "Device inventory retrieved successfully"));
     }
     
     /**
@@ -109,15 +132,10 @@ public class InventoryController {
     public ResponseEntity<ApiResponse<SparePartDto[]>> getSparePartsInventoryOverview() {
         log.debug("Fetching spare parts inventory overview");
         
-        try {
-            var spareParts = sparePartIntegrationService.getAllSpareParts(null);
-            SparePartDto[] response = spareParts.toArray(new SparePartDto[0]);
-            
-            return ResponseEntity.ok(ApiResponse.success(response, "Spare parts inventory retrieved successfully"));
-        } catch (Exception e) {
-            log.error("Failed to fetch spare parts inventory", e);
-            return ResponseEntity.ok(ApiResponse.success(new SparePartDto[0], "Failed to fetch spare parts inventory"));
-        }
+        var spareParts = sparePartCatalog.getCatalog(null);
+        SparePartDto[] response = spareParts.toArray(new SparePartDto[0]);
+        
+        return ResponseEntity.ok(ApiResponse.success(response, "Spare parts inventory retrieved successfully"));
     }
 
     /**
@@ -204,6 +222,81 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(response, "Devices needing reorder retrieved successfully"));
     }
     
+    /**
+     * Get open device stock alerts
+     */
+    @GetMapping("/devices/alerts")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER')")
+    @Operation(summary = "Get device stock alerts", description = "Get open out-of-stock, low stock and reorder alerts for devices (Staff, Support Team, TechLead, Manager access required)")
+    public ResponseEntity<ApiResponse<List<StockAlertResponse>>> getDeviceStockAlerts(
+            @Parameter(description = "Alert type filter") @RequestParam(required = false) StockAlertType alertType) {
+        var alerts = inventoryService.getStockAlerts(alertType);
+        return ResponseEntity.ok(ApiResponse.success(alerts, "Device stock alerts retrieved successfully"));
+    }
+    
+    /**
+     * Stream device stock alerts
+     */
+    @GetMapping(value = "/devices/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER')")
+    @Operation(summary = "Stream device stock alerts", description = "Server-sent events for device stock alerts as they are raised or cleared (Staff, Support Team, TechLead, Manager access required)")
+    public SseEmitter streamDeviceStockAlerts() {
+        return stockAlertStream.subscribe();
+    }
+    
+    /**
+     * Get a device's stock per warehouse location
+     */
+    @GetMapping("/devices/{deviceId}/locations")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER')")
+    @Operation(summary = "Get device stock per location", description = "Get a device's stock at each warehouse location (Staff, Support Team, TechLead, Manager access required)")
+    public ResponseEntity<ApiResponse<List<DeviceLocationStockResponse>>> getDeviceStockLocations(
+            @Parameter(description = "Device ID") @PathVariable Long deviceId) {
+        var locations = inventoryService.getDeviceStockLocations(deviceId);
+        return ResponseEntity.ok(ApiResponse.success(locations, "Device stock locations retrieved successfully"));
+    }
+    
+    /**
+     * Transfer device stock between warehouse locations
+     */
+    @PostMapping("/devices/{deviceId}/transfer")
+    @PreAuthorize("hasAuthority('STAFF')")
+    @Operation(summary = "Transfer device stock", description = "Move device stock from one warehouse location to another; the total is unchanged (Staff access required)")
+    public ResponseEntity<ApiResponse<List<DeviceLocationStockResponse>>> transferDeviceStock(
+            @Parameter(description = "Device ID") @PathVariable Long deviceId,
+            @Valid @RequestBody StockTransferRequest request,
+            Principal principal) {
+        log.info("Transferring device stock by user: {}", principal.getName());
+        
+        var locations = inventoryService.transferDeviceStock(deviceId, request, principal.getName());
+        return ResponseEntity.ok(ApiResponse.success(locations, "Device stock transferred successfully"));
+    }
+    
+    /**
+     * Get device stock at a warehouse location
+     */
+    @GetMapping("/devices/warehouse/{location}")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER')")
+    @Operation(summary = "Get device stock by warehouse location", description = "Get the devices stocked at a warehouse location with their quantity there (Staff, Support Team, TechLead, Manager access required)")
+    public ResponseEntity<ApiResponse<Page<DeviceLocationStockResponse>>> getDeviceStockByWarehouseLocation(
+            @Parameter(description = "Warehouse location") @PathVariable String location,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        var stock = inventoryService.getDeviceStockByWarehouseLocation(location, page, size);
+        return ResponseEntity.ok(ApiResponse.success(stock, "Device stock retrieved successfully"));
+    }
+    
+    /**
+     * Get device warehouse summaries
+     */
+    @GetMapping("/devices/warehouses")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER')")
+    @Operation(summary = "Get device warehouse summaries", description = "Get every warehouse location holding device stock with its item count and units (Staff, Support Team, TechLead, Manager access required)")
+    public ResponseEntity<ApiResponse<List<WarehouseSummaryResponse>>> getDeviceWarehouseSummaries() {
+        var summaries = inventoryService.getDeviceWarehouseSummaries();
+        return ResponseEntity.ok(ApiResponse.success(summaries, "Device warehouse summaries retrieved successfully"));
+    }
+    
     /**
      * Search device inventory
      */
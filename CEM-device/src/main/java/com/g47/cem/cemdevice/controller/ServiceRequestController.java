@@ -22,7 +22,7 @@ import com.g47.cem.cemdevice.dto.response.ApiResponse;
 import com.g47.cem.cemdevice.dto.response.ServiceRequestResponse;
 import com.g47.cem.cemdevice.enums.ServiceRequestStatus;
 import com.g47.cem.cemdevice.enums.ServiceRequestType;
-import com.g47.cem.cemdevice.service.ExternalCustomerService;
+import com.g47.cem.cemdevice.service.CustomerIdResolver;
 import com.g47.cem.cemdevice.service.ServiceRequestService;
 import com.g47.cem.cemdevice.service.ServiceRequestService.ServiceRequestStatistics;
 
@@ -41,7 +41,7 @@ public class ServiceRequestController {
     
     private final ServiceRequestService serviceRequestService;
     
-    private final ExternalCustomerService externalCustomerService;
+    private final CustomerIdResolver customerIdResolver;
     
     /**
      * Create a new service request
@@ -249,21 +249,15 @@ public class ServiceRequestController {
     
     /**
      * Extract customer ID from authentication
-     * This method extracts customer ID from JWT token claims
+     * This method uses the JWT customerId claim, falling back to the cached lookup by email
      */
     private Long extractCustomerId(Authentication authentication) {
-        try {
-            String userEmail = authentication.getName();
-            var customerInfo = externalCustomerService.getCustomerByEmail(userEmail);
-            if (customerInfo == null || customerInfo.getId() == null) {
-                log.error("Customer not found for user email: {}", userEmail);
-                throw new RuntimeException("Customer not found for current user");
-            }
-            return customerInfo.getId();
-        } catch (RuntimeException e) {
-            log.error("Failed to extract customer ID from authentication: {}", e.getMessage(), e);
+        Long customerId = customerIdResolver.resolve(authentication);
+        if (customerId == null) {
+            log.error("Customer not found for user email: {}", authentication.getName());
             throw new RuntimeException("Failed to extract customer ID");
         }
+        return customerId;
     }
     
     // ========== Support Team and Staff Endpoints ==========
@@ -31,13 +31,16 @@ import com.g47.cem.cemdevice.dto.request.TaskActionRequest;
 import com.g47.cem.cemdevice.dto.request.UpdateTaskRequest;
 import com.g47.cem.cemdevice.dto.request.UpdateTaskStatusRequest;
 import com.g47.cem.cemdevice.dto.response.ApiResponse;
+import com.g47.cem.cemdevice.dto.response.AutoDispatchResponse;
 import com.g47.cem.cemdevice.dto.response.TaskResponse;
 import com.g47.cem.cemdevice.dto.response.TaskStatisticsResponse;
 import com.g47.cem.cemdevice.dto.response.TechnicianInfoResponse;
+import com.g47.cem.cemdevice.dto.response.TechnicianScheduleResponse;
 import com.g47.cem.cemdevice.dto.response.TechnicianWorkScheduleResponse;
 import com.g47.cem.cemdevice.enums.TaskPriority;
 import com.g47.cem.cemdevice.enums.TaskStatus;
 import com.g47.cem.cemdevice.enums.TaskType;
+import com.g47.cem.cemdevice.service.AutoDispatchService;
 import com.g47.cem.cemdevice.service.TaskService;
 import com.g47.cem.cemdevice.service.TaskSparePartService;
 import com.g47.cem.cemdevice.dto.request.ExportTaskSparePartRequest;
@@ -64,6 +67,7 @@ public class TaskController {
     
     private final TaskService taskService;
     private final TaskSparePartService taskSparePartService;
+    private final AutoDispatchService autoDispatchService;
     private final JwtUtil jwtUtil;
     
     // ========== Support Team Endpoints ==========
@@ -294,6 +298,26 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success(response, "Task assigned successfully"));
     }
     
+    /**
+     * Auto-dispatch pending unassigned tasks (TechLead)
+     */
+    @PostMapping("/auto-dispatch")
+    @PreAuthorize("hasAuthority('LEAD_TECH')")
+    @Operation(summary = "Auto-dispatch pending tasks", description = "Match pending unassigned tasks to available technicians in priority order; assigns them when apply=true, otherwise only proposes (TechLead only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<ApiResponse<AutoDispatchResponse>> autoDispatch(
+            @RequestParam(defaultValue = "false") boolean apply,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        
+        log.info("Auto-dispatch requested by user: {} (apply: {}, limit: {})", authentication.getName(), apply, limit);
+        
+        AutoDispatchResponse response = autoDispatchService.dispatch(apply, limit, authentication.getName());
+        
+        return ResponseEntity.ok(ApiResponse.success(response,
+                apply ? "Tasks auto-dispatched successfully" : "Auto-dispatch proposal generated successfully"));
+    }
+    
     /**
      * Get tasks assigned by TechLead
      */
@@ -318,6 +342,26 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success(response, "Tasks retrieved successfully"));
     }
     
+    /**
+     * Get work schedules of several technicians for the dispatch board
+     */
+    @GetMapping("/technician-schedules")
+    @PreAuthorize("hasAnyAuthority('LEAD_TECH', 'SUPPORT_TEAM', 'MANAGER', 'ADMIN')")
+    @Operation(summary = "Get technicians' work schedules", description = "Get schedule slots of the given technicians (all assigned technicians if omitted) for a date range in one call")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<ApiResponse<List<TechnicianScheduleResponse>>> getTechnicianSchedules(
+            @RequestParam(required = false) List<Long> technicianIds,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        
+        LocalDateTime start = startDate != null ? parseDateTime(startDate) : LocalDateTime.now().withHour(0).withMinute(0);
+        LocalDateTime end = endDate != null ? parseDateTime(endDate) : start.plusDays(30);
+        
+        List<TechnicianScheduleResponse> response = taskService.getTechnicianSchedules(technicianIds, start, end);
+        
+        return ResponseEntity.ok(ApiResponse.success(response, "Technician schedules retrieved successfully"));
+    }
+    
     // ========== Technician Endpoints ==========
     
     /**
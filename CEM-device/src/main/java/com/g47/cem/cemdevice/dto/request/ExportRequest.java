@@ -37,6 +37,8 @@ public class ExportRequest {
     
     private String notes;
     
+    private String idempotencyKey; // Reuse the same key when retrying an export
+    
     @Valid
     @NotEmpty(message = "At least one item must be exported")
     private List<ExportItem> items;
@@ -0,0 +1,36 @@
+package com.g47.cem.cemdevice.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for moving device stock between warehouse locations
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockTransferRequest {
+    
+    @NotBlank(message = "Source location is required")
+    @Size(max = 100, message = "Source location must not exceed 100 characters")
+    private String fromLocation;
+    
+    @NotBlank(message = "Destination location is required")
+    @Size(max = 100, message = "Destination location must not exceed 100 characters")
+    private String toLocation;
+    
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+    
+    private String referenceNumber; // Transfer order number, etc.
+    
+    private String notes;
+}
@@ -0,0 +1,28 @@
+package com.g47.cem.cemdevice.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for an auto-dispatch run over the unassigned task backlog
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutoDispatchResponse {
+    
+    private boolean applied;
+    
+    private int pendingTasks;
+    
+    private int assignedCount;
+    
+    private List<DispatchAssignmentResponse> assignments;
+    
+    private List<Long> unassignedTaskIds;
+}
@@ -0,0 +1,30 @@
+package com.g47.cem.cemdevice.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemdevice.repository.projection.DeviceLocationStockView;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeviceLocationStockResponse {
+    private Long deviceId;
+    private String deviceName;
+    private String deviceModel;
+    private String warehouseLocation;
+    private Integer quantityInStock;
+    private LocalDateTime updatedAt;
+
+    public static DeviceLocationStockResponse fromView(DeviceLocationStockView view) {
+        return DeviceLocationStockResponse.builder()
+                .deviceId(view.getDeviceId())
+                .deviceName(view.getDeviceName())
+                .deviceModel(view.getDeviceModel())
+                .warehouseLocation(view.getWarehouseLocation())
+                .quantityInStock(view.getQuantityInStock())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.g47.cem.cemdevice.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemdevice.enums.TaskPriority;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a single task-to-technician match proposed by auto-dispatch
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DispatchAssignmentResponse {
+    
+    private Long taskId;
+    
+    private String taskNumber;
+    
+    private TaskPriority priority;
+    
+    private LocalDateTime scheduledDate;
+    
+    private Long technicianId;
+    
+    private double score;
+    
+    private boolean locationMatch;
+    
+    private boolean skillMatch;
+}
@@ -0,0 +1,24 @@
+package com.g47.cem.cemdevice.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one technician's row on the dispatch board
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TechnicianScheduleResponse {
+    
+    private Long technicianId;
+    
+    private int taskCount;
+    
+    private List<TechnicianWorkScheduleResponse> slots;
+}
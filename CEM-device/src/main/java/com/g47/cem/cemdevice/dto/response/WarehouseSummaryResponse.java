@@ -0,0 +1,22 @@
+package com.g47.cem.cemdevice.dto.response;
+
+import com.g47.cem.cemdevice.repository.projection.WarehouseSummaryView;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class WarehouseSummaryResponse {
+    private String warehouseLocation;
+    private long itemCount;
+    private long totalQuantity;
+
+    public static WarehouseSummaryResponse fromView(WarehouseSummaryView view) {
+        return WarehouseSummaryResponse.builder()
+                .warehouseLocation(view.getWarehouseLocation())
+                .itemCount(view.getItemCount())
+                .totalQuantity(view.getTotalQuantity())
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.g47.cem.cemdevice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock of one device at one warehouse location. The device's {@link DeviceInventory}
+ * holds the total over all of its locations.
+ */
+@Entity
+@Table(name = "device_stock_locations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_device_stock_locations",
+                columnNames = {"device_id", "warehouse_location"}),
+        indexes = @Index(name = "idx_device_stock_locations_location",
+                columnList = "warehouse_location, device_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceStockLocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+
+    @Column(name = "warehouse_location", nullable = false, length = 100)
+    private String warehouseLocation;
+
+    @Column(name = "quantity_in_stock", nullable = false)
+    private Integer quantityInStock;
+
+    @Column(name = "updated_at", nullable = false, insertable = false)
+    private LocalDateTime updatedAt;
+}
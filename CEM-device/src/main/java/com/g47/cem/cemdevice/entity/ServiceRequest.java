@@ -9,6 +9,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.g47.cem.cemdevice.enums.ServiceRequestStatus;
 import com.g47.cem.cemdevice.enums.ServiceRequestType;
+import com.g47.cem.cemdevice.service.StatisticsCacheInvalidator;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -38,7 +39,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, StatisticsCacheInvalidator.class})
 public class ServiceRequest {
 
     @Id
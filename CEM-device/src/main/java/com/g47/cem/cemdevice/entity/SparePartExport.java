@@ -0,0 +1,45 @@
+package com.g47.cem.cemdevice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Committed spare part export, keyed by its reservation key. EXPIRED rows are fences written by
+ * the spare parts service when it expires a reservation that was never exported.
+ */
+@Entity
+@Table(name = "spare_part_exports")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SparePartExport {
+
+    public static final String STATUS_EXPORTED = "EXPORTED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reservation_key", nullable = false, unique = true, length = 100)
+    private String reservationKey;
+
+    @Column(name = "reference", length = 100)
+    private String reference;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import com.g47.cem.cemdevice.enums.TaskPriority;
 import com.g47.cem.cemdevice.enums.TaskStatus;
 import com.g47.cem.cemdevice.enums.TaskType;
+import com.g47.cem.cemdevice.service.StatisticsCacheInvalidator;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -40,7 +41,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, StatisticsCacheInvalidator.class})
 public class Task {
 
     @Id
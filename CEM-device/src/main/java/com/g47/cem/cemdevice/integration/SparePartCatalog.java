@@ -0,0 +1,233 @@
+package com.g47.cem.cemdevice.integration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.CatalogPageDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.SparePartDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local copy of the spare part catalog, so part names and metadata are memory reads.
+ * <p>
+ * Entries live in a bounded LRU map and expire after a TTL. The whole catalog is loaded page
+ * by page in ID order and each page's ETag is kept; once the TTL passes, pages are revalidated
+ * with {@code If-None-Match}, so an unchanged catalog costs one small 304 per page. A single
+ * part missing from the cache is fetched on its own. When the spare parts service is
+ * unreachable, expired entries are served rather than failing the caller. A catalog larger
+ * than the entry bound is only partly held, and a warning is logged.
+ * <p>
+ * Revalidation fetches pages without holding the cache's monitor and swaps the result in at the
+ * end, so lookups, {@link #evict} and {@link #invalidate} never wait on the HTTP calls.
+ */
+@Component
+@Slf4j
+public class SparePartCatalog {
+
+    private final SparePartIntegrationService sparePartIntegrationService;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final int pageSize;
+
+    private final Map<Long, CachedPart> parts;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CatalogState state = CatalogState.EMPTY;
+    private long generation;
+
+    public SparePartCatalog(SparePartIntegrationService sparePartIntegrationService,
+            @Value("${app.spareparts.catalog.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.spareparts.catalog.max-entries:5000}") int maxEntries,
+            @Value("${app.spareparts.catalog.page-size:200}") int pageSize) {
+        this.sparePartIntegrationService = sparePartIntegrationService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.pageSize = pageSize;
+        this.parts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPart> eldest) {
+                return size() > SparePartCatalog.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get a spare part, from memory when cached and fresh
+     */
+    public Optional<SparePartDto> get(Long sparePartId, String bearerToken) {
+        long now = System.currentTimeMillis();
+        CachedPart cached;
+        synchronized (this) {
+            cached = parts.get(sparePartId);
+        }
+        if (cached != null && cached.expiresAt > now) {
+            return Optional.of(cached.part);
+        }
+
+        Optional<SparePartDto> fetched = sparePartIntegrationService.getSparePartById(sparePartId, bearerToken);
+        if (fetched.isPresent()) {
+            synchronized (this) {
+                parts.put(sparePartId, new CachedPart(fetched.get(), now + ttlMillis));
+            }
+            return fetched;
+        }
+        if (cached != null) {
+            log.debug("Serving expired catalog entry for spare part {}", sparePartId);
+        }
+        return cached != null ? Optional.of(cached.part) : Optional.empty();
+    }
+
+    /**
+     * Get the whole catalog in ID order, revalidating it first when its TTL has passed. While
+     * another caller is revalidating, the previous catalog is served instead of waiting.
+     */
+    public List<SparePartDto> getCatalog(String bearerToken) {
+        CatalogState current = state;
+        if (current.expiresAt <= System.currentTimeMillis()) {
+            current = refresh(bearerToken, current);
+        }
+        List<SparePartDto> catalog = new ArrayList<>();
+        synchronized (this) {
+            for (CatalogPage page : current.pages.values()) {
+                for (Long id : page.sparePartIds) {
+                    CachedPart cached = parts.get(id);
+                    if (cached != null) {
+                        catalog.add(cached.part);
+                    }
+                }
+            }
+        }
+        catalog.sort(Comparator.comparing(SparePartDto::getId));
+        return catalog;
+    }
+
+    /**
+     * Drop one part, e.g. after learning it changed
+     */
+    public synchronized void evict(Long sparePartId) {
+        parts.remove(sparePartId);
+        generation++;
+        state = new CatalogState(state.pages, 0);
+    }
+
+    /**
+     * Drop everything, including page ETags
+     */
+    public synchronized void invalidate() {
+        parts.clear();
+        generation++;
+        state = CatalogState.EMPTY;
+    }
+
+    // Only one caller revalidates at a time; the others serve the current catalog, except on
+    // the first load, when there is nothing to serve yet
+    private CatalogState refresh(String bearerToken, CatalogState current) {
+        if (!refreshLock.tryLock()) {
+            if (!current.pages.isEmpty()) {
+                return current;
+            }
+            refreshLock.lock();
+        }
+        try {
+            CatalogState latest = state;
+            if (latest.expiresAt > System.currentTimeMillis()) {
+                return latest;
+            }
+            return load(bearerToken, latest);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Pages are fetched without holding the monitor, so lookups, evict and invalidate never wait
+    // on HTTP; the result is swapped in at the end in one step
+    private CatalogState load(String bearerToken, CatalogState latest) {
+        long now = System.currentTimeMillis();
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+        }
+
+        Map<Integer, CatalogPage> loadedPages = new HashMap<>();
+        Map<Long, SparePartDto> loadedParts = new HashMap<>();
+        try {
+            int totalPages = 1;
+            for (int page = 0; page < totalPages; page++) {
+                CatalogPage known = latest.pages.get(page);
+                CatalogPageDto result = sparePartIntegrationService.fetchSparePartPage(page, pageSize,
+                        known != null ? known.etag : null, bearerToken);
+
+                List<SparePartDto> cachedParts = result.isNotModified() && known != null ? cachedParts(known) : null;
+                if (cachedParts != null) {
+                    cachedParts.forEach(part -> loadedParts.put(part.getId(), part));
+                    loadedPages.put(page, known);
+                    // The ETag covers the whole body, so the page count is unchanged too
+                    totalPages = known.totalPages;
+                    continue;
+                }
+                if (result.isNotModified()) {
+                    // Some entries were evicted meanwhile; fetch the page again in full
+                    result = sparePartIntegrationService.fetchSparePartPage(page, pageSize, null, bearerToken);
+                }
+
+                if (result.getTotalElements() > maxEntries) {
+                    log.warn("Spare part catalog has {} parts, more than the {} that can be cached",
+                            result.getTotalElements(), maxEntries);
+                }
+                List<Long> ids = new ArrayList<>(result.getContent().size());
+                for (SparePartDto part : result.getContent()) {
+                    loadedParts.put(part.getId(), part);
+                    ids.add(part.getId());
+                }
+                loadedPages.put(page, new CatalogPage(result.getEtag(), ids, result.getTotalPages()));
+                totalPages = result.getTotalPages();
+            }
+        } catch (Exception e) {
+            log.warn("Could not refresh spare part catalog, serving cached entries: {}", e.getMessage());
+            return latest;
+        }
+
+        synchronized (this) {
+            loadedParts.forEach((id, part) -> parts.put(id, new CachedPart(part, now + ttlMillis)));
+            // Forget parts that are no longer in the catalog
+            parts.keySet().removeIf(id -> !loadedParts.containsKey(id));
+            // An evict or invalidate during the fetch may have raced it; revalidate on the next read
+            long expiresAt = generation == startGeneration ? now + ttlMillis : 0;
+            state = new CatalogState(Map.copyOf(loadedPages), expiresAt);
+            log.debug("Spare part catalog revalidated: {} parts in {} pages", loadedParts.size(), loadedPages.size());
+            return state;
+        }
+    }
+
+    // The cached parts of a page, or null when any of them was evicted
+    private synchronized List<SparePartDto> cachedParts(CatalogPage page) {
+        List<SparePartDto> cached = new ArrayList<>(page.sparePartIds.size());
+        for (Long id : page.sparePartIds) {
+            CachedPart entry = parts.get(id);
+            if (entry == null) {
+                return null;
+            }
+            cached.add(entry.part);
+        }
+        return cached;
+    }
+
+    private record CachedPart(SparePartDto part, long expiresAt) {
+    }
+
+    private record CatalogPage(String etag, List<Long> sparePartIds, int totalPages) {
+    }
+
+    private record CatalogState(Map<Integer, CatalogPage> pages, long expiresAt) {
+        static final CatalogState EMPTY = new CatalogState(Map.of(), 0);
+    }
+}
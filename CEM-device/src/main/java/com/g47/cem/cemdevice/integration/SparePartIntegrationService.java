@@ -8,17 +8,23 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.g47.cem.cemdevice.exception.BusinessException;
+
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 /**
  * Service for integrating with Spare Parts service
@@ -28,6 +34,9 @@ import org.springframework.web.client.HttpServerErrorException;
 @Slf4j
 public class SparePartIntegrationService {
 
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+
     private final RestTemplate restTemplate;
 
     @Value("${app.spareparts.service.url:http://localhost:8082}")
@@ -67,16 +76,61 @@ public class SparePartIntegrationService {
     }
 
     /**
-     * Get all spare parts
+     * Fetch one page of the spare part catalog in ID order. When {@code etag} is given the
+     * request is conditional and an unchanged page comes back as not modified, without a body.
+     */
+    public CatalogPageDto fetchSparePartPage(int page, int size, String etag, String bearerToken) {
+        log.debug("Fetching spare part catalog page {} (size {}) from spare parts service", page, size);
+
+        String url = UriComponentsBuilder.fromUriString(sparePartsServiceUrl + "/spare-parts")
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .queryParam("sortBy", "id")
+                .queryParam("sortDir", "asc")
+                .build()
+                .toUriString();
+
+        HttpHeaders headers = new HttpHeaders();
+        if (bearerToken != null && !bearerToken.isEmpty()) {
+            headers.set("Authorization", bearerToken.startsWith("Bearer ") ? bearerToken : "Bearer " + bearerToken);
+        }
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+
+        ResponseEntity<ApiResponse<PageResponse<SparePartDto>>> response = restTemplate.exchange(
+            url,
+            HttpMethod.GET,
+            entity,
+            new ParameterizedTypeReference<ApiResponse<PageResponse<SparePartDto>>>() {}
+        );
+
+        CatalogPageDto result = new CatalogPageDto();
+        result.setEtag(response.getHeaders().getETag());
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            result.setNotModified(true);
+            result.setEtag(etag);
+            return result;
+        }
+        if (response.getBody() == null || !response.getBody().isSuccess() || response.getBody().getData() == null) {
+            throw new BusinessException("Spare parts service returned no catalog page " + page, HttpStatus.BAD_GATEWAY);
+        }
+        PageResponse<SparePartDto> data = response.getBody().getData();
+        result.setContent(data.getContent() != null ? data.getContent() : List.of());
+        result.setTotalPages(data.getTotalPages());
+        result.setTotalElements(data.getTotalElements());
+        return result;
+    }
+
+    /**
+     * Get spare part inventory counts and valuation, aggregated by the spare parts service
      */
-    public List<SparePartDto> getAllSpareParts(String bearerToken) {
+    public Optional<SparePartInventoryStatsDto> getInventoryStats(String bearerToken) {
         try {
-            log.debug("Fetching all spare parts from spare parts service");
+            log.debug("Fetching spare part inventory stats from spare parts service");
 
-            String url = UriComponentsBuilder.fromUriString(sparePartsServiceUrl + "/spare-parts")
-                    .queryParam("size", "1000") // Get all spare parts
-                    .build()
-                    .toUriString();
+            String url = sparePartsServiceUrl + "/api/v1/spare-part-inventory/dashboard/stats";
 
             HttpHeaders headers = new HttpHeaders();
             if (bearerToken != null && !bearerToken.isEmpty()) {
@@ -84,25 +138,22 @@ public class SparePartIntegrationService {
             }
             HttpEntity<String> entity = new HttpEntity<>(headers);
 
-            ResponseEntity<ApiResponse<PageResponse<SparePartDto>>> response = restTemplate.exchange(
+            ResponseEntity<ApiResponse<SparePartInventoryStatsDto>> response = restTemplate.exchange(
                 url,
                 HttpMethod.GET,
                 entity,
-                new ParameterizedTypeReference<ApiResponse<PageResponse<SparePartDto>>>() {}
+                new ParameterizedTypeReference<ApiResponse<SparePartInventoryStatsDto>>() {}
             );
 
-            if (response.getBody() != null && response.getBody().isSuccess() && response.getBody().getData() != null) {
-                List<SparePartDto> spareParts = response.getBody().getData().getContent();
-                log.debug("Successfully fetched {} spare parts", spareParts != null ? spareParts.size() : 0);
-                return spareParts != null ? spareParts : List.of();
-            } else {
-                log.warn("Failed to fetch spare parts - Response body: {}", response.getBody());
-                return List.of();
+            if (response.getBody() != null && response.getBody().isSuccess()) {
+                return Optional.ofNullable(response.getBody().getData());
             }
 
+            log.warn("Failed to fetch spare part inventory stats - Response body: {}", response.getBody());
+            return Optional.empty();
         } catch (Exception e) {
-            log.error("Error fetching spare parts", e);
-            return List.of();
+            log.error("Error fetching spare part inventory stats", e);
+            return Optional.empty();
         }
     }
 
@@ -188,137 +239,140 @@ public class SparePartIntegrationService {
     }
     
     /**
-     * Add stock to spare part inventory
+     * Apply signed stock changes for a whole import/export document in one call. The spare parts
+     * service applies them atomically, so either every line is applied or none is.
+     *
+     * @return resulting stock level per line, in request order
+     * @throws BusinessException when the spare parts service rejects or cannot process the batch
      */
-    public boolean addStockToSparePart(Long sparePartId, Integer quantity, String notes, String bearerToken) {
+    public List<StockLevelDto> applyStockBatch(List<StockDeltaDto> items, String reference, String notes, String bearerToken) {
         try {
-            log.debug("Adding {} units to spare part inventory for spare part ID: {}", quantity, sparePartId);
+            log.debug("Applying batch of {} stock changes for reference: {}", items.size(), reference);
 
-            String url = UriComponentsBuilder.fromUriString(sparePartsServiceUrl + "/api/v1/spare-part-inventory/" + sparePartId + "/add-stock")
-                    .queryParam("quantity", quantity)
-                    .queryParam("notes", notes)
-                    .build()
-                    .toUriString();
+            String url = sparePartsServiceUrl + "/api/v1/spare-part-inventory/batch-stock";
 
             HttpHeaders headers = new HttpHeaders();
+            headers.set("Content-Type", "application/json");
             if (bearerToken != null && !bearerToken.isEmpty()) {
                 headers.set("Authorization", bearerToken.startsWith("Bearer ") ? bearerToken : "Bearer " + bearerToken);
             }
-            HttpEntity<String> entity = new HttpEntity<>(headers);
 
-            ResponseEntity<ApiResponse<Object>> response = restTemplate.exchange(
+            var body = new java.util.HashMap<String, Object>();
+            body.put("items", items);
+            if (reference != null) body.put("reference", reference);
+            if (notes != null) body.put("notes", notes);
+
+            HttpEntity<java.util.Map<String, Object>> entity = new HttpEntity<>(body, headers);
+
+            ResponseEntity<ApiResponse<BatchStockResultDto>> response = restTemplate.exchange(
                 url,
                 HttpMethod.POST,
                 entity,
-                new ParameterizedTypeReference<ApiResponse<Object>>() {}
+                new ParameterizedTypeReference<ApiResponse<BatchStockResultDto>>() {}
             );
 
-            if (response.getBody() != null && response.getBody().isSuccess()) {
-                log.debug("Successfully added {} units to spare part inventory for spare part ID: {}", quantity, sparePartId);
-                return true;
-            } else {
-                log.warn("Failed to add stock to spare part inventory - Response body: {}", response.getBody());
-                return false;
+            if (response.getBody() != null && response.getBody().isSuccess() && response.getBody().getData() != null) {
+                List<StockLevelDto> results = response.getBody().getData().getResults();
+                return results != null ? results : List.of();
             }
+            throw new BusinessException("Spare parts service did not apply stock changes for " + reference);
 
+        } catch (HttpClientErrorException e) {
+            ApiResponse<?> error = e.getResponseBodyAs(ApiResponse.class);
+            String message = error != null && error.getMessage() != null ? error.getMessage() : e.getStatusText();
+            log.warn("Spare parts service rejected stock batch for reference: {}. Status: {}, Error: {}",
+                    reference, e.getStatusCode(), message);
+            throw new BusinessException("Spare part stock update rejected: " + message);
+        } catch (HttpServerErrorException e) {
+            log.error("HTTP server error applying stock batch for reference: {}. Status: {}, Error: {}",
+                    reference, e.getStatusCode(), e.getMessage());
+            throw new BusinessException("Spare parts service failed to apply stock changes", HttpStatus.BAD_GATEWAY, e);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error adding stock to spare part inventory for spare part ID: {}", sparePartId, e);
-            return false;
+            log.error("Unexpected error applying stock batch for reference: {}", reference, e);
+            throw new BusinessException("Spare parts service unavailable", HttpStatus.SERVICE_UNAVAILABLE, e);
         }
     }
-    
+
     /**
-     * Remove stock from spare part inventory
+     * Reserve stock for an export under an idempotency key. Safe to retry: the spare parts service
+     * returns the existing reservation when the key was seen before.
      */
-    public boolean removeStockFromSparePart(Long sparePartId, Integer quantity, String notes, String bearerToken) {
-        try {
-            log.debug("Removing {} units from spare part inventory for spare part ID: {}", quantity, sparePartId);
+    public StockReservationDto reserveStock(String reservationKey, List<ReservationItemDto> items, String reference,
+            String bearerToken) {
+        var body = new java.util.HashMap<String, Object>();
+        body.put("reservationKey", reservationKey);
+        body.put("items", items);
+        if (reference != null) body.put("reference", reference);
+
+        return callWithRetry("reserve stock " + reservationKey, () -> postReservation(
+                sparePartsServiceUrl + "/api/v1/stock-reservations", body, bearerToken));
+    }
 
-            String url = UriComponentsBuilder.fromUriString(sparePartsServiceUrl + "/api/v1/spare-part-inventory/" + sparePartId + "/remove-stock")
-                    .queryParam("quantity", quantity)
-                    .queryParam("notes", notes)
-                    .build()
-                    .toUriString();
+    /**
+     * Confirm a stock reservation; idempotent
+     */
+    public StockReservationDto confirmReservation(String reservationKey, String bearerToken) {
+        return callWithRetry("confirm reservation " + reservationKey, () -> postReservation(
+                sparePartsServiceUrl + "/api/v1/stock-reservations/" + reservationKey + "/confirm", null, bearerToken));
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            if (bearerToken != null && !bearerToken.isEmpty()) {
-                headers.set("Authorization", bearerToken.startsWith("Bearer ") ? bearerToken : "Bearer " + bearerToken);
-            }
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+    /**
+     * Release a stock reservation and return its stock; idempotent
+     */
+    public StockReservationDto releaseReservation(String reservationKey, String bearerToken) {
+        return callWithRetry("release reservation " + reservationKey, () -> postReservation(
+                sparePartsServiceUrl + "/api/v1/stock-reservations/" + reservationKey + "/release", null, bearerToken));
+    }
 
-            ResponseEntity<ApiResponse<Object>> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                entity,
-                new ParameterizedTypeReference<ApiResponse<Object>>() {}
-            );
+    private StockReservationDto postReservation(String url, Object body, String bearerToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        if (bearerToken != null && !bearerToken.isEmpty()) {
+            headers.set("Authorization", bearerToken.startsWith("Bearer ") ? bearerToken : "Bearer " + bearerToken);
+        }
+        HttpEntity<Object> entity = new HttpEntity<>(body, headers);
 
-            if (response.getBody() != null && response.getBody().isSuccess()) {
-                log.debug("Successfully removed {} units from spare part inventory for spare part ID: {}", quantity, sparePartId);
-                return true;
-            } else {
-                log.warn("Failed to remove stock from spare part inventory - Response body: {}", response.getBody());
-                return false;
-            }
+        ResponseEntity<ApiResponse<StockReservationDto>> response = restTemplate.exchange(
+            url,
+            HttpMethod.POST,
+            entity,
+            new ParameterizedTypeReference<ApiResponse<StockReservationDto>>() {}
+        );
 
-        } catch (HttpClientErrorException.Conflict e) {
-            // Handle 409 Conflict specifically
-            log.warn("Conflict error (409) when removing stock from spare part ID: {}. Error: {}", 
-                    sparePartId, e.getMessage());
-            return false;
-        } catch (HttpClientErrorException e) {
-            // Handle other HTTP client errors (4xx)
-            log.warn("HTTP client error when removing stock from spare part ID: {}. Status: {}, Error: {}", 
-                    sparePartId, e.getStatusCode(), e.getMessage());
-            return false;
-        } catch (HttpServerErrorException e) {
-            // Handle HTTP server errors (5xx)
-            log.error("HTTP server error when removing stock from spare part ID: {}. Status: {}, Error: {}", 
-                    sparePartId, e.getStatusCode(), e.getMessage());
-            return false;
-        } catch (Exception e) {
-            log.error("Unexpected error removing stock from spare part inventory for spare part ID: {}", sparePartId, e);
-            return false;
+        if (response.getBody() != null && response.getBody().isSuccess() && response.getBody().getData() != null) {
+            return response.getBody().getData();
         }
+        throw new BusinessException("Unexpected response from spare parts service: " + response.getBody(), HttpStatus.BAD_GATEWAY);
     }
-    
+
     /**
-     * Check if spare part has sufficient stock
+     * Run an idempotent call, retrying transient failures (5xx, I/O) with a short backoff.
+     * Client errors (4xx) are not retried and surface as a BusinessException with the remote message.
      */
-    public boolean hasSufficientStock(Long sparePartId, Integer requiredQuantity, String bearerToken) {
-        try {
-            log.debug("Checking if spare part ID: {} has sufficient stock for quantity: {}", sparePartId, requiredQuantity);
-
-            String url = UriComponentsBuilder.fromUriString(sparePartsServiceUrl + "/api/v1/spare-part-inventory/" + sparePartId + "/has-sufficient-stock")
-                    .queryParam("requiredQuantity", requiredQuantity)
-                    .build()
-                    .toUriString();
-
-            HttpHeaders headers = new HttpHeaders();
-            if (bearerToken != null && !bearerToken.isEmpty()) {
-                headers.set("Authorization", bearerToken.startsWith("Bearer ") ? bearerToken : "Bearer " + bearerToken);
+    private <T> T callWithRetry(String action, java.util.function.Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (HttpClientErrorException e) {
+                ApiResponse<?> error = e.getResponseBodyAs(ApiResponse.class);
+                String message = error != null && error.getMessage() != null ? error.getMessage() : e.getStatusText();
+                log.warn("Spare parts service rejected {}. Status: {}, Error: {}", action, e.getStatusCode(), message);
+                throw new BusinessException(message, HttpStatus.valueOf(e.getStatusCode().value()));
+            } catch (HttpServerErrorException | ResourceAccessException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.error("Failed to {} after {} attempts", action, attempt, e);
+                    throw new BusinessException("Spare parts service failed to " + action, HttpStatus.BAD_GATEWAY, e);
+                }
+                log.warn("Attempt {} to {} failed, retrying: {}", attempt, action, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new BusinessException("Interrupted while trying to " + action, HttpStatus.SERVICE_UNAVAILABLE, interrupted);
+                }
             }
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                new ParameterizedTypeReference<ApiResponse<Boolean>>() {}
-            );
-
-            if (response.getBody() != null && response.getBody().isSuccess()) {
-                Boolean hasSufficient = response.getBody().getData();
-                log.debug("Spare part ID: {} has sufficient stock: {}", sparePartId, hasSufficient);
-                return hasSufficient != null && hasSufficient;
-            } else {
-                log.warn("Failed to check stock availability - Response body: {}", response.getBody());
-                return false;
-            }
-
-        } catch (Exception e) {
-            log.error("Error checking stock availability for spare part ID: {}", sparePartId, e);
-            return false;
         }
     }
 
@@ -426,6 +480,78 @@ public class SparePartIntegrationService {
         private int number;
     }
 
+    @Data
+    public static class CatalogPageDto {
+        private boolean notModified;
+        private String etag;
+        private List<SparePartDto> content = List.of();
+        private int totalPages;
+        private long totalElements;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class SparePartInventoryStatsDto {
+        private long totalSpareParts;
+        private long totalItems;
+        private long lowStockItems;
+        private long outOfStockItems;
+        private long itemsNeedingReorder;
+        private java.math.BigDecimal totalValue;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StockDeltaDto {
+        private Long sparePartId;
+        private Integer quantity; // positive adds stock, negative removes it
+        private String notes;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class BatchStockResultDto {
+        private String reference;
+        private List<StockLevelDto> results;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StockLevelDto {
+        private Long sparePartId;
+        private String partName;
+        private String partCode;
+        private Integer quantityDelta;
+        private Integer quantityInStock;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ReservationItemDto {
+        private Long sparePartId;
+        private Integer quantity;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StockReservationDto {
+        private String reservationKey;
+        private String status;
+        private String reference;
+        private java.time.LocalDateTime expiresAt;
+        private List<ReservationLineDto> items;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ReservationLineDto {
+        private Long sparePartId;
+        private String sparePartName;
+        private Integer quantity;
+    }
+
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class SparePartDto {
@@ -1,5 +1,6 @@
 package com.g47.cem.cemdevice.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +12,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.g47.cem.cemdevice.entity.DeviceInventory;
+import com.g47.cem.cemdevice.enums.DeviceStatus;
+import com.g47.cem.cemdevice.repository.projection.DeviceInventoryOverviewView;
+import com.g47.cem.cemdevice.repository.projection.DeviceInventoryValuationView;
 
 /**
  * Repository interface for DeviceInventory entity
@@ -20,6 +24,9 @@ public interface DeviceInventoryRepository extends JpaRepository<DeviceInventory
     
     Optional<DeviceInventory> findByDeviceId(Long deviceId);
     
+    @Query("SELECT di FROM DeviceInventory di JOIN FETCH di.device WHERE di.device.id IN :deviceIds")
+    List<DeviceInventory> findByDeviceIdIn(@Param("deviceIds") Collection<Long> deviceIds);
+    
     List<DeviceInventory> findByQuantityInStockLessThanEqual(Integer quantity);
     
     List<DeviceInventory> findByQuantityInStockLessThanEqualAndMinimumStockLevelGreaterThan(
@@ -34,8 +41,9 @@ public interface DeviceInventoryRepository extends JpaRepository<DeviceInventory
     @Query("SELECT di FROM DeviceInventory di WHERE di.quantityInStock = 0")
     List<DeviceInventory> findOutOfStockItems();
     
-    @Query("SELECT di FROM DeviceInventory di WHERE di.warehouseLocation = :location")
-    List<DeviceInventory> findByWarehouseLocation(@Param("location") String location);
+    // Row lock held until commit; serializes stock changes to one device, including its per-location rows
+    @Query(value = "SELECT * FROM device_inventory WHERE device_id = :deviceId FOR UPDATE", nativeQuery = true)
+    Optional<DeviceInventory> findByDeviceIdForUpdate(@Param("deviceId") Long deviceId);
     
     @Query("SELECT di FROM DeviceInventory di JOIN di.device d WHERE " +
            "(:keyword IS NULL OR d.name LIKE %:keyword% OR d.model LIKE %:keyword% OR d.serialNumber LIKE %:keyword%) " +
@@ -47,8 +55,43 @@ public interface DeviceInventoryRepository extends JpaRepository<DeviceInventory
                                          @Param("inStock") Boolean inStock,
                                          Pageable pageable);
     
-    // Additional methods for dashboard statistics
-    long countByQuantityInStockLessThanEqualAndMinimumStockLevelGreaterThan(Integer quantity, Integer minimumStockLevel);
+    // Every device with its inventory, filtered, paged and sorted in the database
+    @Query(value = "SELECT di.id AS inventoryId, d.id AS deviceId, d.name AS deviceName, d.model AS deviceModel, " +
+           "d.serialNumber AS deviceSerialNumber, d.status AS deviceStatus, " +
+           "COALESCE(di.quantityInStock, 0) AS quantityInStock, " +
+           "COALESCE(di.minimumStockLevel, 0) AS minimumStockLevel, " +
+           "di.maximumStockLevel AS maximumStockLevel, di.reorderPoint AS reorderPoint, di.unitCost AS unitCost, " +
+           "di.warehouseLocation AS warehouseLocation, di.notes AS notes, di.createdBy AS createdBy, " +
+           "di.createdAt AS createdAt, di.updatedAt AS updatedAt " +
+           "FROM Device d LEFT JOIN DeviceInventory di ON di.device.id = d.id " +
+           "WHERE (:keyword IS NULL OR LOWER(d.name) LIKE :keyword OR LOWER(d.model) LIKE :keyword " +
+           "       OR LOWER(d.serialNumber) LIKE :keyword) " +
+           "AND (:status IS NULL OR d.status = :status) " +
+           "AND (:inStock IS NULL OR " +
+           "     (:inStock = true AND COALESCE(di.quantityInStock, 0) > 0) OR " +
+           "     (:inStock = false AND COALESCE(di.quantityInStock, 0) <= 0)) " +
+           "AND (:lowStock IS NULL OR :lowStock = false OR " +
+           "     COALESCE(di.quantityInStock, 0) <= COALESCE(di.minimumStockLevel, 0))",
+           countQuery = "SELECT COUNT(d) FROM Device d LEFT JOIN DeviceInventory di ON di.device.id = d.id " +
+           "WHERE (:keyword IS NULL OR LOWER(d.name) LIKE :keyword OR LOWER(d.model) LIKE :keyword " +
+           "       OR LOWER(d.serialNumber) LIKE :keyword) " +
+           "AND (:status IS NULL OR d.status = :status) " +
+           "AND (:inStock IS NULL OR " +
+           "     (:inStock = true AND COALESCE(di.quantityInStock, 0) > 0) OR " +
+           "     (:inStock = false AND COALESCE(di.quantityInStock, 0) <= 0)) " +
+           "AND (:lowStock IS NULL OR :lowStock = false OR " +
+           "     COALESCE(di.quantityInStock, 0) <= COALESCE(di.minimumStockLevel, 0))")
+    Page<DeviceInventoryOverviewView> findInventoryOverview(@Param("keyword") String keyword,
+                                                            @Param("status") DeviceStatus status,
+                                                            @Param("inStock") Boolean inStock,
+                                                            @Param("lowStock") Boolean lowStock,
+                                                            Pageable pageable);
     
-    long countByQuantityInStock(Integer quantity);
+    // Dashboard counts and stock valuation in one pass over the inventory table
+    @Query(value = "SELECT COUNT(*) AS \"totalItems\", " +
+           "COUNT(*) FILTER (WHERE quantity_in_stock <= minimum_stock_level) AS \"lowStockItems\", " +
+           "COUNT(*) FILTER (WHERE quantity_in_stock = 0) AS \"outOfStockItems\", " +
+           "COALESCE(SUM(unit_cost * quantity_in_stock), 0) AS \"totalValue\" " +
+           "FROM device_inventory", nativeQuery = true)
+    DeviceInventoryValuationView getInventoryValuation();
 }
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import com.g47.cem.cemdevice.entity.Device;
 import com.g47.cem.cemdevice.enums.DeviceStatus;
+import com.g47.cem.cemdevice.repository.projection.DeviceListView;
 
 /**
  * Repository interface for Device entity
@@ -28,27 +29,33 @@ public interface DeviceRepository extends JpaRepository<Device, Long> {
     long countByStatus(@Param("status") DeviceStatus status);
 
     /**
-     * Search devices with flexible filters for keyword, stock status, and device status.
+     * Search device list rows with flexible filters for keyword, stock status, and device status.
      * Optimized to only use LEFT JOIN when inStock filter is applied.
      */
-    @Query("SELECT d FROM Device d " +
+    @Query("SELECT d.id AS id, d.name AS name, d.model AS model, d.serialNumber AS serialNumber, d.status AS status, " +
+           "d.price AS price, d.unit AS unit, d.warrantyExpiry AS warrantyExpiry, d.createdBy AS createdBy, " +
+           "d.createdAt AS createdAt, d.updatedAt AS updatedAt " +
+           "FROM Device d " +
            "WHERE (:keyword IS NULL OR d.serialNumber LIKE :keyword OR d.name LIKE :keyword OR d.model LIKE :keyword) " +
            "AND (:status IS NULL OR d.status = :status)")
-    Page<Device> searchDevicesBasic(@Param("keyword") String keyword,
-                                    @Param("status") DeviceStatus status,
-                                    Pageable pageable);
+    Page<DeviceListView> searchDevicesBasic(@Param("keyword") String keyword,
+                                            @Param("status") DeviceStatus status,
+                                            Pageable pageable);
 
     /**
-     * Search devices with inStock filter (requires LEFT JOIN)
+     * Search device list rows with inStock filter (requires LEFT JOIN)
      */
-    @Query("SELECT d FROM Device d LEFT JOIN d.customerDevices cd " +
+    @Query("SELECT d.id AS id, d.name AS name, d.model AS model, d.serialNumber AS serialNumber, d.status AS status, " +
+           "d.price AS price, d.unit AS unit, d.warrantyExpiry AS warrantyExpiry, d.createdBy AS createdBy, " +
+           "d.createdAt AS createdAt, d.updatedAt AS updatedAt " +
+           "FROM Device d LEFT JOIN d.customerDevices cd " +
            "WHERE (:keyword IS NULL OR d.serialNumber LIKE :keyword OR d.name LIKE :keyword OR d.model LIKE :keyword) " +
            "AND (:status IS NULL OR d.status = :status) " +
            "AND ((:inStock = true AND cd.id IS NULL) OR (:inStock = false AND cd.id IS NOT NULL))")
-    Page<Device> searchDevicesWithStockFilter(@Param("keyword") String keyword,
-                                              @Param("inStock") Boolean inStock,
-                                              @Param("status") DeviceStatus status,
-                                              Pageable pageable);
+    Page<DeviceListView> searchDevicesWithStockFilter(@Param("keyword") String keyword,
+                                                      @Param("inStock") Boolean inStock,
+                                                      @Param("status") DeviceStatus status,
+                                                      Pageable pageable);
 
     /**
      * Check if device is linked to any customer through contracts
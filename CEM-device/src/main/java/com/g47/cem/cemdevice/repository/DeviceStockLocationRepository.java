@@ -0,0 +1,72 @@
+package com.g47.cem.cemdevice.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemdevice.entity.DeviceStockLocation;
+import com.g47.cem.cemdevice.repository.projection.DeviceLocationStockView;
+import com.g47.cem.cemdevice.repository.projection.WarehouseSummaryView;
+
+/**
+ * Repository for per-location device stock. Location reads are index scans on
+ * (warehouse_location, device_id); device reads use the unique (device_id, warehouse_location) key.
+ * Reads return projections, so rows changed by the atomic statements below are never served
+ * stale from the persistence context.
+ */
+@Repository
+public interface DeviceStockLocationRepository extends JpaRepository<DeviceStockLocation, Long> {
+    
+    @Query("SELECT sl.deviceId AS deviceId, d.name AS deviceName, d.model AS deviceModel, " +
+           "sl.warehouseLocation AS warehouseLocation, sl.quantityInStock AS quantityInStock, sl.updatedAt AS updatedAt " +
+           "FROM DeviceStockLocation sl JOIN Device d ON d.id = sl.deviceId " +
+           "WHERE sl.deviceId = :deviceId AND sl.quantityInStock > 0 " +
+           "ORDER BY sl.warehouseLocation")
+    List<DeviceLocationStockView> findStockByDeviceId(@Param("deviceId") Long deviceId);
+    
+    @Query(value = "SELECT sl.deviceId AS deviceId, d.name AS deviceName, d.model AS deviceModel, " +
+           "sl.warehouseLocation AS warehouseLocation, sl.quantityInStock AS quantityInStock, sl.updatedAt AS updatedAt " +
+           "FROM DeviceStockLocation sl JOIN Device d ON d.id = sl.deviceId " +
+           "WHERE sl.warehouseLocation = :location AND sl.quantityInStock > 0 " +
+           "ORDER BY sl.deviceId",
+           countQuery = "SELECT COUNT(sl) FROM DeviceStockLocation sl " +
+           "WHERE sl.warehouseLocation = :location AND sl.quantityInStock > 0")
+    Page<DeviceLocationStockView> findStockByWarehouseLocation(@Param("location") String location, Pageable pageable);
+    
+    @Query("SELECT sl.warehouseLocation AS warehouseLocation, COUNT(sl) AS itemCount, " +
+           "SUM(sl.quantityInStock) AS totalQuantity FROM DeviceStockLocation sl " +
+           "WHERE sl.quantityInStock > 0 GROUP BY sl.warehouseLocation ORDER BY sl.warehouseLocation")
+    List<WarehouseSummaryView> summarizeWarehouses();
+    
+    @Query("SELECT sl.quantityInStock FROM DeviceStockLocation sl " +
+           "WHERE sl.deviceId = :deviceId AND sl.warehouseLocation = :location")
+    Optional<Integer> findQuantity(@Param("deviceId") Long deviceId, @Param("location") String location);
+    
+    // Atomic per-location changes. Callers hold the device's inventory row lock, so location rows
+    // of one device are never changed concurrently.
+    @Transactional
+    @Query(value = "WITH changed AS (INSERT INTO device_stock_locations (device_id, warehouse_location, " +
+           "quantity_in_stock, updated_at) VALUES (:deviceId, :location, :quantity, NOW()) " +
+           "ON CONFLICT (device_id, warehouse_location) DO UPDATE SET " +
+           "quantity_in_stock = device_stock_locations.quantity_in_stock + EXCLUDED.quantity_in_stock, " +
+           "updated_at = NOW() RETURNING quantity_in_stock) " +
+           "SELECT quantity_in_stock FROM changed", nativeQuery = true)
+    int addStock(@Param("deviceId") Long deviceId, @Param("location") String location,
+                 @Param("quantity") int quantity);
+    
+    @Transactional
+    @Query(value = "WITH changed AS (UPDATE device_stock_locations SET quantity_in_stock = quantity_in_stock - :quantity, " +
+           "updated_at = NOW() " +
+           "WHERE device_id = :deviceId AND warehouse_location = :location AND quantity_in_stock >= :quantity " +
+           "RETURNING quantity_in_stock) " +
+           "SELECT quantity_in_stock FROM changed", nativeQuery = true)
+    Optional<Integer> takeStockIfAvailable(@Param("deviceId") Long deviceId, @Param("location") String location,
+                                           @Param("quantity") int quantity);
+}
@@ -7,6 +7,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,12 +15,14 @@ import org.springframework.stereotype.Repository;
 import com.g47.cem.cemdevice.entity.ServiceRequest;
 import com.g47.cem.cemdevice.enums.ServiceRequestStatus;
 import com.g47.cem.cemdevice.enums.ServiceRequestType;
+import com.g47.cem.cemdevice.repository.projection.ServiceRequestListView;
+import com.g47.cem.cemdevice.repository.projection.ServiceRequestStatisticsView;
 
 /**
  * Repository interface for ServiceRequest entity
  */
 @Repository
-public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long> {
+public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long>, JpaSpecificationExecutor<ServiceRequest> {
     
     /**
      * Find service requests by customer ID with pagination
@@ -57,6 +60,30 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
            "WHERE sr.id = :id")
     Optional<ServiceRequest> findByIdWithDevice(@Param("id") Long id);
     
+    /**
+     * List rows of service requests, each filter applied only when given. The keyword pattern
+     * matches description, request ID, device name or model.
+     */
+    @Query("SELECT sr.id AS id, sr.requestId AS requestId, sr.customerId AS customerId, sr.type AS type, " +
+           "sr.status AS status, sr.description AS description, sr.preferredDateTime AS preferredDateTime, " +
+           "sr.workLocation AS workLocation, sr.completedAt AS completedAt, sr.createdBy AS createdBy, " +
+           "sr.createdAt AS createdAt, sr.updatedAt AS updatedAt, cd.id AS deviceId, " +
+           "d.name AS deviceName, d.model AS deviceModel, d.serialNumber AS serialNumber " +
+           "FROM ServiceRequest sr JOIN sr.device cd JOIN cd.device d " +
+           "WHERE (:customerId IS NULL OR sr.customerId = :customerId) " +
+           "AND (:status IS NULL OR sr.status = :status) " +
+           "AND (:type IS NULL OR sr.type = :type) " +
+           "AND (:deviceId IS NULL OR cd.id = :deviceId) " +
+           "AND (:keywordPattern IS NULL OR sr.description LIKE :keywordPattern OR sr.requestId LIKE :keywordPattern " +
+           "OR d.name LIKE :keywordPattern OR d.model LIKE :keywordPattern)")
+    Page<ServiceRequestListView> findListViews(
+            @Param("customerId") Long customerId,
+            @Param("keywordPattern") String keywordPattern,
+            @Param("status") ServiceRequestStatus status,
+            @Param("type") ServiceRequestType type,
+            @Param("deviceId") Long deviceId,
+            Pageable pageable);
+    
     /**
      * Find service requests by status with pagination
      */
@@ -105,4 +132,34 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
      * Count service requests by type
      */
     long countByType(ServiceRequestType type);
-} 
\ No newline at end of file
+    
+    /**
+     * Get service request statistics for staff dashboard in a single aggregate pass
+     */
+    @Query(value = "SELECT " +
+           "COUNT(*) AS \"totalRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'PENDING') AS \"pendingRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'APPROVED') AS \"approvedRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'REJECTED') AS \"rejectedRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS \"inProgressRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS \"completedRequests\", " +
+           "COUNT(*) FILTER (WHERE type = 'MAINTENANCE') AS \"maintenanceRequests\", " +
+           "COUNT(*) FILTER (WHERE type = 'WARRANTY') AS \"warrantyRequests\" " +
+           "FROM service_requests", nativeQuery = true)
+    ServiceRequestStatisticsView getServiceRequestStatistics();
+    
+    /**
+     * Get service request statistics for a customer in a single aggregate pass
+     */
+    @Query(value = "SELECT " +
+           "COUNT(*) AS \"totalRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'PENDING') AS \"pendingRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'APPROVED') AS \"approvedRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'REJECTED') AS \"rejectedRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS \"inProgressRequests\", " +
+           "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS \"completedRequests\", " +
+           "COUNT(*) FILTER (WHERE type = 'MAINTENANCE') AS \"maintenanceRequests\", " +
+           "COUNT(*) FILTER (WHERE type = 'WARRANTY') AS \"warrantyRequests\" " +
+           "FROM service_requests WHERE customer_id = :customerId", nativeQuery = true)
+    ServiceRequestStatisticsView getServiceRequestStatisticsByCustomerId(@Param("customerId") Long customerId);
+}
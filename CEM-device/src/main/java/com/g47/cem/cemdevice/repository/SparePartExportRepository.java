@@ -0,0 +1,13 @@
+package com.g47.cem.cemdevice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.g47.cem.cemdevice.entity.SparePartExport;
+
+/**
+ * Repository for committed spare part exports
+ */
+@Repository
+public interface SparePartExportRepository extends JpaRepository<SparePartExport, Long> {
+}
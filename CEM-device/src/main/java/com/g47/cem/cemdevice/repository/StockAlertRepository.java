@@ -0,0 +1,47 @@
+package com.g47.cem.cemdevice.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.g47.cem.cemdevice.entity.StockAlert;
+import com.g47.cem.cemdevice.enums.StockAlertType;
+
+/**
+ * Repository for open stock alerts
+ */
+@Repository
+public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
+    
+    List<StockAlert> findByItemTypeOrderByRaisedAtDesc(String itemType);
+    
+    List<StockAlert> findByItemTypeAndAlertTypeOrderByRaisedAtDesc(String itemType, StockAlertType alertType);
+    
+    List<StockAlert> findByItemTypeAndItemId(String itemType, Long itemId);
+    
+    @Query("SELECT a.itemId FROM StockAlert a WHERE a.itemType = :itemType AND a.alertType = :alertType ORDER BY a.raisedAt DESC")
+    List<Long> findItemIdsByItemTypeAndAlertType(@Param("itemType") String itemType,
+                                                 @Param("alertType") StockAlertType alertType);
+    
+    @Modifying
+    @Query(value = "INSERT INTO stock_alerts (item_type, item_id, alert_type, quantity_in_stock, threshold, raised_at) " +
+           "VALUES (:itemType, :itemId, :alertType, :quantity, :threshold, NOW()) " +
+           "ON CONFLICT (item_type, item_id, alert_type) DO UPDATE SET " +
+           "quantity_in_stock = EXCLUDED.quantity_in_stock, threshold = EXCLUDED.threshold", nativeQuery = true)
+    int raise(@Param("itemType") String itemType,
+              @Param("itemId") Long itemId,
+              @Param("alertType") String alertType,
+              @Param("quantity") int quantity,
+              @Param("threshold") int threshold);
+    
+    @Modifying
+    @Query("DELETE FROM StockAlert a WHERE a.itemType = :itemType AND a.itemId = :itemId AND a.alertType IN :alertTypes")
+    int clear(@Param("itemType") String itemType,
+              @Param("itemId") Long itemId,
+              @Param("alertTypes") Collection<StockAlertType> alertTypes);
+}
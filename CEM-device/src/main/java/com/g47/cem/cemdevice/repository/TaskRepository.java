@@ -15,6 +15,10 @@ import com.g47.cem.cemdevice.entity.Task;
 import com.g47.cem.cemdevice.enums.TaskPriority;
 import com.g47.cem.cemdevice.enums.TaskStatus;
 import com.g47.cem.cemdevice.enums.TaskType;
+import com.g47.cem.cemdevice.repository.projection.TaskListView;
+import com.g47.cem.cemdevice.repository.projection.TaskStatisticsView;
+import com.g47.cem.cemdevice.repository.projection.TechnicianLoadView;
+import com.g47.cem.cemdevice.repository.projection.TechnicianScheduleSlotView;
 
 /**
  * Repository interface for Task entity
@@ -112,6 +116,76 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
         @Param("startDate") LocalDateTime startDate, 
         @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * Find schedule slots of the given technicians in a date range, with device details joined in
+     */
+    @Query("SELECT t.assignedTechnicianId AS technicianId, t.id AS taskId, t.taskId AS taskNumber, t.title AS title, " +
+           "t.type AS type, t.status AS status, t.priority AS priority, t.scheduledDate AS scheduledDate, " +
+           "t.estimatedDurationHours AS estimatedDurationHours, t.serviceLocation AS serviceLocation, " +
+           "t.description AS description, t.createdAt AS createdAt, " +
+           "d.name AS deviceName, d.model AS deviceModel, d.serialNumber AS serialNumber " +
+           "FROM Task t LEFT JOIN t.customerDevice cd LEFT JOIN cd.device d " +
+           "WHERE t.assignedTechnicianId IN :technicianIds AND t.scheduledDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.assignedTechnicianId, t.scheduledDate")
+    List<TechnicianScheduleSlotView> findScheduleSlotsByTechnicianIds(
+        @Param("technicianIds") List<Long> technicianIds,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Find schedule slots of every assigned technician in a date range, with device details joined in
+     */
+    @Query("SELECT t.assignedTechnicianId AS technicianId, t.id AS taskId, t.taskId AS taskNumber, t.title AS title, " +
+           "t.type AS type, t.status AS status, t.priority AS priority, t.scheduledDate AS scheduledDate, " +
+           "t.estimatedDurationHours AS estimatedDurationHours, t.serviceLocation AS serviceLocation, " +
+           "t.description AS description, t.createdAt AS createdAt, " +
+           "d.name AS deviceName, d.model AS deviceModel, d.serialNumber AS serialNumber " +
+           "FROM Task t LEFT JOIN t.customerDevice cd LEFT JOIN cd.device d " +
+           "WHERE t.assignedTechnicianId IS NOT NULL AND t.scheduledDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.assignedTechnicianId, t.scheduledDate")
+    List<TechnicianScheduleSlotView> findAllScheduleSlots(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate);
+    
+    // Columns of a task list row (TaskListView), with the task's device joined in
+    String LIST_VIEW_SELECT = "SELECT t.id AS id, t.taskId AS taskId, t.title AS title, " +
+           "t.description AS description, t.type AS type, t.status AS status, t.priority AS priority, " +
+           "t.serviceRequestId AS serviceRequestId, cd.id AS customerDeviceId, d.name AS deviceName, " +
+           "d.model AS deviceModel, d.serialNumber AS serialNumber, t.customerId AS customerId, " +
+           "t.assignedTechnicianId AS assignedTechnicianId, t.assignedBy AS assignedBy, t.assignedAt AS assignedAt, " +
+           "t.scheduledDate AS scheduledDate, t.estimatedDurationHours AS estimatedDurationHours, " +
+           "t.serviceLocation AS serviceLocation, t.customerContactInfo AS customerContactInfo, " +
+           "t.actualCost AS actualCost, t.rejectionReason AS rejectionReason, t.rejectedBy AS rejectedBy, " +
+           "t.rejectedAt AS rejectedAt, t.completedAt AS completedAt, t.createdBy AS createdBy, " +
+           "t.createdAt AS createdAt, t.updatedAt AS updatedAt " +
+           "FROM Task t LEFT JOIN t.customerDevice cd LEFT JOIN cd.device d ";
+    
+    /**
+     * List rows of tasks, each filter applied only when given
+     */
+    @Query(LIST_VIEW_SELECT +
+           "WHERE (:status IS NULL OR t.status = :status) AND (:priority IS NULL OR t.priority = :priority) " +
+           "AND (:type IS NULL OR t.type = :type)")
+    Page<TaskListView> findListViews(
+        @Param("status") TaskStatus status,
+        @Param("priority") TaskPriority priority,
+        @Param("type") TaskType type,
+        Pageable pageable);
+    
+    /**
+     * List rows of tasks matching a keyword (title, description, task ID, device name or model)
+     */
+    @Query(LIST_VIEW_SELECT +
+           "WHERE t.title LIKE %:keyword% OR t.description LIKE %:keyword% OR t.taskId LIKE %:keyword% OR " +
+           "d.name LIKE %:keyword% OR d.model LIKE %:keyword%")
+    Page<TaskListView> findListViewsByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    
+    /**
+     * List rows of the tasks assigned to a technician
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE t.assignedTechnicianId = :technicianId")
+    Page<TaskListView> findListViewsByTechnician(@Param("technicianId") Long technicianId, Pageable pageable);
+    
     /**
      * Find pending tasks not assigned yet
      */
@@ -144,6 +218,14 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     long countByAssignedTechnicianId(Long technicianId);
     
+    /**
+     * Count open (assigned, accepted or in progress) tasks per technician
+     */
+    @Query("SELECT t.assignedTechnicianId AS technicianId, COUNT(t) AS openTasks FROM Task t " +
+           "WHERE t.assignedTechnicianId IS NOT NULL AND t.status IN ('ASSIGNED', 'ACCEPTED', 'IN_PROGRESS') " +
+           "GROUP BY t.assignedTechnicianId")
+    List<TechnicianLoadView> countOpenTasksByTechnician();
+    
     /**
      * Find tasks with keyword search (title, description, task ID, customer device info)
      */
@@ -179,15 +261,19 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     Page<Task> findByAssignedTechnicianIdAndStatusIn(@Param("technicianId") Long technicianId, @Param("statuses") List<TaskStatus> statuses, Pageable pageable);
     
     /**
-     * Get task statistics for dashboard
+     * Get task statistics for dashboard in a single aggregate pass
      */
-    @Query("SELECT " +
-           "COUNT(CASE WHEN t.status = 'PENDING' THEN 1 END) as pendingCount, " +
-           "COUNT(CASE WHEN t.status = 'ASSIGNED' THEN 1 END) as assignedCount, " +
-           "COUNT(CASE WHEN t.status = 'ACCEPTED' THEN 1 END) as acceptedCount, " +
-           "COUNT(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 END) as inProgressCount, " +
-           "COUNT(CASE WHEN t.status = 'COMPLETED' THEN 1 END) as completedCount, " +
-           "COUNT(CASE WHEN t.status = 'REJECTED' THEN 1 END) as rejectedCount " +
-           "FROM Task t")
-    Object[] getTaskStatistics();
+    @Query(value = "SELECT " +
+           "COUNT(*) AS \"totalTasks\", " +
+           "COUNT(*) FILTER (WHERE status = 'PENDING') AS \"pendingTasks\", " +
+           "COUNT(*) FILTER (WHERE status = 'ASSIGNED') AS \"assignedTasks\", " +
+           "COUNT(*) FILTER (WHERE status = 'ACCEPTED') AS \"acceptedTasks\", " +
+           "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS \"inProgressTasks\", " +
+           "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS \"completedTasks\", " +
+           "COUNT(*) FILTER (WHERE status = 'REJECTED') AS \"rejectedTasks\", " +
+           "COUNT(*) FILTER (WHERE priority = 'HIGH') AS \"highPriorityTasks\", " +
+           "COUNT(*) FILTER (WHERE priority = 'CRITICAL') AS \"criticalPriorityTasks\", " +
+           "COUNT(*) FILTER (WHERE scheduled_date < :currentDate AND status NOT IN ('COMPLETED', 'REJECTED')) AS \"overdueTasks\" " +
+           "FROM tasks", nativeQuery = true)
+    TaskStatisticsView getTaskStatistics(@Param("currentDate") LocalDateTime currentDate);
 }
@@ -0,0 +1,45 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemdevice.enums.DeviceStatus;
+
+/**
+ * Flat projection of a device with its inventory record; stock columns fall back to an
+ * out-of-stock default when the device has no inventory record ({@code getInventoryId()} is then null)
+ */
+public interface DeviceInventoryOverviewView {
+
+    Long getInventoryId();
+
+    Long getDeviceId();
+
+    String getDeviceName();
+
+    String getDeviceModel();
+
+    String getDeviceSerialNumber();
+
+    DeviceStatus getDeviceStatus();
+
+    Integer getQuantityInStock();
+
+    Integer getMinimumStockLevel();
+
+    Integer getMaximumStockLevel();
+
+    Integer getReorderPoint();
+
+    BigDecimal getUnitCost();
+
+    String getWarehouseLocation();
+
+    String getNotes();
+
+    String getCreatedBy();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
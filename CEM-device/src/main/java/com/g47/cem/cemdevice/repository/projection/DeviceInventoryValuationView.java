@@ -0,0 +1,17 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for the single-query device inventory valuation and dashboard counts
+ */
+public interface DeviceInventoryValuationView {
+
+    long getTotalItems();
+
+    long getLowStockItems();
+
+    long getOutOfStockItems();
+
+    BigDecimal getTotalValue();
+}
@@ -0,0 +1,35 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemdevice.enums.DeviceStatus;
+
+/**
+ * Columns shown in device lists; notes and customer devices are left to the detail view
+ */
+public interface DeviceListView {
+
+    Long getId();
+
+    String getName();
+
+    String getModel();
+
+    String getSerialNumber();
+
+    DeviceStatus getStatus();
+
+    BigDecimal getPrice();
+
+    String getUnit();
+
+    LocalDate getWarrantyExpiry();
+
+    String getCreatedBy();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
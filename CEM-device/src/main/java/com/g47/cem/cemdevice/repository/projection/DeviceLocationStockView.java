@@ -0,0 +1,21 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock of one device at one warehouse location, with the device's name and model
+ */
+public interface DeviceLocationStockView {
+
+    Long getDeviceId();
+
+    String getDeviceName();
+
+    String getDeviceModel();
+
+    String getWarehouseLocation();
+
+    Integer getQuantityInStock();
+
+    LocalDateTime getUpdatedAt();
+}
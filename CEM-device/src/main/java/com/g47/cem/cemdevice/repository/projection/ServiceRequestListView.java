@@ -0,0 +1,44 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemdevice.enums.ServiceRequestStatus;
+import com.g47.cem.cemdevice.enums.ServiceRequestType;
+
+/**
+ * Columns shown in service request lists, with device details joined in; notes and history are left to the detail view
+ */
+public interface ServiceRequestListView {
+
+    Long getId();
+
+    String getRequestId();
+
+    Long getCustomerId();
+
+    ServiceRequestType getType();
+
+    ServiceRequestStatus getStatus();
+
+    String getDescription();
+
+    LocalDateTime getPreferredDateTime();
+
+    String getWorkLocation();
+
+    LocalDateTime getCompletedAt();
+
+    String getCreatedBy();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getDeviceId();
+
+    String getDeviceName();
+
+    String getDeviceModel();
+
+    String getSerialNumber();
+}
@@ -0,0 +1,23 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+/**
+ * Projection for the single-query service request dashboard aggregate
+ */
+public interface ServiceRequestStatisticsView {
+
+    long getTotalRequests();
+
+    long getPendingRequests();
+
+    long getApprovedRequests();
+
+    long getRejectedRequests();
+
+    long getInProgressRequests();
+
+    long getCompletedRequests();
+
+    long getMaintenanceRequests();
+
+    long getWarrantyRequests();
+}
@@ -0,0 +1,70 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemdevice.enums.TaskPriority;
+import com.g47.cem.cemdevice.enums.TaskStatus;
+import com.g47.cem.cemdevice.enums.TaskType;
+
+/**
+ * Columns shown in task lists, with device details joined in; notes and history are left to the detail view
+ */
+public interface TaskListView {
+
+    Long getId();
+
+    String getTaskId();
+
+    String getTitle();
+
+    String getDescription();
+
+    TaskType getType();
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    Long getServiceRequestId();
+
+    Long getCustomerDeviceId();
+
+    String getDeviceName();
+
+    String getDeviceModel();
+
+    String getSerialNumber();
+
+    Long getCustomerId();
+
+    Long getAssignedTechnicianId();
+
+    String getAssignedBy();
+
+    LocalDateTime getAssignedAt();
+
+    LocalDateTime getScheduledDate();
+
+    Integer getEstimatedDurationHours();
+
+    String getServiceLocation();
+
+    String getCustomerContactInfo();
+
+    BigDecimal getActualCost();
+
+    String getRejectionReason();
+
+    String getRejectedBy();
+
+    LocalDateTime getRejectedAt();
+
+    LocalDateTime getCompletedAt();
+
+    String getCreatedBy();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
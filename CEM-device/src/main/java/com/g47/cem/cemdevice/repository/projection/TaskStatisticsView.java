@@ -0,0 +1,27 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+/**
+ * Projection for the single-query task dashboard aggregate
+ */
+public interface TaskStatisticsView {
+
+    long getTotalTasks();
+
+    long getPendingTasks();
+
+    long getAssignedTasks();
+
+    long getAcceptedTasks();
+
+    long getInProgressTasks();
+
+    long getCompletedTasks();
+
+    long getRejectedTasks();
+
+    long getHighPriorityTasks();
+
+    long getCriticalPriorityTasks();
+
+    long getOverdueTasks();
+}
@@ -0,0 +1,11 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+/**
+ * Number of open tasks currently held by a technician
+ */
+public interface TechnicianLoadView {
+
+    Long getTechnicianId();
+
+    long getOpenTasks();
+}
@@ -0,0 +1,43 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemdevice.enums.TaskPriority;
+import com.g47.cem.cemdevice.enums.TaskStatus;
+import com.g47.cem.cemdevice.enums.TaskType;
+
+/**
+ * Flat projection of a scheduled task with its device details, read in one joined query
+ */
+public interface TechnicianScheduleSlotView {
+
+    Long getTechnicianId();
+
+    Long getTaskId();
+
+    String getTaskNumber();
+
+    String getTitle();
+
+    TaskType getType();
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    LocalDateTime getScheduledDate();
+
+    Integer getEstimatedDurationHours();
+
+    String getServiceLocation();
+
+    String getDescription();
+
+    LocalDateTime getCreatedAt();
+
+    String getDeviceName();
+
+    String getDeviceModel();
+
+    String getSerialNumber();
+}
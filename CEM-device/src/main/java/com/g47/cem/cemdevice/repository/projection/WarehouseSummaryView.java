@@ -0,0 +1,13 @@
+package com.g47.cem.cemdevice.repository.projection;
+
+/**
+ * Number of stocked devices and total units held at one warehouse location
+ */
+public interface WarehouseSummaryView {
+
+    String getWarehouseLocation();
+
+    Long getItemCount();
+
+    Long getTotalQuantity();
+}
@@ -0,0 +1,252 @@
+package com.g47.cem.cemdevice.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.g47.cem.cemdevice.dto.request.AssignTaskRequest;
+import com.g47.cem.cemdevice.dto.response.AutoDispatchResponse;
+import com.g47.cem.cemdevice.dto.response.DispatchAssignmentResponse;
+import com.g47.cem.cemdevice.entity.Task;
+import com.g47.cem.cemdevice.entity.TechnicianProfile;
+import com.g47.cem.cemdevice.repository.TaskRepository;
+import com.g47.cem.cemdevice.repository.TechnicianProfileRepository;
+import com.g47.cem.cemdevice.repository.projection.TechnicianLoadView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Auto-dispatch engine for the unassigned task backlog.
+ * <p>
+ * Each run loads active technician profiles and per-technician open task counts once,
+ * builds an in-memory availability index keyed by working day, then matches every
+ * pending task in priority order in a single pass. Assigning a task consumes capacity
+ * in the index, so later tasks in the same run see the updated load.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutoDispatchService {
+
+    static final String AUTO_DISPATCH_NOTE = "Auto-dispatched";
+
+    private static final Comparator<Task> DISPATCH_ORDER = Comparator
+            .comparing(Task::getPriority, Comparator.reverseOrder())
+            .thenComparing(Task::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final TaskRepository taskRepository;
+    private final TechnicianProfileRepository technicianProfileRepository;
+    private final TaskService taskService;
+
+    /**
+     * Match pending unassigned tasks to technicians; assign them as well when {@code apply} is true
+     */
+    public AutoDispatchResponse dispatch(boolean apply, Integer limit, String assignedBy) {
+        List<Task> backlog = taskRepository.findTasksAvailableForAssignment().stream()
+                .sorted(DISPATCH_ORDER)
+                .limit(limit != null && limit > 0 ? limit : Long.MAX_VALUE)
+                .collect(Collectors.toList());
+
+        AvailabilityIndex index = buildIndex();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<DispatchAssignmentResponse> assignments = new ArrayList<>();
+        List<Long> unassigned = new ArrayList<>();
+
+        for (Task task : backlog) {
+            Candidate best = index.bestFor(task, now);
+            if (best == null) {
+                unassigned.add(task.getId());
+                continue;
+            }
+
+            if (apply && !assign(task, best.technician.technicianId, assignedBy)) {
+                unassigned.add(task.getId());
+                continue;
+            }
+
+            best.technician.openTasks++;
+            assignments.add(DispatchAssignmentResponse.builder()
+                    .taskId(task.getId())
+                    .taskNumber(task.getTaskId())
+                    .priority(task.getPriority())
+                    .scheduledDate(task.getScheduledDate())
+                    .technicianId(best.technician.technicianId)
+                    .score(best.score)
+                    .locationMatch(best.locationMatch)
+                    .skillMatch(best.skillMatch)
+                    .build());
+        }
+
+        log.info("Auto-dispatch {} {} of {} pending tasks", apply ? "assigned" : "proposed",
+                assignments.size(), backlog.size());
+
+        return AutoDispatchResponse.builder()
+                .applied(apply)
+                .pendingTasks(backlog.size())
+                .assignedCount(assignments.size())
+                .assignments(assignments)
+                .unassignedTaskIds(unassigned)
+                .build();
+    }
+
+    private boolean assign(Task task, Long technicianId, String assignedBy) {
+        try {
+            AssignTaskRequest request = AssignTaskRequest.builder()
+                    .technicianId(technicianId)
+                    .scheduledDate(task.getScheduledDate())
+                    .techleadNotes(AUTO_DISPATCH_NOTE)
+                    .build();
+            taskService.assignTask(task.getId(), request, assignedBy);
+            return true;
+        } catch (Exception e) {
+            log.warn("Auto-dispatch could not assign task {} to technician {}: {}",
+                    task.getTaskId(), technicianId, e.getMessage());
+            return false;
+        }
+    }
+
+    private AvailabilityIndex buildIndex() {
+        Map<Long, Long> openTasks = taskRepository.countOpenTasksByTechnician().stream()
+                .collect(Collectors.toMap(TechnicianLoadView::getTechnicianId, TechnicianLoadView::getOpenTasks));
+
+        AvailabilityIndex index = new AvailabilityIndex();
+        for (TechnicianProfile profile : technicianProfileRepository.findByIsActiveTrue()) {
+            index.add(new TechnicianAvailability(profile, openTasks.getOrDefault(profile.getUserId(), 0L).intValue()));
+        }
+        return index;
+    }
+
+    /**
+     * Technicians grouped by the days they work
+     */
+    static final class AvailabilityIndex {
+
+        private final Map<DayOfWeek, List<TechnicianAvailability>> byWorkingDay = new EnumMap<>(DayOfWeek.class);
+
+        void add(TechnicianAvailability technician) {
+            for (DayOfWeek day : technician.workingDays) {
+                byWorkingDay.computeIfAbsent(day, d -> new ArrayList<>()).add(technician);
+            }
+        }
+
+        /**
+         * Highest scoring technician with spare capacity who works at the task's scheduled time
+         * (any time that day when the task is not scheduled yet)
+         */
+        Candidate bestFor(Task task, LocalDateTime now) {
+            LocalDateTime target = task.getScheduledDate() != null ? task.getScheduledDate() : now;
+            boolean checkHours = task.getScheduledDate() != null;
+            String location = lower(task.getServiceLocation());
+            String[] typeKeywords = task.getType() != null ? lower(task.getType().name()).split("_") : new String[0];
+
+            Candidate best = null;
+            for (TechnicianAvailability technician : byWorkingDay.getOrDefault(target.getDayOfWeek(), List.of())) {
+                if (!technician.hasCapacity() || (checkHours && !technician.worksAt(target.toLocalTime()))) {
+                    continue;
+                }
+                Candidate candidate = technician.score(location, typeKeywords);
+                if (best == null || candidate.score > best.score
+                        || (candidate.score == best.score && technician.technicianId < best.technician.technicianId)) {
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Mutable availability snapshot of one technician
+     */
+    static final class TechnicianAvailability {
+
+        private final Long technicianId;
+        private final String location;
+        private final String skills;
+        private final Set<DayOfWeek> workingDays;
+        private final LocalTime workingHoursStart;
+        private final LocalTime workingHoursEnd;
+        private final int maxConcurrentTasks;
+        private int openTasks;
+
+        TechnicianAvailability(TechnicianProfile profile, int openTasks) {
+            this.technicianId = profile.getUserId();
+            this.location = lower(profile.getLocation());
+            this.skills = lower(profile.getSkills()) + "," + lower(profile.getSpecializations());
+            this.workingDays = parseWorkingDays(profile.getWorkingDaysArray());
+            this.workingHoursStart = profile.getWorkingHoursStart();
+            this.workingHoursEnd = profile.getWorkingHoursEnd();
+            this.maxConcurrentTasks = profile.getMaxConcurrentTasks() != null ? profile.getMaxConcurrentTasks() : 8;
+            this.openTasks = openTasks;
+        }
+
+        boolean hasCapacity() {
+            return openTasks < maxConcurrentTasks;
+        }
+
+        boolean worksAt(LocalTime time) {
+            if (workingHoursStart == null || workingHoursEnd == null) {
+                return true;
+            }
+            return !time.isBefore(workingHoursStart) && time.isBefore(workingHoursEnd);
+        }
+
+        Candidate score(String taskLocation, String[] typeKeywords) {
+            boolean locationMatch = !location.isEmpty() && taskLocation.contains(location);
+            boolean skillMatch = false;
+            for (String keyword : typeKeywords) {
+                if (skills.contains(keyword)) {
+                    skillMatch = true;
+                    break;
+                }
+            }
+            double spareCapacity = 1.0 - (double) openTasks / maxConcurrentTasks;
+            double score = (locationMatch ? 2 : 0) + (skillMatch ? 1 : 0) + spareCapacity;
+            return new Candidate(this, score, locationMatch, skillMatch);
+        }
+
+        private static Set<DayOfWeek> parseWorkingDays(String[] days) {
+            Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+            for (String day : days) {
+                String code = day.trim().toUpperCase(Locale.ROOT);
+                for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                    if (!code.isEmpty() && dayOfWeek.name().startsWith(code)) {
+                        result.add(dayOfWeek);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    static final class Candidate {
+
+        private final TechnicianAvailability technician;
+        private final double score;
+        private final boolean locationMatch;
+        private final boolean skillMatch;
+
+        Candidate(TechnicianAvailability technician, double score, boolean locationMatch, boolean skillMatch) {
+            this.technician = technician;
+            this.score = score;
+            this.locationMatch = locationMatch;
+            this.skillMatch = skillMatch;
+        }
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+}
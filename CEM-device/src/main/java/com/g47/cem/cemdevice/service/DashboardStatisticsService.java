@@ -0,0 +1,138 @@
+package com.g47.cem.cemdevice.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemdevice.dto.response.TaskStatisticsResponse;
+import com.g47.cem.cemdevice.repository.ServiceRequestRepository;
+import com.g47.cem.cemdevice.repository.TaskRepository;
+import com.g47.cem.cemdevice.repository.projection.ServiceRequestStatisticsView;
+import com.g47.cem.cemdevice.repository.projection.TaskStatisticsView;
+import com.g47.cem.cemdevice.service.ServiceRequestService.ServiceRequestStatistics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Computes task and service request dashboards with one aggregate query each.
+ * Results are cached for a short TTL and evicted when tasks or service requests are written
+ * (see {@link StatisticsCacheInvalidator}), so auto-refreshing dashboards mostly hit memory.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class DashboardStatisticsService {
+
+    static final String TASKS_KEY = "tasks";
+    static final String SERVICE_REQUESTS_KEY = "service-requests";
+
+    private final TaskRepository taskRepository;
+    private final ServiceRequestRepository serviceRequestRepository;
+    private final long ttlMillis;
+    private final Map<String, CachedValue> cache = new ConcurrentHashMap<>();
+
+    public DashboardStatisticsService(TaskRepository taskRepository,
+            ServiceRequestRepository serviceRequestRepository,
+            @Value("${app.statistics.cache-ttl-seconds:30}") long ttlSeconds) {
+        this.taskRepository = taskRepository;
+        this.serviceRequestRepository = serviceRequestRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Get task statistics for the dashboard
+     */
+    public TaskStatisticsResponse getTaskStatistics() {
+        return cached(TASKS_KEY, () -> {
+            TaskStatisticsView stats = taskRepository.getTaskStatistics(LocalDateTime.now());
+            long totalTasks = stats.getTotalTasks();
+            return TaskStatisticsResponse.builder()
+                    .totalTasks(totalTasks)
+                    .pendingTasks(stats.getPendingTasks())
+                    .assignedTasks(stats.getAssignedTasks())
+                    .acceptedTasks(stats.getAcceptedTasks())
+                    .inProgressTasks(stats.getInProgressTasks())
+                    .completedTasks(stats.getCompletedTasks())
+                    .rejectedTasks(stats.getRejectedTasks())
+                    .highPriorityTasks(stats.getHighPriorityTasks())
+                    .criticalPriorityTasks(stats.getCriticalPriorityTasks())
+                    .overdueTasks(stats.getOverdueTasks())
+                    .completionRate(totalTasks > 0 ? (double) stats.getCompletedTasks() / totalTasks * 100 : 0)
+                    .rejectionRate(totalTasks > 0 ? (double) stats.getRejectedTasks() / totalTasks * 100 : 0)
+                    .build();
+        });
+    }
+
+    /**
+     * Get service request statistics for all requests (staff dashboard)
+     */
+    public ServiceRequestStatistics getAllServiceRequestStatistics() {
+        return cached(SERVICE_REQUESTS_KEY, () ->
+                toServiceRequestStatistics(serviceRequestRepository.getServiceRequestStatistics()));
+    }
+
+    /**
+     * Get service request statistics for a customer
+     */
+    public ServiceRequestStatistics getCustomerServiceRequestStatistics(Long customerId) {
+        return cached(SERVICE_REQUESTS_KEY + ":" + customerId, () ->
+                toServiceRequestStatistics(serviceRequestRepository.getServiceRequestStatisticsByCustomerId(customerId)));
+    }
+
+    /**
+     * Drop cached task statistics
+     */
+    public void evictTaskStatistics() {
+        cache.remove(TASKS_KEY);
+    }
+
+    /**
+     * Drop cached service request statistics, both staff-wide and per customer
+     */
+    public void evictServiceRequestStatistics() {
+        cache.keySet().removeIf(key -> key.startsWith(SERVICE_REQUESTS_KEY));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        CachedValue entry = cache.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            return (T) entry.value;
+        }
+        log.debug("Computing dashboard statistics for key: {}", key);
+        T value = loader.get();
+        if (ttlMillis > 0) {
+            cache.put(key, new CachedValue(value, now + ttlMillis));
+        }
+        return value;
+    }
+
+    private ServiceRequestStatistics toServiceRequestStatistics(ServiceRequestStatisticsView stats) {
+        return ServiceRequestStatistics.builder()
+                .totalRequests(stats.getTotalRequests())
+                .pendingRequests(stats.getPendingRequests())
+                .approvedRequests(stats.getApprovedRequests())
+                .rejectedRequests(stats.getRejectedRequests())
+                .inProgressRequests(stats.getInProgressRequests())
+                .completedRequests(stats.getCompletedRequests())
+                .maintenanceRequests(stats.getMaintenanceRequests())
+                .warrantyRequests(stats.getWarrantyRequests())
+                .build();
+    }
+
+    private static final class CachedValue {
+        private final Object value;
+        private final long expiresAt;
+
+        private CachedValue(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.g47.cem.cemdevice.enums.DeviceStatus;
 import com.g47.cem.cemdevice.exception.BusinessException;
 import com.g47.cem.cemdevice.exception.ResourceNotFoundException;
 import com.g47.cem.cemdevice.repository.DeviceRepository;
+import com.g47.cem.cemdevice.repository.projection.DeviceListView;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,7 @@ public class DeviceService {
     
     private final DeviceRepository deviceRepository;
     private final ModelMapper modelMapper;
+    private final StockAlertTracker stockAlertTracker;
     
     /**
      * Create a new device
@@ -93,8 +95,7 @@ public class DeviceService {
     public Page<DeviceResponse> getAllDevices(Pageable pageable) {
         log.debug("Fetching all devices with pagination: {}", pageable);
         
-        Page<Device> devices = deviceRepository.findAll(pageable);
-        return devices.map(this::mapToDeviceResponse);
+        return deviceRepository.searchDevicesBasic(null, null, pageable).map(this::mapToDeviceListResponse);
     }
     
     /**
@@ -111,7 +112,7 @@ public class DeviceService {
             pattern = "%" + keyword.trim() + "%";
         }
 
-        Page<Device> devices;
+        Page<DeviceListView> devices;
         
         // Use optimized query based on whether inStock filter is applied
         if (inStock != null) {
@@ -123,7 +124,7 @@ public class DeviceService {
             devices = deviceRepository.searchDevicesBasic(pattern, status, pageable);
         }
         
-        return devices.map(this::mapToDeviceResponse);
+        return devices.map(this::mapToDeviceListResponse);
     }
     
     /**
@@ -133,8 +134,7 @@ public class DeviceService {
     public Page<DeviceResponse> getDevicesByStatus(DeviceStatus status, Pageable pageable) {
         log.debug("Fetching devices with status: {}", status);
         
-        Page<Device> devices = deviceRepository.findByStatus(status, pageable);
-        return devices.map(this::mapToDeviceResponse);
+        return deviceRepository.searchDevicesBasic(null, status, pageable).map(this::mapToDeviceListResponse);
     }
     
     // Xóa getDevicesByCustomerId
@@ -188,6 +188,8 @@ public class DeviceService {
         validateDeviceDeletion(id);
         
         deviceRepository.delete(device);
+        // The inventory record goes with the device, so its alerts would never clear otherwise
+        stockAlertTracker.clearAll(id);
         
         log.info("Device deleted successfully with ID: {}", id);
     }
@@ -256,4 +258,20 @@ public class DeviceService {
     private DeviceResponse mapToDeviceResponse(Device device) {
         return modelMapper.map(device, DeviceResponse.class);
     }
+    
+    private DeviceResponse mapToDeviceListResponse(DeviceListView device) {
+        return DeviceResponse.builder()
+                .id(device.getId())
+                .name(device.getName())
+                .model(device.getModel())
+                .serialNumber(device.getSerialNumber())
+                .status(device.getStatus())
+                .price(device.getPrice())
+                .unit(device.getUnit())
+                .warrantyExpiry(device.getWarrantyExpiry())
+                .createdBy(device.getCreatedBy())
+                .createdAt(device.getCreatedAt())
+                .updatedAt(device.getUpdatedAt())
+                .build();
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.g47.cem.cemdevice.service;
 
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -9,6 +11,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
@@ -74,6 +77,35 @@ public class ExternalCustomerService {
         }
     }
 
+    /**
+     * Look up only the customer ID for an email. Empty when the customer service answers that no
+     * such customer exists; throws when it cannot be reached or fails, so callers can tell a
+     * definite miss from a transient error.
+     */
+    public Optional<Long> findCustomerIdByEmail(String email) {
+        String url = customerServiceUrl + "/email/" + email;
+        String tokenToUse = extractAuthTokenOrServiceToken();
+
+        WebClient.RequestHeadersSpec<?> request = webClient.get().uri(url);
+        if (tokenToUse != null && !tokenToUse.isBlank()) {
+            request = request.header("Authorization", "Bearer " + tokenToUse);
+        }
+
+        // A 404 carries an ApiResponse without data, which reads as "no such customer"
+        CustomerApiResponse response = request.retrieve()
+            .onStatus(status -> status.value() == 404, clientResponse -> Mono.empty())
+            .onStatus(status -> status.isError() && status.value() != 404, clientResponse ->
+                clientResponse.bodyToMono(String.class).map(body ->
+                    new RuntimeException(clientResponse.statusCode() + " - " + body)))
+            .bodyToMono(CustomerApiResponse.class)
+            .block();
+
+        if (response == null || response.getData() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(response.getData().getId());
+    }
+
     /**
      * Get customer information by ID
      */
@@ -0,0 +1,83 @@
+package com.g47.cem.cemdevice.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.g47.cem.cemdevice.enums.ServiceRequestType;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Allocates business identifiers for tasks and service requests.
+ * <p>
+ * Numbers come from Postgres sequences declared with {@code INCREMENT BY BLOCK_SIZE}.
+ * One {@code nextval()} reserves a whole block for this node, which is then handed out
+ * from memory (hi/lo), so IDs are unique across nodes without counting rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdAllocator {
+
+    /** Must match the INCREMENT BY of the backing sequences (V101, applied by the spare parts service) */
+    static final int BLOCK_SIZE = 50;
+
+    static final String TASK_SEQUENCE = "task_number_seq";
+    static final String SERVICE_REQUEST_SEQUENCE = "service_request_number_seq";
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final EntityManager entityManager;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Next task ID in the format TSK-yyyyMMddHHmmss-NNNN
+     */
+    public String nextTaskId() {
+        return String.format("TSK-%s-%04d", timestamp(), next(TASK_SEQUENCE));
+    }
+
+    /**
+     * Next service request ID in the format MNTyyyyMMddHHmmssNNNN / WARyyyyMMddHHmmssNNNN
+     */
+    public String nextServiceRequestId(ServiceRequestType type) {
+        String prefix = type == ServiceRequestType.MAINTENANCE ? "MNT" : "WAR";
+        return prefix + timestamp() + String.format("%04d", next(SERVICE_REQUEST_SEQUENCE));
+    }
+
+    /**
+     * Next number from the given sequence, fetching a new block only when the current one is used up
+     */
+    long next(String sequence) {
+        Block block = blocks.computeIfAbsent(sequence, s -> new Block());
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                long hi = fetchBlockStart(sequence);
+                block.next = hi;
+                block.limit = hi + BLOCK_SIZE;
+                log.debug("Reserved block [{}, {}) from sequence {}", block.next, block.limit, sequence);
+            }
+            return block.next++;
+        }
+    }
+
+    private long fetchBlockStart(String sequence) {
+        Object result = entityManager.createNativeQuery("SELECT nextval('" + sequence + "')").getSingleResult();
+        return ((Number) result).longValue();
+    }
+
+    private String timestamp() {
+        return LocalDateTime.now().format(TIMESTAMP_FORMAT);
+    }
+
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+}
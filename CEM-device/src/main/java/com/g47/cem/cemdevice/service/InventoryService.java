@@ -2,30 +2,53 @@ package com.g47.cem.cemdevice.service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.g47.cem.cemdevice.dto.request.ExportRequest;
 import com.g47.cem.cemdevice.dto.request.ImportRequest;
+import com.g47.cem.cemdevice.dto.request.StockTransferRequest;
+import com.g47.cem.cemdevice.dto.response.DeviceLocationStockResponse;
 import com.g47.cem.cemdevice.dto.response.DeviceInventoryResponse;
 import com.g47.cem.cemdevice.dto.response.InventoryTransactionResponse;
+import com.g47.cem.cemdevice.dto.response.StockAlertResponse;
+import com.g47.cem.cemdevice.dto.response.WarehouseSummaryResponse;
 import com.g47.cem.cemdevice.entity.Device;
 import com.g47.cem.cemdevice.entity.DeviceInventory;
 import com.g47.cem.cemdevice.entity.InventoryTransaction;
+import com.g47.cem.cemdevice.entity.StockAlert;
+import com.g47.cem.cemdevice.enums.DeviceStatus;
 import com.g47.cem.cemdevice.enums.InventoryItemType;
 import com.g47.cem.cemdevice.enums.InventoryTransactionType;
+import com.g47.cem.cemdevice.enums.StockAlertType;
 import com.g47.cem.cemdevice.exception.BusinessException;
 import com.g47.cem.cemdevice.exception.ResourceNotFoundException;
+import com.g47.cem.cemdevice.integration.SparePartCatalog;
 import com.g47.cem.cemdevice.integration.SparePartIntegrationService;
 import com.g47.cem.cemdevice.integration.SparePartIntegrationService.SparePartDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.SparePartInventoryStatsDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.StockDeltaDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.StockLevelDto;
 import com.g47.cem.cemdevice.repository.DeviceInventoryRepository;
 import com.g47.cem.cemdevice.repository.DeviceRepository;
+import com.g47.cem.cemdevice.repository.DeviceStockLocationRepository;
 import com.g47.cem.cemdevice.repository.InventoryTransactionRepository;
+import com.g47.cem.cemdevice.repository.StockAlertRepository;
+import com.g47.cem.cemdevice.repository.projection.DeviceInventoryOverviewView;
+import com.g47.cem.cemdevice.repository.projection.DeviceInventoryValuationView;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,10 +62,20 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class InventoryService {
     
+    private static final Set<String> OVERVIEW_SORT_PROPERTIES = Set.of(
+            "deviceId", "deviceName", "deviceModel", "deviceSerialNumber", "deviceStatus", "quantityInStock",
+            "minimumStockLevel", "reorderPoint", "unitCost", "warehouseLocation", "createdAt", "updatedAt");
+    
     private final DeviceInventoryRepository deviceInventoryRepository;
     private final DeviceRepository deviceRepository;
+    private final DeviceStockLocationRepository deviceStockLocationRepository;
+    private final WarehouseStockService warehouseStockService;
+    private final StockAlertRepository stockAlertRepository;
+    private final StockAlertTracker stockAlertTracker;
     private final InventoryTransactionRepository inventoryTransactionRepository;
     private final SparePartIntegrationService sparePartIntegrationService;
+    private final SparePartExportSaga sparePartExportSaga;
+    private final SparePartCatalog sparePartCatalog;
     
     // Spare parts services will be injected when needed
     
@@ -71,17 +104,25 @@ public class InventoryService {
     public List<InventoryTransactionResponse> importInventory(ImportRequest request, String createdBy) {
         log.info("Importing inventory items of type: {} from supplier: {}", request.getItemType(), request.getSupplierId());
         
+        // Spare part stock lives in the spare parts service: apply the whole document in one call
+        Map<Long, String> sparePartNames = Map.of();
+        if (request.getItemType() == InventoryItemType.SPARE_PART) {
+            String notes = String.format("Import from device service - %s, Warehouse: %s", createdBy, request.getWarehouseLocation());
+            List<StockDeltaDto> deltas = request.getItems().stream()
+                    .map(item -> new StockDeltaDto(item.getItemId(), item.getQuantity(), item.getNotes()))
+                    .toList();
+            sparePartNames = applySparePartStock(deltas, request.getReferenceNumber(), notes);
+        }
+        
         List<InventoryTransactionResponse> transactions = new java.util.ArrayList<>();
         
         for (ImportRequest.ImportItem item : request.getItems()) {
-            InventoryTransaction transaction = createImportTransaction(request, item, createdBy);
+            InventoryTransaction transaction = createImportTransaction(request, item, createdBy, sparePartNames);
             inventoryTransactionRepository.save(transaction);
             
             // Update inventory
             if (request.getItemType() == InventoryItemType.DEVICE) {
                 updateDeviceInventory(item, request.getWarehouseLocation(), createdBy);
-            } else if (request.getItemType() == InventoryItemType.SPARE_PART) {
-                updateSparePartInventory(item, request.getWarehouseLocation(), createdBy);
             }
             
             transactions.add(InventoryTransactionResponse.fromEntity(transaction));
@@ -98,26 +139,24 @@ public class InventoryService {
         log.info("Exporting inventory items of type: {} for reference: {} {}", 
                 request.getItemType(), request.getReferenceType(), request.getReferenceId());
         
+        // Spare part stock is reserved in one atomic call (a shortage on any line rejects the whole
+        // document) and confirmed or released once this transaction commits or rolls back
+        Map<Long, String> sparePartNames = Map.of();
+        if (request.getItemType() == InventoryItemType.SPARE_PART) {
+            sparePartNames = sparePartExportSaga.reserve(request, exportReference(request), getJwtToken());
+        }
+        
         List<InventoryTransactionResponse> transactions = new java.util.ArrayList<>();
         
         for (ExportRequest.ExportItem item : request.getItems()) {
-            // Check stock availability
+            // Update inventory; fails the whole export when stock is short
             if (request.getItemType() == InventoryItemType.DEVICE) {
-                checkDeviceStockAvailability(item.getItemId(), item.getQuantity());
-            } else if (request.getItemType() == InventoryItemType.SPARE_PART) {
-                checkSparePartStockAvailability(item.getItemId(), item.getQuantity());
+                reduceDeviceInventory(item.getItemId(), item.getQuantity(), request.getWarehouseLocation());
             }
             
-            InventoryTransaction transaction = createExportTransaction(request, item, createdBy);
+            InventoryTransaction transaction = createExportTransaction(request, item, createdBy, sparePartNames);
             inventoryTransactionRepository.save(transaction);
             
-            // Update inventory
-            if (request.getItemType() == InventoryItemType.DEVICE) {
-                reduceDeviceInventory(item.getItemId(), item.getQuantity());
-            } else if (request.getItemType() == InventoryItemType.SPARE_PART) {
-                reduceSparePartInventory(item.getItemId(), item.getQuantity());
-            }
-            
             transactions.add(InventoryTransactionResponse.fromEntity(transaction));
         }
         
@@ -126,57 +165,32 @@ public class InventoryService {
     }
     
     /**
-     * Get device inventory overview
+     * Get device inventory overview, including devices without inventory records, filtered,
+     * sorted and paged in the database
      */
     @Transactional(readOnly = true)
-    public List<DeviceInventoryResponse> getDeviceInventoryOverview() {
-        log.debug("Fetching device inventory overview (including devices without inventory records)");
+    public Page<DeviceInventoryResponse> getDeviceInventoryOverview(String keyword, DeviceStatus status,
+            Boolean inStock, Boolean lowStock, Integer page, Integer size, String sortBy, String sortDir) {
+        log.debug("Fetching device inventory overview - keyword: {}, status: {}, inStock: {}, lowStock: {}, page: {}, size: {}",
+                keyword, status, inStock, lowStock, page, size);
 
-        // Load all inventory records
-        List<DeviceInventory> inventoryList = deviceInventoryRepository.findAll();
-        java.util.Map<Long, DeviceInventory> deviceIdToInventory = new java.util.HashMap<>();
-        for (DeviceInventory inv : inventoryList) {
-            if (inv.getDevice() != null && inv.getDevice().getId() != null) {
-                deviceIdToInventory.put(inv.getDevice().getId(), inv);
-            }
+        if (!OVERVIEW_SORT_PROPERTIES.contains(sortBy)) {
+            throw new BusinessException("Unsupported sort field: " + sortBy);
         }
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        sort = sort.and(Sort.by("deviceId"));
+        // Without paging parameters the whole filtered list is returned, as before paging was added
+        Pageable pageable = page == null && size == null
+                ? Pageable.unpaged(sort)
+                : PageRequest.of(page != null ? page : 0, size != null ? size : 20, sort);
 
-        // Build response: include all devices; for devices missing inventory, create default out-of-stock view
-        List<Device> allDevices = deviceRepository.findAll();
-        List<DeviceInventoryResponse> responses = new java.util.ArrayList<>(allDevices.size());
-
-        for (Device device : allDevices) {
-            DeviceInventory existing = deviceIdToInventory.get(device.getId());
-            if (existing != null) {
-                responses.add(DeviceInventoryResponse.fromEntity(existing));
-                continue;
-            }
-
-            // No inventory row → return default out-of-stock representation
-            responses.add(DeviceInventoryResponse.builder()
-                    .id(null)
-                    .deviceId(device.getId())
-                    .deviceName(device.getName())
-                    .deviceModel(device.getModel())
-                    .deviceSerialNumber(device.getSerialNumber())
-                    .deviceStatus(device.getStatus() != null ? device.getStatus().name() : null)
-                    .quantityInStock(0)
-                    .minimumStockLevel(0)
-                    .maximumStockLevel(null)
-                    .reorderPoint(null)
-                    .unitCost(null)
-                    .warehouseLocation(null)
-                    .notes(null)
-                    .createdBy(null)
-                    .createdAt(null)
-                    .updatedAt(null)
-                    .isLowStock(false)
-                    .needsReorder(false)
-                    .isOutOfStock(true)
-                    .build());
+        String pattern = null;
+        if (keyword != null && !keyword.isBlank()) {
+            pattern = "%" + keyword.trim().toLowerCase() + "%";
         }
 
-        return responses;
+        return deviceInventoryRepository.findInventoryOverview(pattern, status, inStock, lowStock, pageable)
+                .map(this::toInventoryResponse);
     }
     
     /**
@@ -199,10 +213,7 @@ public class InventoryService {
     public List<DeviceInventoryResponse> getLowStockDevices() {
         log.debug("Fetching low stock devices");
         
-        List<DeviceInventory> lowStock = deviceInventoryRepository.findLowStockItems();
-        return lowStock.stream()
-                .map(DeviceInventoryResponse::fromEntity)
-                .toList();
+        return getAlertedDevices(StockAlertType.LOW_STOCK);
     }
     
     /**
@@ -212,12 +223,93 @@ public class InventoryService {
     public List<DeviceInventoryResponse> getDevicesNeedingReorder() {
         log.debug("Fetching devices needing reorder");
         
-        List<DeviceInventory> needReorder = deviceInventoryRepository.findItemsNeedingReorder();
-        return needReorder.stream()
-                .map(DeviceInventoryResponse::fromEntity)
+        return getAlertedDevices(StockAlertType.REORDER);
+    }
+    
+    /**
+     * Get open device stock alerts, optionally of one type, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<StockAlertResponse> getStockAlerts(StockAlertType alertType) {
+        List<StockAlert> alerts = alertType != null
+                ? stockAlertRepository.findByItemTypeAndAlertTypeOrderByRaisedAtDesc(StockAlert.ITEM_TYPE_DEVICE, alertType)
+                : stockAlertRepository.findByItemTypeOrderByRaisedAtDesc(StockAlert.ITEM_TYPE_DEVICE);
+        return alerts.stream()
+                .map(StockAlertResponse::fromEntity)
                 .toList();
     }
     
+    /**
+     * Get a device's stock per warehouse location
+     */
+    @Transactional(readOnly = true)
+    public List<DeviceLocationStockResponse> getDeviceStockLocations(Long deviceId) {
+        log.debug("Fetching stock locations for device ID: {}", deviceId);
+        
+        if (!deviceRepository.existsById(deviceId)) {
+            throw new ResourceNotFoundException("Device", "id", deviceId);
+        }
+        return deviceStockLocationRepository.findStockByDeviceId(deviceId).stream()
+                .map(DeviceLocationStockResponse::fromView)
+                .toList();
+    }
+    
+    /**
+     * Get the devices stocked at a warehouse location with their quantity there, by device ID
+     */
+    @Transactional(readOnly = true)
+    public Page<DeviceLocationStockResponse> getDeviceStockByWarehouseLocation(String location, int page, int size) {
+        log.debug("Fetching device stock at warehouse location: {}", location);
+        
+        return deviceStockLocationRepository.findStockByWarehouseLocation(location.trim(), PageRequest.of(page, size))
+                .map(DeviceLocationStockResponse::fromView);
+    }
+    
+    /**
+     * Get every warehouse location holding device stock, with its item count and units
+     */
+    @Transactional(readOnly = true)
+    public List<WarehouseSummaryResponse> getDeviceWarehouseSummaries() {
+        return deviceStockLocationRepository.summarizeWarehouses().stream()
+                .map(WarehouseSummaryResponse::fromView)
+                .toList();
+    }
+    
+    /**
+     * Move device stock from one warehouse location to another; the total is unchanged and the
+     * move is recorded as a transfer transaction
+     */
+    public List<DeviceLocationStockResponse> transferDeviceStock(Long deviceId, StockTransferRequest request, String createdBy) {
+        String source = WarehouseStockService.resolve(request.getFromLocation(), null);
+        String destination = WarehouseStockService.resolve(request.getToLocation(), null);
+        log.info("Transferring {} units of device ID: {} from {} to {}", request.getQuantity(), deviceId, source, destination);
+        
+        if (source.equals(destination)) {
+            throw new BusinessException("Source and destination locations must differ");
+        }
+        DeviceInventory inventory = deviceInventoryRepository.findByDeviceIdForUpdate(deviceId)
+                .orElseThrow(() -> new ResourceNotFoundException("DeviceInventory", "deviceId", deviceId));
+        
+        warehouseStockService.take(deviceId, source, null, request.getQuantity());
+        warehouseStockService.add(deviceId, destination, null, request.getQuantity());
+        
+        inventoryTransactionRepository.save(InventoryTransaction.builder()
+                .transactionNumber(generateTransactionNumber())
+                .transactionType(InventoryTransactionType.TRANSFER)
+                .itemType(InventoryItemType.DEVICE)
+                .itemId(deviceId)
+                .itemName(inventory.getDevice().getName())
+                .quantity(request.getQuantity())
+                .referenceNumber(request.getReferenceNumber())
+                .referenceType("TRANSFER")
+                .warehouseLocation(destination)
+                .notes(request.getNotes() != null ? request.getNotes() : "Transfer from " + source + " to " + destination)
+                .createdBy(createdBy)
+                .build());
+        
+        return getDeviceStockLocations(deviceId);
+    }
+    
     /**
      * Search device inventory
      */
@@ -291,41 +383,28 @@ public class InventoryService {
     public InventoryDashboardStats getInventoryDashboardStats() {
         log.debug("Fetching inventory dashboard statistics");
         
-        long totalDevices = deviceInventoryRepository.count();
-        long totalSpareParts = 0;
-        long lowStockSpareParts = 0;
-        long outOfStockSpareParts = 0;
-        
-        try {
-            // Get spare parts data from spare parts service
-            List<SparePartDto> spareParts = sparePartIntegrationService.getAllSpareParts(null);
-            totalSpareParts = spareParts.size();
-            
-            // TODO: Get low stock and out of stock counts when spare part inventory service is available
-            // For now, we just count total spare parts
-            // In the future, we can call the spare parts service dashboard stats endpoint
-            
-        } catch (Exception e) {
-            log.warn("Failed to get spare parts data for dashboard stats, using defaults", e);
+        DeviceInventoryValuationView devices = deviceInventoryRepository.getInventoryValuation();
+        SparePartInventoryStatsDto spareParts = sparePartIntegrationService.getInventoryStats(getJwtToken())
+                .orElse(null);
+        if (spareParts == null) {
+            log.warn("Spare part inventory stats unavailable, reporting device inventory only");
         }
         
-        long lowStockDevices = deviceInventoryRepository.countByQuantityInStockLessThanEqualAndMinimumStockLevelGreaterThan(0, 0);
-        long outOfStockDevices = deviceInventoryRepository.countByQuantityInStock(0);
-        
-        // Calculate total value (simplified - in production, this should be more sophisticated)
-        BigDecimal totalValue = deviceInventoryRepository.findAll().stream()
-                .map(inv -> inv.getUnitCost() != null ? 
-                    inv.getUnitCost().multiply(BigDecimal.valueOf(inv.getQuantityInStock())) : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal deviceValue = devices.getTotalValue();
+        BigDecimal sparePartValue = spareParts != null && spareParts.getTotalValue() != null
+                ? spareParts.getTotalValue()
+                : BigDecimal.ZERO;
         
         return InventoryDashboardStats.builder()
-                .totalDevices((int) totalDevices)
-                .totalSpareParts((int) totalSpareParts)
-                .lowStockDevices((int) lowStockDevices)
-                .lowStockSpareParts((int) lowStockSpareParts)
-                .outOfStockDevices((int) outOfStockDevices)
-                .outOfStockSpareParts((int) outOfStockSpareParts)
-                .totalValue(totalValue)
+                .totalDevices((int) devices.getTotalItems())
+                .totalSpareParts(spareParts != null ? (int) spareParts.getTotalSpareParts() : 0)
+                .lowStockDevices((int) devices.getLowStockItems())
+                .lowStockSpareParts(spareParts != null ? (int) spareParts.getLowStockItems() : 0)
+                .outOfStockDevices((int) devices.getOutOfStockItems())
+                .outOfStockSpareParts(spareParts != null ? (int) spareParts.getOutOfStockItems() : 0)
+                .deviceValue(deviceValue)
+                .sparePartValue(sparePartValue)
+                .totalValue(deviceValue.add(sparePartValue))
                 .build();
     }
     
@@ -345,8 +424,9 @@ public class InventoryService {
     
     // Private helper methods
     
-    private InventoryTransaction createImportTransaction(ImportRequest request, ImportRequest.ImportItem item, String createdBy) {
-        String itemName = getItemName(request.getItemType(), item.getItemId());
+    private InventoryTransaction createImportTransaction(ImportRequest request, ImportRequest.ImportItem item, String createdBy,
+            Map<Long, String> sparePartNames) {
+        String itemName = getItemName(request.getItemType(), item.getItemId(), sparePartNames);
         
         return InventoryTransaction.builder()
                 .transactionNumber(generateTransactionNumber())
@@ -367,8 +447,9 @@ public class InventoryService {
                 .build();
     }
     
-    private InventoryTransaction createExportTransaction(ExportRequest request, ExportRequest.ExportItem item, String createdBy) {
-        String itemName = getItemName(request.getItemType(), item.getItemId());
+    private InventoryTransaction createExportTransaction(ExportRequest request, ExportRequest.ExportItem item, String createdBy,
+            Map<Long, String> sparePartNames) {
+        String itemName = getItemName(request.getItemType(), item.getItemId(), sparePartNames);
         
         return InventoryTransaction.builder()
                 .transactionNumber(generateTransactionNumber())
@@ -390,6 +471,13 @@ public class InventoryService {
         return "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
     
+    private String getItemName(InventoryItemType itemType, Long itemId, Map<Long, String> sparePartNames) {
+        if (itemType == InventoryItemType.SPARE_PART && sparePartNames.containsKey(itemId)) {
+            return sparePartNames.get(itemId);
+        }
+        return getItemName(itemType, itemId);
+    }
+    
     private String getItemName(InventoryItemType itemType, Long itemId) {
         if (itemType == InventoryItemType.DEVICE) {
             Device device = deviceRepository.findById(itemId)
@@ -397,7 +485,7 @@ public class InventoryService {
             return device.getName();
         } else if (itemType == InventoryItemType.SPARE_PART) {
             try {
-                Optional<SparePartDto> sparePart = sparePartIntegrationService.getSparePartById(itemId, getJwtToken());
+                Optional<SparePartDto> sparePart = sparePartCatalog.get(itemId, getJwtToken());
                 if (sparePart.isPresent()) {
                     return sparePart.get().getPartName();
                 }
@@ -410,12 +498,17 @@ public class InventoryService {
     }
     
     private void updateDeviceInventory(ImportRequest.ImportItem item, String warehouseLocation, String createdBy) {
-        DeviceInventory inventory = deviceInventoryRepository.findByDeviceId(item.getItemId())
+        DeviceInventory inventory = deviceInventoryRepository.findByDeviceIdForUpdate(item.getItemId())
                 .orElseGet(() -> createDefaultDeviceInventory(item.getItemId(), createdBy));
         
+        // Stock lands at the import's location; the device keeps its default location, which is
+        // only set by the first import
+        String location = WarehouseStockService.resolve(warehouseLocation, inventory.getWarehouseLocation());
+        if (inventory.getWarehouseLocation() == null) {
+            inventory.setWarehouseLocation(location);
+        }
         inventory.addStock(item.getQuantity());
         inventory.setUnitCost(item.getUnitCost());
-        inventory.setWarehouseLocation(warehouseLocation);
         
         if (item.getMinimumStockLevel() != null) {
             inventory.setMinimumStockLevel(item.getMinimumStockLevel());
@@ -431,6 +524,8 @@ public class InventoryService {
         }
         
         deviceInventoryRepository.save(inventory);
+        warehouseStockService.add(item.getItemId(), location, null, item.getQuantity());
+        stockAlertTracker.reconcile(inventory);
     }
     
     private DeviceInventory createDefaultDeviceInventory(Long deviceId, String createdBy) {
@@ -445,98 +540,113 @@ public class InventoryService {
                 .build();
     }
     
-    private void updateSparePartInventory(ImportRequest.ImportItem item, String warehouseLocation, String createdBy) {
-        try {
-            // Get spare part details from spare parts service to validate it exists
-            Optional<SparePartDto> sparePart = sparePartIntegrationService.getSparePartById(item.getItemId(), getJwtToken());
-            if (sparePart.isEmpty()) {
-                throw new ResourceNotFoundException("SparePart", "id", item.getItemId());
-            }
-            
-            // Call spare parts service to add stock
-            String notes = String.format("Import from device service - %s, Warehouse: %s", createdBy, warehouseLocation);
-            boolean success = sparePartIntegrationService.addStockToSparePart(item.getItemId(), item.getQuantity(), notes, getJwtToken());
-            
-            if (success) {
-                log.info("Successfully updated spare part inventory for item: {} ({}), quantity: {}", 
-                        item.getItemId(), sparePart.get().getPartName(), item.getQuantity());
-            } else {
-                log.warn("Failed to update spare part inventory via API, continuing with transaction logging");
-                // Continue with transaction logging even if inventory update fails
-            }
-            
-        } catch (Exception e) {
-            log.error("Failed to update spare part inventory for item: {}", item.getItemId(), e);
-            throw new BusinessException("Failed to update spare part inventory: " + e.getMessage());
-        }
-    }
-    
-    private void checkDeviceStockAvailability(Long deviceId, Integer quantity) {
-        DeviceInventory inventory = deviceInventoryRepository.findByDeviceId(deviceId)
+    // Checks availability under the inventory row lock, so concurrent exports cannot oversell;
+    // without a location, stock is drawn from the device's default location first
+    private void reduceDeviceInventory(Long deviceId, Integer quantity, String warehouseLocation) {
+        DeviceInventory inventory = deviceInventoryRepository.findByDeviceIdForUpdate(deviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("DeviceInventory", "deviceId", deviceId));
         
         if (inventory.getQuantityInStock() < quantity) {
             throw new BusinessException("Insufficient stock for device " + deviceId + 
                     ". Available: " + inventory.getQuantityInStock() + ", Requested: " + quantity);
         }
+        
+        warehouseStockService.take(deviceId, warehouseLocation, inventory.getWarehouseLocation(), quantity);
+        inventory.removeStock(quantity);
+        deviceInventoryRepository.save(inventory);
+        stockAlertTracker.reconcile(inventory);
     }
     
-    private void checkSparePartStockAvailability(Long sparePartId, Integer quantity) {
-        try {
-            // Get spare part details from spare parts service to validate it exists
-            Optional<SparePartDto> sparePart = sparePartIntegrationService.getSparePartById(sparePartId, getJwtToken());
-            if (sparePart.isEmpty()) {
-                throw new ResourceNotFoundException("SparePart", "id", sparePartId);
-            }
-            
-            // Check if spare part has sufficient stock
-            boolean hasSufficient = sparePartIntegrationService.hasSufficientStock(sparePartId, quantity, getJwtToken());
-            if (!hasSufficient) {
-                throw new BusinessException("Insufficient stock for spare part " + sparePartId + 
-                        " (" + sparePart.get().getPartName() + "). Requested quantity: " + quantity);
-            }
-            
-            log.info("Spare part stock availability confirmed for spare part: {} ({}), requested quantity: {}", 
-                    sparePartId, sparePart.get().getPartName(), quantity);
-            
-        } catch (Exception e) {
-            log.error("Failed to check spare part stock availability for item: {}", sparePartId, e);
-            throw new BusinessException("Failed to check spare part stock availability: " + e.getMessage());
+    /**
+     * Apply a document's spare part stock changes in one call and return part names by ID. The
+     * remote change is applied before the local rows are saved, so it is reversed with the negated
+     * batch if the local transaction rolls back.
+     */
+    private Map<Long, String> applySparePartStock(List<StockDeltaDto> deltas, String reference, String notes) {
+        String bearerToken = getJwtToken();
+        List<StockLevelDto> results = sparePartIntegrationService.applyStockBatch(deltas, reference, notes, bearerToken);
+        compensateOnRollback(deltas, reference, bearerToken);
+        Map<Long, String> names = new java.util.HashMap<>();
+        for (StockLevelDto result : results) {
+            names.put(result.getSparePartId(), result.getPartName());
         }
+        log.info("Applied {} spare part stock changes for reference: {}", results.size(), reference);
+        return names;
     }
     
-    private void reduceDeviceInventory(Long deviceId, Integer quantity) {
-        DeviceInventory inventory = deviceInventoryRepository.findByDeviceId(deviceId)
-                .orElseThrow(() -> new ResourceNotFoundException("DeviceInventory", "deviceId", deviceId));
-        
-        inventory.removeStock(quantity);
-        deviceInventoryRepository.save(inventory);
+    private void compensateOnRollback(List<StockDeltaDto> deltas, String reference, String bearerToken) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<StockDeltaDto> reversal = deltas.stream()
+                .map(delta -> new StockDeltaDto(delta.getSparePartId(), -delta.getQuantity(), delta.getNotes()))
+                .toList();
+        String reversalReference = (reference != null ? reference : "IMPORT") + "-REVERSAL";
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    sparePartIntegrationService.applyStockBatch(reversal, reversalReference,
+                            "Reversal of import " + reference + " after local rollback", bearerToken);
+                    log.info("Reversed {} spare part stock changes for reference: {}", reversal.size(), reference);
+                } catch (Exception e) {
+                    log.error("Could not reverse spare part stock changes for reference {}; adjust the stock manually: {}",
+                            reference, e.getMessage());
+                }
+            }
+        });
     }
     
-    private void reduceSparePartInventory(Long sparePartId, Integer quantity) {
-        try {
-            // Get spare part details from spare parts service to validate it exists
-            Optional<SparePartDto> sparePart = sparePartIntegrationService.getSparePartById(sparePartId, getJwtToken());
-            if (sparePart.isEmpty()) {
-                throw new ResourceNotFoundException("SparePart", "id", sparePartId);
-            }
-            
-            // Call spare parts service to remove stock
-            String notes = String.format("Export from device service, quantity: %d", quantity);
-            boolean success = sparePartIntegrationService.removeStockFromSparePart(sparePartId, quantity, notes, getJwtToken());
-            
-            if (success) {
-                log.info("Successfully reduced spare part inventory for spare part: {} ({}), quantity: {}", 
-                        sparePartId, sparePart.get().getPartName(), quantity);
-            } else {
-                log.warn("Failed to reduce spare part inventory via API, continuing with transaction logging");
-                // Continue with transaction logging even if inventory update fails
-            }
-            
-        } catch (Exception e) {
-            log.error("Failed to reduce spare part inventory for item: {}", sparePartId, e);
-            throw new BusinessException("Failed to reduce spare part inventory: " + e.getMessage());
+    // Reads the open alerts of one type and loads only those devices, newest alert first
+    private List<DeviceInventoryResponse> getAlertedDevices(StockAlertType alertType) {
+        List<Long> deviceIds = stockAlertRepository.findItemIdsByItemTypeAndAlertType(StockAlert.ITEM_TYPE_DEVICE, alertType);
+        if (deviceIds.isEmpty()) {
+            return List.of();
         }
+        Map<Long, DeviceInventory> inventoryByDevice = new java.util.HashMap<>();
+        for (DeviceInventory inventory : deviceInventoryRepository.findByDeviceIdIn(deviceIds)) {
+            inventoryByDevice.put(inventory.getDevice().getId(), inventory);
+        }
+        return deviceIds.stream()
+                .map(inventoryByDevice::get)
+                .filter(java.util.Objects::nonNull)
+                .map(DeviceInventoryResponse::fromEntity)
+                .toList();
+    }
+    
+    private DeviceInventoryResponse toInventoryResponse(DeviceInventoryOverviewView view) {
+        int quantity = view.getQuantityInStock();
+        return DeviceInventoryResponse.builder()
+                .id(view.getInventoryId())
+                .deviceId(view.getDeviceId())
+                .deviceName(view.getDeviceName())
+                .deviceModel(view.getDeviceModel())
+                .deviceSerialNumber(view.getDeviceSerialNumber())
+                .deviceStatus(view.getDeviceStatus() != null ? view.getDeviceStatus().name() : null)
+                .quantityInStock(quantity)
+                .minimumStockLevel(view.getMinimumStockLevel())
+                .maximumStockLevel(view.getMaximumStockLevel())
+                .reorderPoint(view.getReorderPoint())
+                .unitCost(view.getUnitCost())
+                .warehouseLocation(view.getWarehouseLocation())
+                .notes(view.getNotes())
+                .createdBy(view.getCreatedBy())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                // Devices without an inventory record are reported out of stock but never low or due for reorder
+                .isLowStock(view.getInventoryId() != null && quantity <= view.getMinimumStockLevel())
+                .needsReorder(view.getReorderPoint() != null && quantity <= view.getReorderPoint())
+                .isOutOfStock(quantity <= 0)
+                .build();
+    }
+    
+    private String exportReference(ExportRequest request) {
+        return request.getReferenceNumber() != null
+                ? request.getReferenceNumber()
+                : request.getReferenceType() + ":" + request.getReferenceId();
     }
     
     /**
@@ -549,6 +659,8 @@ public class InventoryService {
         private int lowStockSpareParts;
         private int outOfStockDevices;
         private int outOfStockSpareParts;
+        private BigDecimal deviceValue;
+        private BigDecimal sparePartValue;
         private BigDecimal totalValue;
         
         // Builder pattern
@@ -589,6 +701,16 @@ public class InventoryService {
                 return this;
             }
             
+            public InventoryDashboardStatsBuilder deviceValue(BigDecimal deviceValue) {
+                stats.deviceValue = deviceValue;
+                return this;
+            }
+            
+            public InventoryDashboardStatsBuilder sparePartValue(BigDecimal sparePartValue) {
+                stats.sparePartValue = sparePartValue;
+                return this;
+            }
+            
             public InventoryDashboardStatsBuilder totalValue(BigDecimal totalValue) {
                 stats.totalValue = totalValue;
                 return this;
@@ -606,6 +728,8 @@ public class InventoryService {
         public int getLowStockSpareParts() { return lowStockSpareParts; }
         public int getOutOfStockDevices() { return outOfStockDevices; }
         public int getOutOfStockSpareParts() { return outOfStockSpareParts; }
+        public BigDecimal getDeviceValue() { return deviceValue; }
+        public BigDecimal getSparePartValue() { return sparePartValue; }
         public BigDecimal getTotalValue() { return totalValue; }
     }
 }
@@ -1,12 +1,9 @@
 package com.g47.cem.cemdevice.service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +22,7 @@ import com.g47.cem.cemdevice.exception.ResourceNotFoundException;
 import com.g47.cem.cemdevice.repository.CustomerDeviceRepository;
 import com.g47.cem.cemdevice.repository.ServiceRequestHistoryRepository;
 import com.g47.cem.cemdevice.repository.ServiceRequestRepository;
+import com.g47.cem.cemdevice.repository.projection.ServiceRequestListView;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,7 +39,8 @@ public class ServiceRequestService {
     private final ServiceRequestRepository serviceRequestRepository;
     private final ServiceRequestHistoryRepository serviceRequestHistoryRepository;
     private final CustomerDeviceRepository customerDeviceRepository;
-    
+    private final IdAllocator idAllocator;
+    private final DashboardStatisticsService dashboardStatisticsService;
     
     /**
      * Create a new service request
@@ -142,57 +141,8 @@ public class ServiceRequestService {
         log.debug("Fetching service requests for customer: {} with filters - keyword: {}, status: {}, type: {}, deviceId: {}", 
                 customerId, keyword, status, type, deviceId);
         
-        Page<ServiceRequest> serviceRequests;
-        
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            serviceRequests = serviceRequestRepository.findByCustomerIdAndKeyword(customerId, keyword.trim(), pageable);
-        } else if (status != null && type != null && deviceId != null) {
-            // For complex filtering, we need to fetch and filter manually
-            Page<ServiceRequest> statusFiltered = serviceRequestRepository.findByCustomerIdAndStatus(customerId, status, pageable);
-            List<ServiceRequest> filteredList = statusFiltered.getContent().stream()
-                    .filter(sr -> sr.getType() == type && sr.getDevice().getId().equals(deviceId))
-                    .collect(Collectors.toList());
-            
-            // Create a new Page with filtered content
-            serviceRequests = new PageImpl<>(filteredList, pageable, filteredList.size());
-        } else if (status != null && type != null) {
-            // For complex filtering, we need to fetch and filter manually
-            Page<ServiceRequest> statusFiltered = serviceRequestRepository.findByCustomerIdAndStatus(customerId, status, pageable);
-            List<ServiceRequest> filteredList = statusFiltered.getContent().stream()
-                    .filter(sr -> sr.getType() == type)
-                    .collect(Collectors.toList());
-            
-            // Create a new Page with filtered content
-            serviceRequests = new PageImpl<>(filteredList, pageable, filteredList.size());
-        } else if (status != null && deviceId != null) {
-            // For complex filtering, we need to fetch and filter manually
-            Page<ServiceRequest> statusFiltered = serviceRequestRepository.findByCustomerIdAndStatus(customerId, status, pageable);
-            List<ServiceRequest> filteredList = statusFiltered.getContent().stream()
-                    .filter(sr -> sr.getDevice().getId().equals(deviceId))
-                    .collect(Collectors.toList());
-            
-            // Create a new Page with filtered content
-            serviceRequests = new PageImpl<>(filteredList, pageable, filteredList.size());
-        } else if (type != null && deviceId != null) {
-            // For complex filtering, we need to fetch and filter manually
-            Page<ServiceRequest> typeFiltered = serviceRequestRepository.findByCustomerIdAndType(customerId, type, pageable);
-            List<ServiceRequest> filteredList = typeFiltered.getContent().stream()
-                    .filter(sr -> sr.getDevice().getId().equals(deviceId))
-                    .collect(Collectors.toList());
-            
-            // Create a new Page with filtered content
-            serviceRequests = new PageImpl<>(filteredList, pageable, filteredList.size());
-        } else if (status != null) {
-            serviceRequests = serviceRequestRepository.findByCustomerIdAndStatus(customerId, status, pageable);
-        } else if (type != null) {
-            serviceRequests = serviceRequestRepository.findByCustomerIdAndType(customerId, type, pageable);
-        } else if (deviceId != null) {
-            serviceRequests = serviceRequestRepository.findByCustomerIdAndDeviceId(customerId, deviceId, pageable);
-        } else {
-            serviceRequests = serviceRequestRepository.findByCustomerId(customerId, pageable);
-        }
-        
-        return serviceRequests.map(this::mapToServiceRequestResponse);
+        return serviceRequestRepository.findListViews(customerId, keywordPattern(keyword), status, type, deviceId, pageable)
+                .map(this::mapToServiceRequestListResponse);
     }
     
     /**
@@ -294,34 +244,14 @@ public class ServiceRequestService {
     @Transactional(readOnly = true)
     public ServiceRequestStatistics getCustomerServiceRequestStatistics(Long customerId) {
         log.debug("Fetching service request statistics for customer: {}", customerId);
-        
-        long totalRequests = serviceRequestRepository.countByCustomerId(customerId);
-        long pendingRequests = serviceRequestRepository.countByCustomerIdAndStatus(customerId, ServiceRequestStatus.PENDING);
-        long approvedRequests = serviceRequestRepository.countByCustomerIdAndStatus(customerId, ServiceRequestStatus.APPROVED);
-        long inProgressRequests = serviceRequestRepository.countByCustomerIdAndStatus(customerId, ServiceRequestStatus.IN_PROGRESS);
-        long completedRequests = serviceRequestRepository.countByCustomerIdAndStatus(customerId, ServiceRequestStatus.COMPLETED);
-        long maintenanceRequests = serviceRequestRepository.countByCustomerIdAndType(customerId, ServiceRequestType.MAINTENANCE);
-        long warrantyRequests = serviceRequestRepository.countByCustomerIdAndType(customerId, ServiceRequestType.WARRANTY);
-        
-        return ServiceRequestStatistics.builder()
-                .totalRequests(totalRequests)
-                .pendingRequests(pendingRequests)
-                .approvedRequests(approvedRequests)
-                .inProgressRequests(inProgressRequests)
-                .completedRequests(completedRequests)
-                .maintenanceRequests(maintenanceRequests)
-                .warrantyRequests(warrantyRequests)
-                .build();
+        return dashboardStatisticsService.getCustomerServiceRequestStatistics(customerId);
     }
     
     /**
      * Generate unique request ID
      */
     private String generateRequestId(ServiceRequestType type) {
-        String prefix = type == ServiceRequestType.MAINTENANCE ? "MNT" : "WAR";
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String random = String.format("%04d", (int) (Math.random() * 10000));
-        return prefix + timestamp + random;
+        return idAllocator.nextServiceRequestId(type);
     }
     
     /**
@@ -368,6 +298,38 @@ public class ServiceRequestService {
         return response;
     }
     
+    /**
+     * Map a list row; notes and history are left to the detail view
+     */
+    private ServiceRequestResponse mapToServiceRequestListResponse(ServiceRequestListView serviceRequest) {
+        ServiceRequestResponse response = new ServiceRequestResponse();
+        response.setId(serviceRequest.getId());
+        response.setRequestId(serviceRequest.getRequestId());
+        response.setCustomerId(serviceRequest.getCustomerId());
+        response.setType(serviceRequest.getType());
+        response.setStatus(serviceRequest.getStatus());
+        response.setDescription(serviceRequest.getDescription());
+        response.setPreferredDateTime(serviceRequest.getPreferredDateTime());
+        response.setCompletedAt(serviceRequest.getCompletedAt());
+        response.setWorkLocation(serviceRequest.getWorkLocation());
+        response.setCreatedBy(serviceRequest.getCreatedBy());
+        response.setCreatedAt(serviceRequest.getCreatedAt());
+        response.setUpdatedAt(serviceRequest.getUpdatedAt());
+        response.setDeviceId(serviceRequest.getDeviceId());
+        response.setDeviceName(serviceRequest.getDeviceName());
+        response.setDeviceModel(serviceRequest.getDeviceModel());
+        response.setSerialNumber(serviceRequest.getSerialNumber());
+        response.setHistory(List.of());
+        return response;
+    }
+    
+    /**
+     * LIKE pattern for a keyword filter, or null when there is no keyword
+     */
+    private static String keywordPattern(String keyword) {
+        return keyword == null || keyword.trim().isEmpty() ? null : "%" + keyword.trim() + "%";
+    }
+    
     /**
      * Get all service requests for staff with filtering (Support Team, Manager, Admin)
      */
@@ -377,16 +339,8 @@ public class ServiceRequestService {
         
         log.debug("Getting all service requests for staff with filters");
         
-        // This is a simplified implementation - in production you'd want more sophisticated filtering
-        Page<ServiceRequest> serviceRequests;
-        
-        if (status != null) {
-            serviceRequests = serviceRequestRepository.findByStatus(status, pageable);
-        } else {
-            serviceRequests = serviceRequestRepository.findAll(pageable);
-        }
-        
-        return serviceRequests.map(this::mapToServiceRequestResponse);
+        return serviceRequestRepository.findListViews(customerId, keywordPattern(keyword), status, type, null, pageable)
+                .map(this::mapToServiceRequestListResponse);
     }
     
     /**
@@ -409,8 +363,8 @@ public class ServiceRequestService {
     public Page<ServiceRequestResponse> getServiceRequestsByStatus(ServiceRequestStatus status, Pageable pageable) {
         log.debug("Getting service requests by status: {}", status);
         
-        Page<ServiceRequest> serviceRequests = serviceRequestRepository.findByStatus(status, pageable);
-        return serviceRequests.map(this::mapToServiceRequestResponse);
+        return serviceRequestRepository.findListViews(null, null, status, null, null, pageable)
+                .map(this::mapToServiceRequestListResponse);
     }
     
     /**
@@ -444,26 +398,7 @@ public class ServiceRequestService {
     @Transactional(readOnly = true)
     public ServiceRequestStatistics getAllServiceRequestStatistics() {
         log.debug("Getting service request statistics for all requests");
-        
-        long totalRequests = serviceRequestRepository.count();
-        long pendingRequests = serviceRequestRepository.countByStatus(ServiceRequestStatus.PENDING);
-        long approvedRequests = serviceRequestRepository.countByStatus(ServiceRequestStatus.APPROVED);
-        long rejectedRequests = serviceRequestRepository.countByStatus(ServiceRequestStatus.REJECTED);
-        long inProgressRequests = serviceRequestRepository.countByStatus(ServiceRequestStatus.IN_PROGRESS);
-        long completedRequests = serviceRequestRepository.countByStatus(ServiceRequestStatus.COMPLETED);
-        long maintenanceRequests = serviceRequestRepository.countByType(ServiceRequestType.MAINTENANCE);
-        long warrantyRequests = serviceRequestRepository.countByType(ServiceRequestType.WARRANTY);
-        
-        return ServiceRequestStatistics.builder()
-                .totalRequests(totalRequests)
-                .pendingRequests(pendingRequests)
-                .approvedRequests(approvedRequests)
-                .rejectedRequests(rejectedRequests)
-                .inProgressRequests(inProgressRequests)
-                .completedRequests(completedRequests)
-                .maintenanceRequests(maintenanceRequests)
-                .warrantyRequests(warrantyRequests)
-                .build();
+        return dashboardStatisticsService.getAllServiceRequestStatistics();
     }
     
     /**
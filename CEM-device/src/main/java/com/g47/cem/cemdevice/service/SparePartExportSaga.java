@@ -0,0 +1,126 @@
+package com.g47.cem.cemdevice.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemdevice.dto.request.ExportRequest;
+import com.g47.cem.cemdevice.entity.SparePartExport;
+import com.g47.cem.cemdevice.exception.BusinessException;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.ReservationItemDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.ReservationLineDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.StockReservationDto;
+import com.g47.cem.cemdevice.repository.SparePartExportRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a spare part export as a saga against the spare parts service: claim the export's
+ * idempotency key locally, reserve the stock under it, record the export, then confirm the
+ * reservation once the local transaction commits or release it if it rolls back. The claimed key
+ * row commits together with the export, so it doubles as the durable confirmation: when the
+ * confirm call is lost, the spare parts reservation expiry finds the row and confirms the
+ * reservation instead of releasing it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SparePartExportSaga {
+
+    static final String RESERVED = "RESERVED";
+
+    private final SparePartIntegrationService sparePartIntegrationService;
+    private final SparePartExportRepository sparePartExportRepository;
+
+    /**
+     * Reserve the export's spare parts and tie confirmation to the current transaction
+     *
+     * @return spare part names by ID, as recorded by the spare parts service
+     */
+    public Map<Long, String> reserve(ExportRequest request, String reference, String bearerToken) {
+        String reservationKey = request.getIdempotencyKey() != null && !request.getIdempotencyKey().isBlank()
+                ? request.getIdempotencyKey()
+                : "EXPORT-" + UUID.randomUUID();
+        List<ReservationItemDto> items = request.getItems().stream()
+                .map(item -> new ReservationItemDto(item.getItemId(), item.getQuantity()))
+                .toList();
+
+        claim(reservationKey, reference);
+        StockReservationDto reservation = sparePartIntegrationService.reserveStock(reservationKey, items, reference, bearerToken);
+        if (!RESERVED.equals(reservation.getStatus())) {
+            // The key was used before: either this export already went through or it was compensated
+            throw new BusinessException("Export " + reservationKey + " was already processed (reservation "
+                    + reservation.getStatus() + ")", HttpStatus.CONFLICT);
+        }
+        completeWithTransaction(reservationKey, bearerToken);
+
+        Map<Long, String> names = new HashMap<>();
+        if (reservation.getItems() != null) {
+            for (ReservationLineDto line : reservation.getItems()) {
+                names.put(line.getSparePartId(), line.getSparePartName());
+            }
+        }
+        log.info("Reserved spare part stock for export {} under key {}", reference, reservationKey);
+        return names;
+    }
+
+    // The unique key makes a concurrent export with the same key wait here until this one
+    // commits and then fail, and rejects keys that were already exported or expired
+    private void claim(String reservationKey, String reference) {
+        try {
+            sparePartExportRepository.saveAndFlush(SparePartExport.builder()
+                    .reservationKey(reservationKey)
+                    .reference(reference)
+                    .status(SparePartExport.STATUS_EXPORTED)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("Export " + reservationKey + " was already processed", HttpStatus.CONFLICT);
+        }
+    }
+
+    private void completeWithTransaction(String reservationKey, String bearerToken) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirm(reservationKey, bearerToken);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    confirm(reservationKey, bearerToken);
+                } else {
+                    release(reservationKey, bearerToken);
+                }
+            }
+        });
+    }
+
+    private void confirm(String reservationKey, String bearerToken) {
+        try {
+            sparePartIntegrationService.confirmReservation(reservationKey, bearerToken);
+            log.info("Confirmed spare part reservation {}", reservationKey);
+        } catch (Exception e) {
+            log.error("Could not confirm spare part reservation {}; it will be confirmed on expiry: {}",
+                    reservationKey, e.getMessage());
+        }
+    }
+
+    private void release(String reservationKey, String bearerToken) {
+        try {
+            sparePartIntegrationService.releaseReservation(reservationKey, bearerToken);
+            log.info("Released spare part reservation {} after local rollback", reservationKey);
+        } catch (Exception e) {
+            log.error("Could not release spare part reservation {}; it will be released on expiry: {}",
+                    reservationKey, e.getMessage());
+        }
+    }
+}
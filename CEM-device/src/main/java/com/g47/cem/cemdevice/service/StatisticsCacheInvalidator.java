@@ -0,0 +1,52 @@
+package com.g47.cem.cemdevice.service;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemdevice.entity.ServiceRequest;
+import com.g47.cem.cemdevice.entity.Task;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that evicts cached dashboard statistics whenever a task or
+ * service request is inserted, updated or deleted. Eviction runs after commit so a
+ * concurrent dashboard read cannot re-cache the pre-commit numbers.
+ */
+@Component
+public class StatisticsCacheInvalidator {
+
+    private final DashboardStatisticsService dashboardStatisticsService;
+
+    public StatisticsCacheInvalidator(@Lazy DashboardStatisticsService dashboardStatisticsService) {
+        this.dashboardStatisticsService = dashboardStatisticsService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (entity instanceof Task) {
+            afterCommit(dashboardStatisticsService::evictTaskStatistics);
+        } else if (entity instanceof ServiceRequest) {
+            afterCommit(dashboardStatisticsService::evictServiceRequestStatistics);
+        }
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
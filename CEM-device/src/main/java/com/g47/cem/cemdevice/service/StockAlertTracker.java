@@ -0,0 +1,116 @@
+package com.g47.cem.cemdevice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.g47.cem.cemdevice.dto.response.StockAlertEvent;
+import com.g47.cem.cemdevice.entity.DeviceInventory;
+import com.g47.cem.cemdevice.entity.StockAlert;
+import com.g47.cem.cemdevice.enums.StockAlertType;
+import com.g47.cem.cemdevice.repository.StockAlertRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the stock alert table in step with device stock levels. A stock or threshold change
+ * only writes to the table when the open alerts differ from the thresholds the stored level
+ * breaches, and every raise or clear is pushed to {@link StockAlertStream} subscribers after commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockAlertTracker {
+
+    private final StockAlertRepository stockAlertRepository;
+    private final StockAlertStream stockAlertStream;
+
+    /**
+     * Bring a device's alerts in line with its stored level and thresholds; call after any change
+     * to either. Compares against the open alerts rather than a before-image, so alerts left stale
+     * by an earlier change are corrected too.
+     */
+    public void reconcile(DeviceInventory inventory) {
+        Long deviceId = inventory.getDevice().getId();
+        apply(deviceId, inventory.getQuantityInStock(), openAlerts(deviceId), breached(inventory));
+    }
+
+    /**
+     * Clear every alert of a device whose inventory record is gone
+     */
+    public void clearAll(Long deviceId) {
+        apply(deviceId, 0, openAlerts(deviceId), Map.of());
+    }
+
+    private Set<StockAlertType> openAlerts(Long deviceId) {
+        return stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_DEVICE, deviceId).stream()
+                .map(StockAlert::getAlertType)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(StockAlertType.class)));
+    }
+
+    private void apply(Long deviceId, int quantity, Set<StockAlertType> before, Map<StockAlertType, Integer> after) {
+        List<StockAlertEvent> events = new ArrayList<>();
+        for (Map.Entry<StockAlertType, Integer> alert : after.entrySet()) {
+            if (!before.contains(alert.getKey())) {
+                stockAlertRepository.raise(StockAlert.ITEM_TYPE_DEVICE, deviceId, alert.getKey().name(),
+                        quantity, alert.getValue());
+                events.add(event(deviceId, alert.getKey(), true, quantity, alert.getValue()));
+            }
+        }
+
+        Set<StockAlertType> cleared = EnumSet.noneOf(StockAlertType.class);
+        for (StockAlertType type : before) {
+            if (!after.containsKey(type)) {
+                cleared.add(type);
+                events.add(event(deviceId, type, false, quantity, null));
+            }
+        }
+        if (!cleared.isEmpty()) {
+            stockAlertRepository.clear(StockAlert.ITEM_TYPE_DEVICE, deviceId, cleared);
+        }
+
+        if (!events.isEmpty()) {
+            log.info("Stock alerts for device {} at {}: raised {}, cleared {}", deviceId, quantity,
+                    events.stream().filter(StockAlertEvent::isActive).map(StockAlertEvent::getAlertType).toList(), cleared);
+            stockAlertStream.publish(events);
+        }
+    }
+
+    /**
+     * Alert types whose threshold the record is at or below, with the threshold itself
+     */
+    static Map<StockAlertType, Integer> breached(DeviceInventory inventory) {
+        int quantity = inventory.getQuantityInStock();
+        Map<StockAlertType, Integer> breached = new EnumMap<>(StockAlertType.class);
+        if (quantity <= 0) {
+            breached.put(StockAlertType.OUT_OF_STOCK, 0);
+        }
+        if (inventory.getMinimumStockLevel() != null && quantity <= inventory.getMinimumStockLevel()) {
+            breached.put(StockAlertType.LOW_STOCK, inventory.getMinimumStockLevel());
+        }
+        if (inventory.getReorderPoint() != null && quantity <= inventory.getReorderPoint()) {
+            breached.put(StockAlertType.REORDER, inventory.getReorderPoint());
+        }
+        return breached;
+    }
+
+    private StockAlertEvent event(Long deviceId, StockAlertType type, boolean active, int quantity, Integer threshold) {
+        return StockAlertEvent.builder()
+                .itemType(StockAlert.ITEM_TYPE_DEVICE)
+                .itemId(deviceId)
+                .alertType(type)
+                .active(active)
+                .quantityInStock(quantity)
+                .threshold(threshold)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,8 +1,10 @@
 package com.g47.cem.cemdevice.service;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,6 +24,7 @@ import com.g47.cem.cemdevice.dto.request.UpdateTaskStatusRequest;
 import com.g47.cem.cemdevice.dto.response.TaskHistoryResponse;
 import com.g47.cem.cemdevice.dto.response.TaskResponse;
 import com.g47.cem.cemdevice.dto.response.TaskStatisticsResponse;
+import com.g47.cem.cemdevice.dto.response.TechnicianScheduleResponse;
 import com.g47.cem.cemdevice.dto.response.TechnicianWorkScheduleResponse;
 import com.g47.cem.cemdevice.entity.CustomerDevice;
 import com.g47.cem.cemdevice.entity.ServiceRequest;
@@ -40,6 +43,8 @@ import com.g47.cem.cemdevice.repository.ServiceRequestHistoryRepository;
 import com.g47.cem.cemdevice.repository.ServiceRequestRepository;
 import com.g47.cem.cemdevice.repository.TaskHistoryRepository;
 import com.g47.cem.cemdevice.repository.TaskRepository;
+import com.g47.cem.cemdevice.repository.projection.TaskListView;
+import com.g47.cem.cemdevice.repository.projection.TechnicianScheduleSlotView;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -61,6 +66,8 @@ public class TaskService {
     private final UserIntegrationService userIntegrationService;
     private final com.g47.cem.cemdevice.repository.TechnicianProfileRepository technicianProfileRepository;
     private final ModelMapper modelMapper;
+    private final IdAllocator idAllocator;
+    private final DashboardStatisticsService dashboardStatisticsService;
     
     /**
      * Create a new task manually (by Support Team)
@@ -619,8 +626,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public Page<TaskResponse> getAllTasks(Pageable pageable) {
-        Page<Task> tasks = taskRepository.findAll(pageable);
-        return tasks.map(this::mapToTaskResponse);
+        return taskRepository.findListViews(null, null, null, pageable).map(this::mapToTaskListResponse);
     }
     
     /**
@@ -628,8 +634,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksByStatus(TaskStatus status, Pageable pageable) {
-        Page<Task> tasks = taskRepository.findByStatus(status, pageable);
-        return tasks.map(this::mapToTaskResponse);
+        return taskRepository.findListViews(status, null, null, pageable).map(this::mapToTaskListResponse);
     }
     
     /**
@@ -637,8 +642,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksByTechnician(Long technicianId, Pageable pageable) {
-        Page<Task> tasks = taskRepository.findByAssignedTechnicianId(technicianId, pageable);
-        return tasks.map(this::mapToTaskResponse);
+        return taskRepository.findListViewsByTechnician(technicianId, pageable).map(this::mapToTaskListResponse);
     }
     
     /**
@@ -651,44 +655,16 @@ public class TaskService {
         log.debug("Getting tasks with filters - search: {}, status: {}, priority: {}, type: {}", 
                 search, status, priority, type);
         
-        // If no filters applied, return all tasks
-        if (search == null && status == null && priority == null && type == null) {
-            return getAllTasks(pageable);
-        }
-        
-        Page<Task> tasks;
-        
-        // Apply filters based on what's provided
+        Page<TaskListView> tasks;
         if (search != null && !search.trim().isEmpty()) {
-            // Search by title, description, or task ID
-            tasks = taskRepository.findByKeyword(search.trim(), pageable);
-        } else if (status != null && priority != null && type != null) {
-            // All three filters
-            tasks = taskRepository.findByStatusAndPriorityAndType(status, priority, type, pageable);
-        } else if (status != null && priority != null) {
-            // Status and priority
-            tasks = taskRepository.findByStatusAndPriority(status, priority, pageable);
-        } else if (status != null && type != null) {
-            // Status and type
-            tasks = taskRepository.findByStatusAndType(status, type, pageable);
-        } else if (priority != null && type != null) {
-            // Priority and type
-            tasks = taskRepository.findByPriorityAndType(priority, type, pageable);
-        } else if (status != null) {
-            // Status only
-            tasks = taskRepository.findByStatus(status, pageable);
-        } else if (priority != null) {
-            // Priority only
-            tasks = taskRepository.findByPriority(priority, pageable);
-        } else if (type != null) {
-            // Type only
-            tasks = taskRepository.findByType(type, pageable);
+            // Search by title, description, task ID or device
+            tasks = taskRepository.findListViewsByKeyword(search.trim(), pageable);
         } else {
-            // Fallback to all tasks
-            tasks = taskRepository.findAll(pageable);
+            // Any combination of status, priority and type; missing filters match every task
+            tasks = taskRepository.findListViews(status, priority, type, pageable);
         }
         
-        return tasks.map(this::mapToTaskResponse);
+        return tasks.map(this::mapToTaskListResponse);
     }
     
     /**
@@ -696,12 +672,40 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public List<TechnicianWorkScheduleResponse> getTechnicianWorkSchedule(Long technicianId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<Task> tasks = taskRepository.findByAssignedTechnicianIdAndScheduledDateBetween(technicianId, startDate, endDate);
-        return tasks.stream()
+        List<TechnicianScheduleSlotView> slots = taskRepository.findScheduleSlotsByTechnicianIds(List.of(technicianId), startDate, endDate);
+        return slots.stream()
                 .map(this::mapToWorkScheduleResponse)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get work schedules of several technicians (or all assigned technicians when none given) for the dispatch board
+     */
+    @Transactional(readOnly = true)
+    public List<TechnicianScheduleResponse> getTechnicianSchedules(List<Long> technicianIds, LocalDateTime startDate, LocalDateTime endDate) {
+        List<TechnicianScheduleSlotView> slots = technicianIds == null || technicianIds.isEmpty()
+                ? taskRepository.findAllScheduleSlots(startDate, endDate)
+                : taskRepository.findScheduleSlotsByTechnicianIds(technicianIds, startDate, endDate);
+        
+        // Slots arrive ordered by technician, so grouping keeps per-technician date order
+        Map<Long, List<TechnicianWorkScheduleResponse>> byTechnician = new LinkedHashMap<>();
+        if (technicianIds != null) {
+            technicianIds.forEach(id -> byTechnician.put(id, new ArrayList<>()));
+        }
+        for (TechnicianScheduleSlotView slot : slots) {
+            byTechnician.computeIfAbsent(slot.getTechnicianId(), id -> new ArrayList<>())
+                    .add(mapToWorkScheduleResponse(slot));
+        }
+        
+        return byTechnician.entrySet().stream()
+                .map(entry -> TechnicianScheduleResponse.builder()
+                        .technicianId(entry.getKey())
+                        .taskCount(entry.getValue().size())
+                        .slots(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
     /**
      * Get available technicians for task assignment
      */
@@ -990,44 +994,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public TaskStatisticsResponse getTaskStatistics() {
-        Object[] stats = taskRepository.getTaskStatistics();
-        if (stats != null && stats.length > 0) {
-            Object[] data = (Object[]) stats[0];
-            
-            long totalTasks = taskRepository.count();
-            long pendingTasks = data[0] != null ? ((Number) data[0]).longValue() : 0;
-            long assignedTasks = data[1] != null ? ((Number) data[1]).longValue() : 0;
-            long acceptedTasks = data[2] != null ? ((Number) data[2]).longValue() : 0;
-            long inProgressTasks = data[3] != null ? ((Number) data[3]).longValue() : 0;
-            long completedTasks = data[4] != null ? ((Number) data[4]).longValue() : 0;
-            long rejectedTasks = data[5] != null ? ((Number) data[5]).longValue() : 0;
-            
-            long highPriorityTasks = taskRepository.countByPriority(com.g47.cem.cemdevice.enums.TaskPriority.HIGH);
-            long criticalPriorityTasks = taskRepository.countByPriority(com.g47.cem.cemdevice.enums.TaskPriority.CRITICAL);
-            
-            List<Task> overdueTasks = taskRepository.findOverdueTasks(LocalDateTime.now());
-            long overdueCount = overdueTasks.size();
-            
-            double completionRate = totalTasks > 0 ? (double) completedTasks / totalTasks * 100 : 0;
-            double rejectionRate = totalTasks > 0 ? (double) rejectedTasks / totalTasks * 100 : 0;
-            
-            return TaskStatisticsResponse.builder()
-                    .totalTasks(totalTasks)
-                    .pendingTasks(pendingTasks)
-                    .assignedTasks(assignedTasks)
-                    .acceptedTasks(acceptedTasks)
-                    .inProgressTasks(inProgressTasks)
-                    .completedTasks(completedTasks)
-                    .rejectedTasks(rejectedTasks)
-                    .highPriorityTasks(highPriorityTasks)
-                    .criticalPriorityTasks(criticalPriorityTasks)
-                    .overdueTasks(overdueCount)
-                    .completionRate(completionRate)
-                    .rejectionRate(rejectionRate)
-                    .build();
-        }
-        
-        return TaskStatisticsResponse.builder().build();
+        return dashboardStatisticsService.getTaskStatistics();
     }
     
     // Helper methods
@@ -1044,9 +1011,7 @@ public class TaskService {
     }
     
     private String generateTaskId() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        long count = taskRepository.count() + 1;
-        return String.format("TSK-%s-%04d", timestamp, count);
+        return idAllocator.nextTaskId();
     }
     
     private TaskResponse mapToTaskResponse(Task task) {
@@ -1072,25 +1037,58 @@ public class TaskService {
         return response;
     }
     
-    private TechnicianWorkScheduleResponse mapToWorkScheduleResponse(Task task) {
-        return TechnicianWorkScheduleResponse.builder()
-                .taskId(task.getId())
-                .taskNumber(task.getTaskId())
+    private TaskResponse mapToTaskListResponse(TaskListView task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .taskId(task.getTaskId())
                 .title(task.getTitle())
+                .description(task.getDescription())
                 .type(task.getType())
                 .status(task.getStatus())
                 .priority(task.getPriority())
+                .serviceRequestId(task.getServiceRequestId())
+                .customerDeviceId(task.getCustomerDeviceId())
+                .deviceName(task.getDeviceName())
+                .deviceModel(task.getDeviceModel())
+                .serialNumber(task.getSerialNumber())
+                .customerId(task.getCustomerId())
+                .assignedTechnicianId(task.getAssignedTechnicianId())
+                .assignedBy(task.getAssignedBy())
+                .assignedAt(task.getAssignedAt())
                 .scheduledDate(task.getScheduledDate())
+                // Map scheduledDate to preferredCompletionDate for frontend compatibility
+                .preferredCompletionDate(task.getScheduledDate())
                 .estimatedDurationHours(task.getEstimatedDurationHours())
                 .serviceLocation(task.getServiceLocation())
-                .deviceName(task.getCustomerDevice() != null && task.getCustomerDevice().getDevice() != null ? 
-                           task.getCustomerDevice().getDevice().getName() : null)
-                .deviceModel(task.getCustomerDevice() != null && task.getCustomerDevice().getDevice() != null ? 
-                            task.getCustomerDevice().getDevice().getModel() : null)
-                .serialNumber(task.getCustomerDevice() != null && task.getCustomerDevice().getDevice() != null ? 
-                             task.getCustomerDevice().getDevice().getSerialNumber() : null)
-                .description(task.getDescription())
+                .customerContactInfo(task.getCustomerContactInfo())
+                .actualCost(task.getActualCost())
+                .rejectionReason(task.getRejectionReason())
+                .rejectedBy(task.getRejectedBy())
+                .rejectedAt(task.getRejectedAt())
+                .completedAt(task.getCompletedAt())
+                .createdBy(task.getCreatedBy())
                 .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .history(List.of())
+                .build();
+    }
+    
+    private TechnicianWorkScheduleResponse mapToWorkScheduleResponse(TechnicianScheduleSlotView slot) {
+        return TechnicianWorkScheduleResponse.builder()
+                .taskId(slot.getTaskId())
+                .taskNumber(slot.getTaskNumber())
+                .title(slot.getTitle())
+                .type(slot.getType())
+                .status(slot.getStatus())
+                .priority(slot.getPriority())
+                .scheduledDate(slot.getScheduledDate())
+                .estimatedDurationHours(slot.getEstimatedDurationHours())
+                .serviceLocation(slot.getServiceLocation())
+                .deviceName(slot.getDeviceName())
+                .deviceModel(slot.getDeviceModel())
+                .serialNumber(slot.getSerialNumber())
+                .description(slot.getDescription())
+                .createdAt(slot.getCreatedAt())
                 .build();
     }
 }
@@ -0,0 +1,108 @@
+package com.g47.cem.cemdevice.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemdevice.exception.BusinessException;
+import com.g47.cem.cemdevice.repository.DeviceStockLocationRepository;
+import com.g47.cem.cemdevice.repository.projection.DeviceLocationStockView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps per-location device stock rows in step with a device's total stock.
+ * <p>
+ * Callers lock the device's inventory row first, so it serializes every change to one
+ * device's locations. A change that names no location uses the device's default location;
+ * removals without a location draw from the default location first and then from the
+ * fullest other locations.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WarehouseStockService {
+
+    static final String DEFAULT_LOCATION = "Main Warehouse";
+
+    private final DeviceStockLocationRepository stockLocationRepository;
+
+    /**
+     * Quantity taken from, or put into, one location
+     */
+    public record LocationQuantity(String warehouseLocation, int quantity) {
+    }
+
+    /**
+     * The given location trimmed, else the default location, else {@value #DEFAULT_LOCATION}
+     */
+    public static String resolve(String location, String defaultLocation) {
+        if (location != null && !location.isBlank()) {
+            return location.trim();
+        }
+        if (defaultLocation != null && !defaultLocation.isBlank()) {
+            return defaultLocation.trim();
+        }
+        return DEFAULT_LOCATION;
+    }
+
+    /**
+     * Put stock at a location
+     */
+    public LocationQuantity add(Long deviceId, String location, String defaultLocation, int quantity) {
+        String target = resolve(location, defaultLocation);
+        stockLocationRepository.addStock(deviceId, target, quantity);
+        return new LocationQuantity(target, quantity);
+    }
+
+    /**
+     * Take stock from the named location, or spread over the device's locations when none is named
+     *
+     * @throws BusinessException when the named location holds less than requested
+     */
+    public List<LocationQuantity> take(Long deviceId, String location, String defaultLocation, int quantity) {
+        if (location != null && !location.isBlank()) {
+            String source = location.trim();
+            if (stockLocationRepository.takeStockIfAvailable(deviceId, source, quantity).isEmpty()) {
+                int available = stockLocationRepository.findQuantity(deviceId, source).orElse(0);
+                throw new BusinessException("Insufficient stock for device " + deviceId + " at " + source
+                        + ". Available: " + available + ", Requested: " + quantity);
+            }
+            return List.of(new LocationQuantity(source, quantity));
+        }
+
+        String primary = resolve(null, defaultLocation);
+        List<DeviceLocationStockView> stocked = new ArrayList<>(stockLocationRepository.findStockByDeviceId(deviceId));
+        stocked.sort(Comparator.comparing((DeviceLocationStockView stock) -> !stock.getWarehouseLocation().equals(primary))
+                .thenComparing(DeviceLocationStockView::getQuantityInStock, Comparator.reverseOrder()));
+
+        List<LocationQuantity> taken = new ArrayList<>();
+        int remaining = quantity;
+        for (DeviceLocationStockView stock : stocked) {
+            if (remaining == 0) {
+                break;
+            }
+            int portion = Math.min(remaining, stock.getQuantityInStock());
+            stockLocationRepository.takeStockIfAvailable(deviceId, stock.getWarehouseLocation(), portion)
+                    .orElseThrow(() -> locationsOutOfStep(deviceId));
+            taken.add(new LocationQuantity(stock.getWarehouseLocation(), portion));
+            remaining -= portion;
+        }
+        if (remaining > 0) {
+            throw locationsOutOfStep(deviceId);
+        }
+        return taken;
+    }
+
+    private BusinessException locationsOutOfStep(Long deviceId) {
+        log.error("Location stock of device {} does not add up to its total", deviceId);
+        return new BusinessException("Warehouse stock of device " + deviceId
+                + " does not match its total, adjust it per location", HttpStatus.CONFLICT);
+    }
+}
@@ -75,20 +75,31 @@ public class JwtUtil {
     }
 
     public Long extractUserId(String token) {
+        return extractLongClaim(token, "userId");
+    }
+
+    /**
+     * Customer ID embedded by the auth service at login, or null for staff and older tokens
+     */
+    public Long extractCustomerId(String token) {
+        return extractLongClaim(token, "customerId");
+    }
+
+    private Long extractLongClaim(String token, String name) {
         Claims claims = extractAllClaims(token);
-        Object userIdObj = claims.get("userId");
+        Object value = claims.get(name);
         
-        if (userIdObj == null) {
+        if (value == null) {
             return null;
         }
         
-        if (userIdObj instanceof Number) {
-            return ((Number) userIdObj).longValue();
-        } else if (userIdObj instanceof String) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value instanceof String) {
             try {
-                return Long.parseLong((String) userIdObj);
+                return Long.parseLong((String) value);
             } catch (NumberFormatException e) {
-                log.error("Cannot parse userId from String: {}", userIdObj, e);
+                log.error("Cannot parse {} from String: {}", name, value, e);
                 return null;
             }
         }
@@ -0,0 +1,136 @@
+package com.g47.cem.cemdevice.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.CatalogPageDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.SparePartDto;
+
+@ExtendWith(MockitoExtension.class)
+class SparePartCatalogTest {
+
+    @Mock
+    private SparePartIntegrationService sparePartIntegrationService;
+
+    @Test
+    void testGetCatalog_ShouldServeLookupsFromMemory() {
+        // Arrange
+        SparePartCatalog catalog = new SparePartCatalog(sparePartIntegrationService, 300, 100, 2);
+        when(sparePartIntegrationService.fetchSparePartPage(0, 2, null, null))
+                .thenReturn(page("\"p0\"", 2, part(1L, "Filter"), part(2L, "Belt")));
+        when(sparePartIntegrationService.fetchSparePartPage(1, 2, null, null))
+                .thenReturn(page("\"p1\"", 2, part(3L, "Valve")));
+
+        // Act
+        List<SparePartDto> parts = catalog.getCatalog(null);
+        Optional<SparePartDto> belt = catalog.get(2L, null);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), parts.stream().map(SparePartDto::getId).toList());
+        assertEquals("Belt", belt.orElseThrow().getPartName());
+        verify(sparePartIntegrationService, never()).getSparePartById(anyLong(), any());
+    }
+
+    @Test
+    void testGetCatalog_AfterTtl_ShouldRevalidateWithEtag() {
+        // Arrange - zero TTL forces revalidation on every read
+        SparePartCatalog catalog = new SparePartCatalog(sparePartIntegrationService, 0, 100, 2);
+        when(sparePartIntegrationService.fetchSparePartPage(0, 2, null, null))
+                .thenReturn(page("\"p0\"", 1, part(1L, "Filter")));
+        CatalogPageDto notModified = new CatalogPageDto();
+        notModified.setNotModified(true);
+        notModified.setEtag("\"p0\"");
+        when(sparePartIntegrationService.fetchSparePartPage(0, 2, "\"p0\"", null)).thenReturn(notModified);
+
+        // Act
+        catalog.getCatalog(null);
+        List<SparePartDto> revalidated = catalog.getCatalog(null);
+
+        // Assert
+        assertEquals(1, revalidated.size());
+        assertEquals("Filter", revalidated.get(0).getPartName());
+        verify(sparePartIntegrationService, times(1)).fetchSparePartPage(0, 2, null, null);
+        verify(sparePartIntegrationService, times(1)).fetchSparePartPage(0, 2, "\"p0\"", null);
+    }
+
+    @Test
+    void testGet_WhenServiceUnavailable_ShouldServeExpiredEntry() {
+        // Arrange
+        SparePartCatalog catalog = new SparePartCatalog(sparePartIntegrationService, 0, 100, 2);
+        when(sparePartIntegrationService.getSparePartById(5L, "token"))
+                .thenReturn(Optional.of(part(5L, "Gasket")))
+                .thenReturn(Optional.empty());
+
+        // Act
+        catalog.get(5L, "token");
+        Optional<SparePartDto> stale = catalog.get(5L, "token");
+
+        // Assert
+        assertEquals("Gasket", stale.orElseThrow().getPartName());
+    }
+
+    @Test
+    void testEvictAndGet_DuringRefresh_ShouldNotWaitForFetch() throws Exception {
+        // Arrange - the page fetch blocks until released
+        SparePartCatalog catalog = new SparePartCatalog(sparePartIntegrationService, 300, 100, 2);
+        when(sparePartIntegrationService.getSparePartById(5L, null)).thenReturn(Optional.of(part(5L, "Gasket")));
+        catalog.get(5L, null);
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(sparePartIntegrationService.fetchSparePartPage(0, 2, null, null)).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            releaseFetch.await(5, TimeUnit.SECONDS);
+            return page("\"p0\"", 1, part(1L, "Filter"));
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            Future<List<SparePartDto>> refresh = executor.submit(() -> catalog.getCatalog(null));
+            assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+            // Assert - lookups and eviction go through while the fetch is still in flight
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                assertEquals("Gasket", catalog.get(5L, null).orElseThrow().getPartName());
+                catalog.evict(5L);
+                catalog.invalidate();
+            });
+            releaseFetch.countDown();
+            assertEquals(List.of(1L), refresh.get(5, TimeUnit.SECONDS).stream().map(SparePartDto::getId).toList());
+        } finally {
+            releaseFetch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private CatalogPageDto page(String etag, int totalPages, SparePartDto... parts) {
+        CatalogPageDto page = new CatalogPageDto();
+        page.setEtag(etag);
+        page.setContent(List.of(parts));
+        page.setTotalPages(totalPages);
+        page.setTotalElements(3);
+        return page;
+    }
+
+    private SparePartDto part(Long id, String name) {
+        SparePartDto part = new SparePartDto();
+        part.setId(id);
+        part.setPartName(name);
+        return part;
+    }
+}
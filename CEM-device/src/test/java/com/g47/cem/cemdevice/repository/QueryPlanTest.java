@@ -0,0 +1,108 @@
+package com.g47.cem.cemdevice.repository;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.g47.cem.cemdevice.enums.CustomerDeviceStatus;
+import com.g47.cem.cemdevice.enums.InventoryItemType;
+import com.g47.cem.cemdevice.enums.InventoryTransactionType;
+import com.g47.cem.cemdevice.enums.ServiceRequestStatus;
+import com.g47.cem.cemdevice.enums.TaskStatus;
+import com.g47.cem.testsupport.QueryPlanRecorder;
+
+/**
+ * Runs the hot repository queries and fails when any SQL that Hibernate sends for them needs a
+ * sequential scan (see {@link QueryPlanRecorder}). Table size does not matter and an empty
+ * database works.
+ * <p>
+ * Needs a PostgreSQL database with the migrations applied, e.g. one the services have been
+ * started against once; nothing is written to it. Set CEM_EXPLAIN_DB_URL (and
+ * CEM_EXPLAIN_DB_USERNAME, CEM_EXPLAIN_DB_PASSWORD) to run it; otherwise it is skipped.
+ */
+@EnabledIfEnvironmentVariable(named = "CEM_EXPLAIN_DB_URL", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${CEM_EXPLAIN_DB_URL}",
+        "spring.datasource.username=${CEM_EXPLAIN_DB_USERNAME:}",
+        "spring.datasource.password=${CEM_EXPLAIN_DB_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanRecorder.class)
+class QueryPlanTest {
+
+    private static final Pageable NEWEST_FIRST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private QueryPlanRecorder queryPlans;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Autowired
+    private CustomerDeviceRepository customerDeviceRepository;
+
+    @Autowired
+    private InventoryTransactionRepository inventoryTransactionRepository;
+
+    @Test
+    void testFindByAssignedTechnicianIdAndStatus_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> taskRepository.findByAssignedTechnicianIdAndStatus(
+                1L, TaskStatus.ASSIGNED, NEWEST_FIRST));
+    }
+
+    @Test
+    void testFindOverdueTasks_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> taskRepository.findOverdueTasks(LocalDateTime.now()));
+    }
+
+    @Test
+    void testCountOpenTasksByTechnician_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> taskRepository.countOpenTasksByTechnician());
+    }
+
+    @Test
+    void testFindTasksAvailableForAssignment_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> taskRepository.findTasksAvailableForAssignment());
+    }
+
+    @Test
+    void testFindServiceRequestListViews_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> serviceRequestRepository.findListViews(
+                1L, null, ServiceRequestStatus.PENDING, null, null, NEWEST_FIRST));
+    }
+
+    @Test
+    void testFindCustomerDevicesByCustomerIdAndStatus_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> customerDeviceRepository.findByCustomerIdAndStatus(
+                1L, CustomerDeviceStatus.ACTIVE, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void testFindTop10ByOrderByCreatedAtDesc_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> inventoryTransactionRepository.findTop10ByOrderByCreatedAtDesc());
+    }
+
+    @Test
+    void testFindByReferenceTypeAndReferenceId_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> inventoryTransactionRepository.findByReferenceTypeAndReferenceId(
+                "TASK", 1L));
+    }
+
+    @Test
+    void testSumQuantityByItemAndType_ShouldNotUseSequentialScan() {
+        queryPlans.assertNoSequentialScan(() -> inventoryTransactionRepository.sumQuantityByItemAndType(
+                InventoryItemType.SPARE_PART, 1L, InventoryTransactionType.IMPORT));
+    }
+}
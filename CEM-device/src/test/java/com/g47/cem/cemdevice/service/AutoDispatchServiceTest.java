@@ -0,0 +1,116 @@
+package com.g47.cem.cemdevice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemdevice.dto.response.AutoDispatchResponse;
+import com.g47.cem.cemdevice.entity.Task;
+import com.g47.cem.cemdevice.entity.TechnicianProfile;
+import com.g47.cem.cemdevice.enums.TaskPriority;
+import com.g47.cem.cemdevice.enums.TaskStatus;
+import com.g47.cem.cemdevice.enums.TaskType;
+import com.g47.cem.cemdevice.repository.TaskRepository;
+import com.g47.cem.cemdevice.repository.TechnicianProfileRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AutoDispatchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TechnicianProfileRepository technicianProfileRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private AutoDispatchService autoDispatchService;
+
+    @Test
+    void testDispatch_ShouldServeHighestPriorityFirstWithinCapacity() {
+        // Arrange - one technician with room for a single task, working every day
+        TechnicianProfile technician = TechnicianProfile.builder()
+                .userId(10L)
+                .location("Downtown Office")
+                .skills("Electrical, Repair")
+                .maxConcurrentTasks(1)
+                .workingDays("MON,TUE,WED,THU,FRI,SAT,SUN")
+                .workingHoursStart(LocalTime.of(0, 0))
+                .workingHoursEnd(LocalTime.of(23, 59))
+                .build();
+        Task normal = task(1L, TaskPriority.NORMAL, LocalDateTime.now().minusHours(2));
+        Task critical = task(2L, TaskPriority.CRITICAL, LocalDateTime.now().minusHours(1));
+
+        when(taskRepository.findTasksAvailableForAssignment()).thenReturn(List.of(normal, critical));
+        when(taskRepository.countOpenTasksByTechnician()).thenReturn(List.of());
+        when(technicianProfileRepository.findByIsActiveTrue()).thenReturn(List.of(technician));
+
+        // Act
+        AutoDispatchResponse result = autoDispatchService.dispatch(false, null, "lead");
+
+        // Assert
+        assertEquals(2, result.getPendingTasks());
+        assertEquals(1, result.getAssignedCount());
+        assertEquals(2L, result.getAssignments().get(0).getTaskId());
+        assertTrue(result.getAssignments().get(0).isSkillMatch());
+        assertEquals(List.of(1L), result.getUnassignedTaskIds());
+        verify(taskService, never()).assignTask(anyLong(), any(), anyString());
+    }
+
+    @Test
+    void testDispatch_WithApply_ShouldAssignThroughTaskService() {
+        // Arrange - technician who does not work on the task's scheduled day gets nothing
+        TechnicianProfile weekdayTechnician = TechnicianProfile.builder()
+                .userId(20L)
+                .maxConcurrentTasks(5)
+                .workingDays("MON")
+                .build();
+        TechnicianProfile anyDayTechnician = TechnicianProfile.builder()
+                .userId(30L)
+                .maxConcurrentTasks(5)
+                .workingDays("MON,TUE,WED,THU,FRI,SAT,SUN")
+                .build();
+        Task task = task(3L, TaskPriority.HIGH, LocalDateTime.now());
+        task.setScheduledDate(LocalDateTime.of(2026, 10, 20, 10, 0)); // Tuesday
+
+        when(taskRepository.findTasksAvailableForAssignment()).thenReturn(List.of(task));
+        when(taskRepository.countOpenTasksByTechnician()).thenReturn(List.of());
+        when(technicianProfileRepository.findByIsActiveTrue()).thenReturn(List.of(weekdayTechnician, anyDayTechnician));
+
+        // Act
+        AutoDispatchResponse result = autoDispatchService.dispatch(true, null, "lead");
+
+        // Assert
+        assertEquals(1, result.getAssignedCount());
+        assertEquals(30L, result.getAssignments().get(0).getTechnicianId());
+        verify(taskService, times(1)).assignTask(eq(3L), argThat(request ->
+                request.getTechnicianId().equals(30L) && task.getScheduledDate().equals(request.getScheduledDate())), eq("lead"));
+    }
+
+    private Task task(Long id, TaskPriority priority, LocalDateTime createdAt) {
+        return Task.builder()
+                .id(id)
+                .taskId("TSK-" + id)
+                .title("Task " + id)
+                .description("Description")
+                .type(TaskType.EMERGENCY_REPAIR)
+                .status(TaskStatus.PENDING)
+                .priority(priority)
+                .serviceLocation("Customer site")
+                .createdAt(createdAt)
+                .createdBy("support")
+                .build();
+    }
+}
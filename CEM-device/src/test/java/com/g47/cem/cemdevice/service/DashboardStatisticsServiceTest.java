@@ -0,0 +1,62 @@
+package com.g47.cem.cemdevice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemdevice.dto.response.TaskStatisticsResponse;
+import com.g47.cem.cemdevice.repository.ServiceRequestRepository;
+import com.g47.cem.cemdevice.repository.TaskRepository;
+import com.g47.cem.cemdevice.repository.projection.TaskStatisticsView;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStatisticsServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ServiceRequestRepository serviceRequestRepository;
+
+    @Mock
+    private TaskStatisticsView taskStatisticsView;
+
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardStatisticsService = new DashboardStatisticsService(taskRepository, serviceRequestRepository, 60);
+        when(taskStatisticsView.getTotalTasks()).thenReturn(4L);
+        when(taskStatisticsView.getCompletedTasks()).thenReturn(1L);
+        when(taskRepository.getTaskStatistics(any())).thenReturn(taskStatisticsView);
+    }
+
+    @Test
+    void testGetTaskStatistics_ShouldServeRepeatedReadsFromCache() {
+        // Act
+        TaskStatisticsResponse first = dashboardStatisticsService.getTaskStatistics();
+        TaskStatisticsResponse second = dashboardStatisticsService.getTaskStatistics();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(25.0, first.getCompletionRate());
+        verify(taskRepository, times(1)).getTaskStatistics(any());
+    }
+
+    @Test
+    void testEvictTaskStatistics_ShouldRecomputeOnNextRead() {
+        // Act
+        dashboardStatisticsService.getTaskStatistics();
+        dashboardStatisticsService.evictTaskStatistics();
+        dashboardStatisticsService.getTaskStatistics();
+
+        // Assert
+        verify(taskRepository, times(2)).getTaskStatistics(any());
+    }
+}
@@ -0,0 +1,66 @@
+package com.g47.cem.cemdevice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemdevice.enums.ServiceRequestType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@ExtendWith(MockitoExtension.class)
+class IdAllocatorTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query query;
+
+    private IdAllocator idAllocator;
+
+    @BeforeEach
+    void setUp() {
+        idAllocator = new IdAllocator(entityManager);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+    }
+
+    @Test
+    void testNext_ShouldServeWholeBlockFromSingleSequenceCall() {
+        // Arrange
+        when(query.getSingleResult()).thenReturn(1L, 51L);
+
+        // Act
+        for (int i = 0; i < IdAllocator.BLOCK_SIZE; i++) {
+            assertEquals(1L + i, idAllocator.next(IdAllocator.TASK_SEQUENCE));
+        }
+        long firstOfNextBlock = idAllocator.next(IdAllocator.TASK_SEQUENCE);
+
+        // Assert
+        assertEquals(51L, firstOfNextBlock);
+        verify(query, times(2)).getSingleResult();
+    }
+
+    @Test
+    void testIdFormats_ShouldKeepExistingPatterns() {
+        // Arrange
+        when(query.getSingleResult()).thenReturn(7L);
+
+        // Act
+        String taskId = idAllocator.nextTaskId();
+        String maintenanceId = idAllocator.nextServiceRequestId(ServiceRequestType.MAINTENANCE);
+        String warrantyId = idAllocator.nextServiceRequestId(ServiceRequestType.WARRANTY);
+
+        // Assert
+        assertTrue(taskId.matches("TSK-\\d{14}-0007"), taskId);
+        assertTrue(maintenanceId.matches("MNT\\d{14}0007"), maintenanceId);
+        assertTrue(warrantyId.matches("WAR\\d{14}0008"), warrantyId);
+    }
+}
@@ -0,0 +1,153 @@
+package com.g47.cem.cemdevice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemdevice.dto.request.ExportRequest;
+import com.g47.cem.cemdevice.entity.SparePartExport;
+import com.g47.cem.cemdevice.enums.InventoryItemType;
+import com.g47.cem.cemdevice.exception.BusinessException;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.ReservationLineDto;
+import com.g47.cem.cemdevice.integration.SparePartIntegrationService.StockReservationDto;
+import com.g47.cem.cemdevice.repository.SparePartExportRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SparePartExportSagaTest {
+
+    @Mock
+    private SparePartIntegrationService sparePartIntegrationService;
+
+    @Mock
+    private SparePartExportRepository sparePartExportRepository;
+
+    @InjectMocks
+    private SparePartExportSaga sparePartExportSaga;
+
+    private ExportRequest request;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+        request = ExportRequest.builder()
+                .itemType(InventoryItemType.SPARE_PART)
+                .referenceType("TASK")
+                .referenceId(7L)
+                .idempotencyKey("EXPORT-TASK-7")
+                .items(List.of(ExportRequest.ExportItem.builder().itemId(5L).quantity(2).build()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testReserve_ShouldConfirmAfterCommit() {
+        // Arrange
+        when(sparePartIntegrationService.reserveStock(eq("EXPORT-TASK-7"), anyList(), eq("TASK:7"), eq("token")))
+                .thenReturn(reservation("RESERVED"));
+
+        // Act
+        Map<Long, String> names = sparePartExportSaga.reserve(request, "TASK:7", "token");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertEquals("Filter", names.get(5L));
+        verify(sparePartIntegrationService).confirmReservation("EXPORT-TASK-7", "token");
+        verify(sparePartIntegrationService, never()).releaseReservation(anyString(), anyString());
+    }
+
+    @Test
+    void testReserve_ShouldReleaseAfterRollback() {
+        // Arrange
+        when(sparePartIntegrationService.reserveStock(anyString(), anyList(), anyString(), anyString()))
+                .thenReturn(reservation("RESERVED"));
+
+        // Act
+        sparePartExportSaga.reserve(request, "TASK:7", "token");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        verify(sparePartIntegrationService).releaseReservation("EXPORT-TASK-7", "token");
+        verify(sparePartIntegrationService, never()).confirmReservation(anyString(), anyString());
+    }
+
+    @Test
+    void testReserve_WithAlreadyConfirmedKey_ShouldRejectReplay() {
+        // Arrange
+        when(sparePartIntegrationService.reserveStock(anyString(), anyList(), anyString(), anyString()))
+                .thenReturn(reservation("CONFIRMED"));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> sparePartExportSaga.reserve(request, "TASK:7", "token"));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void testReserve_WithClaimedKey_ShouldRejectBeforeReserving() {
+        // Arrange
+        when(sparePartExportRepository.saveAndFlush(any(SparePartExport.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_spare_part_exports_reservation_key"));
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> sparePartExportSaga.reserve(request, "TASK:7", "token"));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(sparePartIntegrationService, never()).reserveStock(anyString(), anyList(), anyString(), anyString());
+    }
+
+    @Test
+    void testReserve_ShouldClaimKeyBeforeReserving() {
+        // Arrange
+        when(sparePartIntegrationService.reserveStock(anyString(), anyList(), anyString(), anyString()))
+                .thenReturn(reservation("RESERVED"));
+
+        // Act
+        sparePartExportSaga.reserve(request, "TASK:7", "token");
+
+        // Assert
+        ArgumentCaptor<SparePartExport> claimed = ArgumentCaptor.forClass(SparePartExport.class);
+        InOrder inOrder = inOrder(sparePartExportRepository, sparePartIntegrationService);
+        inOrder.verify(sparePartExportRepository).saveAndFlush(claimed.capture());
+        inOrder.verify(sparePartIntegrationService).reserveStock(anyString(), anyList(), anyString(), anyString());
+        assertEquals("EXPORT-TASK-7", claimed.getValue().getReservationKey());
+        assertEquals(SparePartExport.STATUS_EXPORTED, claimed.getValue().getStatus());
+    }
+
+    private void completeTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+
+    private StockReservationDto reservation(String status) {
+        ReservationLineDto line = new ReservationLineDto();
+        line.setSparePartId(5L);
+        line.setSparePartName("Filter");
+        line.setQuantity(2);
+
+        StockReservationDto reservation = new StockReservationDto();
+        reservation.setReservationKey("EXPORT-TASK-7");
+        reservation.setStatus(status);
+        reservation.setItems(List.of(line));
+        return reservation;
+    }
+}
@@ -0,0 +1,108 @@
+package com.g47.cem.cemdevice.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemdevice.entity.Device;
+import com.g47.cem.cemdevice.entity.DeviceInventory;
+import com.g47.cem.cemdevice.entity.StockAlert;
+import com.g47.cem.cemdevice.enums.StockAlertType;
+import com.g47.cem.cemdevice.repository.StockAlertRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertTrackerTest {
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
+    @Mock
+    private StockAlertStream stockAlertStream;
+
+    @InjectMocks
+    private StockAlertTracker stockAlertTracker;
+
+    @Test
+    void testReconcile_WithMissingAlert_ShouldRaiseFromStoredLevel() {
+        // Arrange: the device is short but no alert was ever recorded for it
+        when(stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_DEVICE, 9L)).thenReturn(List.of());
+
+        // Act
+        stockAlertTracker.reconcile(inventory(3, 5, null));
+
+        // Assert
+        verify(stockAlertRepository).raise(StockAlert.ITEM_TYPE_DEVICE, 9L, "LOW_STOCK", 3, 5);
+        verify(stockAlertStream).publish(anyList());
+    }
+
+    @Test
+    void testReconcile_AfterThresholdLowered_ShouldClearStaleAlert() {
+        // Arrange
+        when(stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_DEVICE, 9L))
+                .thenReturn(List.of(alert(StockAlertType.LOW_STOCK)));
+
+        // Act
+        stockAlertTracker.reconcile(inventory(3, 2, null));
+
+        // Assert
+        verify(stockAlertRepository).clear(StockAlert.ITEM_TYPE_DEVICE, 9L, Set.of(StockAlertType.LOW_STOCK));
+        verify(stockAlertRepository, never()).raise(anyString(), anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testReconcile_WhenAlertsMatch_ShouldNotWrite() {
+        // Arrange
+        when(stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_DEVICE, 9L))
+                .thenReturn(List.of(alert(StockAlertType.REORDER)));
+
+        // Act
+        stockAlertTracker.reconcile(inventory(8, 5, 10));
+
+        // Assert
+        verify(stockAlertRepository, never()).raise(anyString(), anyLong(), anyString(), anyInt(), anyInt());
+        verify(stockAlertRepository, never()).clear(anyString(), anyLong(), any());
+        verifyNoInteractions(stockAlertStream);
+    }
+
+    @Test
+    void testClearAll_ShouldClearOpenAlerts() {
+        // Arrange
+        when(stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_DEVICE, 9L))
+                .thenReturn(List.of(alert(StockAlertType.OUT_OF_STOCK), alert(StockAlertType.LOW_STOCK)));
+
+        // Act
+        stockAlertTracker.clearAll(9L);
+
+        // Assert
+        verify(stockAlertRepository).clear(StockAlert.ITEM_TYPE_DEVICE, 9L,
+                Set.of(StockAlertType.OUT_OF_STOCK, StockAlertType.LOW_STOCK));
+    }
+
+    private DeviceInventory inventory(int quantity, Integer minimum, Integer reorderPoint) {
+        Device device = new Device();
+        device.setId(9L);
+        return DeviceInventory.builder()
+                .id(1L)
+                .device(device)
+                .quantityInStock(quantity)
+                .minimumStockLevel(minimum)
+                .reorderPoint(reorderPoint)
+                .build();
+    }
+
+    private StockAlert alert(StockAlertType type) {
+        return StockAlert.builder()
+                .itemType(StockAlert.ITEM_TYPE_DEVICE)
+                .itemId(9L)
+                .alertType(type)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.g47.cem.cemdevice.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemdevice.exception.BusinessException;
+import com.g47.cem.cemdevice.repository.DeviceStockLocationRepository;
+import com.g47.cem.cemdevice.repository.projection.DeviceLocationStockView;
+import com.g47.cem.cemdevice.service.WarehouseStockService.LocationQuantity;
+
+@ExtendWith(MockitoExtension.class)
+class WarehouseStockServiceTest {
+
+    @Mock
+    private DeviceStockLocationRepository stockLocationRepository;
+
+    @InjectMocks
+    private WarehouseStockService warehouseStockService;
+
+    @Test
+    void testTake_WithoutLocation_ShouldDrawFromDefaultLocationFirst() {
+        // Arrange
+        when(stockLocationRepository.findStockByDeviceId(1L)).thenReturn(List.of(
+                stock("Annex", 8), stock("Main", 3), stock("Depot", 2)));
+        when(stockLocationRepository.takeStockIfAvailable(eq(1L), anyString(), anyInt())).thenReturn(Optional.of(0));
+
+        // Act
+        List<LocationQuantity> taken = warehouseStockService.take(1L, null, "Main", 6);
+
+        // Assert
+        assertEquals(List.of(new LocationQuantity("Main", 3), new LocationQuantity("Annex", 3)), taken);
+        verify(stockLocationRepository, never()).takeStockIfAvailable(1L, "Depot", 2);
+    }
+
+    @Test
+    void testTake_FromShortLocation_ShouldReject() {
+        // Arrange
+        when(stockLocationRepository.takeStockIfAvailable(1L, "Depot", 5)).thenReturn(Optional.empty());
+        when(stockLocationRepository.findQuantity(1L, "Depot")).thenReturn(Optional.of(2));
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> warehouseStockService.take(1L, " Depot ", "Main", 5));
+        assertTrue(exception.getMessage().contains("Available: 2"));
+    }
+
+    @Test
+    void testAdd_WithoutLocation_ShouldUseDefaultLocation() {
+        // Act
+        LocationQuantity added = warehouseStockService.add(1L, "  ", null, 4);
+
+        // Assert
+        assertEquals(WarehouseStockService.DEFAULT_LOCATION, added.warehouseLocation());
+        verify(stockLocationRepository).addStock(1L, WarehouseStockService.DEFAULT_LOCATION, 4);
+    }
+
+    private DeviceLocationStockView stock(String location, int quantity) {
+        return new DeviceLocationStockView() {
+            public Long getDeviceId() { return 1L; }
+            public String getDeviceName() { return "Printer"; }
+            public String getDeviceModel() { return "P-100"; }
+            public String getWarehouseLocation() { return location; }
+            public Integer getQuantityInStock() { return quantity; }
+            public LocalDateTime getUpdatedAt() { return null; }
+        };
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -23,6 +24,18 @@ public class ApplicationConfig {
         return mapper;
     }
 
+    /**
+     * ETags on catalog reads, so clients holding a copy can revalidate with If-None-Match
+     * and get a bodiless 304 when the data did not change
+     */
+    @Bean
+    public FilterRegistrationBean<CatalogEtagFilter> catalogEtagFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<CatalogEtagFilter> registration = new FilterRegistrationBean<>(new CatalogEtagFilter(objectMapper));
+        registration.addUrlPatterns("/spare-parts", "/spare-parts/*");
+        registration.setName("catalogEtagFilter");
+        return registration;
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -0,0 +1,50 @@
+package com.g47.cem.cemspareparts.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Shallow ETag filter for catalog reads that hashes only the {@code data} of the {@link
+ * com.g47.cem.cemspareparts.dto.response.ApiResponse} envelope. The envelope carries a per-response
+ * timestamp, so hashing the whole body would give every response a new ETag and never a 304.
+ * Bodies that are not an envelope are hashed whole, as the plain filter does.
+ */
+public class CatalogEtagFilter extends ShallowEtagHeaderFilter {
+
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+
+    public CatalogEtagFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected String generateETagHeaderValue(InputStream inputStream, boolean isWeak) throws IOException {
+        byte[] body = inputStream.readAllBytes();
+        byte[] content = body;
+        try {
+            JsonNode envelope = objectMapper.readTree(body);
+            if (envelope != null && envelope.has(DATA_FIELD)) {
+                content = objectMapper.writeValueAsBytes(envelope.get(DATA_FIELD));
+            }
+        } catch (IOException e) {
+            // Not JSON: hash the raw body
+        }
+
+        StringBuilder builder = new StringBuilder(37);
+        if (isWeak) {
+            builder.append("W/");
+        }
+        builder.append("\"0");
+        DigestUtils.appendMd5DigestAsHex(content, builder);
+        builder.append('"');
+        return builder.toString();
+    }
+}
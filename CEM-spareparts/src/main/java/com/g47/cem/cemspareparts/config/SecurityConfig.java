@@ -13,6 +13,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -39,6 +40,9 @@ public class SecurityConfig {
                 // Permit configured endpoints
                 permitAllEndpoints.forEach(endpoint -> authz.requestMatchers(endpoint.trim()).permitAll());
 
+                // Async dispatches (server-sent event streams) were authorized on the original request
+                authz.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
+
                 // All other requests require authentication
                 authz.anyRequest().authenticated();
             })
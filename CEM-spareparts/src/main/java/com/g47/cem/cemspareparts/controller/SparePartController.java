@@ -1,5 +1,7 @@
 package com.g47.cem.cemspareparts.controller;
 
+import java.util.List;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,7 +19,9 @@ import com.g47.cem.cemspareparts.dto.request.UpdateSparePartRequest;
 import com.g47.cem.cemspareparts.dto.response.ApiResponse;
 import com.g47.cem.cemspareparts.dto.response.PagedResponse;
 import com.g47.cem.cemspareparts.dto.response.SparePartResponse;
+import com.g47.cem.cemspareparts.dto.response.SuggestionResponse;
 import com.g47.cem.cemspareparts.service.SparePartService;
+import com.g47.cem.cemspareparts.service.SuggestionService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,6 +35,7 @@ import lombok.RequiredArgsConstructor;
 public class SparePartController {
 
     private final SparePartService sparePartService;
+    private final SuggestionService suggestionService;
 
     @PostMapping
     @Operation(summary = "Create a new spare part")
@@ -40,6 +45,16 @@ public class SparePartController {
                 .body(ApiResponse.success(response, "Spare part created successfully"));
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest spare parts by name, code or compatible device as the user types")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+        List<SuggestionResponse> response = suggestionService.suggestSpareParts(q, limit, includeInactive);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get spare part by ID")
     public ResponseEntity<ApiResponse<SparePartResponse>> getSparePartById(@PathVariable Long id) {
@@ -1,7 +1,11 @@
 package com.g47.cem.cemspareparts.controller;
 
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,13 +17,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.g47.cem.cemspareparts.dto.request.BatchStockRequest;
 import com.g47.cem.cemspareparts.dto.request.CreateSparePartInventoryRequest;
+import com.g47.cem.cemspareparts.dto.request.StockTransferRequest;
 import com.g47.cem.cemspareparts.dto.request.UpdateSparePartInventoryRequest;
 import com.g47.cem.cemspareparts.dto.response.ApiResponse;
+import com.g47.cem.cemspareparts.dto.response.BatchStockResponse;
 import com.g47.cem.cemspareparts.dto.response.PagedResponse;
 import com.g47.cem.cemspareparts.dto.response.SparePartInventoryResponse;
+import com.g47.cem.cemspareparts.dto.response.StockAlertResponse;
+import com.g47.cem.cemspareparts.dto.response.StockMovementResponse;
+import com.g47.cem.cemspareparts.dto.response.WarehouseStockResponse;
+import com.g47.cem.cemspareparts.dto.response.WarehouseSummaryResponse;
+import com.g47.cem.cemspareparts.enums.StockAlertType;
 import com.g47.cem.cemspareparts.service.SparePartInventoryService;
+import com.g47.cem.cemspareparts.service.StockAlertStream;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,6 +53,7 @@ import lombok.extern.slf4j.Slf4j;
 public class SparePartInventoryController {
     
     private final SparePartInventoryService sparePartInventoryService;
+    private final StockAlertStream stockAlertStream;
     
     @PostMapping
     @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
@@ -142,12 +157,58 @@ public class SparePartInventoryController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    @GetMapping("/alerts")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Get stock alerts", description = "Get open out-of-stock, low stock and reorder alerts (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<List<StockAlertResponse>>> getStockAlerts(
+            @Parameter(description = "Alert type filter") @RequestParam(required = false) StockAlertType alertType) {
+        List<StockAlertResponse> response = sparePartInventoryService.getStockAlerts(alertType);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping(value = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Stream stock alerts", description = "Server-sent events for stock alerts as they are raised or cleared (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public SseEmitter streamStockAlerts() {
+        return stockAlertStream.subscribe();
+    }
+    
     @GetMapping("/warehouse/{location}")
     @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
-    @Operation(summary = "Get inventory by warehouse location", description = "Get spare part inventory by warehouse location (Staff, Support Team, TechLead, Manager, Technician access required)")
-    public ResponseEntity<ApiResponse<List<SparePartInventoryResponse>>> getInventoryByWarehouseLocation(
-            @Parameter(description = "Warehouse location") @PathVariable String location) {
-        List<SparePartInventoryResponse> response = sparePartInventoryService.getInventoryByWarehouseLocation(location);
+    @Operation(summary = "Get stock by warehouse location", description = "Get the spare parts stocked at a warehouse location with their quantity there (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<PagedResponse<WarehouseStockResponse>>> getStockByWarehouseLocation(
+            @Parameter(description = "Warehouse location") @PathVariable String location,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<WarehouseStockResponse> response = sparePartInventoryService.getStockByWarehouseLocation(location, page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/warehouses")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Get warehouse summaries", description = "Get every warehouse location holding spare part stock with its item count and units (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<List<WarehouseSummaryResponse>>> getWarehouseSummaries() {
+        List<WarehouseSummaryResponse> response = sparePartInventoryService.getWarehouseSummaries();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/{sparePartId}/locations")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Get stock per location", description = "Get a spare part's stock at each warehouse location (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<List<WarehouseStockResponse>>> getStockLocations(
+            @Parameter(description = "Spare part ID") @PathVariable Long sparePartId) {
+        List<WarehouseStockResponse> response = sparePartInventoryService.getStockLocations(sparePartId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PostMapping("/{sparePartId}/transfer")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER')")
+    @Operation(summary = "Transfer stock between locations", description = "Move spare part stock from one warehouse location to another; the total is unchanged (Staff, Support Team, TechLead, Manager access required)")
+    public ResponseEntity<ApiResponse<List<WarehouseStockResponse>>> transferStock(
+            @Parameter(description = "Spare part ID") @PathVariable Long sparePartId,
+            @Valid @RequestBody StockTransferRequest request,
+            Principal principal) {
+        List<WarehouseStockResponse> response = sparePartInventoryService.transferStock(sparePartId, request, principal.getName());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
@@ -157,9 +218,11 @@ public class SparePartInventoryController {
     public ResponseEntity<ApiResponse<SparePartInventoryResponse>> addStock(
             @Parameter(description = "Spare part ID") @PathVariable Long sparePartId,
             @Parameter(description = "Quantity to add") @RequestParam Integer quantity,
-            @Parameter(description = "Notes") @RequestParam(required = false) String notes) {
+            @Parameter(description = "Warehouse location, defaults to the part's location") @RequestParam(required = false) String warehouseLocation,
+            @Parameter(description = "Notes") @RequestParam(required = false) String notes,
+            Principal principal) {
         log.info("Adding {} units to spare part inventory for spare part ID: {}", quantity, sparePartId);
-        SparePartInventoryResponse response = sparePartInventoryService.addStock(sparePartId, quantity, notes);
+        SparePartInventoryResponse response = sparePartInventoryService.addStock(sparePartId, quantity, warehouseLocation, notes, principal.getName());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
@@ -169,12 +232,49 @@ public class SparePartInventoryController {
     public ResponseEntity<ApiResponse<SparePartInventoryResponse>> removeStock(
             @Parameter(description = "Spare part ID") @PathVariable Long sparePartId,
             @Parameter(description = "Quantity to remove") @RequestParam Integer quantity,
-            @Parameter(description = "Notes") @RequestParam(required = false) String notes) {
+            @Parameter(description = "Warehouse location, defaults to wherever the part is stocked") @RequestParam(required = false) String warehouseLocation,
+            @Parameter(description = "Notes") @RequestParam(required = false) String notes,
+            Principal principal) {
         log.info("Removing {} units from spare part inventory for spare part ID: {}", quantity, sparePartId);
-        SparePartInventoryResponse response = sparePartInventoryService.removeStock(sparePartId, quantity, notes);
+        SparePartInventoryResponse response = sparePartInventoryService.removeStock(sparePartId, quantity, warehouseLocation, notes, principal.getName());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PostMapping("/batch-stock")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Apply stock changes in batch", description = "Add or remove stock for several spare parts atomically; positive quantities add stock, negative quantities remove it (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<BatchStockResponse>> applyStockBatch(
+            @Valid @RequestBody BatchStockRequest request,
+            Principal principal) {
+        log.info("Applying batch of {} stock changes", request.getItems().size());
+        BatchStockResponse response = sparePartInventoryService.applyStockBatch(request, principal.getName());
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    @GetMapping("/{sparePartId}/movements")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Get stock movement history", description = "Get stock movements of a spare part within a time range, newest first (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<PagedResponse<StockMovementResponse>>> getStockMovements(
+            @Parameter(description = "Spare part ID") @PathVariable Long sparePartId,
+            @Parameter(description = "Range start (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end (exclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<StockMovementResponse> response = sparePartInventoryService
+                .getStockMovements(sparePartId, from, to, page, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/{sparePartId}/stock-level-at")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Get stock level at a point in time", description = "Get the stock level a spare part had at the given time (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<Integer>> getStockLevelAt(
+            @Parameter(description = "Spare part ID") @PathVariable Long sparePartId,
+            @Parameter(description = "Point in time") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        Integer stockLevel = sparePartInventoryService.getStockLevelAt(sparePartId, at);
+        return ResponseEntity.ok(ApiResponse.success(stockLevel));
+    }
+    
     @GetMapping("/{sparePartId}/stock-level")
     @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
     @Operation(summary = "Get current stock level", description = "Get current stock level for a spare part (Staff, Support Team, TechLead, Manager, Technician access required)")
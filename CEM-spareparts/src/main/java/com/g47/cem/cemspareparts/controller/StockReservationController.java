@@ -0,0 +1,76 @@
+package com.g47.cem.cemspareparts.controller;
+
+import java.security.Principal;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.g47.cem.cemspareparts.dto.request.StockReservationRequest;
+import com.g47.cem.cemspareparts.dto.response.ApiResponse;
+import com.g47.cem.cemspareparts.dto.response.StockReservationResponse;
+import com.g47.cem.cemspareparts.service.StockReservationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST controller for reserving spare part stock
+ */
+@RestController
+@RequestMapping("/api/v1/stock-reservations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Stock Reservations", description = "Idempotent reserve / confirm / release of spare part stock")
+public class StockReservationController {
+    
+    private final StockReservationService stockReservationService;
+    
+    @PostMapping
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Reserve stock", description = "Reserve stock for several spare parts under an idempotency key; repeating the key returns the existing reservation (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> reserve(
+            @Valid @RequestBody StockReservationRequest request,
+            Principal principal) {
+        log.info("Reserving stock under key: {}", request.getReservationKey());
+        StockReservationResponse response = stockReservationService.reserve(request, principal.getName());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PostMapping("/{reservationKey}/confirm")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Confirm reservation", description = "Make a reservation's stock deduction final; idempotent (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> confirm(
+            @Parameter(description = "Reservation key") @PathVariable String reservationKey) {
+        StockReservationResponse response = stockReservationService.confirm(reservationKey);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PostMapping("/{reservationKey}/release")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Release reservation", description = "Return a reservation's stock; idempotent (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> release(
+            @Parameter(description = "Reservation key") @PathVariable String reservationKey,
+            Principal principal) {
+        StockReservationResponse response = stockReservationService.release(reservationKey, principal.getName());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/{reservationKey}")
+    @PreAuthorize("hasAnyAuthority('STAFF', 'SUPPORT_TEAM', 'LEAD_TECH', 'MANAGER', 'TECHNICIAN')")
+    @Operation(summary = "Get reservation", description = "Get a stock reservation by key (Staff, Support Team, TechLead, Manager, Technician access required)")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> getReservation(
+            @Parameter(description = "Reservation key") @PathVariable String reservationKey) {
+        StockReservationResponse response = stockReservationService.getReservation(reservationKey);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -19,8 +19,10 @@ import com.g47.cem.cemspareparts.dto.request.CreateSupplierRequest;
 import com.g47.cem.cemspareparts.dto.request.UpdateSupplierRequest;
 import com.g47.cem.cemspareparts.dto.response.ApiResponse;
 import com.g47.cem.cemspareparts.dto.response.PagedResponse;
+import com.g47.cem.cemspareparts.dto.response.SuggestionResponse;
 import com.g47.cem.cemspareparts.dto.response.SupplierResponse;
 import com.g47.cem.cemspareparts.enums.SupplierStatus;
+import com.g47.cem.cemspareparts.service.SuggestionService;
 import com.g47.cem.cemspareparts.service.SupplierService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +37,7 @@ import lombok.RequiredArgsConstructor;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final SuggestionService suggestionService;
 
     @PostMapping
     @Operation(summary = "Create a new supplier")
@@ -44,6 +47,16 @@ public class SupplierController {
                 .body(ApiResponse.success(response, "Supplier created successfully"));
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest suppliers by name as the user types")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+        List<SuggestionResponse> response = suggestionService.suggestSuppliers(q, limit, includeInactive);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get supplier by ID")
     public ResponseEntity<ApiResponse<SupplierResponse>> getSupplierById(@PathVariable Long id) {
@@ -1,5 +1,7 @@
 package com.g47.cem.cemspareparts.controller;
 
+import java.util.List;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,8 +15,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.g47.cem.cemspareparts.dto.request.CreateSupplierDeviceTypeRequest;
+import com.g47.cem.cemspareparts.dto.request.DeviceQuoteRequest;
 import com.g47.cem.cemspareparts.dto.request.UpdateSupplierDeviceTypeRequest;
 import com.g47.cem.cemspareparts.dto.response.ApiResponse;
+import com.g47.cem.cemspareparts.dto.response.DeviceQuoteResponse;
 import com.g47.cem.cemspareparts.dto.response.PagedResponse;
 import com.g47.cem.cemspareparts.dto.response.SupplierDeviceTypeResponse;
 import com.g47.cem.cemspareparts.service.SupplierDeviceTypeService;
@@ -95,6 +99,15 @@ public class SupplierDeviceTypeController {
         return ResponseEntity.ok(ApiResponse.success(response.toArray(new SupplierDeviceTypeResponse[0])));
     }
 
+    @PostMapping("/quotes")
+    @Operation(summary = "Quote several device types at once",
+            description = "Ranks active supplier offers per item by total cost for the quantity (raised to the supplier's minimum order quantity), then lead time")
+    public ResponseEntity<ApiResponse<List<DeviceQuoteResponse>>> quoteDevices(
+            @Valid @RequestBody DeviceQuoteRequest request) {
+        List<DeviceQuoteResponse> response = supplierDeviceTypeService.quoteDevices(request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/device-types")
     @Operation(summary = "Get distinct active device types")
     public ResponseEntity<ApiResponse<String[]>> getDistinctActiveDeviceTypes() {
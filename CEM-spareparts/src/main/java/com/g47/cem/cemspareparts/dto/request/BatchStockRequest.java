@@ -0,0 +1,49 @@
+package com.g47.cem.cemspareparts.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for applying several stock changes in one transaction
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockRequest {
+    
+    private String reference; // Originating document, e.g. goods receipt number
+    
+    private String notes;
+    
+    @Valid
+    @NotEmpty(message = "At least one stock change is required")
+    private List<StockDelta> items;
+    
+    /**
+     * Signed stock change for one spare part: positive adds stock, negative removes it
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockDelta {
+        
+        @NotNull(message = "Spare part ID is required")
+        private Long sparePartId;
+        
+        @NotNull(message = "Quantity is required")
+        private Integer quantity;
+        
+        private String warehouseLocation; // Defaults to the part's warehouse location
+        
+        private String notes;
+    }
+}
@@ -0,0 +1,51 @@
+package com.g47.cem.cemspareparts.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for quoting several device types from supplier offers at once
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceQuoteRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 200, message = "At most 200 items can be quoted at once")
+    private List<QuoteItem> items;
+
+    @Min(value = 1, message = "At least one offer per item must be returned")
+    private Integer maxOffersPerItem; // Defaults to app.sourcing.max-offers-per-item
+
+    /**
+     * One device type to buy, optionally narrowed to a model
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuoteItem {
+
+        @NotBlank(message = "Device type is required")
+        private String deviceType;
+
+        private String deviceModel; // Any model when empty
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+}
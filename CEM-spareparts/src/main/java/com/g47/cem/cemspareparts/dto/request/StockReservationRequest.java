@@ -0,0 +1,54 @@
+package com.g47.cem.cemspareparts.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for reserving spare part stock
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+    
+    @NotBlank(message = "Reservation key is required")
+    @Size(max = 100, message = "Reservation key must not exceed 100 characters")
+    private String reservationKey; // Idempotency key chosen by the caller
+    
+    @Size(max = 100, message = "Reference must not exceed 100 characters")
+    private String reference;
+    
+    private String notes;
+    
+    @Min(value = 1, message = "TTL must be positive")
+    private Integer ttlSeconds;
+    
+    @Valid
+    @NotEmpty(message = "At least one item must be reserved")
+    private List<Item> items;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        @NotNull(message = "Spare part ID is required")
+        private Long sparePartId;
+        
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be positive")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,36 @@
+package com.g47.cem.cemspareparts.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for moving spare part stock between warehouse locations
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTransferRequest {
+    
+    @NotBlank(message = "Source location is required")
+    @Size(max = 100, message = "Source location must not exceed 100 characters")
+    private String fromLocation;
+    
+    @NotBlank(message = "Destination location is required")
+    @Size(max = 100, message = "Destination location must not exceed 100 characters")
+    private String toLocation;
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    private String reference; // Originating document, e.g. transfer order number
+    
+    private String notes;
+}
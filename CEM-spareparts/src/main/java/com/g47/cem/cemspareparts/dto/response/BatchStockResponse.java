@@ -0,0 +1,45 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a batch of applied stock changes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockResponse {
+    
+    private String reference;
+    
+    private List<StockLevel> results;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockLevel {
+        private Long sparePartId;
+        private String partName;
+        private String partCode;
+        private Integer quantityDelta;
+        private Integer quantityInStock;
+        // Where the change landed, one entry per warehouse location it touched
+        private List<LocationDelta> locations;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LocationDelta {
+        private String warehouseLocation;
+        private Integer quantityDelta;
+    }
+}
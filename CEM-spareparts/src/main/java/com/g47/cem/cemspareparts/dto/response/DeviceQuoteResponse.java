@@ -0,0 +1,41 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one quoted device type, with its supplier offers best first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceQuoteResponse {
+
+    private String deviceType;
+    private String deviceModel;
+    private Integer quantity;
+
+    private List<QuoteOffer> offers; // Empty when no active supplier offers the type
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuoteOffer {
+        private Long supplierDeviceTypeId;
+        private Long supplierId;
+        private String supplierCompanyName;
+        private String deviceModel;
+        private BigDecimal unitPrice;
+        private Integer minimumOrderQuantity;
+        private Integer orderQuantity; // Requested quantity raised to the minimum order quantity
+        private BigDecimal totalCost; // unitPrice x orderQuantity
+        private Integer leadTimeDays;
+    }
+}
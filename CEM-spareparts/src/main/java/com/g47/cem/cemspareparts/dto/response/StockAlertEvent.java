@@ -0,0 +1,23 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.enums.StockAlertType;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Pushed to stock alert subscribers when an item crosses a threshold in either direction
+ */
+@Data
+@Builder
+public class StockAlertEvent {
+    private String itemType;
+    private Long itemId;
+    private StockAlertType alertType;
+    private boolean active; // true when raised, false when cleared
+    private Integer quantityInStock;
+    private Integer threshold;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,33 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.entity.StockAlert;
+import com.g47.cem.cemspareparts.enums.StockAlertType;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StockAlertResponse {
+    private Long id;
+    private String itemType;
+    private Long itemId;
+    private StockAlertType alertType;
+    private Integer quantityInStock;
+    private Integer threshold;
+    private LocalDateTime raisedAt;
+
+    public static StockAlertResponse fromEntity(StockAlert alert) {
+        return StockAlertResponse.builder()
+                .id(alert.getId())
+                .itemType(alert.getItemType())
+                .itemId(alert.getItemId())
+                .alertType(alert.getAlertType())
+                .quantityInStock(alert.getQuantityInStock())
+                .threshold(alert.getThreshold())
+                .raisedAt(alert.getRaisedAt())
+                .build();
+    }
+}
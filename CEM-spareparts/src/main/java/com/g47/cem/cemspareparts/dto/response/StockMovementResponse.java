@@ -0,0 +1,39 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.entity.SparePartStockMovement;
+import com.g47.cem.cemspareparts.enums.StockMovementType;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StockMovementResponse {
+    private Long id;
+    private Long sparePartId;
+    private StockMovementType movementType;
+    private Integer quantityDelta;
+    private Integer balanceAfter;
+    private String warehouseLocation;
+    private String reason;
+    private String reference;
+    private String actor;
+    private LocalDateTime createdAt;
+
+    public static StockMovementResponse fromEntity(SparePartStockMovement movement) {
+        return StockMovementResponse.builder()
+                .id(movement.getId())
+                .sparePartId(movement.getSparePartId())
+                .movementType(movement.getMovementType())
+                .quantityDelta(movement.getQuantityDelta())
+                .balanceAfter(movement.getBalanceAfter())
+                .warehouseLocation(movement.getWarehouseLocation())
+                .reason(movement.getReason())
+                .reference(movement.getReference())
+                .actor(movement.getActor())
+                .createdAt(movement.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.g47.cem.cemspareparts.entity.StockReservation;
+import com.g47.cem.cemspareparts.entity.StockReservationItem;
+import com.g47.cem.cemspareparts.enums.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a stock reservation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponse {
+    
+    private String reservationKey;
+    private ReservationStatus status;
+    private String reference;
+    private LocalDateTime expiresAt;
+    private List<StockReservationItem> items;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    
+    public static StockReservationResponse fromEntity(StockReservation reservation) {
+        return StockReservationResponse.builder()
+                .reservationKey(reservation.getReservationKey())
+                .status(reservation.getStatus())
+                .reference(reservation.getReference())
+                .expiresAt(reservation.getExpiresAt())
+                .items(List.copyOf(reservation.getItems()))
+                .createdBy(reservation.getCreatedBy())
+                .createdAt(reservation.getCreatedAt())
+                .build();
+    }
+}
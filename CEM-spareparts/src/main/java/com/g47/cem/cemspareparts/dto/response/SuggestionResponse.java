@@ -0,0 +1,17 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One typeahead suggestion for a spare part or supplier picker
+ */
+@Data
+@Builder
+public class SuggestionResponse {
+    private Long id;
+    private String label; // part or company name
+    private String code; // part code, null for suppliers
+    private String detail; // compatible devices, or the supplier's contact person
+    private String status;
+}
@@ -0,0 +1,30 @@
+package com.g47.cem.cemspareparts.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.repository.projection.LocationStockView;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class WarehouseStockResponse {
+    private Long sparePartId;
+    private String partName;
+    private String partCode;
+    private String warehouseLocation;
+    private Integer quantityInStock;
+    private LocalDateTime updatedAt;
+
+    public static WarehouseStockResponse fromView(LocationStockView view) {
+        return WarehouseStockResponse.builder()
+                .sparePartId(view.getSparePartId())
+                .partName(view.getPartName())
+                .partCode(view.getPartCode())
+                .warehouseLocation(view.getWarehouseLocation())
+                .quantityInStock(view.getQuantityInStock())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
+}
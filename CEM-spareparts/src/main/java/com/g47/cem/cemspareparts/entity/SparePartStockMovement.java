@@ -0,0 +1,74 @@
+package com.g47.cem.cemspareparts.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import com.g47.cem.cemspareparts.enums.StockMovementType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only ledger entry for a single change to a spare part's stock level.
+ * Ids come from a sequence so that movements can be inserted in JDBC batches.
+ */
+@Entity
+@Table(name = "spare_part_stock_movements", indexes = {
+    @Index(name = "idx_stock_movements_part_created", columnList = "spare_part_id, created_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SparePartStockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "spare_part_stock_movement_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "spare_part_id", nullable = false)
+    private Long sparePartId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 20)
+    private StockMovementType movementType;
+
+    @Column(name = "quantity_delta", nullable = false)
+    private Integer quantityDelta;
+
+    @Column(name = "balance_after", nullable = false)
+    private Integer balanceAfter;
+
+    @Column(name = "warehouse_location", length = 100)
+    private String warehouseLocation;
+
+    @Column(name = "reason", length = 500)
+    private String reason;
+
+    @Column(name = "reference", length = 100)
+    private String reference;
+
+    @Column(name = "actor", length = 255)
+    private String actor;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,56 @@
+package com.g47.cem.cemspareparts.entity;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.enums.StockAlertType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Open stock alert: present while the item's stock is at or below the alert's threshold.
+ * The table is shared with device inventory, hence the item type column.
+ */
+@Entity
+@Table(name = "stock_alerts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlert {
+
+    public static final String ITEM_TYPE_SPARE_PART = "SPARE_PART";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_type", nullable = false, length = 20)
+    private String itemType;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_type", nullable = false, length = 20)
+    private StockAlertType alertType;
+
+    @Column(name = "quantity_in_stock", nullable = false)
+    private Integer quantityInStock;
+
+    @Column(name = "threshold", nullable = false)
+    private Integer threshold;
+
+    @Column(name = "raised_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime raisedAt;
+}
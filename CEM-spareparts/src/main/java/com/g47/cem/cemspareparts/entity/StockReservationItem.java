@@ -0,0 +1,33 @@
+package com.g47.cem.cemspareparts.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One reserved spare part line of a stock reservation
+ */
+@Embeddable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationItem {
+
+    @Column(name = "spare_part_id", nullable = false)
+    private Long sparePartId;
+
+    @Column(name = "spare_part_name", nullable = false)
+    private String sparePartName;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    // Location the quantity was taken from, so releasing puts it back there; null on lines
+    // reserved before locations were recorded, which return to the part's default location
+    @Column(name = "warehouse_location", length = 100)
+    private String warehouseLocation;
+}
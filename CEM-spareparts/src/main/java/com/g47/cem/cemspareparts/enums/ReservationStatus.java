@@ -0,0 +1,8 @@
+package com.g47.cem.cemspareparts.enums;
+
+public enum ReservationStatus {
+    RESERVED,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,7 @@
+package com.g47.cem.cemspareparts.enums;
+
+public enum StockAlertType {
+    OUT_OF_STOCK,
+    LOW_STOCK,
+    REORDER
+}
@@ -0,0 +1,8 @@
+package com.g47.cem.cemspareparts.enums;
+
+public enum StockMovementType {
+    STOCK_IN,
+    STOCK_OUT,
+    ADJUSTMENT,
+    TRANSFER
+}
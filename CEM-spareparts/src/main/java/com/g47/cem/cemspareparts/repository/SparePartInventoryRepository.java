@@ -1,5 +1,7 @@
 package com.g47.cem.cemspareparts.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,8 +11,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.g47.cem.cemspareparts.entity.SparePartInventory;
+import com.g47.cem.cemspareparts.repository.projection.InventoryValuationView;
+import com.g47.cem.cemspareparts.repository.projection.SparePartStockView;
+import com.g47.cem.cemspareparts.repository.projection.StockLevelView;
 
 /**
  * Repository interface for SparePartInventory entity
@@ -34,9 +40,6 @@ public interface SparePartInventoryRepository extends JpaRepository<SparePartInv
     @Query("SELECT spi FROM SparePartInventory spi WHERE spi.quantityInStock = 0")
     List<SparePartInventory> findOutOfStockItems();
     
-    @Query("SELECT spi FROM SparePartInventory spi WHERE spi.warehouseLocation = :location")
-    List<SparePartInventory> findByWarehouseLocation(@Param("location") String location);
-    
     @Query("SELECT spi FROM SparePartInventory spi JOIN spi.sparePart sp WHERE " +
            "(:keyword IS NULL OR sp.partName LIKE %:keyword% OR sp.partCode LIKE %:keyword%) " +
            "AND (:inStock IS NULL OR " +
@@ -47,13 +50,86 @@ public interface SparePartInventoryRepository extends JpaRepository<SparePartInv
                                             @Param("inStock") Boolean inStock,
                                             Pageable pageable);
     
-    // Additional methods for dashboard statistics
-    @Query("SELECT COUNT(spi) FROM SparePartInventory spi WHERE spi.quantityInStock <= spi.minimumStockLevel")
-    long countLowStockItems();
+    // Dashboard counts and stock valuation in one pass over the inventory table
+    @Query(value = "SELECT (SELECT COUNT(*) FROM spare_parts) AS \"totalSpareParts\", " +
+           "COUNT(*) AS \"totalItems\", " +
+           "COUNT(*) FILTER (WHERE quantity_in_stock <= minimum_stock_level) AS \"lowStockItems\", " +
+           "COUNT(*) FILTER (WHERE quantity_in_stock = 0) AS \"outOfStockItems\", " +
+           "COUNT(*) FILTER (WHERE reorder_point IS NOT NULL AND quantity_in_stock <= reorder_point) AS \"itemsNeedingReorder\", " +
+           "COALESCE(SUM(unit_cost * quantity_in_stock) FILTER (WHERE quantity_in_stock > 0), 0) AS \"totalValue\" " +
+           "FROM spare_part_inventory", nativeQuery = true)
+    InventoryValuationView getInventoryValuation();
+    
+    @Query(value = "SELECT COALESCE(SUM(unit_cost * quantity_in_stock), 0) FROM spare_part_inventory " +
+           "WHERE quantity_in_stock > 0", nativeQuery = true)
+    BigDecimal sumInventoryValue();
+    
+    // Every spare part with its inventory, paged and sorted in the database. Parts without an
+    // inventory record get the same defaults a new record would be created with.
+    @Query(value = "SELECT spi.id AS inventoryId, sp.id AS sparePartId, sp.partName AS partName, " +
+           "sp.partCode AS partCode, sp.description AS description, sp.compatibleDevices AS compatibleDevices, " +
+           "sp.unitOfMeasurement AS unitOfMeasurement, sp.status AS status, " +
+           "COALESCE(spi.quantityInStock, 0) AS quantityInStock, " +
+           "COALESCE(spi.minimumStockLevel, 5) AS minimumStockLevel, " +
+           "CASE WHEN spi.id IS NULL THEN 100 ELSE spi.maximumStockLevel END AS maximumStockLevel, " +
+           "CASE WHEN spi.id IS NULL THEN 10 ELSE spi.reorderPoint END AS reorderPoint, " +
+           "CASE WHEN spi.id IS NULL THEN CAST(0 AS BigDecimal) ELSE spi.unitCost END AS unitCost, " +
+           "CASE WHEN spi.id IS NULL THEN 'Main Warehouse' ELSE spi.warehouseLocation END AS warehouseLocation, " +
+           "CASE WHEN spi.id IS NULL THEN 'Default inventory record' ELSE spi.notes END AS notes, " +
+           "CASE WHEN spi.id IS NULL THEN 'system' ELSE spi.createdBy END AS createdBy, " +
+           "sp.createdAt AS partCreatedAt, sp.updatedAt AS partUpdatedAt, " +
+           "COALESCE(spi.createdAt, sp.createdAt) AS createdAt, COALESCE(spi.updatedAt, sp.updatedAt) AS updatedAt " +
+           "FROM SparePart sp LEFT JOIN SparePartInventory spi ON spi.sparePart.id = sp.id",
+           countQuery = "SELECT COUNT(sp) FROM SparePart sp")
+    Page<SparePartStockView> findAllSparePartsWithInventory(Pageable pageable);
+    
+    // Atomic stock mutations: each is a single conditional statement returning the new level, so
+    // concurrent writers never lose updates or oversell. Wrapped in a CTE so the statement reads
+    // as a query to JPA. The change itself is recorded in the stock movement ledger; the returned
+    // thresholds let the caller detect alert crossings without another read, and the default
+    // location tells it where stock goes when the change names none.
+    @Transactional
+    @Query(value = "WITH changed AS (UPDATE spare_part_inventory SET quantity_in_stock = quantity_in_stock + :quantity, " +
+           "updated_at = NOW() " +
+           "WHERE spare_part_id = :sparePartId " +
+           "RETURNING quantity_in_stock, minimum_stock_level, reorder_point, warehouse_location) " +
+           "SELECT quantity_in_stock AS \"quantityInStock\", minimum_stock_level AS \"minimumStockLevel\", " +
+           "reorder_point AS \"reorderPoint\", warehouse_location AS \"warehouseLocation\" FROM changed", nativeQuery = true)
+    Optional<StockLevelView> incrementStock(@Param("sparePartId") Long sparePartId,
+                                     @Param("quantity") int quantity);
+    
+    @Transactional
+    @Query(value = "WITH changed AS (INSERT INTO spare_part_inventory (spare_part_id, quantity_in_stock, minimum_stock_level, " +
+           "maximum_stock_level, reorder_point, warehouse_location, created_by, created_at, updated_at) " +
+           "VALUES (:sparePartId, :quantity, 5, 100, 10, 'Main Warehouse', 'System', NOW(), NOW()) " +
+           "ON CONFLICT (spare_part_id) DO UPDATE SET " +
+           "quantity_in_stock = spare_part_inventory.quantity_in_stock + EXCLUDED.quantity_in_stock, " +
+           "updated_at = NOW() " +
+           "RETURNING quantity_in_stock, minimum_stock_level, reorder_point, warehouse_location) " +
+           "SELECT quantity_in_stock AS \"quantityInStock\", minimum_stock_level AS \"minimumStockLevel\", " +
+           "reorder_point AS \"reorderPoint\", warehouse_location AS \"warehouseLocation\" FROM changed", nativeQuery = true)
+    StockLevelView upsertStock(@Param("sparePartId") Long sparePartId,
+                        @Param("quantity") int quantity);
+    
+    @Transactional
+    @Query(value = "WITH changed AS (UPDATE spare_part_inventory SET quantity_in_stock = quantity_in_stock - :quantity, " +
+           "updated_at = NOW() " +
+           "WHERE spare_part_id = :sparePartId AND quantity_in_stock >= :quantity " +
+           "RETURNING quantity_in_stock, minimum_stock_level, reorder_point, warehouse_location) " +
+           "SELECT quantity_in_stock AS \"quantityInStock\", minimum_stock_level AS \"minimumStockLevel\", " +
+           "reorder_point AS \"reorderPoint\", warehouse_location AS \"warehouseLocation\" FROM changed", nativeQuery = true)
+    Optional<StockLevelView> decrementStockIfAvailable(@Param("sparePartId") Long sparePartId,
+                                                @Param("quantity") int quantity);
+    
+    @Query("SELECT spi FROM SparePartInventory spi JOIN FETCH spi.sparePart WHERE spi.sparePart.id IN :sparePartIds")
+    List<SparePartInventory> findBySparePartIdIn(@Param("sparePartIds") Collection<Long> sparePartIds);
     
-    @Query("SELECT COUNT(spi) FROM SparePartInventory spi WHERE spi.quantityInStock = 0")
-    long countOutOfStockItems();
+    @Query("SELECT spi.quantityInStock FROM SparePartInventory spi WHERE spi.sparePart.id = :sparePartId")
+    Optional<Integer> findQuantityInStockBySparePartId(@Param("sparePartId") Long sparePartId);
     
-    @Query("SELECT COUNT(spi) FROM SparePartInventory spi WHERE spi.quantityInStock <= spi.reorderPoint AND spi.reorderPoint IS NOT NULL")
-    long countItemsNeedingReorder();
+    // Takes the same row lock an atomic stock update would, for changes that move stock between
+    // locations without changing the total
+    @Query(value = "SELECT quantity_in_stock FROM spare_part_inventory WHERE spare_part_id = :sparePartId FOR UPDATE",
+           nativeQuery = true)
+    Optional<Integer> lockQuantityInStock(@Param("sparePartId") Long sparePartId);
 }
@@ -11,27 +11,38 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.g47.cem.cemspareparts.entity.SparePart;
+import com.g47.cem.cemspareparts.repository.projection.SparePartListView;
 
 @Repository
 public interface SparePartRepository extends JpaRepository<SparePart, Long>, JpaSpecificationExecutor<SparePart> {
     Optional<SparePart> findByPartCode(String partCode);
     
+    
+    // Keyword search over the pg_trgm GIN indexes from V108. Each predicate is lower(column) LIKE
+    // :pattern so it matches an indexed expression; matches are ranked by trigram word similarity,
+    // weighted by column, with an exact part code first. See SearchKeyword for the parameters.
+    String KEYWORD_MATCH = "(lower(sp.part_name) LIKE :pattern OR lower(sp.part_code) LIKE :pattern " +
+           "OR lower(sp.description) LIKE :pattern OR lower(sp.compatible_devices) LIKE :pattern)";
+    String KEYWORD_RANK = "(CASE WHEN lower(sp.part_code) = :keyword THEN 2 ELSE 0 END " +
+           "+ GREATEST(word_similarity(:keyword, lower(sp.part_name)), word_similarity(:keyword, lower(sp.part_code)), " +
+           "0.5 * word_similarity(:keyword, COALESCE(lower(sp.compatible_devices), '')), " +
+           "0.25 * word_similarity(:keyword, COALESCE(lower(sp.description), ''))) " +
+           "+ similarity(:keyword, lower(sp.part_name)))";
+    
+    @Query(value = "SELECT sp.id AS \"id\", sp.part_name AS \"partName\", sp.part_code AS \"partCode\", " +
+           "sp.description AS \"description\", sp.compatible_devices AS \"compatibleDevices\", " +
+           "sp.unit_of_measurement AS \"unitOfMeasurement\", sp.status AS \"status\", " +
+           "sp.created_at AS \"createdAt\", sp.updated_at AS \"updatedAt\" " +
+           "FROM spare_parts sp WHERE " + KEYWORD_MATCH +
+           " ORDER BY " + KEYWORD_RANK + " DESC, sp.id",
+           countQuery = "SELECT COUNT(*) FROM spare_parts sp WHERE " + KEYWORD_MATCH,
+           nativeQuery = true)
+    Page<SparePartListView> searchByRelevance(@Param("keyword") String keyword,
+                                              @Param("pattern") String pattern,
+                                              Pageable pageable);
+    
     /**
-     * Search spare parts with keyword using PostgreSQL-compatible native query.
-     * This query uses ::text casting to avoid bytea type issues and ensures proper text handling.
+     * List rows of all spare parts
      */
-    @Query(value = "SELECT * FROM spare_parts sp WHERE " +
-           "(:keyword IS NULL OR " +
-           "LOWER(sp.part_name::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(sp.part_code::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(sp.description::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(sp.compatible_devices::text) LIKE LOWER(CONCAT('%', :keyword, '%')))",
-           countQuery = "SELECT COUNT(*) FROM spare_parts sp WHERE " +
-           "(:keyword IS NULL OR " +
-           "LOWER(sp.part_name::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(sp.part_code::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(sp.description::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(sp.compatible_devices::text) LIKE LOWER(CONCAT('%', :keyword, '%')))",
-           nativeQuery = true)
-    Page<SparePart> findSparePartsWithKeyword(@Param("keyword") String keyword, Pageable pageable);
+    Page<SparePartListView> findListViewsBy(Pageable pageable);
 } 
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.g47.cem.cemspareparts.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemspareparts.entity.SparePartStockLocation;
+import com.g47.cem.cemspareparts.repository.projection.LocationStockView;
+import com.g47.cem.cemspareparts.repository.projection.WarehouseSummaryView;
+
+/**
+ * Repository for per-location spare part stock. Location reads are index scans on
+ * (warehouse_location, spare_part_id); part reads use the unique (spare_part_id, warehouse_location) key.
+ * Reads return projections, so rows changed by the atomic statements below are never served
+ * stale from the persistence context.
+ */
+@Repository
+public interface SparePartStockLocationRepository extends JpaRepository<SparePartStockLocation, Long> {
+    
+    @Query("SELECT sl.sparePartId AS sparePartId, sp.partName AS partName, sp.partCode AS partCode, " +
+           "sl.warehouseLocation AS warehouseLocation, sl.quantityInStock AS quantityInStock, sl.updatedAt AS updatedAt " +
+           "FROM SparePartStockLocation sl JOIN SparePart sp ON sp.id = sl.sparePartId " +
+           "WHERE sl.sparePartId = :sparePartId AND sl.quantityInStock > 0 " +
+           "ORDER BY sl.warehouseLocation")
+    List<LocationStockView> findStockBySparePartId(@Param("sparePartId") Long sparePartId);
+    
+    @Query(value = "SELECT sl.sparePartId AS sparePartId, sp.partName AS partName, sp.partCode AS partCode, " +
+           "sl.warehouseLocation AS warehouseLocation, sl.quantityInStock AS quantityInStock, sl.updatedAt AS updatedAt " +
+           "FROM SparePartStockLocation sl JOIN SparePart sp ON sp.id = sl.sparePartId " +
+           "WHERE sl.warehouseLocation = :location AND sl.quantityInStock > 0 " +
+           "ORDER BY sl.sparePartId",
+           countQuery = "SELECT COUNT(sl) FROM SparePartStockLocation sl " +
+           "WHERE sl.warehouseLocation = :location AND sl.quantityInStock > 0")
+    Page<LocationStockView> findStockByWarehouseLocation(@Param("location") String location, Pageable pageable);
+    
+    @Query("SELECT sl.warehouseLocation AS warehouseLocation, COUNT(sl) AS itemCount, " +
+           "SUM(sl.quantityInStock) AS totalQuantity FROM SparePartStockLocation sl " +
+           "WHERE sl.quantityInStock > 0 GROUP BY sl.warehouseLocation ORDER BY sl.warehouseLocation")
+    List<WarehouseSummaryView> summarizeWarehouses();
+    
+    @Query("SELECT sl.quantityInStock FROM SparePartStockLocation sl " +
+           "WHERE sl.sparePartId = :sparePartId AND sl.warehouseLocation = :location")
+    Optional<Integer> findQuantity(@Param("sparePartId") Long sparePartId, @Param("location") String location);
+    
+    // Atomic per-location changes, same shape as the inventory stock statements. Callers hold the
+    // part's inventory row lock, so location rows of one part are never changed concurrently.
+    @Transactional
+    @Query(value = "WITH changed AS (INSERT INTO spare_part_stock_locations (spare_part_id, warehouse_location, " +
+           "quantity_in_stock, updated_at) VALUES (:sparePartId, :location, :quantity, NOW()) " +
+           "ON CONFLICT (spare_part_id, warehouse_location) DO UPDATE SET " +
+           "quantity_in_stock = spare_part_stock_locations.quantity_in_stock + EXCLUDED.quantity_in_stock, " +
+           "updated_at = NOW() RETURNING quantity_in_stock) " +
+           "SELECT quantity_in_stock FROM changed", nativeQuery = true)
+    int addStock(@Param("sparePartId") Long sparePartId, @Param("location") String location,
+                 @Param("quantity") int quantity);
+    
+    @Transactional
+    @Query(value = "WITH changed AS (UPDATE spare_part_stock_locations SET quantity_in_stock = quantity_in_stock - :quantity, " +
+           "updated_at = NOW() " +
+           "WHERE spare_part_id = :sparePartId AND warehouse_location = :location AND quantity_in_stock >= :quantity " +
+           "RETURNING quantity_in_stock) " +
+           "SELECT quantity_in_stock FROM changed", nativeQuery = true)
+    Optional<Integer> takeStockIfAvailable(@Param("sparePartId") Long sparePartId, @Param("location") String location,
+                                           @Param("quantity") int quantity);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SparePartStockLocation sl WHERE sl.sparePartId = :sparePartId")
+    int deleteBySparePartId(@Param("sparePartId") Long sparePartId);
+}
@@ -0,0 +1,31 @@
+package com.g47.cem.cemspareparts.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.g47.cem.cemspareparts.entity.SparePartStockMovement;
+
+/**
+ * Repository for the append-only stock movement ledger. History reads are range scans
+ * over the (spare_part_id, created_at) index.
+ */
+@Repository
+public interface SparePartStockMovementRepository extends JpaRepository<SparePartStockMovement, Long> {
+    
+    @Query("SELECT m FROM SparePartStockMovement m WHERE m.sparePartId = :sparePartId " +
+           "AND m.createdAt >= :from AND m.createdAt < :to ORDER BY m.createdAt DESC, m.id DESC")
+    Page<SparePartStockMovement> findHistory(@Param("sparePartId") Long sparePartId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             Pageable pageable);
+    
+    @Query("SELECT COALESCE(SUM(m.quantityDelta), 0) FROM SparePartStockMovement m " +
+           "WHERE m.sparePartId = :sparePartId AND m.createdAt > :since")
+    long sumDeltasSince(@Param("sparePartId") Long sparePartId, @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,51 @@
+package com.g47.cem.cemspareparts.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.g47.cem.cemspareparts.entity.StockReservation;
+import com.g47.cem.cemspareparts.enums.ReservationStatus;
+
+/**
+ * Repository for stock reservations
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    
+    Optional<StockReservation> findByReservationKey(String reservationKey);
+    
+    @Query("SELECT r.id FROM StockReservation r WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<Long> findIdsByStatusAndExpiresAtBefore(@Param("status") ReservationStatus status,
+                                                 @Param("now") LocalDateTime now,
+                                                 Pageable pageable);
+    
+    /**
+     * Move a reservation between states only if it is still in the expected one, so confirm,
+     * release and expiry can race safely; returns the number of rows changed (0 or 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE r.id = :id AND r.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") ReservationStatus from,
+                         @Param("to") ReservationStatus to);
+    
+    /**
+     * Fence a reservation key in the device service's export table before expiring it. The insert
+     * waits for an export still holding the key to finish; returns 1 when the key was fenced, so
+     * the export can no longer commit, and 0 when the export had already committed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO spare_part_exports (reservation_key, reference, status) " +
+           "VALUES (:reservationKey, :reference, 'EXPIRED') ON CONFLICT (reservation_key) DO NOTHING", nativeQuery = true)
+    int fenceExport(@Param("reservationKey") String reservationKey,
+                    @Param("reference") String reference);
+}
@@ -68,16 +68,10 @@ public interface SupplierDeviceTypeRepository extends JpaRepository<SupplierDevi
                                                        Pageable pageable);
     
     /**
-     * Find suppliers who can provide a device type with minimum order quantity check
+     * All active offers with their suppliers, for the sourcing index
      */
-    @Query("SELECT sdt FROM SupplierDeviceType sdt " +
-           "LEFT JOIN FETCH sdt.supplier " +
-           "WHERE LOWER(sdt.deviceType) = LOWER(:deviceType) AND " +
-           "sdt.isActive = true AND " +
-           "sdt.minimumOrderQuantity <= :requestedQuantity " +
-           "ORDER BY sdt.unitPrice ASC")
-    List<SupplierDeviceType> findSuppliersForDeviceTypeWithMinimumQuantity(@Param("deviceType") String deviceType,
-                                                                           @Param("requestedQuantity") Integer requestedQuantity);
+    @Query("SELECT sdt FROM SupplierDeviceType sdt JOIN FETCH sdt.supplier WHERE sdt.isActive = true")
+    List<SupplierDeviceType> findAllActiveWithSupplier();
     
     /**
      * Get distinct device types available from suppliers
@@ -1,5 +1,6 @@
 package com.g47.cem.cemspareparts.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,12 +8,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.g47.cem.cemspareparts.entity.Supplier;
 import com.g47.cem.cemspareparts.enums.SupplierStatus;
+import com.g47.cem.cemspareparts.repository.projection.SupplierListView;
+import com.g47.cem.cemspareparts.repository.projection.SupplierSparePartView;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long>, JpaSpecificationExecutor<Supplier> {
@@ -33,58 +37,59 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long>, JpaSp
     List<Supplier> findActiveSuppliersBySparePartId(@Param("sparePartId") Long sparePartId);
     
     /**
-     * Search suppliers with filters using PostgreSQL-compatible native query with proper text casting.
-     * This prevents both lazy loading issues and PostgreSQL bytea type errors.
+     * Page supplier IDs for listing; the caller loads the page's suppliers afterwards
      */
-    @Query(value = "SELECT DISTINCT s.* FROM suppliers s " +
-           "LEFT JOIN supplier_spare_parts ssp ON s.id = ssp.supplier_id " +
-           "LEFT JOIN spare_parts sp ON sp.id = ssp.spare_part_id " +
-           "WHERE (:keyword IS NULL OR " +
-           "LOWER(s.company_name::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(s.contact_person::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(s.email::text) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-           "(:status IS NULL OR s.status = :status)",
-           countQuery = "SELECT COUNT(DISTINCT s.id) FROM suppliers s WHERE " +
-           "(:keyword IS NULL OR " +
-           "LOWER(s.company_name::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(s.contact_person::text) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(s.email::text) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-           "(:status IS NULL OR s.status = :status)",
+    @Query(value = "SELECT s.id FROM Supplier s WHERE (:status IS NULL OR s.status = :status)",
+           countQuery = "SELECT COUNT(s) FROM Supplier s WHERE (:status IS NULL OR s.status = :status)")
+    Page<Long> findIdsByStatus(@Param("status") SupplierStatus status, Pageable pageable);
+    
+    // Keyword search over the pg_trgm GIN indexes from V108, ranked by trigram word similarity
+    // with the company name weighted highest. See SearchKeyword for the parameters.
+    String KEYWORD_MATCH = "(lower(s.company_name) LIKE :pattern OR lower(s.contact_person) LIKE :pattern " +
+           "OR lower(s.email) LIKE :pattern)";
+    String KEYWORD_RANK = "(GREATEST(word_similarity(:keyword, lower(s.company_name)), " +
+           "word_similarity(:keyword, lower(s.contact_person)), 0.5 * word_similarity(:keyword, lower(s.email))) " +
+           "+ similarity(:keyword, lower(s.company_name)))";
+    
+    @Query(value = "SELECT s.id FROM suppliers s WHERE " + KEYWORD_MATCH + " AND (:status IS NULL OR s.status = :status)" +
+           " ORDER BY " + KEYWORD_RANK + " DESC, s.id",
+           countQuery = "SELECT COUNT(*) FROM suppliers s WHERE " + KEYWORD_MATCH +
+           " AND (:status IS NULL OR s.status = :status)",
            nativeQuery = true)
-    Page<Supplier> findSuppliersWithFilters(@Param("keyword") String keyword,
-                                           @Param("status") String status,
-                                           Pageable pageable);
+    Page<Long> searchIdsByRelevance(@Param("keyword") String keyword,
+                                    @Param("pattern") String pattern,
+                                    @Param("status") String status,
+                                    Pageable pageable);
+    
+    @Query(value = "SELECT spare_part_id FROM supplier_spare_parts WHERE supplier_id = :supplierId", nativeQuery = true)
+    List<Long> findSparePartIds(@Param("supplierId") Long supplierId);
     
     /**
-     * Alternative method using JPQL without LOWER() function to avoid PostgreSQL type issues.
-     * Uses case-insensitive search with UPPER() which works better with PostgreSQL.
+     * Link spare parts to a supplier; IDs already linked or of missing parts are skipped
      */
-    @Query("SELECT DISTINCT s FROM Supplier s LEFT JOIN FETCH s.spareParts WHERE " +
-           "(:keyword IS NULL OR " +
-           "UPPER(s.companyName) LIKE UPPER(CONCAT('%', :keyword, '%')) OR " +
-           "UPPER(s.contactPerson) LIKE UPPER(CONCAT('%', :keyword, '%')) OR " +
-           "UPPER(s.email) LIKE UPPER(CONCAT('%', :keyword, '%'))) AND " +
-           "(:status IS NULL OR s.status = :status) " +
-           "ORDER BY s.id")
-    List<Supplier> findSuppliersWithFiltersEager(@Param("keyword") String keyword,
-                                                 @Param("status") String status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO supplier_spare_parts (supplier_id, spare_part_id) " +
+           "SELECT :supplierId, sp.id FROM spare_parts sp WHERE sp.id IN (:sparePartIds) " +
+           "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int linkSpareParts(@Param("supplierId") Long supplierId, @Param("sparePartIds") List<Long> sparePartIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM supplier_spare_parts WHERE supplier_id = :supplierId " +
+           "AND spare_part_id IN (:sparePartIds)", nativeQuery = true)
+    int unlinkSpareParts(@Param("supplierId") Long supplierId, @Param("sparePartIds") List<Long> sparePartIds);
     
     /**
-     * Count query using UPPER() instead of LOWER() for PostgreSQL compatibility.
+     * List rows of the given suppliers. This is used after paging supplier IDs.
      */
-    @Query("SELECT COUNT(DISTINCT s) FROM Supplier s WHERE " +
-           "(:keyword IS NULL OR " +
-           "UPPER(s.companyName) LIKE UPPER(CONCAT('%', :keyword, '%')) OR " +
-           "UPPER(s.contactPerson) LIKE UPPER(CONCAT('%', :keyword, '%')) OR " +
-           "UPPER(s.email) LIKE UPPER(CONCAT('%', :keyword, '%'))) AND " +
-           "(:status IS NULL OR s.status = :status)")
-    Long countSuppliersWithFilters(@Param("keyword") String keyword,
-                                  @Param("status") String status);
+    List<SupplierListView> findListViewsByIdIn(Collection<Long> ids);
     
     /**
-     * Load suppliers by IDs with eager fetching of spare parts to prevent lazy loading issues.
-     * This is used after getting supplier IDs from native queries.
+     * Spare parts linked to the given suppliers, one row per link
      */
-    @Query("SELECT DISTINCT s FROM Supplier s LEFT JOIN FETCH s.spareParts WHERE s.id IN :ids ORDER BY s.id")
-    List<Supplier> findByIdsWithSpareParts(@Param("ids") List<Long> ids);
+    @Query("SELECT s.id AS supplierId, sp.id AS id, sp.partName AS partName, sp.partCode AS partCode, " +
+           "sp.description AS description, sp.compatibleDevices AS compatibleDevices, " +
+           "sp.unitOfMeasurement AS unitOfMeasurement, sp.status AS status, " +
+           "sp.createdAt AS createdAt, sp.updatedAt AS updatedAt " +
+           "FROM Supplier s JOIN s.spareParts sp WHERE s.id IN :ids")
+    List<SupplierSparePartView> findSparePartViewsBySupplierIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.g47.cem.cemspareparts.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for the single-query spare part inventory valuation and dashboard counts
+ */
+public interface InventoryValuationView {
+
+    long getTotalSpareParts();
+
+    long getTotalItems();
+
+    long getLowStockItems();
+
+    long getOutOfStockItems();
+
+    long getItemsNeedingReorder();
+
+    BigDecimal getTotalValue();
+}
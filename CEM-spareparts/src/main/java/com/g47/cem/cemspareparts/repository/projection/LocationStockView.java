@@ -0,0 +1,21 @@
+package com.g47.cem.cemspareparts.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock of one spare part at one warehouse location, with the part's name and code
+ */
+public interface LocationStockView {
+
+    Long getSparePartId();
+
+    String getPartName();
+
+    String getPartCode();
+
+    String getWarehouseLocation();
+
+    Integer getQuantityInStock();
+
+    LocalDateTime getUpdatedAt();
+}
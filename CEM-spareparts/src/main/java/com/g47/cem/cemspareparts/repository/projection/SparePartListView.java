@@ -0,0 +1,29 @@
+package com.g47.cem.cemspareparts.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.enums.SparePartStatus;
+
+/**
+ * Columns shown in spare part lists, read without loading the entity or its suppliers
+ */
+public interface SparePartListView {
+
+    Long getId();
+
+    String getPartName();
+
+    String getPartCode();
+
+    String getDescription();
+
+    String getCompatibleDevices();
+
+    String getUnitOfMeasurement();
+
+    SparePartStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
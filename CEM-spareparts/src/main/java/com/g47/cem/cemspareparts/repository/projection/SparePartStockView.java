@@ -0,0 +1,53 @@
+package com.g47.cem.cemspareparts.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.enums.SparePartStatus;
+
+/**
+ * Flat projection of a spare part with its inventory record, or SQL-side defaults when the
+ * part has no inventory record yet ({@code getInventoryId()} is then null)
+ */
+public interface SparePartStockView {
+
+    Long getInventoryId();
+
+    Long getSparePartId();
+
+    String getPartName();
+
+    String getPartCode();
+
+    String getDescription();
+
+    String getCompatibleDevices();
+
+    String getUnitOfMeasurement();
+
+    SparePartStatus getStatus();
+
+    Integer getQuantityInStock();
+
+    Integer getMinimumStockLevel();
+
+    Integer getMaximumStockLevel();
+
+    Integer getReorderPoint();
+
+    BigDecimal getUnitCost();
+
+    String getWarehouseLocation();
+
+    String getNotes();
+
+    String getCreatedBy();
+
+    LocalDateTime getPartCreatedAt();
+
+    LocalDateTime getPartUpdatedAt();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
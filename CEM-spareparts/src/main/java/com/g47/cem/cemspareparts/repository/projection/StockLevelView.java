@@ -0,0 +1,15 @@
+package com.g47.cem.cemspareparts.repository.projection;
+
+/**
+ * Stock level, thresholds and default location returned by an atomic stock update
+ */
+public interface StockLevelView {
+
+    Integer getQuantityInStock();
+
+    Integer getMinimumStockLevel();
+
+    Integer getReorderPoint();
+
+    String getWarehouseLocation();
+}
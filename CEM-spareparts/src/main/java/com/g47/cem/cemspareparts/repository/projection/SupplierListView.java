@@ -0,0 +1,39 @@
+package com.g47.cem.cemspareparts.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.g47.cem.cemspareparts.enums.SupplierStatus;
+
+/**
+ * Columns shown in supplier lists; spare parts are read separately as {@link SupplierSparePartView}
+ */
+public interface SupplierListView {
+
+    Long getId();
+
+    String getCompanyName();
+
+    String getContactPerson();
+
+    String getEmail();
+
+    String getPhone();
+
+    String getFax();
+
+    String getAddress();
+
+    String getTaxCode();
+
+    String getBusinessLicense();
+
+    String getWebsite();
+
+    String getDescription();
+
+    SupplierStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
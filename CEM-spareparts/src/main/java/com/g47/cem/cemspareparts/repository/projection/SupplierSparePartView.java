@@ -0,0 +1,9 @@
+package com.g47.cem.cemspareparts.repository.projection;
+
+/**
+ * A spare part linked to a supplier, for building a page of supplier list rows
+ */
+public interface SupplierSparePartView extends SparePartListView {
+
+    Long getSupplierId();
+}
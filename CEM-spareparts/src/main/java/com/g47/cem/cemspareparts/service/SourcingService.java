@@ -0,0 +1,266 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemspareparts.dto.request.DeviceQuoteRequest;
+import com.g47.cem.cemspareparts.dto.response.DeviceQuoteResponse;
+import com.g47.cem.cemspareparts.entity.Supplier;
+import com.g47.cem.cemspareparts.entity.SupplierDeviceType;
+import com.g47.cem.cemspareparts.enums.SupplierStatus;
+import com.g47.cem.cemspareparts.repository.SupplierDeviceTypeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ranks supplier offers for device purchases from an in-memory index of active
+ * {@link SupplierDeviceType} offers, keyed by normalized device type.
+ * <p>
+ * An offer's order quantity is the requested quantity raised to its minimum order quantity,
+ * and offers rank by the total cost of that order, then lead time, then minimum order
+ * quantity. Offers without a price rank last. The index is loaded once the application is
+ * ready; offer and supplier writes update it after their transaction commits.
+ */
+@Service
+@Slf4j
+public class SourcingService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<RankedOffer> BEST_FIRST = Comparator
+            .comparing(RankedOffer::totalCost, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(ranked -> ranked.offer().leadTimeDays())
+            .thenComparingInt(ranked -> ranked.offer().minimumOrderQuantity())
+            .thenComparing(ranked -> ranked.offer().id());
+
+    private final SupplierDeviceTypeRepository supplierDeviceTypeRepository;
+    private final int maxOffersPerItem;
+
+    private final Map<String, List<Offer>> offersByType = new ConcurrentHashMap<>();
+    private final Map<Long, String> typeKeyByOfferId = new ConcurrentHashMap<>();
+    private final Map<Long, SupplierInfo> suppliers = new ConcurrentHashMap<>();
+
+    public SourcingService(SupplierDeviceTypeRepository supplierDeviceTypeRepository,
+            @Value("${app.sourcing.max-offers-per-item:5}") int maxOffersPerItem) {
+        this.supplierDeviceTypeRepository = supplierDeviceTypeRepository;
+        this.maxOffersPerItem = maxOffersPerItem;
+    }
+
+    /**
+     * An active offer as held in the index
+     */
+    public record Offer(Long id, Long supplierId, String deviceType, String deviceModel, String modelKey,
+            BigDecimal unitPrice, int minimumOrderQuantity, int leadTimeDays, String notes,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * An offer priced for a requested quantity
+     */
+    public record RankedOffer(Offer offer, String supplierCompanyName, int orderQuantity, BigDecimal totalCost) {
+    }
+
+    private record SupplierInfo(String companyName, boolean active) {
+    }
+
+    /**
+     * Load the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        offersByType.clear();
+        typeKeyByOfferId.clear();
+        suppliers.clear();
+        List<SupplierDeviceType> offers = supplierDeviceTypeRepository.findAllActiveWithSupplier();
+        offers.forEach(offer -> {
+            putSupplier(offer.getSupplier().getId(), toSupplierInfo(offer.getSupplier()));
+            putOffer(toOffer(offer));
+        });
+        log.info("Sourcing index built with {} offers for {} device types", offers.size(), offersByType.size());
+    }
+
+    /**
+     * Quote every item of the request, each with its best offers first
+     */
+    public List<DeviceQuoteResponse> quote(DeviceQuoteRequest request) {
+        int limit = request.getMaxOffersPerItem() != null ? request.getMaxOffersPerItem() : maxOffersPerItem;
+        List<DeviceQuoteResponse> quotes = new ArrayList<>(request.getItems().size());
+        for (DeviceQuoteRequest.QuoteItem item : request.getItems()) {
+            List<DeviceQuoteResponse.QuoteOffer> offers = rank(item.getDeviceType(), item.getDeviceModel(),
+                    item.getQuantity(), limit, false).stream()
+                    .map(SourcingService::toQuoteOffer)
+                    .toList();
+            quotes.add(DeviceQuoteResponse.builder()
+                    .deviceType(item.getDeviceType())
+                    .deviceModel(item.getDeviceModel())
+                    .quantity(item.getQuantity())
+                    .offers(offers)
+                    .build());
+        }
+        return quotes;
+    }
+
+    /**
+     * Active offers of active suppliers for a device type, best first
+     *
+     * @param deviceModel     only offers for this model, or any model when blank
+     * @param withinMinimum   only offers whose minimum order quantity is at most the quantity
+     */
+    public List<RankedOffer> rank(String deviceType, String deviceModel, int quantity, int limit, boolean withinMinimum) {
+        List<Offer> offers = offersByType.getOrDefault(normalize(deviceType), List.of());
+        String modelKey = normalize(deviceModel);
+        List<RankedOffer> ranked = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            SupplierInfo supplier = suppliers.get(offer.supplierId());
+            if (supplier == null || !supplier.active()
+                    || (!modelKey.isEmpty() && !modelKey.equals(offer.modelKey()))
+                    || (withinMinimum && offer.minimumOrderQuantity() > quantity)) {
+                continue;
+            }
+            int orderQuantity = Math.max(quantity, offer.minimumOrderQuantity());
+            BigDecimal totalCost = offer.unitPrice() != null
+                    ? offer.unitPrice().multiply(BigDecimal.valueOf(orderQuantity))
+                    : null;
+            ranked.add(new RankedOffer(offer, supplier.companyName(), orderQuantity, totalCost));
+        }
+        ranked.sort(BEST_FIRST);
+        return ranked.size() > limit ? ranked.subList(0, limit) : ranked;
+    }
+
+    /**
+     * Index an offer after commit, or drop it when it is no longer active
+     */
+    public void offerSaved(SupplierDeviceType supplierDeviceType) {
+        Offer offer = toOffer(supplierDeviceType);
+        boolean active = supplierDeviceType.isActiveSupply();
+        SupplierInfo supplier = toSupplierInfo(supplierDeviceType.getSupplier());
+        afterCommit(() -> {
+            synchronized (this) {
+                putSupplier(offer.supplierId(), supplier);
+                if (active) {
+                    putOffer(offer);
+                } else {
+                    removeOffer(offer.id());
+                }
+            }
+        });
+    }
+
+    /**
+     * Pick up a supplier's name or status change after commit
+     */
+    public void supplierSaved(Supplier supplier) {
+        Long supplierId = supplier.getId();
+        SupplierInfo info = toSupplierInfo(supplier);
+        afterCommit(() -> putSupplier(supplierId, info));
+    }
+
+    public void supplierDeleted(Long supplierId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                suppliers.remove(supplierId);
+                List<Long> offerIds = offersByType.values().stream()
+                        .flatMap(List::stream)
+                        .filter(offer -> offer.supplierId().equals(supplierId))
+                        .map(Offer::id)
+                        .toList();
+                offerIds.forEach(this::removeOffer);
+            }
+        });
+    }
+
+    private void putSupplier(Long supplierId, SupplierInfo info) {
+        suppliers.put(supplierId, info);
+    }
+
+    /**
+     * Replace the offer's entry; each type's list is copied on write, so readers never lock
+     */
+    private synchronized void putOffer(Offer offer) {
+        removeOffer(offer.id());
+        String typeKey = normalize(offer.deviceType());
+        offersByType.compute(typeKey, (key, offers) -> {
+            List<Offer> updated = offers != null ? new ArrayList<>(offers) : new ArrayList<>();
+            updated.add(offer);
+            return List.copyOf(updated);
+        });
+        typeKeyByOfferId.put(offer.id(), typeKey);
+    }
+
+    private synchronized void removeOffer(Long offerId) {
+        String typeKey = typeKeyByOfferId.remove(offerId);
+        if (typeKey == null) {
+            return;
+        }
+        offersByType.computeIfPresent(typeKey, (key, offers) -> {
+            List<Offer> remaining = offers.stream().filter(offer -> !offer.id().equals(offerId)).toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private static Offer toOffer(SupplierDeviceType offer) {
+        return new Offer(offer.getId(), offer.getSupplier().getId(), offer.getDeviceType(), offer.getDeviceModel(),
+                normalize(offer.getDeviceModel()), offer.getUnitPrice(),
+                offer.getMinimumOrderQuantity() != null ? offer.getMinimumOrderQuantity() : 1,
+                offer.getLeadTimeDays() != null ? offer.getLeadTimeDays() : 0,
+                offer.getNotes(), offer.getCreatedAt(), offer.getUpdatedAt());
+    }
+
+    private static SupplierInfo toSupplierInfo(Supplier supplier) {
+        return new SupplierInfo(supplier.getCompanyName(), supplier.getStatus() == SupplierStatus.ACTIVE);
+    }
+
+    private static DeviceQuoteResponse.QuoteOffer toQuoteOffer(RankedOffer ranked) {
+        Offer offer = ranked.offer();
+        return DeviceQuoteResponse.QuoteOffer.builder()
+                .supplierDeviceTypeId(offer.id())
+                .supplierId(offer.supplierId())
+                .supplierCompanyName(ranked.supplierCompanyName())
+                .deviceModel(offer.deviceModel())
+                .unitPrice(offer.unitPrice())
+                .minimumOrderQuantity(offer.minimumOrderQuantity())
+                .orderQuantity(ranked.orderQuantity())
+                .totalCost(ranked.totalCost())
+                .leadTimeDays(offer.leadTimeDays())
+                .build();
+    }
+
+    /**
+     * Trimmed, lower-cased and with single spaces, so "Air  Conditioner" finds "air conditioner"
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -1,9 +1,13 @@
 package com.g47.cem.cemspareparts.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -14,17 +18,33 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.g47.cem.cemspareparts.dto.request.BatchStockRequest;
 import com.g47.cem.cemspareparts.dto.request.CreateSparePartInventoryRequest;
+import com.g47.cem.cemspareparts.dto.request.StockTransferRequest;
 import com.g47.cem.cemspareparts.dto.request.UpdateSparePartInventoryRequest;
+import com.g47.cem.cemspareparts.dto.response.BatchStockResponse;
 import com.g47.cem.cemspareparts.dto.response.PagedResponse;
 import com.g47.cem.cemspareparts.dto.response.SparePartInventoryResponse;
 import com.g47.cem.cemspareparts.dto.response.SparePartResponse;
+import com.g47.cem.cemspareparts.dto.response.StockAlertResponse;
+import com.g47.cem.cemspareparts.dto.response.StockMovementResponse;
+import com.g47.cem.cemspareparts.dto.response.WarehouseStockResponse;
+import com.g47.cem.cemspareparts.dto.response.WarehouseSummaryResponse;
 import com.g47.cem.cemspareparts.entity.SparePart;
 import com.g47.cem.cemspareparts.entity.SparePartInventory;
+import com.g47.cem.cemspareparts.entity.SparePartStockMovement;
+import com.g47.cem.cemspareparts.entity.StockAlert;
+import com.g47.cem.cemspareparts.enums.StockAlertType;
 import com.g47.cem.cemspareparts.exception.BusinessException;
 import com.g47.cem.cemspareparts.exception.ResourceNotFoundException;
 import com.g47.cem.cemspareparts.repository.SparePartInventoryRepository;
 import com.g47.cem.cemspareparts.repository.SparePartRepository;
+import com.g47.cem.cemspareparts.repository.SparePartStockLocationRepository;
+import com.g47.cem.cemspareparts.repository.SparePartStockMovementRepository;
+import com.g47.cem.cemspareparts.repository.StockAlertRepository;
+import com.g47.cem.cemspareparts.repository.projection.InventoryValuationView;
+import com.g47.cem.cemspareparts.repository.projection.LocationStockView;
+import com.g47.cem.cemspareparts.repository.projection.SparePartStockView;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -42,8 +62,18 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class SparePartInventoryService {
     
+    private static final Set<String> STOCK_VIEW_SORT_PROPERTIES = Set.of(
+            "sparePartId", "partName", "partCode", "unitOfMeasurement", "status", "quantityInStock",
+            "minimumStockLevel", "reorderPoint", "unitCost", "warehouseLocation", "createdAt", "updatedAt");
+    
     private final SparePartInventoryRepository sparePartInventoryRepository;
     private final SparePartRepository sparePartRepository;
+    private final SparePartStockMovementRepository stockMovementRepository;
+    private final SparePartStockLocationRepository stockLocationRepository;
+    private final StockMutationService stockMutationService;
+    private final StockAlertRepository stockAlertRepository;
+    private final StockAlertTracker stockAlertTracker;
+    private final WarehouseStockService warehouseStockService;
     
     /**
      * Create a new spare part inventory record
@@ -73,6 +103,9 @@ public class SparePartInventoryService {
                 .build();
         
         SparePartInventory savedInventory = sparePartInventoryRepository.save(inventory);
+        stockMutationService.recordAdjustment(sparePartId(savedInventory), 0, savedInventory.getQuantityInStock(),
+                savedInventory.getWarehouseLocation(), "Initial stock", null);
+        reconcileAlerts(savedInventory);
         log.info("Successfully created spare part inventory with ID: {}", savedInventory.getId());
         
         return SparePartInventoryResponse.fromEntity(savedInventory);
@@ -87,7 +120,14 @@ public class SparePartInventoryService {
         SparePartInventory inventory = sparePartInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SparePartInventory", "id", id));
         
+        // Changing the location only changes where future stock goes by default; existing stock
+        // is moved with a transfer
+        String location = request.getWarehouseLocation() != null
+                ? request.getWarehouseLocation()
+                : inventory.getWarehouseLocation();
         if (request.getQuantityInStock() != null) {
+            stockMutationService.recordAdjustment(sparePartId(inventory), inventory.getQuantityInStock(),
+                    request.getQuantityInStock(), location, "Manual stock adjustment", null);
             inventory.setQuantityInStock(request.getQuantityInStock());
         }
         if (request.getMinimumStockLevel() != null) {
@@ -110,6 +150,7 @@ public class SparePartInventoryService {
         }
         
         SparePartInventory updatedInventory = sparePartInventoryRepository.save(inventory);
+        reconcileAlerts(updatedInventory);
         log.info("Successfully updated spare part inventory with ID: {}", updatedInventory.getId());
         
         return SparePartInventoryResponse.fromEntity(updatedInventory);
@@ -166,78 +207,36 @@ public class SparePartInventoryService {
     }
     
     /**
-     * Get all spare parts with inventory data, creating default inventory for missing ones
+     * Get all spare parts with inventory data, with default inventory values for parts that have none.
+     * Joined, sorted and paged in the database.
      */
     @Transactional(readOnly = true)
     public PagedResponse<SparePartInventoryResponse> getAllSparePartsWithInventory(
             int page, int size, String sortBy, String sortDir) {
         
-        // Get all spare parts
-        List<SparePart> allSpareParts = sparePartRepository.findAll();
-        
-        // Get existing inventory records
-        List<SparePartInventory> existingInventory = sparePartInventoryRepository.findAll();
-        
-        // Create a map of spare part ID to inventory
-        Map<Long, SparePartInventory> inventoryMap = existingInventory.stream()
-                .collect(Collectors.toMap(
-                    inv -> inv.getSparePart().getId(),
-                    inv -> inv
-                ));
-        
-        // Create inventory responses for all spare parts
-        List<SparePartInventoryResponse> allResponses = allSpareParts.stream()
-                .map(sparePart -> {
-                    SparePartInventory existing = inventoryMap.get(sparePart.getId());
-                    if (existing != null) {
-                        // Return existing inventory
-                        return SparePartInventoryResponse.fromEntity(existing);
-                    } else {
-                        // Create default inventory response
-                        SparePartResponse sparePartResponse = new SparePartResponse();
-                        sparePartResponse.setId(sparePart.getId());
-                        sparePartResponse.setPartName(sparePart.getPartName());
-                        sparePartResponse.setPartCode(sparePart.getPartCode());
-                        sparePartResponse.setDescription(sparePart.getDescription());
-                        sparePartResponse.setCompatibleDevices(sparePart.getCompatibleDevices());
-                        sparePartResponse.setUnitOfMeasurement(sparePart.getUnitOfMeasurement());
-                        sparePartResponse.setStatus(sparePart.getStatus());
-                        sparePartResponse.setCreatedAt(sparePart.getCreatedAt());
-                        sparePartResponse.setUpdatedAt(sparePart.getUpdatedAt());
-                        
-                        return SparePartInventoryResponse.builder()
-                                .id(null) // No inventory record yet
-                                .sparePart(sparePartResponse)
-                                .quantityInStock(0)
-                                .minimumStockLevel(5)
-                                .maximumStockLevel(100)
-                                .reorderPoint(10)
-                                .unitCost(BigDecimal.ZERO)
-                                .warehouseLocation("Main Warehouse")
-                                .notes("Default inventory record")
-                                .createdBy("system")
-                                .createdAt(sparePart.getCreatedAt())
-                                .updatedAt(sparePart.getUpdatedAt())
-                                .build();
-                    }
-                })
-                .collect(Collectors.toList());
-        
-        // Apply pagination
-        int totalElements = allResponses.size();
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, totalElements);
-        
-        List<SparePartInventoryResponse> content = allResponses.subList(startIndex, endIndex);
+        String sortProperty = "id".equals(sortBy) ? "sparePartId" : sortBy;
+        if (!STOCK_VIEW_SORT_PROPERTIES.contains(sortProperty)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Unsupported sort field: " + sortBy);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortProperty).and(Sort.by("sparePartId"));
+        
+        Page<SparePartStockView> stockPage = sparePartInventoryRepository
+                .findAllSparePartsWithInventory(PageRequest.of(page, size, sort));
+        
+        List<SparePartInventoryResponse> content = stockPage.getContent().stream()
+                .map(this::toInventoryResponse)
+                .toList();
         
         return PagedResponse.<SparePartInventoryResponse>builder()
                 .content(content)
                 .pageNumber(page)
                 .pageSize(size)
-                .totalElements(totalElements)
-                .totalPages(totalPages)
-                .last(endIndex >= totalElements)
+                .totalElements(stockPage.getTotalElements())
+                .totalPages(stockPage.getTotalPages())
+                .last(stockPage.isLast())
                 .build();
     }
     
@@ -270,10 +269,7 @@ public class SparePartInventoryService {
      */
     @Transactional(readOnly = true)
     public List<SparePartInventoryResponse> getLowStockItems() {
-        List<SparePartInventory> lowStockItems = sparePartInventoryRepository.findLowStockItems();
-        return lowStockItems.stream()
-                .map(SparePartInventoryResponse::fromEntity)
-                .toList();
+        return getAlertedItems(StockAlertType.LOW_STOCK);
     }
     
     /**
@@ -281,10 +277,7 @@ public class SparePartInventoryService {
      */
     @Transactional(readOnly = true)
     public List<SparePartInventoryResponse> getItemsNeedingReorder() {
-        List<SparePartInventory> itemsNeedingReorder = sparePartInventoryRepository.findItemsNeedingReorder();
-        return itemsNeedingReorder.stream()
-                .map(SparePartInventoryResponse::fromEntity)
-                .toList();
+        return getAlertedItems(StockAlertType.REORDER);
     }
     
     /**
@@ -292,170 +285,139 @@ public class SparePartInventoryService {
      */
     @Transactional(readOnly = true)
     public List<SparePartInventoryResponse> getOutOfStockItems() {
-        List<SparePartInventory> outOfStockItems = sparePartInventoryRepository.findOutOfStockItems();
-        return outOfStockItems.stream()
-                .map(SparePartInventoryResponse::fromEntity)
+        return getAlertedItems(StockAlertType.OUT_OF_STOCK);
+    }
+    
+    /**
+     * Get the spare parts stocked at a warehouse location with their quantity there, by spare part ID
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<WarehouseStockResponse> getStockByWarehouseLocation(String location, int page, int size) {
+        Page<LocationStockView> stockPage = stockLocationRepository.findStockByWarehouseLocation(
+                location.trim(), PageRequest.of(page, size));
+        
+        List<WarehouseStockResponse> content = stockPage.getContent().stream()
+                .map(WarehouseStockResponse::fromView)
+                .toList();
+        
+        return PagedResponse.<WarehouseStockResponse>builder()
+                .content(content)
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(stockPage.getTotalElements())
+                .totalPages(stockPage.getTotalPages())
+                .last(stockPage.isLast())
+                .build();
+    }
+    
+    /**
+     * Get every warehouse location holding stock, with its item count and units
+     */
+    @Transactional(readOnly = true)
+    public List<WarehouseSummaryResponse> getWarehouseSummaries() {
+        return stockLocationRepository.summarizeWarehouses().stream()
+                .map(WarehouseSummaryResponse::fromView)
                 .toList();
     }
     
     /**
-     * Get inventory by warehouse location
+     * Get a spare part's stock per warehouse location
      */
     @Transactional(readOnly = true)
-    public List<SparePartInventoryResponse> getInventoryByWarehouseLocation(String location) {
-        List<SparePartInventory> inventory = sparePartInventoryRepository.findByWarehouseLocation(location);
-        return inventory.stream()
-                .map(SparePartInventoryResponse::fromEntity)
+    public List<WarehouseStockResponse> getStockLocations(Long sparePartId) {
+        if (!sparePartRepository.existsById(sparePartId)) {
+            throw new ResourceNotFoundException("SparePart", "id", sparePartId);
+        }
+        return stockLocationRepository.findStockBySparePartId(sparePartId).stream()
+                .map(WarehouseStockResponse::fromView)
                 .toList();
     }
     
     /**
-     * Add stock to existing inventory
+     * Move stock of a spare part from one warehouse location to another
      */
-    public SparePartInventoryResponse addStock(Long sparePartId, Integer quantity, String notes) {
+    public List<WarehouseStockResponse> transferStock(Long sparePartId, StockTransferRequest request, String actor) {
+        log.info("Transferring {} units of spare part ID: {} from {} to {}", request.getQuantity(), sparePartId,
+                request.getFromLocation(), request.getToLocation());
+        
+        String reason = request.getNotes() != null
+                ? request.getNotes()
+                : "Transfer from " + request.getFromLocation().trim() + " to " + request.getToLocation().trim();
+        stockMutationService.transfer(sparePartId, request.getFromLocation(), request.getToLocation(),
+                request.getQuantity(), reason, request.getReference(), actor);
+        
+        return getStockLocations(sparePartId);
+    }
+    
+    /**
+     * Add stock to existing inventory, at the given location or the part's default one
+     */
+    public SparePartInventoryResponse addStock(Long sparePartId, Integer quantity, String location, String notes,
+            String actor) {
         log.info("Adding {} units to spare part inventory for spare part ID: {}", quantity, sparePartId);
         
-        // Use a more robust approach to handle race conditions
-        SparePartInventory inventory = null;
-        try {
-            // First, try to find existing inventory
-            Optional<SparePartInventory> existingInventory = sparePartInventoryRepository.findBySparePartId(sparePartId);
-            
-            if (existingInventory.isPresent()) {
-                inventory = existingInventory.get();
-                log.debug("Found existing inventory record for spare part ID: {}", sparePartId);
-            } else {
-                // Create new inventory record with proper error handling
-                log.info("No inventory record found for spare part ID: {}, creating new one", sparePartId);
-                SparePart sparePart = sparePartRepository.findById(sparePartId)
-                        .orElseThrow(() -> new ResourceNotFoundException("SparePart", "id", sparePartId));
-                
-                try {
-                    inventory = SparePartInventory.builder()
-                            .sparePart(sparePart)
-                            .quantityInStock(0)
-                            .minimumStockLevel(5)
-                            .maximumStockLevel(100)
-                            .reorderPoint(10)
-                            .warehouseLocation("Main Warehouse")
-                            .createdBy("System")
-                            .build();
-                    
-                    // Save the new inventory record
-                    inventory = sparePartInventoryRepository.save(inventory);
-                    log.info("Successfully created new inventory record for spare part ID: {}", sparePartId);
-                } catch (Exception e) {
-                    // If save fails due to duplicate, try to find the record again
-                    log.warn("Failed to create inventory record, checking if it was created by another thread: {}", e.getMessage());
-                    Optional<SparePartInventory> retryInventory = sparePartInventoryRepository.findBySparePartId(sparePartId);
-                    if (retryInventory.isPresent()) {
-                        inventory = retryInventory.get();
-                        log.info("Found inventory record created by another thread for spare part ID: {}", sparePartId);
-                    } else {
-                        // If still not found, re-throw the original exception
-                        throw e;
-                    }
-                }
-            }
-            
-            // Now add stock to the inventory
-            inventory.addStock(quantity);
-            if (notes != null && !notes.trim().isEmpty()) {
-                String currentNotes = inventory.getNotes();
-                String newNotes = currentNotes != null ? currentNotes + "\n" + notes : notes;
-                inventory.setNotes(newNotes);
-            }
-            
-            SparePartInventory updatedInventory = sparePartInventoryRepository.save(inventory);
-            log.info("Successfully added {} units to spare part inventory. New quantity: {}", 
-                    quantity, updatedInventory.getQuantityInStock());
-            
-            return SparePartInventoryResponse.fromEntity(updatedInventory);
-            
-        } catch (Exception e) {
-            log.error("Error adding stock to spare part inventory for spare part ID: {}", sparePartId, e);
-            throw new BusinessException(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Failed to add stock to spare part inventory: " + e.getMessage());
-        }
+        int newLevel = stockMutationService.increment(sparePartId, quantity, location, notes, null, actor);
+        log.info("Successfully added {} units to spare part inventory. New quantity: {}", quantity, newLevel);
+        
+        return getSparePartInventoryBySparePartId(sparePartId);
     }
     
     /**
-     * Remove stock from existing inventory
+     * Remove stock from existing inventory, from the given location or wherever the part is stocked
      */
-    public SparePartInventoryResponse removeStock(Long sparePartId, Integer quantity, String notes) {
+    public SparePartInventoryResponse removeStock(Long sparePartId, Integer quantity, String location, String notes,
+            String actor) {
         log.info("Removing {} units from spare part inventory for spare part ID: {}", quantity, sparePartId);
         
-        // Use a more robust approach to handle race conditions
-        SparePartInventory inventory = null;
-        try {
-            // First, try to find existing inventory
-            Optional<SparePartInventory> existingInventory = sparePartInventoryRepository.findBySparePartId(sparePartId);
-            
-            if (existingInventory.isPresent()) {
-                inventory = existingInventory.get();
-                log.debug("Found existing inventory record for spare part ID: {}", sparePartId);
-            } else {
-                // Create new inventory record with proper error handling
-                log.info("No inventory record found for spare part ID: {}, creating new one", sparePartId);
-                SparePart sparePart = sparePartRepository.findById(sparePartId)
-                        .orElseThrow(() -> new ResourceNotFoundException("SparePart", "id", sparePartId));
-                
-                try {
-                    inventory = SparePartInventory.builder()
-                            .sparePart(sparePart)
-                            .quantityInStock(0)
-                            .minimumStockLevel(5)
-                            .maximumStockLevel(100)
-                            .reorderPoint(10)
-                            .warehouseLocation("Main Warehouse")
-                            .createdBy("System")
-                            .build();
-                    
-                    // Save the new inventory record
-                    inventory = sparePartInventoryRepository.save(inventory);
-                    log.info("Successfully created new inventory record for spare part ID: {}", sparePartId);
-                } catch (Exception e) {
-                    // If save fails due to duplicate, try to find the record again
-                    log.warn("Failed to create inventory record, checking if it was created by another thread: {}", e.getMessage());
-                    Optional<SparePartInventory> retryInventory = sparePartInventoryRepository.findBySparePartId(sparePartId);
-                    if (retryInventory.isPresent()) {
-                        inventory = retryInventory.get();
-                        log.info("Found inventory record created by another thread for spare part ID: {}", sparePartId);
-                    } else {
-                        // If still not found, re-throw the original exception
-                        throw e;
-                    }
-                }
-            }
-            
-            // Check if we have sufficient stock to remove
-            if (inventory.getQuantityInStock() < quantity) {
-                throw new BusinessException(HttpStatus.BAD_REQUEST, "Insufficient stock. Available: " + inventory.getQuantityInStock() + 
-                        ", Requested: " + quantity);
-            }
-            
-            // Now remove stock from the inventory
-            inventory.removeStock(quantity);
-            if (notes != null && !notes.trim().isEmpty()) {
-                String currentNotes = inventory.getNotes();
-                String newNotes = currentNotes != null ? currentNotes + "\n" + notes : notes;
-                inventory.setNotes(newNotes);
-            }
-            
-            SparePartInventory updatedInventory = sparePartInventoryRepository.save(inventory);
-            log.info("Successfully removed {} units from spare part inventory. New quantity: {}", 
-                    quantity, updatedInventory.getQuantityInStock());
-            
-            return SparePartInventoryResponse.fromEntity(updatedInventory);
-            
-        } catch (Exception e) {
-            log.error("Error removing stock from spare part inventory for spare part ID: {}", sparePartId, e);
-            if (e instanceof BusinessException) {
-                throw e;
-            }
-            throw new BusinessException(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Failed to remove stock from spare part inventory: " + e.getMessage());
-        }
+        int newLevel = stockMutationService.decrement(sparePartId, quantity, location, notes, null, actor);
+        log.info("Successfully removed {} units from spare part inventory. New quantity: {}", quantity, newLevel);
+        
+        return getSparePartInventoryBySparePartId(sparePartId);
+    }
+    
+    /**
+     * Apply several stock changes in one transaction, all or nothing
+     */
+    public BatchStockResponse applyStockBatch(BatchStockRequest request, String actor) {
+        log.info("Applying batch of {} stock changes for reference: {}", request.getItems().size(), request.getReference());
+        return stockMutationService.applyBatch(request, actor);
+    }
+    
+    /**
+     * Get stock movement history for a spare part within a time range, newest first
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<StockMovementResponse> getStockMovements(
+            Long sparePartId, LocalDateTime from, LocalDateTime to, int page, int size) {
+        
+        LocalDateTime rangeStart = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime rangeEnd = to != null ? to : LocalDateTime.now().plusDays(1);
+        Page<SparePartStockMovement> movementPage = stockMovementRepository.findHistory(
+                sparePartId, rangeStart, rangeEnd, PageRequest.of(page, size));
+        
+        List<StockMovementResponse> content = movementPage.getContent().stream()
+                .map(StockMovementResponse::fromEntity)
+                .toList();
+        
+        return PagedResponse.<StockMovementResponse>builder()
+                .content(content)
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(movementPage.getTotalElements())
+                .totalPages(movementPage.getTotalPages())
+                .last(movementPage.isLast())
+                .build();
+    }
+    
+    /**
+     * Get the stock level of a spare part at a point in time: the current level (the running
+     * snapshot) minus every movement recorded after that time
+     */
+    @Transactional(readOnly = true)
+    public Integer getStockLevelAt(Long sparePartId, LocalDateTime at) {
+        int current = getCurrentStockLevel(sparePartId);
+        long laterDeltas = stockMovementRepository.sumDeltasSince(sparePartId, at);
+        return (int) (current - laterDeltas);
     }
     
     /**
@@ -485,11 +447,20 @@ public class SparePartInventoryService {
      */
     @Transactional(readOnly = true)
     public BigDecimal getTotalInventoryValue() {
-        List<SparePartInventory> allInventory = sparePartInventoryRepository.findAll();
-        return allInventory.stream()
-                .filter(inv -> inv.getUnitCost() != null && inv.getQuantityInStock() > 0)
-                .map(inv -> inv.getUnitCost().multiply(BigDecimal.valueOf(inv.getQuantityInStock())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return sparePartInventoryRepository.sumInventoryValue();
+    }
+    
+    /**
+     * Get open stock alerts, optionally of one type, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<StockAlertResponse> getStockAlerts(StockAlertType alertType) {
+        List<StockAlert> alerts = alertType != null
+                ? stockAlertRepository.findByItemTypeAndAlertTypeOrderByRaisedAtDesc(StockAlert.ITEM_TYPE_SPARE_PART, alertType)
+                : stockAlertRepository.findByItemTypeOrderByRaisedAtDesc(StockAlert.ITEM_TYPE_SPARE_PART);
+        return alerts.stream()
+                .map(StockAlertResponse::fromEntity)
+                .toList();
     }
     
     /**
@@ -498,11 +469,12 @@ public class SparePartInventoryService {
     public void deleteSparePartInventory(Long id) {
         log.info("Deleting spare part inventory with ID: {}", id);
         
-        if (!sparePartInventoryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("SparePartInventory", "id", id);
-        }
+        SparePartInventory inventory = sparePartInventoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("SparePartInventory", "id", id));
         
-        sparePartInventoryRepository.deleteById(id);
+        sparePartInventoryRepository.delete(inventory);
+        warehouseStockService.clear(sparePartId(inventory));
+        stockAlertTracker.clearAll(sparePartId(inventory), inventory.getQuantityInStock());
         log.info("Successfully deleted spare part inventory with ID: {}", id);
     }
     
@@ -511,21 +483,80 @@ public class SparePartInventoryService {
      */
     @Transactional(readOnly = true)
     public DashboardStats getDashboardStats() {
-        long totalItems = sparePartInventoryRepository.count();
-        long lowStockItems = sparePartInventoryRepository.countLowStockItems();
-        long outOfStockItems = sparePartInventoryRepository.countOutOfStockItems();
-        long itemsNeedingReorder = sparePartInventoryRepository.countItemsNeedingReorder();
-        BigDecimal totalValue = getTotalInventoryValue();
+        InventoryValuationView valuation = sparePartInventoryRepository.getInventoryValuation();
         
         return DashboardStats.builder()
-                .totalItems(totalItems)
-                .lowStockItems(lowStockItems)
-                .outOfStockItems(outOfStockItems)
-                .itemsNeedingReorder(itemsNeedingReorder)
-                .totalValue(totalValue)
+                .totalSpareParts(valuation.getTotalSpareParts())
+                .totalItems(valuation.getTotalItems())
+                .lowStockItems(valuation.getLowStockItems())
+                .outOfStockItems(valuation.getOutOfStockItems())
+                .itemsNeedingReorder(valuation.getItemsNeedingReorder())
+                .totalValue(valuation.getTotalValue())
+                .build();
+    }
+    
+    private SparePartInventoryResponse toInventoryResponse(SparePartStockView view) {
+        SparePartResponse sparePartResponse = new SparePartResponse();
+        sparePartResponse.setId(view.getSparePartId());
+        sparePartResponse.setPartName(view.getPartName());
+        sparePartResponse.setPartCode(view.getPartCode());
+        sparePartResponse.setDescription(view.getDescription());
+        sparePartResponse.setCompatibleDevices(view.getCompatibleDevices());
+        sparePartResponse.setUnitOfMeasurement(view.getUnitOfMeasurement());
+        sparePartResponse.setStatus(view.getStatus());
+        sparePartResponse.setCreatedAt(view.getPartCreatedAt());
+        sparePartResponse.setUpdatedAt(view.getPartUpdatedAt());
+        
+        int quantity = view.getQuantityInStock();
+        return SparePartInventoryResponse.builder()
+                .id(view.getInventoryId())
+                .sparePartId(view.getSparePartId())
+                .partName(view.getPartName())
+                .partCode(view.getPartCode())
+                .description(view.getDescription())
+                .unitOfMeasurement(view.getUnitOfMeasurement())
+                .status(view.getStatus() != null ? view.getStatus().name() : null)
+                .quantityInStock(quantity)
+                .minimumStockLevel(view.getMinimumStockLevel())
+                .maximumStockLevel(view.getMaximumStockLevel())
+                .reorderPoint(view.getReorderPoint())
+                .unitCost(view.getUnitCost())
+                .warehouseLocation(view.getWarehouseLocation())
+                .notes(view.getNotes())
+                .createdBy(view.getCreatedBy())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .isLowStock(view.getMinimumStockLevel() != null && quantity <= view.getMinimumStockLevel())
+                .needsReorder(view.getReorderPoint() != null && quantity <= view.getReorderPoint())
+                .isOutOfStock(quantity <= 0)
+                .sparePart(sparePartResponse)
                 .build();
     }
     
+    // Reads the open alerts of one type and loads only those items, newest alert first
+    private List<SparePartInventoryResponse> getAlertedItems(StockAlertType alertType) {
+        List<Long> sparePartIds = stockAlertRepository.findItemIdsByItemTypeAndAlertType(StockAlert.ITEM_TYPE_SPARE_PART, alertType);
+        if (sparePartIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SparePartInventory> inventoryByPart = sparePartInventoryRepository.findBySparePartIdIn(sparePartIds).stream()
+                .collect(Collectors.toMap(this::sparePartId, Function.identity()));
+        return sparePartIds.stream()
+                .map(inventoryByPart::get)
+                .filter(Objects::nonNull)
+                .map(SparePartInventoryResponse::fromEntity)
+                .toList();
+    }
+    
+    private void reconcileAlerts(SparePartInventory inventory) {
+        stockAlertTracker.reconcile(sparePartId(inventory), inventory.getQuantityInStock(),
+                inventory.getMinimumStockLevel(), inventory.getReorderPoint());
+    }
+    
+    private Long sparePartId(SparePartInventory inventory) {
+        return inventory.getSparePart().getId();
+    }
+    
     /**
      * Inner class for dashboard statistics
      */
@@ -534,6 +565,7 @@ public class SparePartInventoryService {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class DashboardStats {
+        private long totalSpareParts;
         private long totalItems;
         private long lowStockItems;
         private long outOfStockItems;
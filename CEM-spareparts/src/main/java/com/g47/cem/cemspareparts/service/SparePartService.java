@@ -9,13 +9,14 @@ import com.g47.cem.cemspareparts.enums.SparePartStatus;
 import com.g47.cem.cemspareparts.exception.BusinessException;
 import com.g47.cem.cemspareparts.exception.ResourceNotFoundException;
 import com.g47.cem.cemspareparts.repository.SparePartRepository;
+import com.g47.cem.cemspareparts.repository.projection.SparePartListView;
+import com.g47.cem.cemspareparts.util.SearchKeyword;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,7 @@ public class SparePartService {
 
     private final SparePartRepository sparePartRepository;
     private final ModelMapper modelMapper;
+    private final SuggestionService suggestionService;
 
 
     public SparePartResponse createSparePart(CreateSparePartRequest request) {
@@ -41,6 +43,7 @@ public class SparePartService {
         SparePart sparePart = modelMapper.map(request, SparePart.class);
         sparePart.setStatus(SparePartStatus.ACTIVE);
         SparePart savedSparePart = sparePartRepository.save(sparePart);
+        suggestionService.sparePartSaved(savedSparePart);
         
         log.info("Successfully created spare part with ID: {}", savedSparePart.getId());
         return modelMapper.map(savedSparePart, SparePartResponse.class);
@@ -60,19 +63,20 @@ public class SparePartService {
     public PagedResponse<SparePartResponse> getAllSpareParts(int page, int size, String sortBy, String sortDir, String keyword) {
         log.info("Fetching all spare parts. Page: {}, Size: {}, SortBy: {}, SortDir: {}, Keyword: {}", 
                 page, size, sortBy, sortDir, keyword);
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        Page<SparePart> sparePartsPage;
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            sparePartsPage = sparePartRepository.findSparePartsWithKeyword(keyword.trim(), pageable);
+        Page<SparePartListView> sparePartsPage;
+        SearchKeyword search = SearchKeyword.of(keyword);
+        if (search != null) {
+            // Keyword results come in relevance order
+            sparePartsPage = sparePartRepository.searchByRelevance(search.keyword(), search.pattern(),
+                    PageRequest.of(page, size));
         } else {
-            sparePartsPage = sparePartRepository.findAll(pageable);
+            Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending();
+            sparePartsPage = sparePartRepository.findListViewsBy(PageRequest.of(page, size, sort));
         }
         
         List<SparePartResponse> content = sparePartsPage.getContent().stream()
-                .map(sparePart -> modelMapper.map(sparePart, SparePartResponse.class))
+                .map(SparePartService::mapToSparePartResponse)
                 .toList();
 
         return new PagedResponse<>(content, sparePartsPage.getNumber(), sparePartsPage.getSize(),
@@ -87,6 +91,7 @@ public class SparePartService {
         modelMapper.map(request, sparePart);
         
         SparePart updatedSparePart = sparePartRepository.save(sparePart);
+        suggestionService.sparePartSaved(updatedSparePart);
         log.info("Successfully updated spare part with ID: {}", updatedSparePart.getId());
         return modelMapper.map(updatedSparePart, SparePartResponse.class);
     }
@@ -97,6 +102,24 @@ public class SparePartService {
                 .orElseThrow(() -> new ResourceNotFoundException("SparePart", "id", id));
         sparePart.setStatus(SparePartStatus.INACTIVE);
         sparePartRepository.save(sparePart);
+        suggestionService.sparePartSaved(sparePart);
         log.info("Successfully hid spare part with ID: {}", id);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Map a spare part list row; shared with the supplier list, whose rows carry their spare parts
+     */
+    static SparePartResponse mapToSparePartResponse(SparePartListView sparePart) {
+        SparePartResponse response = new SparePartResponse();
+        response.setId(sparePart.getId());
+        response.setPartName(sparePart.getPartName());
+        response.setPartCode(sparePart.getPartCode());
+        response.setDescription(sparePart.getDescription());
+        response.setCompatibleDevices(sparePart.getCompatibleDevices());
+        response.setUnitOfMeasurement(sparePart.getUnitOfMeasurement());
+        response.setStatus(sparePart.getStatus());
+        response.setCreatedAt(sparePart.getCreatedAt());
+        response.setUpdatedAt(sparePart.getUpdatedAt());
+        return response;
+    }
+} 
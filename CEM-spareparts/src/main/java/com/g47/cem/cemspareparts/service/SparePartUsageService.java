@@ -13,7 +13,6 @@ import com.g47.cem.cemspareparts.entity.SparePartUsage;
 import com.g47.cem.cemspareparts.exception.BusinessException;
 import org.springframework.http.HttpStatus;
 import com.g47.cem.cemspareparts.entity.SparePart;
-import com.g47.cem.cemspareparts.repository.SparePartInventoryRepository;
 import com.g47.cem.cemspareparts.repository.SparePartRepository;
 import com.g47.cem.cemspareparts.repository.SparePartUsageRepository;
 
@@ -25,7 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SparePartUsageService {
 
-    private final SparePartInventoryRepository inventoryRepository;
+    private final StockMutationService stockMutationService;
     private final SparePartRepository sparePartRepository;
     private final SparePartUsageRepository usageRepository;
 
@@ -37,18 +36,13 @@ public class SparePartUsageService {
 
     @Transactional
     public SparePartUsageResponse exportForTask(ExportSparePartForTaskRequest request, String createdBy) {
-        var inventory = inventoryRepository.findBySparePartId(request.getSparePartId())
-            .orElseThrow(() -> new BusinessException(HttpStatus.BAD_REQUEST, "Inventory not found for spare part: " + request.getSparePartId()));
-        if (inventory.getQuantityInStock() < request.getQuantity()) {
-            throw new BusinessException(HttpStatus.BAD_REQUEST, "Insufficient stock for spare part. Available: " + inventory.getQuantityInStock());
-        }
-        // decrement stock
-        inventory.removeStock(request.getQuantity());
-        inventoryRepository.save(inventory);
-
         SparePart part = sparePartRepository.findById(request.getSparePartId())
             .orElseThrow(() -> new BusinessException(HttpStatus.NOT_FOUND, "Spare part not found: " + request.getSparePartId()));
 
+        // decrement stock atomically; fails without side effects when stock is short
+        int newLevel = stockMutationService.decrement(request.getSparePartId(), request.getQuantity(),
+            null, request.getNotes(), "TASK:" + request.getTaskId(), createdBy);
+
         BigDecimal unitPrice = request.getUnitPrice() != null ? request.getUnitPrice() : BigDecimal.ZERO;
         BigDecimal total = unitPrice.multiply(BigDecimal.valueOf(request.getQuantity()));
 
@@ -65,7 +59,7 @@ public class SparePartUsageService {
             .build();
 
         usage = usageRepository.save(usage);
-        log.info("Exported spare part {} x{} for task {}. New stock: {}", request.getSparePartId(), request.getQuantity(), request.getTaskId(), inventory.getQuantityInStock());
+        log.info("Exported spare part {} x{} for task {}. New stock: {}", request.getSparePartId(), request.getQuantity(), request.getTaskId(), newLevel);
         return toResponse(usage);
     }
 
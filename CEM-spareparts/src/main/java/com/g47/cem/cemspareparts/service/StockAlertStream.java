@@ -0,0 +1,102 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.g47.cem.cemspareparts.dto.response.StockAlertEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-sent event stream of stock alert changes. Events are sent only after the transaction
+ * that caused them commits, so subscribers never see an alert that was rolled back. Sends run on
+ * a single background thread, in publish order, so a slow subscriber never holds up the request
+ * that changed the stock.
+ */
+@Component
+@Slf4j
+public class StockAlertStream {
+
+    static final String EVENT_NAME = "stock-alert";
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-alert-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long timeoutMs;
+
+    public StockAlertStream(@Value("${app.stock.alert-stream-timeout-ms:1800000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Open a new subscription; the client reconnects when it times out
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        log.debug("Stock alert subscriber connected, {} active", emitters.size());
+        return emitter;
+    }
+
+    /**
+     * Publish events once the current transaction commits, or immediately outside a transaction
+     */
+    public void publish(List<StockAlertEvent> events) {
+        if (events.isEmpty() || emitters.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendAsync(events);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendAsync(events);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void sendAsync(List<StockAlertEvent> events) {
+        try {
+            sender.execute(() -> send(events));
+        } catch (RejectedExecutionException e) {
+            log.debug("Stock alert stream is shut down, dropping {} events", events.size());
+        }
+    }
+
+    private void send(List<StockAlertEvent> events) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                for (StockAlertEvent event : events) {
+                    emitter.send(SseEmitter.event().name(EVENT_NAME).data(event));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping stock alert subscriber: {}", e.getMessage());
+                emitters.remove(emitter);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.g47.cem.cemspareparts.dto.response.StockAlertEvent;
+import com.g47.cem.cemspareparts.entity.StockAlert;
+import com.g47.cem.cemspareparts.enums.StockAlertType;
+import com.g47.cem.cemspareparts.repository.StockAlertRepository;
+import com.g47.cem.cemspareparts.repository.projection.StockLevelView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the stock alert table in step with spare part stock levels. A stock change only
+ * writes to the table when it crosses the out-of-stock, minimum or reorder threshold, and
+ * every raise or clear is pushed to {@link StockAlertStream} subscribers after commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockAlertTracker {
+
+    private final StockAlertRepository stockAlertRepository;
+    private final StockAlertStream stockAlertStream;
+
+    /**
+     * Track an atomic stock change by comparing the thresholds breached before and after it
+     */
+    public void onStockChanged(Long sparePartId, int previousLevel, StockLevelView level) {
+        Set<StockAlertType> before = breached(previousLevel, level.getMinimumStockLevel(), level.getReorderPoint()).keySet();
+        Map<StockAlertType, Integer> after = breached(level.getQuantityInStock(), level.getMinimumStockLevel(), level.getReorderPoint());
+        apply(sparePartId, level.getQuantityInStock(), before, after);
+    }
+
+    /**
+     * Bring a part's alerts in line after its stock or thresholds were set directly
+     */
+    public void reconcile(Long sparePartId, int quantity, Integer minimumStockLevel, Integer reorderPoint) {
+        apply(sparePartId, quantity, openAlerts(sparePartId), breached(quantity, minimumStockLevel, reorderPoint));
+    }
+
+    /**
+     * Clear every alert of a part whose inventory record is gone
+     */
+    public void clearAll(Long sparePartId, int quantity) {
+        apply(sparePartId, quantity, openAlerts(sparePartId), Map.of());
+    }
+
+    private Set<StockAlertType> openAlerts(Long sparePartId) {
+        return stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_SPARE_PART, sparePartId).stream()
+                .map(StockAlert::getAlertType)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(StockAlertType.class)));
+    }
+
+    private void apply(Long sparePartId, int quantity, Set<StockAlertType> before, Map<StockAlertType, Integer> after) {
+        List<StockAlertEvent> events = new ArrayList<>();
+        for (Map.Entry<StockAlertType, Integer> alert : after.entrySet()) {
+            if (!before.contains(alert.getKey())) {
+                stockAlertRepository.raise(StockAlert.ITEM_TYPE_SPARE_PART, sparePartId, alert.getKey().name(),
+                        quantity, alert.getValue());
+                events.add(event(sparePartId, alert.getKey(), true, quantity, alert.getValue()));
+            }
+        }
+
+        Set<StockAlertType> cleared = EnumSet.noneOf(StockAlertType.class);
+        for (StockAlertType type : before) {
+            if (!after.containsKey(type)) {
+                cleared.add(type);
+                events.add(event(sparePartId, type, false, quantity, null));
+            }
+        }
+        if (!cleared.isEmpty()) {
+            stockAlertRepository.clear(StockAlert.ITEM_TYPE_SPARE_PART, sparePartId, cleared);
+        }
+
+        if (!events.isEmpty()) {
+            log.info("Stock alerts for spare part {} at {}: raised {}, cleared {}", sparePartId, quantity,
+                    events.stream().filter(StockAlertEvent::isActive).map(StockAlertEvent::getAlertType).toList(), cleared);
+            stockAlertStream.publish(events);
+        }
+    }
+
+    /**
+     * Alert types whose threshold the level is at or below, with the threshold itself
+     */
+    static Map<StockAlertType, Integer> breached(int quantity, Integer minimumStockLevel, Integer reorderPoint) {
+        Map<StockAlertType, Integer> breached = new EnumMap<>(StockAlertType.class);
+        if (quantity <= 0) {
+            breached.put(StockAlertType.OUT_OF_STOCK, 0);
+        }
+        if (minimumStockLevel != null && quantity <= minimumStockLevel) {
+            breached.put(StockAlertType.LOW_STOCK, minimumStockLevel);
+        }
+        if (reorderPoint != null && quantity <= reorderPoint) {
+            breached.put(StockAlertType.REORDER, reorderPoint);
+        }
+        return breached;
+    }
+
+    private StockAlertEvent event(Long sparePartId, StockAlertType type, boolean active, int quantity, Integer threshold) {
+        return StockAlertEvent.builder()
+                .itemType(StockAlert.ITEM_TYPE_SPARE_PART)
+                .itemId(sparePartId)
+                .alertType(type)
+                .active(active)
+                .quantityInStock(quantity)
+                .threshold(threshold)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
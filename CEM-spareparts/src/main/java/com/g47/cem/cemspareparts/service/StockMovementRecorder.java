@@ -0,0 +1,57 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemspareparts.entity.SparePartStockMovement;
+import com.g47.cem.cemspareparts.repository.SparePartStockMovementRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers stock movements for the current transaction and writes them in one batch just
+ * before commit, so a multi-line stock operation costs a single batched insert.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockMovementRecorder {
+
+    private final SparePartStockMovementRepository stockMovementRepository;
+
+    /**
+     * Record a movement; written before the surrounding transaction commits
+     */
+    public void record(SparePartStockMovement movement) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockMovementRepository.save(movement);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<SparePartStockMovement> buffer = (List<SparePartStockMovement>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            List<SparePartStockMovement> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    log.debug("Writing {} stock movements", pending.size());
+                    stockMovementRepository.saveAll(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockMovementRecorder.this);
+                }
+            });
+            buffer = pending;
+        }
+        buffer.add(movement);
+    }
+}
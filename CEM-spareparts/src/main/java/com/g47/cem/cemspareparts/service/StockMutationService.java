@@ -0,0 +1,271 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemspareparts.dto.request.BatchStockRequest;
+import com.g47.cem.cemspareparts.dto.response.BatchStockResponse;
+import com.g47.cem.cemspareparts.entity.SparePart;
+import com.g47.cem.cemspareparts.entity.SparePartStockMovement;
+import com.g47.cem.cemspareparts.enums.StockMovementType;
+import com.g47.cem.cemspareparts.exception.BusinessException;
+import com.g47.cem.cemspareparts.exception.ResourceNotFoundException;
+import com.g47.cem.cemspareparts.repository.SparePartInventoryRepository;
+import com.g47.cem.cemspareparts.repository.SparePartRepository;
+import com.g47.cem.cemspareparts.repository.projection.StockLevelView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies stock deltas to spare part inventory.
+ * <p>
+ * Every change is one conditional SQL statement that returns the new level, so concurrent
+ * writers on the same part neither lose updates nor oversell, and no row lock is held across
+ * a read-modify-write. The part's per-location stock follows in the same transaction, under the
+ * inventory row lock the update took. Each applied change is appended to the stock movement
+ * ledger together with the location and resulting level, and threshold crossings are passed to
+ * the stock alert tracker.
+ * Callers must not rely on a {@code SparePartInventory} entity loaded earlier in the same
+ * transaction, since it will not reflect the change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockMutationService {
+
+    private final SparePartInventoryRepository sparePartInventoryRepository;
+    private final SparePartRepository sparePartRepository;
+    private final StockMovementRecorder stockMovementRecorder;
+    private final StockAlertTracker stockAlertTracker;
+    private final WarehouseStockService warehouseStockService;
+
+    /**
+     * Add stock at a location (the part's default location when null), creating a default
+     * inventory record when the part has none yet
+     *
+     * @return the new quantity in stock
+     */
+    public int increment(Long sparePartId, Integer quantity, String location, String reason, String reference,
+            String actor) {
+        return add(sparePartId, quantity, location, reason, reference, actor).quantityInStock();
+    }
+
+    private StockChange add(Long sparePartId, Integer quantity, String location, String reason, String reference,
+            String actor) {
+        int delta = requirePositive(quantity);
+
+        StockLevelView level = sparePartInventoryRepository.incrementStock(sparePartId, delta).orElse(null);
+        if (level == null) {
+            if (!sparePartRepository.existsById(sparePartId)) {
+                throw new ResourceNotFoundException("SparePart", "id", sparePartId);
+            }
+            log.info("No inventory record found for spare part ID: {}, creating one", sparePartId);
+            level = sparePartInventoryRepository.upsertStock(sparePartId, delta);
+        }
+        int newLevel = level.getQuantityInStock();
+        String target = warehouseStockService.add(sparePartId, location, level.getWarehouseLocation(), delta)
+                .warehouseLocation();
+        stockAlertTracker.onStockChanged(sparePartId, newLevel - delta, level);
+
+        record(sparePartId, StockMovementType.STOCK_IN, delta, newLevel, target, reason, reference, actor);
+        log.debug("Stock for spare part {} +{} -> {}", sparePartId, delta, newLevel);
+        return new StockChange(newLevel, List.of(new WarehouseStockService.LocationQuantity(target, delta)));
+    }
+
+    /**
+     * Remove stock only if enough is available, from the given location or, when null, from the
+     * default location first and then the others. Removals spanning several locations are
+     * recorded as one ledger entry per location.
+     *
+     * @return the new quantity in stock
+     * @throws BusinessException when the requested quantity exceeds the available stock
+     */
+    public int decrement(Long sparePartId, Integer quantity, String location, String reason, String reference,
+            String actor) {
+        return take(sparePartId, quantity, location, reason, reference, actor).quantityInStock();
+    }
+
+    private StockChange take(Long sparePartId, Integer quantity, String location, String reason, String reference,
+            String actor) {
+        int delta = requirePositive(quantity);
+
+        StockLevelView level = sparePartInventoryRepository.decrementStockIfAvailable(sparePartId, delta).orElse(null);
+        if (level == null) {
+            Integer available = sparePartInventoryRepository.findQuantityInStockBySparePartId(sparePartId).orElse(null);
+            if (available == null && !sparePartRepository.existsById(sparePartId)) {
+                throw new ResourceNotFoundException("SparePart", "id", sparePartId);
+            }
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Insufficient stock. Available: "
+                    + (available != null ? available : 0) + ", Requested: " + delta);
+        }
+        int newLevel = level.getQuantityInStock();
+        List<WarehouseStockService.LocationQuantity> taken = warehouseStockService.take(sparePartId, location,
+                level.getWarehouseLocation(), delta);
+        stockAlertTracker.onStockChanged(sparePartId, newLevel + delta, level);
+
+        int balance = newLevel + delta;
+        for (WarehouseStockService.LocationQuantity portion : taken) {
+            balance -= portion.quantity();
+            record(sparePartId, StockMovementType.STOCK_OUT, -portion.quantity(), balance,
+                    portion.warehouseLocation(), reason, reference, actor);
+        }
+        log.debug("Stock for spare part {} -{} -> {}", sparePartId, delta, newLevel);
+        return new StockChange(newLevel, taken.stream()
+                .map(portion -> new WarehouseStockService.LocationQuantity(portion.warehouseLocation(), -portion.quantity()))
+                .toList());
+    }
+
+    /**
+     * Apply a list of signed stock changes atomically: either every line is applied or, when any
+     * part is unknown or short, none is. Lines are applied in spare part ID order so concurrent
+     * batches touching the same parts always lock rows in the same order.
+     */
+    public BatchStockResponse applyBatch(BatchStockRequest request, String actor) {
+        List<BatchStockRequest.StockDelta> items = request.getItems();
+        Set<Long> sparePartIds = items.stream()
+                .map(BatchStockRequest.StockDelta::getSparePartId)
+                .collect(Collectors.toSet());
+        Map<Long, SparePart> spareParts = sparePartRepository.findAllById(sparePartIds).stream()
+                .collect(Collectors.toMap(SparePart::getId, Function.identity()));
+        for (Long sparePartId : sparePartIds) {
+            if (!spareParts.containsKey(sparePartId)) {
+                throw new ResourceNotFoundException("SparePart", "id", sparePartId);
+            }
+        }
+
+        BatchStockResponse.StockLevel[] results = new BatchStockResponse.StockLevel[items.size()];
+        List<Integer> applyOrder = IntStream.range(0, items.size()).boxed()
+                .sorted(Comparator.comparing(i -> items.get(i).getSparePartId()))
+                .toList();
+        for (int index : applyOrder) {
+            BatchStockRequest.StockDelta item = items.get(index);
+            String reason = item.getNotes() != null ? item.getNotes() : request.getNotes();
+            int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+            SparePart part = spareParts.get(item.getSparePartId());
+            StockChange change;
+            try {
+                // A zero line is a no-op for that part rather than a reason to reject the whole batch
+                change = quantity == 0
+                        ? new StockChange(sparePartInventoryRepository.findQuantityInStockBySparePartId(item.getSparePartId())
+                                .orElse(0), List.of())
+                        : quantity > 0
+                        ? add(item.getSparePartId(), quantity, item.getWarehouseLocation(), reason,
+                                request.getReference(), actor)
+                        : take(item.getSparePartId(), -quantity, item.getWarehouseLocation(), reason,
+                                request.getReference(), actor);
+            } catch (BusinessException e) {
+                throw new BusinessException(e.getStatus(), part.getPartName() + " (" + part.getPartCode() + "): " + e.getMessage());
+            }
+            results[index] = BatchStockResponse.StockLevel.builder()
+                    .sparePartId(part.getId())
+                    .partName(part.getPartName())
+                    .partCode(part.getPartCode())
+                    .quantityDelta(quantity)
+                    .quantityInStock(change.quantityInStock())
+                    .locations(change.locations().stream()
+                            .map(portion -> BatchStockResponse.LocationDelta.builder()
+                                    .warehouseLocation(portion.warehouseLocation())
+                                    .quantityDelta(portion.quantity())
+                                    .build())
+                            .toList())
+                    .build();
+        }
+
+        log.info("Applied batch of {} stock changes for reference: {}", items.size(), request.getReference());
+        return BatchStockResponse.builder()
+                .reference(request.getReference())
+                .results(List.of(results))
+                .build();
+    }
+
+    /**
+     * Move stock between two locations of a part; the total is unchanged. Recorded as a pair of
+     * transfer entries, out of the source and into the destination.
+     *
+     * @throws BusinessException when the source location holds less than requested
+     */
+    public void transfer(Long sparePartId, String fromLocation, String toLocation, Integer quantity,
+            String reason, String reference, String actor) {
+        int delta = requirePositive(quantity);
+        String source = WarehouseStockService.resolve(fromLocation, null);
+        String destination = WarehouseStockService.resolve(toLocation, null);
+        if (source.equals(destination)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Source and destination locations must differ");
+        }
+
+        int total = sparePartInventoryRepository.lockQuantityInStock(sparePartId)
+                .orElseThrow(() -> new ResourceNotFoundException("SparePartInventory", "sparePartId", sparePartId));
+        warehouseStockService.take(sparePartId, source, null, delta);
+        warehouseStockService.add(sparePartId, destination, null, delta);
+
+        // A transfer leaves the part's total unchanged, so both legs record the same balance
+        record(sparePartId, StockMovementType.TRANSFER, -delta, total, source, reason, reference, actor);
+        record(sparePartId, StockMovementType.TRANSFER, delta, total, destination, reason, reference, actor);
+        log.info("Transferred {} units of spare part {} from {} to {}", delta, sparePartId, source, destination);
+    }
+
+    /**
+     * Follow up a level change that was applied directly to the inventory record (manual edit or
+     * initial stock): the difference is added to or taken from the given location, and recorded
+     * so the ledger stays complete
+     */
+    public void recordAdjustment(Long sparePartId, int previousLevel, int newLevel, String location,
+            String reason, String actor) {
+        int delta = newLevel - previousLevel;
+        if (delta == 0) {
+            return;
+        }
+        sparePartInventoryRepository.lockQuantityInStock(sparePartId);
+        if (delta > 0) {
+            String target = warehouseStockService.add(sparePartId, location, null, delta).warehouseLocation();
+            record(sparePartId, StockMovementType.ADJUSTMENT, delta, newLevel, target, reason, null, actor);
+            return;
+        }
+        int balance = previousLevel;
+        for (WarehouseStockService.LocationQuantity portion : warehouseStockService.take(sparePartId, null, location, -delta)) {
+            balance -= portion.quantity();
+            record(sparePartId, StockMovementType.ADJUSTMENT, -portion.quantity(), balance,
+                    portion.warehouseLocation(), reason, null, actor);
+        }
+    }
+
+    // New total and the signed quantity applied at each location
+    private record StockChange(int quantityInStock, List<WarehouseStockService.LocationQuantity> locations) {
+    }
+
+    private void record(Long sparePartId, StockMovementType type, int delta, int balanceAfter, String location,
+            String reason, String reference, String actor) {
+        stockMovementRecorder.record(SparePartStockMovement.builder()
+                .sparePartId(sparePartId)
+                .movementType(type)
+                .quantityDelta(delta)
+                .balanceAfter(balanceAfter)
+                .warehouseLocation(location)
+                .reason(normalize(reason))
+                .reference(normalize(reference))
+                .actor(actor != null ? actor : "System")
+                .build());
+    }
+
+    private int requirePositive(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Quantity must be greater than zero");
+        }
+        return quantity;
+    }
+
+    private String normalize(String notes) {
+        return notes != null && !notes.trim().isEmpty() ? notes : null;
+    }
+}
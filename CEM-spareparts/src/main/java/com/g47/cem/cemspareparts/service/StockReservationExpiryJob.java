@@ -0,0 +1,36 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically expires stock reservations that were neither confirmed nor released within
+ * their TTL. Each reservation is expired in its own transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationExpiryJob {
+
+    private final StockReservationService stockReservationService;
+
+    @Scheduled(fixedDelayString = "${app.stock.reservation-sweep-interval-ms:60000}")
+    public void expireOverdueReservations() {
+        List<Long> overdue = stockReservationService.findOverdueReservationIds();
+        for (Long reservationId : overdue) {
+            try {
+                stockReservationService.expire(reservationId);
+            } catch (Exception e) {
+                log.error("Failed to expire stock reservation {}", reservationId, e);
+            }
+        }
+        if (!overdue.isEmpty()) {
+            log.info("Processed {} overdue stock reservations", overdue.size());
+        }
+    }
+}
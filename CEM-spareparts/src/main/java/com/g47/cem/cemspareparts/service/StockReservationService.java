@@ -0,0 +1,247 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemspareparts.dto.request.BatchStockRequest;
+import com.g47.cem.cemspareparts.dto.request.StockReservationRequest;
+import com.g47.cem.cemspareparts.dto.response.BatchStockResponse;
+import com.g47.cem.cemspareparts.dto.response.StockReservationResponse;
+import com.g47.cem.cemspareparts.entity.StockReservation;
+import com.g47.cem.cemspareparts.entity.StockReservationItem;
+import com.g47.cem.cemspareparts.enums.ReservationStatus;
+import com.g47.cem.cemspareparts.exception.BusinessException;
+import com.g47.cem.cemspareparts.exception.ResourceNotFoundException;
+import com.g47.cem.cemspareparts.repository.StockReservationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reservation protocol for cross-service stock exports.
+ * <p>
+ * A caller reserves stock under its own idempotency key, then confirms or releases it.
+ * Every step is idempotent, so callers may retry freely: repeating a reserve returns the
+ * existing reservation, and confirming or releasing twice is a no-op. Reserved quantities
+ * leave stock immediately and come back on release or when the reservation expires
+ * unconfirmed. Releasing an unknown key leaves a released marker, so a reserve that
+ * arrives after its own compensation cannot take stock. Expiry first checks the device
+ * service's export record for the key and confirms instead when the export committed.
+ */
+@Service
+@Slf4j
+@Transactional
+public class StockReservationService {
+
+    static final String REFERENCE_PREFIX = "RESERVATION:";
+    private static final int EXPIRY_BATCH_SIZE = 100;
+
+    private final StockReservationRepository stockReservationRepository;
+    private final StockMutationService stockMutationService;
+    private final long defaultTtlSeconds;
+
+    public StockReservationService(StockReservationRepository stockReservationRepository,
+            StockMutationService stockMutationService,
+            @Value("${app.stock.reservation-ttl-seconds:900}") long defaultTtlSeconds) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.stockMutationService = stockMutationService;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+    }
+
+    /**
+     * Reserve stock for every item, all or nothing; repeating a key returns the existing reservation
+     */
+    public StockReservationResponse reserve(StockReservationRequest request, String actor) {
+        StockReservation existing = stockReservationRepository.findByReservationKey(request.getReservationKey()).orElse(null);
+        if (existing != null) {
+            return replay(existing, request);
+        }
+
+        long ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        StockReservation reservation = StockReservation.builder()
+                .reservationKey(request.getReservationKey())
+                .status(ReservationStatus.RESERVED)
+                .reference(request.getReference())
+                .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                .createdBy(actor)
+                .build();
+        try {
+            // The unique key makes a concurrent duplicate wait here and then fail, before touching stock
+            reservation = stockReservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(HttpStatus.CONFLICT,
+                    "Reservation " + request.getReservationKey() + " is already being processed, retry to get its result");
+        }
+
+        List<BatchStockRequest.StockDelta> deltas = request.getItems().stream()
+                .map(item -> BatchStockRequest.StockDelta.builder()
+                        .sparePartId(item.getSparePartId())
+                        .quantity(-item.getQuantity())
+                        .build())
+                .toList();
+        BatchStockResponse applied = stockMutationService.applyBatch(BatchStockRequest.builder()
+                .reference(REFERENCE_PREFIX + reservation.getReservationKey())
+                .notes(request.getNotes() != null ? request.getNotes() : "Reserved for " + request.getReference())
+                .items(deltas)
+                .build(), actor);
+
+        // One item per location the stock came from, so it can be returned there
+        for (BatchStockResponse.StockLevel line : applied.getResults()) {
+            for (BatchStockResponse.LocationDelta taken : line.getLocations()) {
+                reservation.getItems().add(StockReservationItem.builder()
+                        .sparePartId(line.getSparePartId())
+                        .sparePartName(line.getPartName())
+                        .quantity(-taken.getQuantityDelta())
+                        .warehouseLocation(taken.getWarehouseLocation())
+                        .build());
+            }
+        }
+
+        log.info("Reserved {} spare part lines under key: {} until {}", reservation.getItems().size(),
+                reservation.getReservationKey(), reservation.getExpiresAt());
+        return StockReservationResponse.fromEntity(reservation);
+    }
+
+    /**
+     * Confirm a reservation, making its stock deduction final
+     */
+    public StockReservationResponse confirm(String reservationKey) {
+        StockReservation reservation = findByKey(reservationKey);
+        if (reservation.getStatus() == ReservationStatus.RESERVED
+                && stockReservationRepository.transitionStatus(reservation.getId(),
+                        ReservationStatus.RESERVED, ReservationStatus.CONFIRMED) == 1) {
+            log.info("Confirmed stock reservation: {}", reservationKey);
+        }
+
+        reservation = findByKey(reservationKey);
+        if (reservation.getStatus() != ReservationStatus.CONFIRMED) {
+            throw new BusinessException(HttpStatus.CONFLICT,
+                    "Reservation " + reservationKey + " cannot be confirmed, it is " + reservation.getStatus());
+        }
+        return StockReservationResponse.fromEntity(reservation);
+    }
+
+    /**
+     * Release a reservation and return its stock; unknown keys are recorded as released
+     */
+    public StockReservationResponse release(String reservationKey, String actor) {
+        StockReservation reservation = stockReservationRepository.findByReservationKey(reservationKey).orElse(null);
+        if (reservation == null) {
+            log.info("Releasing unknown reservation key: {}, recording it as released", reservationKey);
+            try {
+                reservation = stockReservationRepository.saveAndFlush(StockReservation.builder()
+                        .reservationKey(reservationKey)
+                        .status(ReservationStatus.RELEASED)
+                        .expiresAt(LocalDateTime.now())
+                        .createdBy(actor)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                throw new BusinessException(HttpStatus.CONFLICT,
+                        "Reservation " + reservationKey + " is already being processed, retry to get its result");
+            }
+            return StockReservationResponse.fromEntity(reservation);
+        }
+
+        if (reservation.getStatus() == ReservationStatus.RESERVED
+                && stockReservationRepository.transitionStatus(reservation.getId(),
+                        ReservationStatus.RESERVED, ReservationStatus.RELEASED) == 1) {
+            restoreStock(reservation, "Reservation released", actor);
+            log.info("Released stock reservation: {}", reservationKey);
+        }
+
+        reservation = findByKey(reservationKey);
+        if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+            throw new BusinessException(HttpStatus.CONFLICT,
+                    "Reservation " + reservationKey + " is already confirmed and cannot be released");
+        }
+        return StockReservationResponse.fromEntity(reservation);
+    }
+
+    /**
+     * Get a reservation by its key
+     */
+    @Transactional(readOnly = true)
+    public StockReservationResponse getReservation(String reservationKey) {
+        return StockReservationResponse.fromEntity(findByKey(reservationKey));
+    }
+
+    /**
+     * IDs of open reservations whose TTL has passed, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findOverdueReservationIds() {
+        return stockReservationRepository.findIdsByStatusAndExpiresAtBefore(
+                ReservationStatus.RESERVED, LocalDateTime.now(), PageRequest.of(0, EXPIRY_BATCH_SIZE));
+    }
+
+    /**
+     * Expire one open reservation and return its stock; no-op if it was confirmed or released meanwhile.
+     * A reservation whose export committed on the device side is confirmed instead, since the
+     * confirmation call was lost; expiry never undoes a committed export.
+     */
+    public void expire(Long reservationId) {
+        StockReservation reservation = stockReservationRepository.findById(reservationId).orElse(null);
+        if (reservation == null || reservation.getStatus() != ReservationStatus.RESERVED) {
+            return;
+        }
+        if (stockReservationRepository.fenceExport(reservation.getReservationKey(), reservation.getReference()) == 0) {
+            if (stockReservationRepository.transitionStatus(reservationId,
+                    ReservationStatus.RESERVED, ReservationStatus.CONFIRMED) == 1) {
+                log.info("Confirmed overdue stock reservation {}, its export was committed", reservation.getReservationKey());
+            }
+            return;
+        }
+        if (stockReservationRepository.transitionStatus(reservationId,
+                ReservationStatus.RESERVED, ReservationStatus.EXPIRED) == 0) {
+            return;
+        }
+        restoreStock(reservation, "Reservation expired", "System");
+        log.info("Expired stock reservation: {}", reservation.getReservationKey());
+    }
+
+    private void restoreStock(StockReservation reservation, String reason, String actor) {
+        if (reservation.getItems().isEmpty()) {
+            return;
+        }
+        List<BatchStockRequest.StockDelta> deltas = reservation.getItems().stream()
+                .map(item -> BatchStockRequest.StockDelta.builder()
+                        .sparePartId(item.getSparePartId())
+                        .quantity(item.getQuantity())
+                        .warehouseLocation(item.getWarehouseLocation())
+                        .build())
+                .toList();
+        stockMutationService.applyBatch(BatchStockRequest.builder()
+                .reference(REFERENCE_PREFIX + reservation.getReservationKey())
+                .notes(reason)
+                .items(deltas)
+                .build(), actor);
+    }
+
+    private StockReservationResponse replay(StockReservation existing, StockReservationRequest request) {
+        boolean tombstone = existing.getStatus() == ReservationStatus.RELEASED && existing.getItems().isEmpty();
+        Map<Long, Integer> reserved = existing.getItems().stream()
+                .collect(Collectors.toMap(StockReservationItem::getSparePartId, StockReservationItem::getQuantity, Integer::sum));
+        Map<Long, Integer> requested = request.getItems().stream()
+                .collect(Collectors.toMap(StockReservationRequest.Item::getSparePartId,
+                        StockReservationRequest.Item::getQuantity, Integer::sum));
+        if (!tombstone && !reserved.equals(requested)) {
+            throw new BusinessException(HttpStatus.CONFLICT,
+                    "Reservation key " + existing.getReservationKey() + " was already used for different items");
+        }
+        log.debug("Replaying reservation {} in status {}", existing.getReservationKey(), existing.getStatus());
+        return StockReservationResponse.fromEntity(existing);
+    }
+
+    private StockReservation findByKey(String reservationKey) {
+        return stockReservationRepository.findByReservationKey(reservationKey)
+                .orElseThrow(() -> new ResourceNotFoundException("StockReservation", "reservationKey", reservationKey));
+    }
+}
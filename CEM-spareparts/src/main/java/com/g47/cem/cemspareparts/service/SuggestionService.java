@@ -0,0 +1,136 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemspareparts.dto.response.SuggestionResponse;
+import com.g47.cem.cemspareparts.entity.SparePart;
+import com.g47.cem.cemspareparts.entity.Supplier;
+import com.g47.cem.cemspareparts.enums.SparePartStatus;
+import com.g47.cem.cemspareparts.enums.SupplierStatus;
+import com.g47.cem.cemspareparts.repository.SparePartRepository;
+import com.g47.cem.cemspareparts.repository.SupplierRepository;
+import com.g47.cem.cemspareparts.util.TypeaheadIndex;
+import com.g47.cem.cemspareparts.util.TypeaheadIndex.Entry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typeahead suggestions for spare part and supplier pickers, answered from memory.
+ * <p>
+ * Both indexes are loaded once the application is ready and kept current by the spare part
+ * and supplier services, which report every write here. Changes reach the index after their
+ * transaction commits, so a rolled back write is never suggested.
+ */
+@Service
+@Slf4j
+public class SuggestionService {
+
+    private final SparePartRepository sparePartRepository;
+    private final SupplierRepository supplierRepository;
+    private final int maxResults;
+
+    private final TypeaheadIndex sparePartIndex = new TypeaheadIndex();
+    private final TypeaheadIndex supplierIndex = new TypeaheadIndex();
+
+    public SuggestionService(SparePartRepository sparePartRepository, SupplierRepository supplierRepository,
+            @Value("${app.suggest.max-results:20}") int maxResults) {
+        this.sparePartRepository = sparePartRepository;
+        this.supplierRepository = supplierRepository;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Load both indexes from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        sparePartIndex.clear();
+        sparePartRepository.findAll().forEach(part -> sparePartIndex.put(toEntry(part)));
+        supplierIndex.clear();
+        supplierRepository.findAll().forEach(supplier -> supplierIndex.put(toEntry(supplier)));
+        log.info("Suggestion indexes built with {} spare parts and {} suppliers in {} ms",
+                sparePartIndex.size(), supplierIndex.size(), System.currentTimeMillis() - started);
+    }
+
+    public List<SuggestionResponse> suggestSpareParts(String query, Integer limit, boolean includeInactive) {
+        return toResponses(sparePartIndex.search(query, resolveLimit(limit), includeInactive));
+    }
+
+    public List<SuggestionResponse> suggestSuppliers(String query, Integer limit, boolean includeInactive) {
+        return toResponses(supplierIndex.search(query, resolveLimit(limit), includeInactive));
+    }
+
+    public void sparePartSaved(SparePart sparePart) {
+        Entry entry = toEntry(sparePart);
+        afterCommit(() -> sparePartIndex.put(entry));
+    }
+
+    public void supplierSaved(Supplier supplier) {
+        Entry entry = toEntry(supplier);
+        afterCommit(() -> supplierIndex.put(entry));
+    }
+
+    public void supplierDeleted(Long supplierId) {
+        afterCommit(() -> supplierIndex.remove(supplierId));
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return maxResults;
+        }
+        return Math.min(limit, maxResults);
+    }
+
+    private Entry toEntry(SparePart part) {
+        return new Entry(part.getId(), part.getPartName(), part.getPartCode(), part.getCompatibleDevices(),
+                Objects.toString(part.getStatus(), null), part.getStatus() == SparePartStatus.ACTIVE,
+                fields(part.getPartName(), part.getPartCode(), part.getCompatibleDevices()));
+    }
+
+    private Entry toEntry(Supplier supplier) {
+        return new Entry(supplier.getId(), supplier.getCompanyName(), null, supplier.getContactPerson(),
+                Objects.toString(supplier.getStatus(), null), supplier.getStatus() == SupplierStatus.ACTIVE,
+                fields(supplier.getCompanyName()));
+    }
+
+    private static List<String> fields(String... values) {
+        return Arrays.stream(values).map(value -> value != null ? value : "").toList();
+    }
+
+    private List<SuggestionResponse> toResponses(List<TypeaheadIndex.Match> matches) {
+        return matches.stream()
+                .map(match -> SuggestionResponse.builder()
+                        .id(match.entry().id())
+                        .label(match.entry().label())
+                        .code(match.entry().code())
+                        .detail(match.entry().detail())
+                        .status(match.entry().status())
+                        .build())
+                .toList();
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
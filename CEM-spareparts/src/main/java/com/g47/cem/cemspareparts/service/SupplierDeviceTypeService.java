@@ -13,7 +13,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.g47.cem.cemspareparts.dto.request.CreateSupplierDeviceTypeRequest;
+import com.g47.cem.cemspareparts.dto.request.DeviceQuoteRequest;
 import com.g47.cem.cemspareparts.dto.request.UpdateSupplierDeviceTypeRequest;
+import com.g47.cem.cemspareparts.dto.response.DeviceQuoteResponse;
 import com.g47.cem.cemspareparts.dto.response.PagedResponse;
 import com.g47.cem.cemspareparts.dto.response.SupplierDeviceTypeResponse;
 import com.g47.cem.cemspareparts.entity.Supplier;
@@ -35,6 +37,7 @@ public class SupplierDeviceTypeService {
     private final SupplierDeviceTypeRepository supplierDeviceTypeRepository;
     private final SupplierRepository supplierRepository;
     private final ModelMapper modelMapper;
+    private final SourcingService sourcingService;
 
     public SupplierDeviceTypeResponse createSupplierDeviceType(CreateSupplierDeviceTypeRequest request) {
         log.info("Creating new supplier device type for supplier ID: {} and device type: {}", 
@@ -65,6 +68,7 @@ public class SupplierDeviceTypeService {
         }
         
         SupplierDeviceType savedSupplierDeviceType = supplierDeviceTypeRepository.save(supplierDeviceType);
+        sourcingService.offerSaved(savedSupplierDeviceType);
         
         log.info("Successfully created supplier device type with ID: {}", savedSupplierDeviceType.getId());
         return modelMapper.map(savedSupplierDeviceType, SupplierDeviceTypeResponse.class);
@@ -143,6 +147,7 @@ public class SupplierDeviceTypeService {
         modelMapper.map(request, supplierDeviceType);
         
         SupplierDeviceType updatedSupplierDeviceType = supplierDeviceTypeRepository.save(supplierDeviceType);
+        sourcingService.offerSaved(updatedSupplierDeviceType);
         log.info("Successfully updated supplier device type with ID: {}", updatedSupplierDeviceType.getId());
         return modelMapper.map(updatedSupplierDeviceType, SupplierDeviceTypeResponse.class);
     }
@@ -154,6 +159,7 @@ public class SupplierDeviceTypeService {
         
         supplierDeviceType.setIsActive(false);
         supplierDeviceTypeRepository.save(supplierDeviceType);
+        sourcingService.offerSaved(supplierDeviceType);
         
         // Check if supplier still has active device types
         Long activeDeviceTypesCount = supplierDeviceTypeRepository.countActiveDeviceTypesBySupplier(supplierDeviceType.getSupplier().getId());
@@ -178,14 +184,16 @@ public class SupplierDeviceTypeService {
 
     public List<SupplierDeviceTypeResponse> getSuppliersForDeviceType(String deviceType, Integer requestedQuantity) {
         log.info("Finding suppliers for device type: {} with minimum quantity: {}", deviceType, requestedQuantity);
-        List<SupplierDeviceType> supplierDeviceTypes = supplierDeviceTypeRepository
-                .findSuppliersForDeviceTypeWithMinimumQuantity(deviceType, requestedQuantity);
-        
-        return supplierDeviceTypes.stream()
-                .map(supplierDeviceType -> modelMapper.map(supplierDeviceType, SupplierDeviceTypeResponse.class))
+        return sourcingService.rank(deviceType, null, requestedQuantity, Integer.MAX_VALUE, true).stream()
+                .map(this::mapToSupplierDeviceTypeResponse)
                 .toList();
     }
 
+    public List<DeviceQuoteResponse> quoteDevices(DeviceQuoteRequest request) {
+        log.info("Quoting {} device types", request.getItems().size());
+        return sourcingService.quote(request);
+    }
+
     public List<String> getDistinctActiveDeviceTypes() {
         log.info("Fetching distinct active device types");
         return supplierDeviceTypeRepository.findDistinctActiveDeviceTypes();
@@ -195,6 +203,24 @@ public class SupplierDeviceTypeService {
         log.info("Fetching supplier device type statistics");
         return supplierDeviceTypeRepository.getSupplierDeviceTypeStatistics();
     }
+
+    private SupplierDeviceTypeResponse mapToSupplierDeviceTypeResponse(SourcingService.RankedOffer ranked) {
+        SourcingService.Offer offer = ranked.offer();
+        SupplierDeviceTypeResponse response = new SupplierDeviceTypeResponse();
+        response.setId(offer.id());
+        response.setSupplierId(offer.supplierId());
+        response.setSupplierCompanyName(ranked.supplierCompanyName());
+        response.setDeviceType(offer.deviceType());
+        response.setDeviceModel(offer.deviceModel());
+        response.setUnitPrice(offer.unitPrice());
+        response.setMinimumOrderQuantity(offer.minimumOrderQuantity());
+        response.setLeadTimeDays(offer.leadTimeDays());
+        response.setNotes(offer.notes());
+        response.setIsActive(true);
+        response.setCreatedAt(offer.createdAt());
+        response.setUpdatedAt(offer.updatedAt());
+        return response;
+    }
 }
 
 
@@ -1,14 +1,17 @@
 package com.g47.cem.cemspareparts.service;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -26,6 +29,9 @@ import com.g47.cem.cemspareparts.exception.BusinessException;
 import com.g47.cem.cemspareparts.exception.ResourceNotFoundException;
 import com.g47.cem.cemspareparts.repository.SparePartRepository;
 import com.g47.cem.cemspareparts.repository.SupplierRepository;
+import com.g47.cem.cemspareparts.repository.projection.SupplierListView;
+import com.g47.cem.cemspareparts.repository.projection.SupplierSparePartView;
+import com.g47.cem.cemspareparts.util.SearchKeyword;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +45,14 @@ public class SupplierService {
     private final SupplierRepository supplierRepository;
     private final SparePartRepository sparePartRepository;
     private final ModelMapper modelMapper;
+    private final SuggestionService suggestionService;
+    private final SourcingService sourcingService;
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "id", "companyName", "contactPerson", "email", "phone", "status", "createdAt", "updatedAt");
+
+    // Spare part IDs per join table statement
+    private static final int LINK_BATCH_SIZE = 500;
 
     public SupplierResponse createSupplier(CreateSupplierRequest request) {
         log.info("Creating new supplier with company name: {}", request.getCompanyName());
@@ -56,13 +70,14 @@ public class SupplierService {
         Supplier supplier = modelMapper.map(request, Supplier.class);
         supplier.setStatus(SupplierStatus.ACTIVE);
         
-        // Set spare parts if provided - use safe collection manipulation
+        Supplier savedSupplier = supplierRepository.save(supplier);
+        suggestionService.supplierSaved(savedSupplier);
+        sourcingService.supplierSaved(savedSupplier);
+        
         if (request.getSparePartIds() != null && !request.getSparePartIds().isEmpty()) {
-            updateSupplierSpareParts(supplier, request.getSparePartIds());
+            syncSupplierSpareParts(savedSupplier.getId(), request.getSparePartIds());
         }
         
-        Supplier savedSupplier = supplierRepository.save(supplier);
-        
         // Reload with spare parts to prevent ConcurrentModificationException when mapping
         Supplier supplierWithSpareParts = loadSupplierWithSpareParts(savedSupplier);
         
@@ -81,48 +96,55 @@ public class SupplierService {
         log.info("Fetching suppliers. Page: {}, Size: {}, SortBy: {}, SortDir: {}, Keyword: {}, Status: {}", 
                 page, size, sortBy, sortDir, keyword, status);
         
-        // Convert SupplierStatus enum to String for query
-        String statusParam = status != null ? status.name() : null;
+        // Phase 1: page the matching supplier IDs without touching the spare part join
+        Page<Long> idPage;
+        SearchKeyword search = SearchKeyword.of(keyword);
+        if (search != null) {
+            // Keyword results come in relevance order
+            idPage = supplierRepository.searchIdsByRelevance(search.keyword(), search.pattern(),
+                    status != null ? status.name() : null, PageRequest.of(page, size));
+        } else {
+            Sort.Direction direction = sortDir.equalsIgnoreCase(Sort.Direction.DESC.name())
+                    ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Sort sort = Sort.by(direction, sortProperty(sortBy)).and(Sort.by(direction, "id"));
+            idPage = supplierRepository.findIdsByStatus(status, PageRequest.of(page, size, sort));
+        }
         
-        try {
-            // Use native query approach with proper PostgreSQL text casting
-            Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
-                    : Sort.by(sortBy).descending();
-            Pageable pageable = PageRequest.of(page, size, sort);
-            
-            Page<Supplier> suppliersPage = supplierRepository.findSuppliersWithFilters(keyword, statusParam, pageable);
-            
-            // Load suppliers with their spare parts eagerly to prevent ConcurrentModificationException
-            List<Supplier> suppliersWithSpareParts = loadSuppliersWithSpareParts(suppliersPage.getContent());
-            
-            List<SupplierResponse> content = suppliersWithSpareParts.stream()
-                    .map(this::mapToSupplierResponse)
-                    .toList();
+        // Phase 2: read just this page's list rows and their spare parts, in two queries
+        List<SupplierResponse> content = loadSupplierListRows(idPage.getContent());
 
-            return new PagedResponse<>(content, suppliersPage.getNumber(), suppliersPage.getSize(),
-                    suppliersPage.getTotalElements(), suppliersPage.getTotalPages(), suppliersPage.isLast());
-        } catch (Exception e) {
-            log.warn("Native query pagination failed, falling back to manual pagination: {}", e.getMessage());
-            
-            // Fallback: Use manual pagination with eager loading to avoid all issues
-            return getAllSuppliersWithManualPagination(page, size, sortBy, sortDir, keyword, statusParam);
-        }
+        return new PagedResponse<>(content, idPage.getNumber(), idPage.getSize(),
+                idPage.getTotalElements(), idPage.getTotalPages(), idPage.isLast());
     }
     
     /**
-     * Loads suppliers with their spare parts eagerly to prevent ConcurrentModificationException.
-     * This method reloads suppliers from native queries with proper relationship fetching.
+     * Supplier property to sort by; unknown names sort by ID
      */
-    private List<Supplier> loadSuppliersWithSpareParts(List<Supplier> suppliers) {
-        if (suppliers == null || suppliers.isEmpty()) {
-            return suppliers;
+    private String sortProperty(String sortBy) {
+        return sortBy != null && SORTABLE_PROPERTIES.contains(sortBy) ? sortBy : "id";
+    }
+    
+    /**
+     * Builds supplier list rows with their spare parts from projections, in the order of the given IDs
+     */
+    private List<SupplierResponse> loadSupplierListRows(List<Long> supplierIds) {
+        if (supplierIds.isEmpty()) {
+            return List.of();
         }
         
-        List<Long> supplierIds = suppliers.stream()
-                .map(Supplier::getId)
+        Map<Long, Set<SparePartResponse>> sparePartsBySupplier = new HashMap<>();
+        for (SupplierSparePartView sparePart : supplierRepository.findSparePartViewsBySupplierIds(supplierIds)) {
+            sparePartsBySupplier.computeIfAbsent(sparePart.getSupplierId(), id -> new HashSet<>())
+                    .add(SparePartService.mapToSparePartResponse(sparePart));
+        }
+        Map<Long, SupplierListView> loaded = supplierRepository.findListViewsByIdIn(supplierIds).stream()
+                .collect(Collectors.toMap(SupplierListView::getId, Function.identity()));
+        return supplierIds.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .map(supplier -> mapToSupplierListResponse(supplier,
+                        sparePartsBySupplier.getOrDefault(supplier.getId(), new HashSet<>())))
                 .toList();
-        
-        return supplierRepository.findByIdsWithSpareParts(supplierIds);
     }
     
     /**
@@ -138,73 +160,42 @@ public class SupplierService {
     }
     
     /**
-     * Safely updates supplier's spare parts collection to prevent ConcurrentModificationException.
-     * This method creates a completely new collection without reusing existing Hibernate-managed collections.
+     * Brings a supplier's spare part links in line with the given IDs by writing only the
+     * difference to the join table. The persistence context is cleared afterwards, so reload
+     * the supplier to see its new spare parts.
      */
-    private void updateSupplierSpareParts(Supplier supplier, Set<Long> sparePartIds) {
-        // Clear existing spare parts collection safely
-        if (supplier.getSpareParts() != null) {
-            supplier.getSpareParts().clear();
+    private void syncSupplierSpareParts(Long supplierId, Set<Long> sparePartIds) {
+        Set<Long> requested = new HashSet<>(sparePartIds);
+        Set<Long> current = new HashSet<>(supplierRepository.findSparePartIds(supplierId));
+        
+        List<Long> added = requested.stream().filter(sparePartId -> !current.contains(sparePartId)).toList();
+        List<Long> removed = current.stream().filter(sparePartId -> !requested.contains(sparePartId)).toList();
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
         }
         
-        // Create a completely new HashSet to avoid any Hibernate collection issues
-        Set<SparePart> newSpareParts = new HashSet<>();
-        
-        if (sparePartIds != null && !sparePartIds.isEmpty()) {
-            for (Long sparePartId : sparePartIds) {
-                SparePart sparePart = sparePartRepository.findById(sparePartId)
-                    .orElseThrow(() -> new ResourceNotFoundException("SparePart", "id", sparePartId));
-                
-                // Add the spare part to our new collection
-                newSpareParts.add(sparePart);
-            }
+        // Only new links need checking, the join table's foreign key vouches for existing ones
+        if (!added.isEmpty()) {
+            Set<Long> found = sparePartRepository.findAllById(added).stream()
+                    .map(SparePart::getId)
+                    .collect(Collectors.toSet());
+            added.stream()
+                    .filter(sparePartId -> !found.contains(sparePartId))
+                    .findFirst()
+                    .ifPresent(sparePartId -> {
+                        throw new ResourceNotFoundException("SparePart", "id", sparePartId);
+                    });
         }
         
-        // Set the completely new collection
-        supplier.setSpareParts(newSpareParts);
-    }
-    
-    /**
-     * Fallback method for manual pagination when native queries fail.
-     * This method prevents ConcurrentModificationException by using eager loading.
-     */
-    private PagedResponse<SupplierResponse> getAllSuppliersWithManualPagination(int page, int size, String sortBy, String sortDir, String keyword, String statusParam) {
-        log.info("Using manual pagination for suppliers to avoid lazy loading issues");
-        
-        // Get total count first
-        Long totalElements = supplierRepository.countSuppliersWithFilters(keyword, statusParam);
-        
-        // Get all suppliers with eager loading (spareParts are fetched immediately)
-        List<Supplier> allSuppliers = supplierRepository.findSuppliersWithFiltersEager(keyword, statusParam);
-        
-        // Apply manual sorting
-        allSuppliers.sort((s1, s2) -> {
-            int comparison = switch (sortBy.toLowerCase()) {
-                case "companyname" -> s1.getCompanyName().compareToIgnoreCase(s2.getCompanyName());
-                case "contactperson" -> s1.getContactPerson().compareToIgnoreCase(s2.getContactPerson());
-                case "email" -> s1.getEmail().compareToIgnoreCase(s2.getEmail());
-                case "status" -> s1.getStatus().compareTo(s2.getStatus());
-                case "createdat" -> s1.getCreatedAt().compareTo(s2.getCreatedAt());
-                default -> s1.getId().compareTo(s2.getId()); // "id"
-            };
-            return sortDir.equalsIgnoreCase("desc") ? -comparison : comparison;
-        });
-        
-        // Apply manual pagination
-        int start = page * size;
-        int end = Math.min(start + size, allSuppliers.size());
-        
-        List<Supplier> pagedSuppliers = start >= allSuppliers.size() ? 
-                List.of() : allSuppliers.subList(start, end);
-        
-        List<SupplierResponse> content = pagedSuppliers.stream()
-                .map(this::mapToSupplierResponse)
-                .toList();
-        
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-        boolean isLast = page >= totalPages - 1;
-        
-        return new PagedResponse<>(content, page, size, totalElements, totalPages, isLast);
+        for (int from = 0; from < removed.size(); from += LINK_BATCH_SIZE) {
+            supplierRepository.unlinkSpareParts(supplierId,
+                    removed.subList(from, Math.min(from + LINK_BATCH_SIZE, removed.size())));
+        }
+        for (int from = 0; from < added.size(); from += LINK_BATCH_SIZE) {
+            supplierRepository.linkSpareParts(supplierId,
+                    added.subList(from, Math.min(from + LINK_BATCH_SIZE, added.size())));
+        }
+        log.debug("Supplier {} spare parts: {} linked, {} unlinked", supplierId, added.size(), removed.size());
     }
     
     public SupplierResponse updateSupplier(Long id, UpdateSupplierRequest request) {
@@ -228,13 +219,14 @@ public class SupplierService {
         
         modelMapper.map(request, supplier);
         
-        // Update spare parts if provided - use safe collection manipulation
+        Supplier updatedSupplier = supplierRepository.save(supplier);
+        suggestionService.supplierSaved(updatedSupplier);
+        sourcingService.supplierSaved(updatedSupplier);
+        
         if (request.getSparePartIds() != null) {
-            updateSupplierSpareParts(supplier, request.getSparePartIds());
+            syncSupplierSpareParts(id, request.getSparePartIds());
         }
         
-        Supplier updatedSupplier = supplierRepository.save(supplier);
-        
         // Reload with spare parts to prevent ConcurrentModificationException when mapping
         Supplier supplierWithSpareParts = loadSupplierWithSpareParts(updatedSupplier);
         
@@ -248,6 +240,8 @@ public class SupplierService {
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id));
         supplier.setStatus(SupplierStatus.INACTIVE);
         supplierRepository.save(supplier);
+        suggestionService.supplierSaved(supplier);
+        sourcingService.supplierSaved(supplier);
         log.info("Successfully deactivated supplier with ID: {}", id);
     }
 
@@ -257,6 +251,8 @@ public class SupplierService {
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id));
         supplier.setStatus(SupplierStatus.ACTIVE);
         supplierRepository.save(supplier);
+        suggestionService.supplierSaved(supplier);
+        sourcingService.supplierSaved(supplier);
         log.info("Successfully activated supplier with ID: {}", id);
     }
 
@@ -265,6 +261,8 @@ public class SupplierService {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id));
         supplierRepository.delete(supplier);
+        suggestionService.supplierDeleted(id);
+        sourcingService.supplierDeleted(id);
         log.info("Successfully deleted supplier with ID: {}", id);
     }
 
@@ -312,6 +310,26 @@ public class SupplierService {
         return response;
     }
     
+    private SupplierResponse mapToSupplierListResponse(SupplierListView supplier, Set<SparePartResponse> spareParts) {
+        SupplierResponse response = new SupplierResponse();
+        response.setId(supplier.getId());
+        response.setCompanyName(supplier.getCompanyName());
+        response.setContactPerson(supplier.getContactPerson());
+        response.setEmail(supplier.getEmail());
+        response.setPhone(supplier.getPhone());
+        response.setFax(supplier.getFax());
+        response.setAddress(supplier.getAddress());
+        response.setTaxCode(supplier.getTaxCode());
+        response.setBusinessLicense(supplier.getBusinessLicense());
+        response.setWebsite(supplier.getWebsite());
+        response.setDescription(supplier.getDescription());
+        response.setStatus(supplier.getStatus());
+        response.setCreatedAt(supplier.getCreatedAt());
+        response.setUpdatedAt(supplier.getUpdatedAt());
+        response.setSpareParts(spareParts);
+        return response;
+    }
+    
     /**
      * Safely maps SpareParts collection to avoid ConcurrentModificationException.
      * Uses defensive copying and safe iteration patterns.
@@ -0,0 +1,118 @@
+package com.g47.cem.cemspareparts.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.g47.cem.cemspareparts.exception.BusinessException;
+import com.g47.cem.cemspareparts.repository.SparePartStockLocationRepository;
+import com.g47.cem.cemspareparts.repository.projection.LocationStockView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps per-location stock rows in step with a part's total stock.
+ * <p>
+ * Callers change the total first (or lock the inventory row) and then the locations, so the
+ * inventory row serializes every change to one part's locations. A change that names no
+ * location uses the part's default location; removals without a location draw from the
+ * default location first and then from the fullest other locations.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WarehouseStockService {
+
+    static final String DEFAULT_LOCATION = "Main Warehouse";
+
+    private final SparePartStockLocationRepository stockLocationRepository;
+
+    /**
+     * Quantity taken from, or put into, one location
+     */
+    public record LocationQuantity(String warehouseLocation, int quantity) {
+    }
+
+    /**
+     * The given location trimmed, else the default location, else {@value #DEFAULT_LOCATION}
+     */
+    public static String resolve(String location, String defaultLocation) {
+        if (location != null && !location.isBlank()) {
+            return location.trim();
+        }
+        if (defaultLocation != null && !defaultLocation.isBlank()) {
+            return defaultLocation.trim();
+        }
+        return DEFAULT_LOCATION;
+    }
+
+    /**
+     * Put stock at a location
+     */
+    public LocationQuantity add(Long sparePartId, String location, String defaultLocation, int quantity) {
+        String target = resolve(location, defaultLocation);
+        stockLocationRepository.addStock(sparePartId, target, quantity);
+        return new LocationQuantity(target, quantity);
+    }
+
+    /**
+     * Take stock from the named location, or spread over the part's locations when none is named
+     *
+     * @throws BusinessException when the named location holds less than requested
+     */
+    public List<LocationQuantity> take(Long sparePartId, String location, String defaultLocation, int quantity) {
+        if (location != null && !location.isBlank()) {
+            String source = location.trim();
+            if (stockLocationRepository.takeStockIfAvailable(sparePartId, source, quantity).isEmpty()) {
+                int available = stockLocationRepository.findQuantity(sparePartId, source).orElse(0);
+                throw new BusinessException(HttpStatus.BAD_REQUEST, "Insufficient stock at " + source
+                        + ". Available: " + available + ", Requested: " + quantity);
+            }
+            return List.of(new LocationQuantity(source, quantity));
+        }
+
+        String primary = resolve(null, defaultLocation);
+        List<LocationStockView> stocked = new ArrayList<>(stockLocationRepository.findStockBySparePartId(sparePartId));
+        stocked.sort(Comparator.comparing((LocationStockView stock) -> !stock.getWarehouseLocation().equals(primary))
+                .thenComparing(LocationStockView::getQuantityInStock, Comparator.reverseOrder()));
+
+        List<LocationQuantity> taken = new ArrayList<>();
+        int remaining = quantity;
+        for (LocationStockView stock : stocked) {
+            if (remaining == 0) {
+                break;
+            }
+            int portion = Math.min(remaining, stock.getQuantityInStock());
+            stockLocationRepository.takeStockIfAvailable(sparePartId, stock.getWarehouseLocation(), portion)
+                    .orElseThrow(() -> locationsOutOfStep(sparePartId));
+            taken.add(new LocationQuantity(stock.getWarehouseLocation(), portion));
+            remaining -= portion;
+        }
+        if (remaining > 0) {
+            throw locationsOutOfStep(sparePartId);
+        }
+        if (taken.size() > 1) {
+            log.debug("Took {} units of spare part {} from {} locations", quantity, sparePartId, taken.size());
+        }
+        return taken;
+    }
+
+    /**
+     * Remove every location row of a part, e.g. when its inventory record is deleted
+     */
+    public void clear(Long sparePartId) {
+        stockLocationRepository.deleteBySparePartId(sparePartId);
+    }
+
+    private BusinessException locationsOutOfStep(Long sparePartId) {
+        log.error("Location stock of spare part {} does not add up to its total", sparePartId);
+        return new BusinessException(HttpStatus.CONFLICT,
+                "Warehouse stock of spare part " + sparePartId + " does not match its total, adjust it per location");
+    }
+}
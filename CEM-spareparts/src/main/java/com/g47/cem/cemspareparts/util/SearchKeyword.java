@@ -0,0 +1,23 @@
+package com.g47.cem.cemspareparts.util;
+
+import java.util.Locale;
+
+/**
+ * Normalized keyword for the trigram-indexed searches: the lower-cased keyword used for
+ * ranking, and the {@code LIKE} pattern matching it anywhere in a lower-cased column, with
+ * the pattern's wildcard characters escaped.
+ */
+public record SearchKeyword(String keyword, String pattern) {
+
+    /**
+     * @return the normalized keyword, or null when the input is blank
+     */
+    public static SearchKeyword of(String input) {
+        if (input == null || input.isBlank()) {
+            return null;
+        }
+        String keyword = input.trim().toLowerCase(Locale.ROOT);
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return new SearchKeyword(keyword, "%" + escaped + "%");
+    }
+}
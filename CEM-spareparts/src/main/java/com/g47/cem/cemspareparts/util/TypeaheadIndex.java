@@ -0,0 +1,202 @@
+package com.g47.cem.cemspareparts.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index for typeahead suggestions over a few text fields per entry.
+ * <p>
+ * Every field is normalized (lower-cased, accents stripped) and indexed twice: by the one and
+ * two character prefixes of its words, which serve short queries, and by its trigrams, which
+ * serve longer queries matching anywhere in the field. Postings only narrow the candidates;
+ * each candidate is checked against its fields, so a lookup never returns a wrong match.
+ * Reads take no locks; writes are serialized, and a read racing a write may briefly miss the
+ * entry being written.
+ */
+public final class TypeaheadIndex {
+
+    private static final int GRAM = 3;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * One suggestible item; fields are listed most important first
+     */
+    public record Entry(Long id, String label, String code, String detail, String status, boolean active,
+            List<String> fields) {
+    }
+
+    /**
+     * A matching entry and how well it matched, lower is better
+     */
+    public record Match(Entry entry, int score) {
+    }
+
+    private record Indexed(Entry entry, List<String> fields) {
+    }
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::score)
+            .thenComparingInt(match -> match.entry().label() != null ? match.entry().label().length() : 0)
+            .thenComparing(match -> match.entry().id());
+
+    private final Map<Long, Indexed> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Add an entry, replacing any entry with the same ID
+     */
+    public synchronized void put(Entry entry) {
+        remove(entry.id());
+        List<String> fields = entry.fields().stream().map(TypeaheadIndex::normalize).toList();
+        entries.put(entry.id(), new Indexed(entry, fields));
+        for (String key : keys(fields)) {
+            postings.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entry.id());
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Indexed old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String key : keys(old.fields())) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        postings.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Best matches for the query, at most {@code limit}, best first
+     */
+    public List<Match> search(String query, int limit, boolean includeInactive) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> candidates = candidates(normalized);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the best `limit` matches in a heap whose head is the worst of them
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        for (Long id : candidates) {
+            Indexed indexed = entries.get(id);
+            if (indexed == null || (!includeInactive && !indexed.entry().active())) {
+                continue;
+            }
+            int score = score(indexed.fields(), normalized);
+            if (score < 0) {
+                continue;
+            }
+            best.add(new Match(indexed.entry(), score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(BEST_FIRST);
+        return matches;
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            // Short queries only match at the start of a word
+            String prefix = NON_WORD.split(query, 2)[0];
+            Set<Long> ids = prefix.isEmpty() ? null : postings.get(prefix);
+            return ids != null ? ids : Set.of();
+        }
+        // Any field containing the query contains each of its trigrams, so the rarest one bounds the candidates
+        Set<Long> smallest = null;
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            Set<Long> ids = postings.get(query.substring(i, i + GRAM));
+            if (ids == null) {
+                return Set.of();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Exact field beats field prefix beats word prefix beats infix; earlier fields break ties.
+     * Negative when no field contains the query.
+     */
+    private static int score(List<String> fields, String query) {
+        int best = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            int position = field.indexOf(query);
+            if (position < 0) {
+                continue;
+            }
+            int kind;
+            if (field.length() == query.length()) {
+                kind = 0;
+            } else if (position == 0) {
+                kind = 1;
+            } else if (!Character.isLetterOrDigit(field.charAt(position - 1))) {
+                kind = 2;
+            } else {
+                kind = 3;
+            }
+            int score = kind * fields.size() + i;
+            if (best < 0 || score < best) {
+                best = score;
+            }
+        }
+        return best;
+    }
+
+    private static Set<String> keys(List<String> fields) {
+        Set<String> keys = new HashSet<>();
+        for (String field : fields) {
+            for (String word : NON_WORD.split(field)) {
+                for (int length = 1; length < GRAM && length <= word.length(); length++) {
+                    keys.add(word.substring(0, length));
+                }
+            }
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                keys.add(field.substring(i, i + GRAM));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Lower-case and strip accents, so Vietnamese names match when typed without diacritics
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).replace('\u0111', 'd');
+    }
+}
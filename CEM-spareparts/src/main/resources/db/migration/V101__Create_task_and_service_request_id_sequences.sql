@@ -0,0 +1,8 @@
+-- Sequences backing business identifiers for tasks (TSK-...) and service requests (MNT/WAR...)
+-- INCREMENT BY must match IdAllocator.BLOCK_SIZE: each nextval() reserves a block of numbers
+-- that a service node hands out from memory (hi/lo allocation)
+CREATE SEQUENCE IF NOT EXISTS task_number_seq START 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS service_request_number_seq START 1 INCREMENT BY 50;
+
+-- Start task numbers above the existing row count so new IDs stay visually consistent with the old count-based ones
+SELECT setval('task_number_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks), false);
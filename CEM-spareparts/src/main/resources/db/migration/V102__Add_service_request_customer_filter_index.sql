@@ -0,0 +1,4 @@
+-- Composite index for customer service request listing with any combination of status/type/device filters
+-- (device_id references customer_devices.id); created_at last so the default newest-first sort reads the index in order
+CREATE INDEX IF NOT EXISTS idx_service_requests_customer_filters
+    ON service_requests(customer_id, status, type, device_id, created_at);
@@ -0,0 +1,2 @@
+-- Calendar index for technician schedule range queries (single technician and dispatch board)
+CREATE INDEX IF NOT EXISTS idx_tasks_technician_schedule ON tasks(assigned_technician_id, scheduled_date);
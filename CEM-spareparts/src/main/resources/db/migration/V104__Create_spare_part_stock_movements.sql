@@ -0,0 +1,33 @@
+-- Migration: Append-only stock movement ledger
+-- Every stock change is recorded here instead of being appended to spare_part_inventory.notes.
+-- spare_part_inventory.quantity_in_stock remains the running snapshot; the level at an earlier
+-- point in time is that snapshot minus the deltas recorded since.
+
+CREATE SEQUENCE IF NOT EXISTS spare_part_stock_movement_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS spare_part_stock_movements (
+    id BIGINT PRIMARY KEY DEFAULT nextval('spare_part_stock_movement_seq'),
+    spare_part_id BIGINT NOT NULL,
+    movement_type VARCHAR(20) NOT NULL,
+    quantity_delta INTEGER NOT NULL,
+    balance_after INTEGER NOT NULL,
+    reason VARCHAR(500),
+    reference VARCHAR(100),
+    actor VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_stock_movements_spare_part
+        FOREIGN KEY (spare_part_id)
+        REFERENCES spare_parts(id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_stock_movements_type
+        CHECK (movement_type IN ('STOCK_IN', 'STOCK_OUT', 'ADJUSTMENT'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_movements_part_created
+    ON spare_part_stock_movements(spare_part_id, created_at);
+
+COMMENT ON TABLE spare_part_stock_movements IS 'Append-only ledger of spare part stock changes';
+COMMENT ON COLUMN spare_part_stock_movements.quantity_delta IS 'Signed change applied to quantity_in_stock';
+COMMENT ON COLUMN spare_part_stock_movements.balance_after IS 'quantity_in_stock right after this movement';
+COMMENT ON COLUMN spare_part_stock_movements.reference IS 'Originating document, e.g. TASK:42';
@@ -0,0 +1,41 @@
+-- Migration: Stock reservations
+-- Callers reserve stock under an idempotency key, then confirm or release it. Reserved
+-- quantities are deducted from spare_part_inventory at reservation time; releasing or
+-- expiring a reservation puts them back.
+
+CREATE TABLE IF NOT EXISTS spare_part_stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    reservation_key VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    reference VARCHAR(100),
+    expires_at TIMESTAMP NOT NULL,
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_stock_reservations_key UNIQUE (reservation_key),
+    CONSTRAINT chk_stock_reservations_status
+        CHECK (status IN ('RESERVED', 'CONFIRMED', 'RELEASED', 'EXPIRED'))
+);
+
+CREATE TABLE IF NOT EXISTS spare_part_stock_reservation_items (
+    reservation_id BIGINT NOT NULL,
+    spare_part_id BIGINT NOT NULL,
+    spare_part_name VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+
+    CONSTRAINT fk_stock_reservation_items_reservation
+        FOREIGN KEY (reservation_id)
+        REFERENCES spare_part_stock_reservations(id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_stock_reservation_items_quantity
+        CHECK (quantity > 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_items_reservation
+    ON spare_part_stock_reservation_items(reservation_id);
+
+-- Expiry sweep only looks at open reservations
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_open_expiry
+    ON spare_part_stock_reservations(expires_at)
+    WHERE status = 'RESERVED';
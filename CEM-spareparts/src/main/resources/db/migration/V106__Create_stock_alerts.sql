@@ -0,0 +1,60 @@
+-- Migration: Stock alerts
+-- One row per item and alert type while the item is below that threshold. Rows are written
+-- when a stock change crosses a threshold and deleted when it recovers, so alert lists read
+-- only the items that are actually short. Shared by spare part and device inventory.
+
+CREATE TABLE IF NOT EXISTS stock_alerts (
+    id BIGSERIAL PRIMARY KEY,
+    item_type VARCHAR(20) NOT NULL,
+    item_id BIGINT NOT NULL,
+    alert_type VARCHAR(20) NOT NULL,
+    quantity_in_stock INTEGER NOT NULL,
+    threshold INTEGER NOT NULL,
+    raised_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_stock_alerts_item_alert UNIQUE (item_type, item_id, alert_type),
+    CONSTRAINT chk_stock_alerts_item_type CHECK (item_type IN ('SPARE_PART', 'DEVICE')),
+    CONSTRAINT chk_stock_alerts_alert_type CHECK (alert_type IN ('OUT_OF_STOCK', 'LOW_STOCK', 'REORDER'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_alerts_type_raised
+    ON stock_alerts(item_type, alert_type, raised_at DESC);
+
+-- Seed alerts for items that are already short. The inventory tables belong to different
+-- services sharing this schema, so each seed is skipped while its table does not exist yet.
+DO $$
+BEGIN
+    IF to_regclass('spare_part_inventory') IS NOT NULL THEN
+        INSERT INTO stock_alerts (item_type, item_id, alert_type, quantity_in_stock, threshold)
+        SELECT 'SPARE_PART', spare_part_id, 'OUT_OF_STOCK', quantity_in_stock, 0
+        FROM spare_part_inventory WHERE quantity_in_stock <= 0
+        ON CONFLICT (item_type, item_id, alert_type) DO NOTHING;
+
+        INSERT INTO stock_alerts (item_type, item_id, alert_type, quantity_in_stock, threshold)
+        SELECT 'SPARE_PART', spare_part_id, 'LOW_STOCK', quantity_in_stock, minimum_stock_level
+        FROM spare_part_inventory WHERE minimum_stock_level IS NOT NULL AND quantity_in_stock <= minimum_stock_level
+        ON CONFLICT (item_type, item_id, alert_type) DO NOTHING;
+
+        INSERT INTO stock_alerts (item_type, item_id, alert_type, quantity_in_stock, threshold)
+        SELECT 'SPARE_PART', spare_part_id, 'REORDER', quantity_in_stock, reorder_point
+        FROM spare_part_inventory WHERE reorder_point IS NOT NULL AND quantity_in_stock <= reorder_point
+        ON CONFLICT (item_type, item_id, alert_type) DO NOTHING;
+    END IF;
+
+    IF to_regclass('device_inventory') IS NOT NULL THEN
+        INSERT INTO stock_alerts (item_type, item_id, alert_type, quantity_in_stock, threshold)
+        SELECT 'DEVICE', device_id, 'OUT_OF_STOCK', quantity_in_stock, 0
+        FROM device_inventory WHERE quantity_in_stock <= 0
+        ON CONFLICT (item_type, item_id, alert_type) DO NOTHING;
+
+        INSERT INTO stock_alerts (item_type, item_id, alert_type, quantity_in_stock, threshold)
+        SELECT 'DEVICE', device_id, 'LOW_STOCK', quantity_in_stock, minimum_stock_level
+        FROM device_inventory WHERE minimum_stock_level IS NOT NULL AND quantity_in_stock <= minimum_stock_level
+        ON CONFLICT (item_type, item_id, alert_type) DO NOTHING;
+
+        INSERT INTO stock_alerts (item_type, item_id, alert_type, quantity_in_stock, threshold)
+        SELECT 'DEVICE', device_id, 'REORDER', quantity_in_stock, reorder_point
+        FROM device_inventory WHERE reorder_point IS NOT NULL AND quantity_in_stock <= reorder_point
+        ON CONFLICT (item_type, item_id, alert_type) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,58 @@
+-- Migration: Per-warehouse stock
+-- Stock is held per (item, warehouse location). The quantity_in_stock on spare_part_inventory
+-- and device_inventory stays the item's total over all locations, and its warehouse_location is
+-- now only the default location for changes that do not name one. Location lookups are index
+-- scans on (warehouse_location, item). Shared by the spare parts and device services.
+
+CREATE TABLE IF NOT EXISTS spare_part_stock_locations (
+    id BIGSERIAL PRIMARY KEY,
+    spare_part_id BIGINT NOT NULL,
+    warehouse_location VARCHAR(100) NOT NULL,
+    quantity_in_stock INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_spare_part_stock_locations_part
+        FOREIGN KEY (spare_part_id)
+        REFERENCES spare_parts(id)
+        ON DELETE CASCADE,
+    CONSTRAINT uk_spare_part_stock_locations UNIQUE (spare_part_id, warehouse_location),
+    CONSTRAINT chk_spare_part_stock_locations_quantity CHECK (quantity_in_stock >= 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_spare_part_stock_locations_location
+    ON spare_part_stock_locations(warehouse_location, spare_part_id);
+
+CREATE TABLE IF NOT EXISTS device_stock_locations (
+    id BIGSERIAL PRIMARY KEY,
+    device_id BIGINT NOT NULL,
+    warehouse_location VARCHAR(100) NOT NULL,
+    quantity_in_stock INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_device_stock_locations_device
+        FOREIGN KEY (device_id)
+        REFERENCES devices(id)
+        ON DELETE CASCADE,
+    CONSTRAINT uk_device_stock_locations UNIQUE (device_id, warehouse_location),
+    CONSTRAINT chk_device_stock_locations_quantity CHECK (quantity_in_stock >= 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_device_stock_locations_location
+    ON device_stock_locations(warehouse_location, device_id);
+
+-- Existing stock sits at the item's recorded location
+INSERT INTO spare_part_stock_locations (spare_part_id, warehouse_location, quantity_in_stock)
+SELECT spare_part_id, COALESCE(NULLIF(TRIM(warehouse_location), ''), 'Main Warehouse'), quantity_in_stock
+FROM spare_part_inventory WHERE quantity_in_stock > 0
+ON CONFLICT (spare_part_id, warehouse_location) DO NOTHING;
+
+INSERT INTO device_stock_locations (device_id, warehouse_location, quantity_in_stock)
+SELECT device_id, COALESCE(NULLIF(TRIM(warehouse_location), ''), 'Main Warehouse'), quantity_in_stock
+FROM device_inventory WHERE quantity_in_stock > 0
+ON CONFLICT (device_id, warehouse_location) DO NOTHING;
+
+-- Spare part ledger entries record the location they touched; transfers are a movement type
+ALTER TABLE IF EXISTS spare_part_stock_movements ADD COLUMN IF NOT EXISTS warehouse_location VARCHAR(100);
+ALTER TABLE IF EXISTS spare_part_stock_movements DROP CONSTRAINT IF EXISTS chk_stock_movements_type;
+ALTER TABLE IF EXISTS spare_part_stock_movements ADD CONSTRAINT chk_stock_movements_type
+    CHECK (movement_type IN ('STOCK_IN', 'STOCK_OUT', 'ADJUSTMENT', 'TRANSFER'));
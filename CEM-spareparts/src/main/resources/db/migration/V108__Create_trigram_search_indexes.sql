@@ -0,0 +1,19 @@
+-- Migration: Trigram search indexes
+-- Keyword search matches lower(column) LIKE '%keyword%'. A leading wildcard cannot use a btree
+-- (the varchar_pattern_ops indexes from the customer service's V003 only serve prefixes), but a
+-- pg_trgm GIN index on the same expression can, and pg_trgm's similarity functions rank the
+-- matches. Queries must use exactly these expressions, lower(column), for the indexes to apply.
+-- Only this service's own tables are indexed here, unguarded, so a missing table fails the
+-- migration instead of recording it as applied. The customer service creates its own trigram
+-- indexes at startup (db/schema/customer-indexes.sql).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_spare_parts_name_trgm ON spare_parts USING GIN (lower(part_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_spare_parts_code_trgm ON spare_parts USING GIN (lower(part_code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_spare_parts_description_trgm ON spare_parts USING GIN (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_spare_parts_compatible_devices_trgm ON spare_parts USING GIN (lower(compatible_devices) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_suppliers_company_name_trgm ON suppliers USING GIN (lower(company_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_suppliers_contact_person_trgm ON suppliers USING GIN (lower(contact_person) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_suppliers_email_trgm ON suppliers USING GIN (lower(email) gin_trgm_ops);
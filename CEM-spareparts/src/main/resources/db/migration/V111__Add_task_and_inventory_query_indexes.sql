@@ -0,0 +1,26 @@
+-- Composite and partial indexes for the hot task, customer device and inventory queries.
+-- service_requests(customer_id, status) is already served by idx_service_requests_customer_filters (V102),
+-- and the inventory reference and latest-transactions lookups by idx_inventory_transactions_reference
+-- and idx_inventory_transactions_created_at.
+
+-- Technician task lists filtered by status (findByAssignedTechnicianIdAndStatus)
+CREATE INDEX IF NOT EXISTS idx_tasks_technician_status ON tasks(assigned_technician_id, status);
+
+-- Overdue tasks: only tasks that are still open can be overdue (findOverdueTasks)
+CREATE INDEX IF NOT EXISTS idx_tasks_open_scheduled_date
+    ON tasks(scheduled_date) WHERE status NOT IN ('COMPLETED', 'REJECTED');
+
+-- Technician workload for auto dispatch (countOpenTasksByTechnician)
+CREATE INDEX IF NOT EXISTS idx_tasks_active_technician
+    ON tasks(assigned_technician_id) WHERE status IN ('ASSIGNED', 'ACCEPTED', 'IN_PROGRESS');
+
+-- Unassigned pending tasks in dispatch order (findPendingTasksNotAssigned, findTasksAvailableForAssignment)
+CREATE INDEX IF NOT EXISTS idx_tasks_pending_unassigned
+    ON tasks(priority DESC, created_at) WHERE status = 'PENDING' AND assigned_technician_id IS NULL;
+
+-- Customer device lists and counts by status (findByCustomerIdAndStatus, countByCustomerIdAndStatus)
+CREATE INDEX IF NOT EXISTS idx_customer_devices_customer_status ON customer_devices(customer_id, status);
+
+-- Per-item transaction counts and quantity totals (countTransactionsByItem, sumQuantityByItemAndType)
+CREATE INDEX IF NOT EXISTS idx_inventory_transactions_item
+    ON inventory_transactions(item_type, item_id, transaction_type);
@@ -0,0 +1,18 @@
+-- Migration: Spare part exports
+-- One row per spare part export, keyed by the reservation (idempotency) key and written in the
+-- same transaction as the export's inventory transactions, so a row exists exactly when the export
+-- committed. A second export with the same key fails on the unique key instead of replaying the
+-- reservation. The spare parts reservation expiry fences a key before releasing its stock by
+-- inserting an EXPIRED row; when an EXPORTED row is already there it confirms the reservation
+-- instead, so expiry never undoes a committed export.
+
+CREATE TABLE IF NOT EXISTS spare_part_exports (
+    id BIGSERIAL PRIMARY KEY,
+    reservation_key VARCHAR(100) NOT NULL,
+    reference VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_spare_part_exports_reservation_key UNIQUE (reservation_key),
+    CONSTRAINT chk_spare_part_exports_status CHECK (status IN ('EXPORTED', 'EXPIRED'))
+);
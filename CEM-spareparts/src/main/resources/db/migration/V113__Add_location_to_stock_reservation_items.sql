@@ -0,0 +1,6 @@
+-- Migration: Reservation item locations
+-- A reservation may draw a part from several warehouse locations; each location becomes its own
+-- item line, so releasing or expiring the reservation returns the stock where it was taken.
+-- Lines reserved before this column existed have no location and return to the default location.
+
+ALTER TABLE IF EXISTS spare_part_stock_reservation_items ADD COLUMN IF NOT EXISTS warehouse_location VARCHAR(100);
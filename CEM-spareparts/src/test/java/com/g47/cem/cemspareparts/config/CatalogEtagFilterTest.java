@@ -0,0 +1,84 @@
+package com.g47.cem.cemspareparts.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.g47.cem.cemspareparts.controller.SparePartController;
+import com.g47.cem.cemspareparts.dto.response.SparePartResponse;
+import com.g47.cem.cemspareparts.enums.SparePartStatus;
+import com.g47.cem.cemspareparts.service.SparePartService;
+import com.g47.cem.cemspareparts.service.SuggestionService;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogEtagFilterTest {
+
+    @Mock
+    private SparePartService sparePartService;
+
+    @Mock
+    private SuggestionService suggestionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ApplicationConfig().objectMapper();
+        mockMvc = MockMvcBuilders.standaloneSetup(new SparePartController(sparePartService, suggestionService))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .addFilters(new ApplicationConfig().catalogEtagFilter(objectMapper).getFilter())
+                .build();
+    }
+
+    @Test
+    void testGet_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        when(sparePartService.getSparePartById(1L)).thenReturn(sparePart("Filter"));
+        String etag = mockMvc.perform(get("/spare-parts/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // Act & Assert: the envelope timestamp differs, the data does not
+        mockMvc.perform(get("/spare-parts/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void testGet_AfterDataChanged_ShouldReturnNewBody() throws Exception {
+        // Arrange
+        when(sparePartService.getSparePartById(1L)).thenReturn(sparePart("Filter"), sparePart("Oil filter"));
+        String etag = mockMvc.perform(get("/spare-parts/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/spare-parts/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.partName").value("Oil filter"));
+    }
+
+    private SparePartResponse sparePart(String name) {
+        SparePartResponse response = new SparePartResponse();
+        response.setId(1L);
+        response.setPartName(name);
+        response.setPartCode("SP-1");
+        response.setStatus(SparePartStatus.values()[0]);
+        response.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        return response;
+    }
+}
@@ -0,0 +1,77 @@
+package com.g47.cem.cemspareparts.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemspareparts.dto.response.StockAlertEvent;
+import com.g47.cem.cemspareparts.entity.StockAlert;
+import com.g47.cem.cemspareparts.enums.StockAlertType;
+
+class StockAlertStreamTest {
+
+    private StockAlertStream stockAlertStream;
+
+    @BeforeEach
+    void setUp() {
+        stockAlertStream = new StockAlertStream(60000);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        stockAlertStream.shutdown();
+    }
+
+    @Test
+    void testPublish_WithoutSubscribers_ShouldNotRegisterAnything() {
+        // Act
+        stockAlertStream.publish(List.of(event()));
+
+        // Assert
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void testPublish_InTransaction_ShouldDeferUntilCommit() {
+        // Arrange
+        stockAlertStream.subscribe();
+
+        // Act
+        stockAlertStream.publish(List.of(event()));
+
+        // Assert
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    @Test
+    void testPublish_AfterShutdown_ShouldDropEventsWithoutFailingTheCommit() {
+        // Arrange
+        stockAlertStream.subscribe();
+        stockAlertStream.publish(List.of(event()));
+        stockAlertStream.shutdown();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCommit()));
+    }
+
+    private StockAlertEvent event() {
+        return StockAlertEvent.builder()
+                .itemType(StockAlert.ITEM_TYPE_SPARE_PART)
+                .itemId(3L)
+                .alertType(StockAlertType.LOW_STOCK)
+                .active(true)
+                .quantityInStock(2)
+                .threshold(5)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.g47.cem.cemspareparts.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemspareparts.dto.response.StockAlertEvent;
+import com.g47.cem.cemspareparts.entity.StockAlert;
+import com.g47.cem.cemspareparts.enums.StockAlertType;
+import com.g47.cem.cemspareparts.repository.StockAlertRepository;
+import com.g47.cem.cemspareparts.repository.projection.StockLevelView;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertTrackerTest {
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
+    @Mock
+    private StockAlertStream stockAlertStream;
+
+    @InjectMocks
+    private StockAlertTracker stockAlertTracker;
+
+    @Test
+    void testBreached_ShouldIncludeEveryThresholdAtOrAboveLevel() {
+        // Act
+        Map<StockAlertType, Integer> breached = StockAlertTracker.breached(5, 5, 10);
+
+        // Assert
+        assertEquals(Map.of(StockAlertType.LOW_STOCK, 5, StockAlertType.REORDER, 10), breached);
+        assertEquals(Set.of(StockAlertType.OUT_OF_STOCK, StockAlertType.LOW_STOCK),
+                StockAlertTracker.breached(0, 2, null).keySet());
+        assertTrue(StockAlertTracker.breached(11, 5, 10).isEmpty());
+    }
+
+    @Test
+    void testOnStockChanged_CrossingReorderPoint_ShouldRaiseAndPublishOnce() {
+        // Act
+        stockAlertTracker.onStockChanged(3L, 12, level(9, 5, 10));
+
+        // Assert
+        verify(stockAlertRepository).raise(StockAlert.ITEM_TYPE_SPARE_PART, 3L, "REORDER", 9, 10);
+        verify(stockAlertRepository, never()).clear(anyString(), anyLong(), any());
+        List<StockAlertEvent> events = publishedEvents();
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isActive());
+        assertEquals(StockAlertType.REORDER, events.get(0).getAlertType());
+    }
+
+    @Test
+    void testOnStockChanged_WithinSameBand_ShouldNotWrite() {
+        // Act
+        stockAlertTracker.onStockChanged(3L, 8, level(7, 5, 10));
+
+        // Assert
+        verifyNoInteractions(stockAlertRepository, stockAlertStream);
+    }
+
+    @Test
+    void testOnStockChanged_Restocked_ShouldClearEveryAlert() {
+        // Act
+        stockAlertTracker.onStockChanged(3L, 0, level(20, 5, 10));
+
+        // Assert
+        verify(stockAlertRepository).clear(StockAlert.ITEM_TYPE_SPARE_PART, 3L,
+                Set.of(StockAlertType.OUT_OF_STOCK, StockAlertType.LOW_STOCK, StockAlertType.REORDER));
+        assertTrue(publishedEvents().stream().noneMatch(StockAlertEvent::isActive));
+    }
+
+    @Test
+    void testReconcile_ShouldCompareAgainstOpenAlerts() {
+        // Arrange: a stale LOW_STOCK alert remains after the minimum was lowered
+        when(stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_SPARE_PART, 3L))
+                .thenReturn(List.of(alert(StockAlertType.LOW_STOCK), alert(StockAlertType.REORDER)));
+
+        // Act
+        stockAlertTracker.reconcile(3L, 4, 2, 10);
+
+        // Assert
+        verify(stockAlertRepository).clear(StockAlert.ITEM_TYPE_SPARE_PART, 3L, Set.of(StockAlertType.LOW_STOCK));
+        verify(stockAlertRepository, never()).raise(anyString(), anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testClearAll_ShouldClearOpenAlerts() {
+        // Arrange
+        when(stockAlertRepository.findByItemTypeAndItemId(StockAlert.ITEM_TYPE_SPARE_PART, 3L))
+                .thenReturn(List.of(alert(StockAlertType.OUT_OF_STOCK)));
+
+        // Act
+        stockAlertTracker.clearAll(3L, 0);
+
+        // Assert
+        verify(stockAlertRepository).clear(StockAlert.ITEM_TYPE_SPARE_PART, 3L, Set.of(StockAlertType.OUT_OF_STOCK));
+        assertEquals(1, publishedEvents().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StockAlertEvent> publishedEvents() {
+        ArgumentCaptor<List<StockAlertEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(stockAlertStream).publish(events.capture());
+        return events.getValue();
+    }
+
+    private StockAlert alert(StockAlertType type) {
+        return StockAlert.builder()
+                .itemType(StockAlert.ITEM_TYPE_SPARE_PART)
+                .itemId(3L)
+                .alertType(type)
+                .build();
+    }
+
+    private StockLevelView level(int quantity, Integer minimum, Integer reorderPoint) {
+        return new StockLevelView() {
+            @Override
+            public Integer getQuantityInStock() {
+                return quantity;
+            }
+
+            @Override
+            public Integer getMinimumStockLevel() {
+                return minimum;
+            }
+
+            @Override
+            public Integer getReorderPoint() {
+                return reorderPoint;
+            }
+
+            @Override
+            public String getWarehouseLocation() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.g47.cem.cemspareparts.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.g47.cem.cemspareparts.dto.request.BatchStockRequest;
+import com.g47.cem.cemspareparts.dto.request.StockReservationRequest;
+import com.g47.cem.cemspareparts.dto.response.BatchStockResponse;
+import com.g47.cem.cemspareparts.dto.response.StockReservationResponse;
+import com.g47.cem.cemspareparts.entity.StockReservation;
+import com.g47.cem.cemspareparts.entity.StockReservationItem;
+import com.g47.cem.cemspareparts.enums.ReservationStatus;
+import com.g47.cem.cemspareparts.repository.StockReservationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private StockMutationService stockMutationService;
+
+    private StockReservationService stockReservationService;
+
+    private StockReservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationService = new StockReservationService(stockReservationRepository, stockMutationService, 900);
+        reservation = StockReservation.builder()
+                .id(1L)
+                .reservationKey("EXPORT-TASK-7")
+                .reference("TASK:7")
+                .status(ReservationStatus.RESERVED)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .items(new ArrayList<>(List.of(StockReservationItem.builder().sparePartId(5L).quantity(2).build())))
+                .build();
+    }
+
+    @Test
+    void testExpire_WithCommittedExport_ShouldConfirmInsteadOfReleasing() {
+        // Arrange
+        when(stockReservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(stockReservationRepository.fenceExport("EXPORT-TASK-7", "TASK:7")).thenReturn(0);
+        when(stockReservationRepository.transitionStatus(1L, ReservationStatus.RESERVED, ReservationStatus.CONFIRMED))
+                .thenReturn(1);
+
+        // Act
+        stockReservationService.expire(1L);
+
+        // Assert
+        verify(stockReservationRepository, never()).transitionStatus(1L, ReservationStatus.RESERVED, ReservationStatus.EXPIRED);
+        verify(stockMutationService, never()).applyBatch(any(), any());
+    }
+
+    @Test
+    void testExpire_WithoutExport_ShouldFenceKeyAndReturnStock() {
+        // Arrange
+        when(stockReservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(stockReservationRepository.fenceExport("EXPORT-TASK-7", "TASK:7")).thenReturn(1);
+        when(stockReservationRepository.transitionStatus(1L, ReservationStatus.RESERVED, ReservationStatus.EXPIRED))
+                .thenReturn(1);
+
+        // Act
+        stockReservationService.expire(1L);
+
+        // Assert
+        verify(stockMutationService).applyBatch(argThat((BatchStockRequest request) ->
+                request.getItems().size() == 1 && request.getItems().get(0).getQuantity() == 2), eq("System"));
+    }
+
+    @Test
+    void testReserve_AcrossLocations_ShouldRecordOneItemPerLocation() {
+        // Arrange
+        when(stockReservationRepository.findByReservationKey("EXPORT-TASK-8")).thenReturn(Optional.empty());
+        when(stockReservationRepository.saveAndFlush(any(StockReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stockMutationService.applyBatch(any(BatchStockRequest.class), eq("tech"))).thenReturn(BatchStockResponse.builder()
+                .results(List.of(BatchStockResponse.StockLevel.builder()
+                        .sparePartId(5L)
+                        .partName("Filter")
+                        .quantityDelta(-3)
+                        .quantityInStock(4)
+                        .locations(List.of(location("Main Warehouse", -2), location("Annex", -1)))
+                        .build()))
+                .build());
+
+        // Act
+        StockReservationResponse response = stockReservationService.reserve(StockReservationRequest.builder()
+                .reservationKey("EXPORT-TASK-8")
+                .reference("TASK:8")
+                .items(List.of(StockReservationRequest.Item.builder().sparePartId(5L).quantity(3).build()))
+                .build(), "tech");
+
+        // Assert
+        assertEquals(List.of("Main Warehouse", "Annex"),
+                response.getItems().stream().map(StockReservationItem::getWarehouseLocation).toList());
+        assertEquals(List.of(2, 1), response.getItems().stream().map(StockReservationItem::getQuantity).toList());
+    }
+
+    @Test
+    void testRelease_ShouldReturnStockToItsLocation() {
+        // Arrange
+        reservation.getItems().get(0).setWarehouseLocation("Annex");
+        when(stockReservationRepository.findByReservationKey("EXPORT-TASK-7")).thenReturn(Optional.of(reservation));
+        when(stockReservationRepository.transitionStatus(1L, ReservationStatus.RESERVED, ReservationStatus.RELEASED))
+                .thenReturn(1);
+
+        // Act
+        stockReservationService.release("EXPORT-TASK-7", "tech");
+
+        // Assert
+        verify(stockMutationService).applyBatch(argThat((BatchStockRequest request) ->
+                "Annex".equals(request.getItems().get(0).getWarehouseLocation())
+                        && request.getItems().get(0).getQuantity() == 2), eq("tech"));
+    }
+
+    @Test
+    void testExpire_WithSettledReservation_ShouldDoNothing() {
+        // Arrange
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        when(stockReservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+
+        // Act
+        stockReservationService.expire(1L);
+
+        // Assert
+        verify(stockReservationRepository, never()).fenceExport(anyString(), anyString());
+        verify(stockMutationService, never()).applyBatch(any(), any());
+    }
+
+    private BatchStockResponse.LocationDelta location(String warehouseLocation, int quantityDelta) {
+        return BatchStockResponse.LocationDelta.builder()
+                .warehouseLocation(warehouseLocation)
+                .quantityDelta(quantityDelta)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.g47.cem.cemspareparts.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.g47.cem.cemspareparts.dto.response.SuggestionResponse;
+import com.g47.cem.cemspareparts.entity.SparePart;
+import com.g47.cem.cemspareparts.entity.Supplier;
+import com.g47.cem.cemspareparts.enums.SparePartStatus;
+import com.g47.cem.cemspareparts.enums.SupplierStatus;
+import com.g47.cem.cemspareparts.repository.SparePartRepository;
+import com.g47.cem.cemspareparts.repository.SupplierRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceTest {
+
+    @Mock
+    private SparePartRepository sparePartRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    private SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionService(sparePartRepository, supplierRepository, 3);
+        when(sparePartRepository.findAll()).thenReturn(List.of(
+                part(1L, "Oil Filter", "OF-1", SparePartStatus.ACTIVE),
+                part(2L, "Fuel Filter", "FF-2", SparePartStatus.INACTIVE)));
+        when(supplierRepository.findAll()).thenReturn(List.of(supplier(10L, "Filter World", SupplierStatus.ACTIVE)));
+        suggestionService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRebuild_ShouldLoadBothIndexes() {
+        // Act
+        List<SuggestionResponse> parts = suggestionService.suggestSpareParts("filter", null, true);
+        List<SuggestionResponse> suppliers = suggestionService.suggestSuppliers("filter", null, false);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), parts.stream().map(SuggestionResponse::getId).toList());
+        assertEquals("OF-1", parts.get(0).getCode());
+        assertEquals(List.of(10L), suppliers.stream().map(SuggestionResponse::getId).toList());
+    }
+
+    @Test
+    void testRebuild_ShouldReplacePreviousContent() {
+        // Arrange
+        when(sparePartRepository.findAll()).thenReturn(List.of(part(3L, "Drive Belt", "DB-3", SparePartStatus.ACTIVE)));
+
+        // Act
+        suggestionService.rebuild();
+
+        // Assert
+        assertTrue(suggestionService.suggestSpareParts("filter", null, true).isEmpty());
+        assertEquals(1, suggestionService.suggestSpareParts("belt", null, false).size());
+    }
+
+    @Test
+    void testSuggest_ShouldCapLimitAtConfiguredMaximum() {
+        // Arrange
+        for (long id = 20; id < 26; id++) {
+            suggestionService.sparePartSaved(part(id, "Filter " + id, "F-" + id, SparePartStatus.ACTIVE));
+        }
+
+        // Act & Assert
+        assertEquals(3, suggestionService.suggestSpareParts("filter", 50, false).size());
+        assertEquals(2, suggestionService.suggestSpareParts("filter", 2, false).size());
+        assertEquals(3, suggestionService.suggestSpareParts("filter", 0, false).size());
+    }
+
+    @Test
+    void testSparePartSaved_InTransaction_ShouldApplyOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        suggestionService.sparePartSaved(part(1L, "Oil Pump", "OP-1", SparePartStatus.ACTIVE));
+        List<SuggestionResponse> beforeCommit = suggestionService.suggestSpareParts("pump", null, false);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertTrue(beforeCommit.isEmpty());
+        assertEquals(List.of(1L), suggestionService.suggestSpareParts("pump", null, false).stream()
+                .map(SuggestionResponse::getId).toList());
+        assertTrue(suggestionService.suggestSpareParts("oil filter", null, false).isEmpty());
+    }
+
+    @Test
+    void testSupplierDeleted_ShouldRemoveSuggestion() {
+        // Act
+        suggestionService.supplierDeleted(10L);
+
+        // Assert
+        assertTrue(suggestionService.suggestSuppliers("filter", null, true).isEmpty());
+    }
+
+    private SparePart part(Long id, String name, String code, SparePartStatus status) {
+        return SparePart.builder()
+                .id(id)
+                .partName(name)
+                .partCode(code)
+                .status(status)
+                .build();
+    }
+
+    private Supplier supplier(Long id, String companyName, SupplierStatus status) {
+        return Supplier.builder()
+                .id(id)
+                .companyName(companyName)
+                .status(status)
+                .build();
+    }
+}
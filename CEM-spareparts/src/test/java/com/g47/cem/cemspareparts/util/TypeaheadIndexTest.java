@@ -0,0 +1,122 @@
+package com.g47.cem.cemspareparts.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.g47.cem.cemspareparts.util.TypeaheadIndex.Entry;
+import com.g47.cem.cemspareparts.util.TypeaheadIndex.Match;
+
+class TypeaheadIndexTest {
+
+    private TypeaheadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TypeaheadIndex();
+        index.put(entry(1L, "Engine Oil Filter", "OF-100", true));
+        index.put(entry(2L, "Air Filter", "AF-200", true));
+        index.put(entry(3L, "Filter", "F-1", true));
+        index.put(entry(4L, "B\u01a1m d\u1ea7u \u0110\u00e0 N\u1eb5ng", "BD-7", true));
+        index.put(entry(5L, "Filter housing", "FH-9", false));
+    }
+
+    @Test
+    void testSearch_ShortQuery_ShouldMatchWordPrefixesOnly() {
+        // Act
+        List<Long> ids = ids(index.search("ai", 10, false));
+
+        // Assert
+        assertEquals(List.of(2L), ids);
+        assertTrue(index.search("il", 10, false).isEmpty());
+    }
+
+    @Test
+    void testSearch_ShouldIgnoreCaseAndAccents() {
+        // Act & Assert
+        assertEquals(List.of(4L), ids(index.search("BOM DAU", 10, false)));
+        assertEquals(List.of(4L), ids(index.search("da nang", 10, false)));
+        assertEquals(List.of(1L), ids(index.search("  OIL fil", 10, false)));
+    }
+
+    @Test
+    void testSearch_ShouldMatchInsideFieldsAndCodes() {
+        // Act & Assert
+        assertEquals(List.of(1L), ids(index.search("of-1", 10, false)));
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search("ilter", 10, false)));
+    }
+
+    @Test
+    void testSearch_ShouldRankExactThenPrefixThenWordThenInfix() {
+        // Arrange
+        index.put(entry(6L, "Filterless pump", "FP-1", true));
+        index.put(entry(7L, "Microfilter", "MF-1", true));
+
+        // Act
+        List<Long> ids = ids(index.search("filter", 10, false));
+
+        // Assert: exact, field prefix, word prefix (shorter label first), infix
+        assertEquals(List.of(3L, 6L, 2L, 1L, 7L), ids);
+    }
+
+    @Test
+    void testSearch_ShouldRespectLimitAndKeepTheBest() {
+        // Act
+        List<Long> ids = ids(index.search("filter", 2, false));
+
+        // Assert
+        assertEquals(List.of(3L, 2L), ids);
+        assertTrue(index.search("filter", 0, false).isEmpty());
+        assertTrue(index.search("   ", 5, false).isEmpty());
+    }
+
+    @Test
+    void testSearch_ShouldSkipInactiveUnlessAsked() {
+        // Act & Assert
+        assertFalse(ids(index.search("housing", 10, false)).contains(5L));
+        assertEquals(List.of(5L), ids(index.search("housing", 10, true)));
+    }
+
+    @Test
+    void testPut_WithSameId_ShouldReplaceOldTerms() {
+        // Act
+        index.put(entry(1L, "Spark Plug", "SP-1", true));
+
+        // Assert
+        assertFalse(ids(index.search("oil", 10, false)).contains(1L));
+        assertEquals(List.of(1L), ids(index.search("spark", 10, false)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void testRemove_ShouldDropEntryFromResults() {
+        // Act
+        index.remove(2L);
+        index.remove(99L);
+
+        // Assert
+        assertTrue(index.search("air", 10, false).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testClear_ShouldEmptyIndex() {
+        // Act
+        index.clear();
+
+        // Assert
+        assertEquals(0, index.size());
+        assertTrue(index.search("filter", 10, true).isEmpty());
+    }
+
+    private static List<Long> ids(List<Match> matches) {
+        return matches.stream().map(match -> match.entry().id()).toList();
+    }
+
+    private static Entry entry(Long id, String name, String code, boolean active) {
+        return new Entry(id, name, code, null, active ? "ACTIVE" : "INACTIVE", active, List.of(name, code));
+    }
+}
@@ -0,0 +1,171 @@
+package com.g47.cem.testsupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Captures the PostgreSQL query plans of the SQL that Hibernate really runs, with the parameters
+ * it binds. Import it into a JPA test against PostgreSQL: it wraps the DataSource, and while
+ * {@link #plansOf(Runnable)} runs, every query is first run as EXPLAIN (FORMAT JSON) on the same
+ * connection with the same parameters. Sequential scans are turned off for the transaction, so
+ * the planner only picks one when no index can serve the query, whatever the table size.
+ * <p>
+ * The contract and device services compile this class into their tests from test-support.
+ */
+public class QueryPlanRecorder implements BeanPostProcessor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final List<QueryPlan> plans = new ArrayList<>();
+    private boolean recording;
+
+    /**
+     * One query as sent to the database, and the root node of its plan
+     */
+    public record QueryPlan(String sql, JsonNode plan) {
+
+        /**
+         * Tables the plan reads with a sequential scan
+         */
+        public List<String> seqScans() {
+            List<String> tables = new ArrayList<>();
+            collectSeqScans(plan, tables);
+            return tables;
+        }
+
+        private static void collectSeqScans(JsonNode node, List<String> tables) {
+            if ("Seq Scan".equals(node.path("Node Type").asText())) {
+                tables.add(node.path("Relation Name").asText());
+            }
+            for (JsonNode child : node.path("Plans")) {
+                collectSeqScans(child, tables);
+            }
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+    }
+
+    /**
+     * Plans of the queries the action runs, in order
+     */
+    public List<QueryPlan> plansOf(Runnable action) {
+        plans.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(plans);
+    }
+
+    /**
+     * Fails unless the action runs at least one query and none of them scans a table sequentially
+     */
+    public void assertNoSequentialScan(Runnable action) {
+        List<QueryPlan> queryPlans = plansOf(action);
+        assertFalse(queryPlans.isEmpty(), "No query was run");
+        for (QueryPlan queryPlan : queryPlans) {
+            assertTrue(queryPlan.seqScans().isEmpty(), () -> "Sequential scan of " + queryPlan.seqScans() + " in:\n"
+                    + queryPlan.sql() + "\n" + queryPlan.plan().toPrettyString());
+        }
+    }
+
+    private QueryPlan explain(Connection connection, String sql, List<Binding> bindings) throws Throwable {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL enable_seqscan = off");
+        }
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (Binding binding : bindings) {
+                invoke(explain, binding.setter(), binding.args());
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                assertTrue(rs.next());
+                return new QueryPlan(sql, OBJECT_MAPPER.readTree(rs.getString(1)).get(0).get("Plan"));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable plan for " + sql, e);
+        }
+    }
+
+    private final class RecordingDataSource extends DelegatingDataSource {
+
+        private RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+    }
+
+    private Connection recording(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (recording && "prepareStatement".equals(method.getName())
+                    && result instanceof PreparedStatement statement) {
+                return recording(connection, statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recording(Connection connection, PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            // Parameter setters take the parameter index first, and a value or type after it
+            if (method.getName().startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args));
+            } else if ("clearParameters".equals(method.getName())) {
+                bindings.clear();
+            } else if ("executeQuery".equals(method.getName()) && args == null) {
+                plans.add(explain(connection, sql, bindings));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryPlanRecorder.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}